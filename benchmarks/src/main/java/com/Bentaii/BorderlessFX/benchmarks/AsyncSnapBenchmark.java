@@ -0,0 +1,109 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.AsyncSnapResolver;
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks the cost of a move control drag sample on the input thread with the snap decisions
+ * computed synchronously and on the worker of an {@link AsyncSnapResolver}.
+ * <p>
+ * The decisions handed back to the input thread are queued and applied after each sample, the
+ * way {@code Platform.runLater} would.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AsyncSnapBenchmark
+{
+    private static final int GESTURE_LENGTH = 64;
+
+    @Param({"false", "true"})
+    public boolean async;
+
+    private final Queue<Runnable> _inputQueue = new ConcurrentLinkedQueue<>();
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private AsyncSnapResolver _resolver;
+    private PointerTrace _trace;
+    private int _samples;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(4);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+        _stateMachine.shown();
+
+        if (async)
+        {
+            _resolver = new AsyncSnapResolver(_inputQueue::add);
+            _stateMachine.setAsyncSnapResolver(_resolver);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (_resolver != null)
+        {
+            _resolver.close();
+        }
+    }
+
+    @Benchmark
+    public HeadlessWindowHost drag()
+    {
+        int i = _trace.next();
+        double screenX = _trace.x(i);
+        double screenY = _trace.y(i);
+
+        if (_samples++ % GESTURE_LENGTH == 0)
+        {
+            _host.setMaximized(false);
+            _host.setSnapped(false);
+            _host.setBounds(screenX - 320, screenY - 12, 800, 600);
+            _stateMachine.movePressed(320, 12, screenX, 30);
+        }
+
+        _host.pulse();
+        _stateMachine.moveDragged(screenX, screenY);
+
+        Runnable decision;
+
+        while ((decision = _inputQueue.poll()) != null)
+        {
+            decision.run();
+        }
+
+        return _host;
+    }
+}
@@ -0,0 +1,49 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always enabled, so every run reports the allocation
+ * rate per operation next to the timings.
+ * <p>
+ * Accepts the regular JMH command line options, e.g.
+ * {@code java -jar benchmarks.jar SnapZoneBenchmark -p monitors=8}.
+ * </p>
+ */
+public final class BenchmarkRunner
+{
+
+    private BenchmarkRunner()
+    {
+        // Use main
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException
+    {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        if (commandLineOptions.shouldHelp())
+        {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList())
+        {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        new Runner(new OptionsBuilder()
+            .parent(commandLineOptions)
+            .addProfiler(GCProfiler.class)
+            .jvmArgsAppend("-Djava.awt.headless=true")
+            .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.BoundsAnimator;
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.StandardWindowCommand;
+import com.Bentaii.BorderlessFX.core.WindowCommand;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a pulse while keyboard transitions are animated, one invocation per
+ * simulated 60 Hz pulse, and reports the bounds updates per pulse after every iteration.
+ * <p>
+ * A transition is issued every {@code interval} pulses: with the default duration of 150 ms an
+ * interval of 4 retargets most animations before they finish, an interval of 16 lets them finish.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoundsAnimationBenchmark
+{
+    private static final long FRAME_NANOS = 16_666_667;
+    private static final WindowCommand[] COMMANDS = {
+        StandardWindowCommand.SNAP_LEFT,
+        StandardWindowCommand.CYCLE_LEFT,
+        StandardWindowCommand.SNAP_RIGHT,
+        StandardWindowCommand.MAXIMIZE_FROM_SNAP,
+        StandardWindowCommand.RESTORE,
+        StandardWindowCommand.MOVE_TO_NEXT_SCREEN
+    };
+
+    @Param({"false", "true"})
+    public boolean animated;
+
+    @Param({"4", "16"})
+    public int interval;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private BoundsAnimator _animator;
+    private long _now;
+    private long _pulses;
+    private int _command;
+
+    @Setup
+    public void setup()
+    {
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(MonitorLayouts.create(2)), 25, 50);
+        _host.attach(_stateMachine);
+        _animator = new BoundsAnimator();
+        _animator.setEnabled(animated);
+        _host.setBoundsAnimator(_animator);
+        _stateMachine.shown();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report()
+    {
+        System.out.printf("%nanimation: %d animations, %d retargets, %d frames, %.3f bounds updates per pulse%n", _animator.getAnimations(),
+            _animator.getRetargets(), _animator.getFrames(), (double) _host.getBoundsUpdates() / _pulses);
+        _animator.resetCounters();
+        _host.resetCounters();
+        _pulses = 0;
+    }
+
+    @Benchmark
+    public HeadlessWindowHost pulse()
+    {
+        if (_pulses % interval == 0)
+        {
+            COMMANDS[_command].execute(_stateMachine);
+            _command = (_command + 1) % COMMANDS.length;
+        }
+
+        _now += FRAME_NANOS;
+        _pulses++;
+        _host.pulse(_now);
+        return _host;
+    }
+}
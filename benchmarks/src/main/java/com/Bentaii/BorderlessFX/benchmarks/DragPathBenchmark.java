@@ -0,0 +1,88 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks the whole per-event computation of a move control drag through the real
+ * {@link WindowStateMachine}: stage position, screen lookup, snap direction and visual feedback
+ * bounds, driven by a {@link HeadlessWindowHost}.
+ * <p>
+ * Unlike {@link WindowStateMachineBenchmark} a single drag gesture lasts the whole iteration, so
+ * only the steady state of a drag is measured. Run with the GC profiler ({@code BenchmarkRunner}
+ * enables it by default), {@code gc.alloc.rate.norm} should stay at 0 B/op.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DragPathBenchmark
+{
+    @Param({"1", "2", "4", "6", "8"})
+    public int monitors;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private PointerTrace _trace;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+        _stateMachine.shown();
+    }
+
+    @Setup(Level.Iteration)
+    public void press()
+    {
+        int i = _trace.next();
+        _host.setMaximized(false);
+        _host.setSnapped(false);
+        _host.setBounds(_trace.x(i) - 320, _trace.y(i) - 12, 800, 600);
+        _stateMachine.movePressed(320, 12, _trace.x(i), 30);
+    }
+
+    @TearDown(Level.Iteration)
+    public void release()
+    {
+        _stateMachine.moveReleased(_host.getX() + 320, _host.getY() + 12, true);
+    }
+
+    @Benchmark
+    public HeadlessWindowHost dragSample()
+    {
+        int i = _trace.next();
+
+        // Move control drag samples are applied once per pulse
+        _host.pulse();
+        _stateMachine.moveDragged(_trace.x(i), _trace.y(i));
+        return _host;
+    }
+}
@@ -0,0 +1,49 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Synthetic monitor layouts for the benchmarks.
+ */
+public final class MonitorLayouts
+{
+    private static final double[][] RESOLUTIONS = {{1920, 1080}, {2560, 1440}, {1920, 1200}, {3840, 2160}};
+    private static final int COLUMNS = 4;
+
+    private MonitorLayouts()
+    {
+        // Use static methods
+    }
+
+    /**
+     * Creates a layout of the given number of monitors, laid out left to right in rows of four
+     * with mixed resolutions.
+     *
+     * @param monitors The number of monitors.
+     * @return The bounds of every monitor.
+     */
+    public static Rectangle2D[] create(int monitors)
+    {
+        Rectangle2D[] layout = new Rectangle2D[monitors];
+        double x = 0;
+        double y = 0;
+        double rowHeight = 0;
+
+        for (int i = 0; i < monitors; i++)
+        {
+            if (i > 0 && i % COLUMNS == 0)
+            {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+
+            double[] resolution = RESOLUTIONS[i % RESOLUTIONS.length];
+            layout[i] = new Rectangle2D(x, y, resolution[0], resolution[1]);
+            x += resolution[0];
+            rowHeight = Math.max(rowHeight, resolution[1]);
+        }
+
+        return layout;
+    }
+}
@@ -0,0 +1,114 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks the magnetic snapping to neighbor windows during a move control drag and a resize,
+ * over a growing number of neighbor windows scattered over four monitors.
+ * <p>
+ * The neighbor edges are indexed once per gesture, so the cost per drag sample should stay nearly
+ * flat as the number of neighbors grows.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NeighborMagnetBenchmark
+{
+    // About one second of a 1000 Hz mouse, the neighbor edges are indexed once per gesture
+    private static final int GESTURE_LENGTH = 1024;
+
+    @Param({"0", "10", "50", "200"})
+    public int neighbors;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private PointerTrace _trace;
+    private int _samples;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(4);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+        _stateMachine.shown();
+
+        Random random = new Random(7);
+
+        for (int i = 0; i < neighbors; i++)
+        {
+            Rectangle2D screen = layout[random.nextInt(layout.length)];
+            double width = 300 + random.nextInt(900);
+            double height = 200 + random.nextInt(600);
+            _host.getNeighbors().add(new Rect(screen.getMinX() + random.nextDouble() * (screen.getWidth() - width),
+                screen.getMinY() + random.nextDouble() * (screen.getHeight() - height), width, height));
+        }
+    }
+
+    @Benchmark
+    public HeadlessWindowHost drag()
+    {
+        int i = _trace.next();
+        double screenX = _trace.x(i);
+        double screenY = _trace.y(i);
+
+        if (_samples++ % GESTURE_LENGTH == 0)
+        {
+            _host.setMaximized(false);
+            _host.setSnapped(false);
+            _host.setBounds(screenX - 320, screenY - 12, 800, 600);
+            _stateMachine.movePressed(320, 12, screenX, 30);
+        }
+
+        _host.pulse();
+        _stateMachine.moveDragged(screenX, screenY);
+        return _host;
+    }
+
+    @Benchmark
+    public HeadlessWindowHost resize()
+    {
+        int i = _trace.next();
+        double screenX = _trace.x(i);
+
+        if (_samples++ % GESTURE_LENGTH == 0)
+        {
+            _host.setSnapped(false);
+            _host.setBounds(screenX - 400, 200, 400, 600);
+            _stateMachine.resizeStarted();
+        }
+
+        _host.pulse();
+        double sceneX = Math.max(50, screenX - _host.getX());
+        _stateMachine.resizeDragged(HDirection.RIGHT, null, _host.getX() + sceneX, 500, sceneX - _host.getWidth(), 300, sceneX, 300);
+        return _host;
+    }
+}
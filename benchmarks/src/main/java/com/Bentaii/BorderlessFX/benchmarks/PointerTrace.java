@@ -0,0 +1,186 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.SplittableRandom;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A pointer trace replayed by the benchmarks, one sample per benchmark invocation.
+ */
+public final class PointerTrace
+{
+    private static final double EDGE_BAND = 60;
+    /**
+     * The top speed of the pointer in pixels per sample, a fast flick at 60 Hz
+     */
+    private static final double MAX_SPEED = 80;
+    private static final double MAX_ACCELERATION = 12;
+    private static final double JITTER = 1.5;
+    private static final double ARRIVAL = 4;
+    private static final int MAX_DWELL = 20;
+
+    private final double[] _x;
+    private final double[] _y;
+    private final int _mask;
+    private int _cursor;
+
+    private PointerTrace(double[] x, double[] y)
+    {
+        _x = x;
+        _y = y;
+        _mask = x.length - 1;
+    }
+
+    /**
+     * Creates a synthetic drag trace over the given layout.
+     * <p>
+     * The pointer moves continuously like a hand dragging a window: it heads for a target with a
+     * limited speed and acceleration plus some jitter, and dwells a few samples once it arrived.
+     * About a third of the targets lie close to an edge or a corner, where snap zones are resolved,
+     * and targets are picked on every monitor, so the path crosses the monitor edges. Steps into
+     * the gaps of the layout slide along the screen edge instead. The trace wraps around, with a
+     * single jump from its last sample back to its first one.
+     * </p>
+     *
+     * @param layout  The monitor layout.
+     * @param samples The number of samples, must be a power of two.
+     * @param seed    The random seed.
+     * @return The trace, instance of {@link PointerTrace}.
+     */
+    public static PointerTrace synthetic(Rectangle2D[] layout, int samples, long seed)
+    {
+        if (Integer.bitCount(samples) != 1)
+        {
+            throw new IllegalArgumentException("samples must be a power of two");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] x = new double[samples];
+        double[] y = new double[samples];
+        double[] target = new double[2];
+        double pointerX = layout[0].getMinX() + layout[0].getWidth() / 2;
+        double pointerY = layout[0].getMinY() + layout[0].getHeight() / 2;
+        double velocityX = 0;
+        double velocityY = 0;
+        int dwell = 0;
+        pickTarget(layout, random, target);
+
+        for (int i = 0; i < samples; i++)
+        {
+            double dx = target[0] - pointerX;
+            double dy = target[1] - pointerY;
+            double distance = Math.hypot(dx, dy);
+
+            if (dwell > 0)
+            {
+                // Resting on the target, only the hand trembles
+                velocityX = 0;
+                velocityY = 0;
+
+                if (--dwell == 0)
+                {
+                    pickTarget(layout, random, target);
+                }
+            }
+            else if (distance < ARRIVAL)
+            {
+                dwell = 1 + random.nextInt(MAX_DWELL);
+            }
+            else
+            {
+                // Slows down when approaching the target
+                double speed = Math.min(MAX_SPEED, distance / 4);
+                velocityX += clamp(dx / distance * speed - velocityX, MAX_ACCELERATION);
+                velocityY += clamp(dy / distance * speed - velocityY, MAX_ACCELERATION);
+            }
+
+            double nextX = pointerX + velocityX + (random.nextDouble() - 0.5) * 2 * JITTER;
+            double nextY = pointerY + velocityY + (random.nextDouble() - 0.5) * 2 * JITTER;
+
+            if (contains(layout, nextX, nextY))
+            {
+                pointerX = nextX;
+                pointerY = nextY;
+            }
+            else if (contains(layout, nextX, pointerY))
+            {
+                pointerX = nextX;
+                velocityY = 0;
+            }
+            else if (contains(layout, pointerX, nextY))
+            {
+                pointerY = nextY;
+                velocityX = 0;
+            }
+            else
+            {
+                velocityX = 0;
+                velocityY = 0;
+                pickTarget(layout, random, target);
+            }
+
+            x[i] = pointerX;
+            y[i] = pointerY;
+        }
+
+        return new PointerTrace(x, y);
+    }
+
+    /**
+     * Picks a point on a random monitor, close to an edge or a corner about a third of the time.
+     */
+    private static void pickTarget(Rectangle2D[] layout, SplittableRandom random, double[] target)
+    {
+        Rectangle2D screen = layout[random.nextInt(layout.length)];
+
+        if (random.nextInt(3) == 0)
+        {
+            target[0] = random.nextBoolean() ? screen.getMinX() + random.nextDouble(EDGE_BAND) : screen.getMaxX() - 1 - random.nextDouble(EDGE_BAND);
+            target[1] = random.nextBoolean() ? screen.getMinY() + random.nextDouble(EDGE_BAND) : screen.getMaxY() - 1 - random.nextDouble(EDGE_BAND);
+        }
+        else
+        {
+            target[0] = screen.getMinX() + random.nextDouble(screen.getWidth());
+            target[1] = screen.getMinY() + random.nextDouble(screen.getHeight());
+        }
+    }
+
+    private static boolean contains(Rectangle2D[] layout, double x, double y)
+    {
+        for (Rectangle2D screen : layout)
+        {
+            if (screen.contains(x, y))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static double clamp(double value, double limit)
+    {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    /**
+     * Advances to the next sample, wrapping around at the end of the trace.
+     *
+     * @return {@code int} - the index of the sample.
+     */
+    public int next()
+    {
+        _cursor = (_cursor + 1) & _mask;
+        return _cursor;
+    }
+
+    public double x(int index)
+    {
+        return _x[index];
+    }
+
+    public double y(int index)
+    {
+        return _y[index];
+    }
+}
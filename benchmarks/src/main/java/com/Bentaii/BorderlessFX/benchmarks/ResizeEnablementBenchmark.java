@@ -0,0 +1,89 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.Cursor;
+import javafx.scene.layout.Pane;
+
+/**
+ * Benchmarks toggling the maximized property 10k times with the eight resize panes.
+ * <p>
+ * {@code BOUND} binds the disable property of every pane to whether resizing is allowed, as the
+ * scene used to, so every toggle fans out to the eight panes. {@code LAZY} leaves the panes alone
+ * and only evaluates whether resizing is allowed when a resize gesture starts, once per toggle
+ * here.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResizeEnablementBenchmark
+{
+    private static final int TOGGLES = 10_000;
+    private static final Cursor[] CURSORS = {Cursor.NW_RESIZE, Cursor.N_RESIZE, Cursor.NE_RESIZE, Cursor.W_RESIZE, Cursor.E_RESIZE, Cursor.SW_RESIZE,
+        Cursor.S_RESIZE, Cursor.SE_RESIZE};
+
+    @Param({"BOUND", "LAZY"})
+    public String strategy;
+
+    private final BooleanProperty _resizable = new SimpleBooleanProperty(true);
+    private final BooleanProperty _maximized = new SimpleBooleanProperty();
+
+    @Setup
+    public void setup()
+    {
+        Pane[] panes = new Pane[CURSORS.length];
+        BooleanBinding disabled = Bindings.createBooleanBinding(() -> !_resizable.get() || _maximized.get(), _resizable, _maximized);
+
+        for (int i = 0; i < panes.length; i++)
+        {
+            panes[i] = new Pane();
+            panes[i].getStyleClass().add("borderless-scene-resize-pane");
+            panes[i].setCursor(CURSORS[i]);
+
+            if ("BOUND".equals(strategy))
+            {
+                panes[i].disableProperty().bind(disabled);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOGGLES)
+    public int toggleMaximized()
+    {
+        int allowed = 0;
+
+        for (int i = 0; i < TOGGLES; i++)
+        {
+            _maximized.set(!_maximized.get());
+
+            if (_resizable.get() && !_maximized.get())
+            {
+                allowed++;
+            }
+        }
+
+        return allowed;
+    }
+}
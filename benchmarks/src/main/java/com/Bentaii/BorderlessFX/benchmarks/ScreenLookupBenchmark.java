@@ -0,0 +1,65 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks the screen lookups done for every drag and resize event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScreenLookupBenchmark
+{
+    @Param({"1", "2", "4", "6", "8"})
+    public int monitors;
+
+    private ScreenTopology _topology;
+    private PointerTrace _trace;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _topology = ScreenTopology.of(layout);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+    }
+
+    /**
+     * The pointer lookup of the move control drag.
+     */
+    @Benchmark
+    public int pointToScreen()
+    {
+        int i = _trace.next();
+        return _topology.indexAt(_trace.x(i), _trace.y(i));
+    }
+
+    /**
+     * The stage lookup of maximize, snap and resize, using the top left half of an 800x600 stage.
+     */
+    @Benchmark
+    public Rectangle2D stageToScreen()
+    {
+        int i = _trace.next();
+        return _topology.visualBoundsFor(_trace.x(i), _trace.y(i), 400, 300);
+    }
+}
@@ -0,0 +1,106 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Position;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.geometry.Size;
+import com.Bentaii.BorderlessFX.geometry.SnapGeometry;
+import com.Bentaii.BorderlessFX.geometry.TileLayout;
+import com.Bentaii.BorderlessFX.geometry.TileTable;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks the bounds computations of snapping, vertical resize snapping and restoring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapGeometryBenchmark
+{
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"1", "4", "8"})
+    public int monitors;
+
+    private final Rect _bounds = new Rect();
+    private final Size _prevSize = new Size(1280, 720);
+    private final Position _prevPos = new Position();
+    private ScreenTopology _topology;
+    private TileTable _tileTable;
+    private PointerTrace _trace;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _topology = ScreenTopology.of(layout);
+        _tileTable = new TileTable(_topology);
+        _tileTable.setLayout(TileLayout.grid(3, 2));
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+    }
+
+    /**
+     * The visual feedback bounds computed by the move control drag.
+     */
+    @Benchmark
+    public Rect previewBounds()
+    {
+        int i = _trace.next();
+        Rectangle2D screen = _topology.visualBoundsAt(_trace.x(i), _trace.y(i));
+        SnapGeometry.snapBounds(DIRECTIONS[i % DIRECTIONS.length], screen, 200, _bounds);
+        return _bounds;
+    }
+
+    /**
+     * The same bounds resolved from the compiled tiling layout, here thirds and sixths.
+     */
+    @Benchmark
+    public Rect tileBounds()
+    {
+        int i = _trace.next();
+        int screenIndex = _topology.indexAt(_trace.x(i), _trace.y(i));
+        _tileTable.bounds(screenIndex, DIRECTIONS[i % DIRECTIONS.length], 200, _bounds);
+        return _bounds;
+    }
+
+    @Benchmark
+    public boolean isLegalVerticalResizeSnap()
+    {
+        int i = _trace.next();
+        Rectangle2D screen = _topology.visualBoundsAt(_trace.x(i), _trace.y(i));
+        return SnapGeometry.isLegalVerticalResizeSnap(screen, 25, (i & 1) == 0 ? VDirection.TOP : VDirection.BOTTOM, _trace.y(i), _trace.y(i));
+    }
+
+    /**
+     * The bounds of revertToPreviousSizeAndPosClamped, restoring a window on the pointer's screen.
+     */
+    @Benchmark
+    public Rect revertToPreviousSizeAndPosClamped()
+    {
+        int i = _trace.next();
+        Rectangle2D screen = _topology.visualBoundsAt(_trace.x(i), _trace.y(i));
+        _prevPos.set(_trace.x(i) - 640, _trace.y(i) - 20);
+        SnapGeometry.clampedRestoreBounds(screen, _prevSize, _prevPos, 200, Double.MAX_VALUE, 150, Double.MAX_VALUE, _bounds);
+        return _bounds;
+    }
+}
@@ -0,0 +1,139 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.SnapPredictor;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Measures the cost of predicting the snap zone while dragging, and reports the hit rate of the
+ * predictions after every iteration.
+ * <p>
+ * Unlike {@link PointerTrace} the gestures are smooth: the pointer eases in and out from a point of
+ * a screen to a target, half of the targets being close to an edge or a corner of the screen.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapPredictionBenchmark
+{
+    private static final int GESTURES = 256;
+    private static final int GESTURE_LENGTH = 32;
+    private static final double EDGE_BAND = 20;
+
+    @Param({"2"})
+    public int monitors;
+
+    @Param({"0", "3", "6"})
+    public int lookahead;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private double[] _x;
+    private double[] _y;
+    private int _sample;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _stateMachine.getSnapPredictor().setLookaheadFrames(lookahead);
+        _stateMachine.shown();
+
+        SplittableRandom random = new SplittableRandom(42);
+        _x = new double[GESTURES * GESTURE_LENGTH];
+        _y = new double[GESTURES * GESTURE_LENGTH];
+
+        for (int gesture = 0; gesture < GESTURES; gesture++)
+        {
+            Rectangle2D screen = layout[random.nextInt(layout.length)];
+            double fromX = screen.getMinX() + screen.getWidth() * (0.25 + random.nextDouble(0.5));
+            double fromY = screen.getMinY() + screen.getHeight() * (0.25 + random.nextDouble(0.5));
+            double toX = screen.getMinX() + random.nextDouble(screen.getWidth());
+            double toY = screen.getMinY() + random.nextDouble(screen.getHeight());
+
+            if (random.nextBoolean())
+            {
+                // Heading to an edge, or a corner if both are picked
+                if (random.nextBoolean())
+                {
+                    toX = random.nextBoolean() ? screen.getMinX() + random.nextDouble(EDGE_BAND) : screen.getMaxX() - 1 - random.nextDouble(EDGE_BAND);
+                }
+                if (random.nextBoolean())
+                {
+                    toY = random.nextBoolean() ? screen.getMinY() + random.nextDouble(EDGE_BAND) : screen.getMaxY() - 1 - random.nextDouble(EDGE_BAND);
+                }
+            }
+
+            for (int i = 0; i < GESTURE_LENGTH; i++)
+            {
+                double t = (double) i / (GESTURE_LENGTH - 1);
+                double eased = t * t * (3 - 2 * t);
+                _x[gesture * GESTURE_LENGTH + i] = fromX + (toX - fromX) * eased;
+                _y[gesture * GESTURE_LENGTH + i] = fromY + (toY - fromY) * eased;
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void report()
+    {
+        SnapPredictor predictor = _stateMachine.getSnapPredictor();
+        System.out.printf("%nprediction: %d predictions, hit rate %.3f, %d unpredicted, %d prepositions%n", predictor.getPredictions(),
+            predictor.getHitRate(), predictor.getUnpredicted(), _host.getPreviewPrepositions());
+        predictor.resetCounters();
+        _host.resetCounters();
+    }
+
+    @Benchmark
+    public HeadlessWindowHost drag()
+    {
+        int i = _sample;
+        _sample = (i + 1) % _x.length;
+
+        if (i % GESTURE_LENGTH == 0)
+        {
+            _host.setMaximized(false);
+            _host.setSnapped(false);
+            _host.setBounds(_x[i] - 320, _y[i] - 12, 800, 600);
+            _stateMachine.movePressed(320, 12, _x[i], 30);
+        }
+
+        _host.pulse();
+        _stateMachine.moveDragged(_x[i], _y[i]);
+
+        if (i % GESTURE_LENGTH == GESTURE_LENGTH - 1)
+        {
+            _stateMachine.moveReleased(_x[i], _y[i], true);
+        }
+
+        return _host;
+    }
+}
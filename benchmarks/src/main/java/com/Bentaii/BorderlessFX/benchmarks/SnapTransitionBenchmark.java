@@ -0,0 +1,104 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks a cycle of window state transitions (keyboard snap, maximize, dragging off the
+ * maximized window, snapping it on release and restoring it with a double click) with and without
+ * bounds transactions.
+ * <p>
+ * The {@code boundsUpdates} counter reports the number of bounds updates that reached the window
+ * per cycle.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapTransitionBenchmark
+{
+    @Param({"true", "false"})
+    public boolean batched;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(2);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _host.setPreventMouseOverTaskbar(false);
+        _host.setBatchedBoundsUpdates(batched);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _stateMachine.shown();
+    }
+
+    @Benchmark
+    public HeadlessWindowHost transitions(Counters counters)
+    {
+        long boundsUpdates = _host.getBoundsUpdates();
+
+        _stateMachine.snapLeft();
+        _host.setMaximized(true);
+        _stateMachine.movePressed(400, 10, 400, 30);
+        _stateMachine.moveDragged(600, 300);
+        _stateMachine.moveDragged(5, 500);
+        _stateMachine.moveReleased(5, 500, true);
+        _stateMachine.moveClicked(true, 2);
+
+        counters.record(_host.getBoundsUpdates() - boundsUpdates);
+        return _host;
+    }
+
+    /**
+     * Counters reported per cycle.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters
+    {
+        public double boundsUpdates;
+        private long _total;
+        private long _cycles;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            boundsUpdates = 0;
+            _total = 0;
+            _cycles = 0;
+        }
+
+        void record(long updates)
+        {
+            _total += updates;
+            _cycles++;
+            boundsUpdates = (double) _total / _cycles;
+        }
+    }
+}
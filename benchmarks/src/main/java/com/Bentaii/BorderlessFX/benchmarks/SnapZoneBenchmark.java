@@ -0,0 +1,69 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks resolving the snap direction of a pointer sample.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapZoneBenchmark
+{
+    @Param({"1", "2", "4", "6", "8"})
+    public int monitors;
+
+    private ScreenTopology _topology;
+    private SnapZoneMap _snapZoneMap;
+    private PointerTrace _trace;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _topology = ScreenTopology.of(layout);
+        _snapZoneMap = new SnapZoneMap(_topology, 25, 50);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+    }
+
+    /**
+     * Screen lookup and classification, as done by the move control drag.
+     */
+    @Benchmark
+    public Direction resolveSnapDirection()
+    {
+        int i = _trace.next();
+        return _snapZoneMap.classify(_trace.x(i), _trace.y(i));
+    }
+
+    /**
+     * Classification alone, with the screen already known.
+     */
+    @Benchmark
+    public Direction classifyOnScreen()
+    {
+        int i = _trace.next();
+        return _snapZoneMap.classify(0, _trace.x(i), _trace.y(i));
+    }
+}
@@ -0,0 +1,109 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.trace.PointerTraceRecorder;
+import com.Bentaii.BorderlessFX.trace.RecordedTrace;
+import com.Bentaii.BorderlessFX.trace.TraceReplayer;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Replays a recorded pointer trace through the {@link WindowStateMachine}, one whole trace per
+ * invocation.
+ * <p>
+ * A field trace recorded with a {@link PointerTraceRecorder} is replayed with
+ * {@code -Dborderless.trace=path/to/file}, forwarded to the fork with {@code -jvmArgsAppend}.
+ * Otherwise a synthetic drag session is recorded on the given number of monitors first, which also
+ * exercises the recorder.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceReplayBenchmark
+{
+    private static final int GESTURE_LENGTH = 64;
+    private static final int SAMPLES = 4096;
+
+    @Param({"1", "4"})
+    public int monitors;
+
+    private TraceReplayer _replayer;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        String file = System.getProperty("borderless.trace");
+        _replayer = new TraceReplayer(RecordedTrace.read(file != null ? Path.of(file) : recordSynthetic()));
+    }
+
+    @Benchmark
+    public long replay()
+    {
+        return _replayer.replay();
+    }
+
+    private Path recordSynthetic() throws IOException
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        HeadlessWindowHost host = new HeadlessWindowHost(100, 100, 800, 600);
+        host.setPreviewMinWidth(200);
+        WindowStateMachine stateMachine = new WindowStateMachine(host, ScreenTopology.of(layout), 25, 50);
+        host.attach(stateMachine);
+        stateMachine.shown();
+
+        PointerTrace trace = PointerTrace.synthetic(layout, SAMPLES, 42);
+        Path file = Files.createTempFile("borderless", ".trace");
+        file.toFile().deleteOnExit();
+
+        try (PointerTraceRecorder recorder = new PointerTraceRecorder(file, SAMPLES * 2))
+        {
+            stateMachine.setTraceRecorder(recorder);
+
+            for (int start = 0; start < SAMPLES; start += GESTURE_LENGTH)
+            {
+                int i = trace.next();
+                host.setMaximized(false);
+                host.setSnapped(false);
+                host.setBounds(trace.x(i) - 320, trace.y(i) - 12, 800, 600);
+                stateMachine.shown();
+                stateMachine.movePressed(320, 12, trace.x(i), 30);
+
+                for (int sample = 1; sample < GESTURE_LENGTH; sample++)
+                {
+                    i = trace.next();
+                    host.pulse();
+                    stateMachine.moveDragged(trace.x(i), trace.y(i));
+                }
+
+                stateMachine.moveReleased(trace.x(i), trace.y(i), true);
+            }
+
+            stateMachine.setTraceRecorder(null);
+        }
+
+        return file;
+    }
+}
@@ -0,0 +1,82 @@
+package com.Bentaii.BorderlessFX.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Benchmarks a move control drag through the real {@link WindowStateMachine}, driven by a
+ * {@link HeadlessWindowHost} so no display or JavaFX toolkit is needed.
+ * <p>
+ * Measures one drag sample per invocation, the press/release of every drag gesture is spread
+ * over the trace.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindowStateMachineBenchmark
+{
+    private static final int GESTURE_LENGTH = 64;
+
+    @Param({"1", "2", "4", "6", "8"})
+    public int monitors;
+
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+    private PointerTrace _trace;
+    private int _samples;
+
+    @Setup
+    public void setup()
+    {
+        Rectangle2D[] layout = MonitorLayouts.create(monitors);
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreviewMinWidth(200);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(layout), 25, 50);
+        _host.attach(_stateMachine);
+        _trace = PointerTrace.synthetic(layout, 4096, 42);
+        _stateMachine.shown();
+    }
+
+    @Benchmark
+    public HeadlessWindowHost drag()
+    {
+        int i = _trace.next();
+        double screenX = _trace.x(i);
+        double screenY = _trace.y(i);
+
+        if (_samples++ % GESTURE_LENGTH == 0)
+        {
+            // Start a new gesture from a restored window so snapping does not accumulate
+            _host.setMaximized(false);
+            _host.setSnapped(false);
+            _host.setBounds(screenX - 320, screenY - 12, 800, 600);
+            _stateMachine.movePressed(320, 12, screenX, 30);
+        }
+
+        // Move control drag samples are applied once per pulse
+        _host.pulse();
+        _stateMachine.moveDragged(screenX, screenY);
+        return _host;
+    }
+}
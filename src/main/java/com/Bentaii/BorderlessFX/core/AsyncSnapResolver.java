@@ -0,0 +1,209 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Resolves the snap decisions of a move control drag on a worker thread.
+ * <p>
+ * The input thread publishes pointer samples to a single-slot mailbox, a newer sample replaces
+ * one the worker has not taken yet. The worker resolves the latest sample against the current
+ * {@link SnapSnapshot} and hands the decision back through the given executor, e.g.
+ * {@code Platform::runLater}. At most one hand-off is pending at a time and it applies the latest
+ * decision, so a busy input thread receives one decision however many samples were resolved
+ * meanwhile.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     AsyncSnapResolver resolver = new AsyncSnapResolver(Platform::runLater);
+ *     stateMachine.setAsyncSnapResolver(resolver);
+ *     ...
+ *     resolver.close();
+ * }
+ * </pre>
+ */
+public class AsyncSnapResolver implements AutoCloseable
+{
+    private final Executor _inputExecutor;
+    private final AtomicReference<PointerSample> _mailbox = new AtomicReference<>();
+    private final AtomicReference<SnapDecision> _result = new AtomicReference<>();
+    private final AtomicBoolean _handOffPending = new AtomicBoolean();
+    private final AtomicLong _generation = new AtomicLong();
+    private final AtomicLong _resolved = new AtomicLong();
+    private final AtomicLong _applied = new AtomicLong();
+    private final Runnable _handOff = this::handOff;
+    private final Thread _worker;
+    private volatile SnapSnapshot _snapshot;
+    private volatile Consumer<SnapDecision> _consumer;
+    private volatile boolean _closed;
+    private volatile boolean _parked;
+
+    /**
+     * Creates a resolver and starts its worker thread.
+     *
+     * @param inputExecutor The executor running the decisions on the input thread, e.g.
+     *                      {@code Platform::runLater}.
+     */
+    public AsyncSnapResolver(Executor inputExecutor)
+    {
+        _inputExecutor = requireNonNull(inputExecutor);
+        _worker = new Thread(this::work, "BorderlessSceneFX-SnapResolver");
+        _worker.setDaemon(true);
+        _worker.start();
+    }
+
+    /**
+     * Sets the consumer applying the decisions on the input thread.
+     *
+     * @param consumer The consumer.
+     */
+    public void setConsumer(Consumer<SnapDecision> consumer)
+    {
+        _consumer = consumer;
+    }
+
+    /**
+     * Publishes the configuration the next samples are resolved against.
+     *
+     * @param snapshot The configuration, instance of {@link SnapSnapshot}.
+     */
+    public void publish(SnapSnapshot snapshot)
+    {
+        _snapshot = requireNonNull(snapshot);
+    }
+
+    /**
+     * Submits a pointer sample, replacing the previous one if the worker has not taken it yet.
+     *
+     * @param screenX The x coordinate of the pointer on the screen.
+     * @param screenY The y coordinate of the pointer on the screen.
+     */
+    public void submit(double screenX, double screenY)
+    {
+        _mailbox.set(new PointerSample(screenX, screenY, _generation.get()));
+
+        // A busy worker takes the sample from the mailbox without being woken up
+        if (_parked)
+        {
+            LockSupport.unpark(_worker);
+        }
+    }
+
+    /**
+     * Discards the pending sample and every decision not applied yet, e.g. when the drag ends.
+     */
+    public void cancel()
+    {
+        _generation.incrementAndGet();
+        _mailbox.set(null);
+    }
+
+    /**
+     * @return {@code long} - the number of samples resolved by the worker.
+     */
+    public long getResolved()
+    {
+        return _resolved.get();
+    }
+
+    /**
+     * @return {@code long} - the number of decisions applied on the input thread.
+     */
+    public long getApplied()
+    {
+        return _applied.get();
+    }
+
+    /**
+     * Stops the worker thread, pending samples are discarded.
+     */
+    @Override
+    public void close()
+    {
+        _closed = true;
+        cancel();
+        LockSupport.unpark(_worker);
+    }
+
+    private void work()
+    {
+        while (!_closed)
+        {
+            PointerSample sample = _mailbox.getAndSet(null);
+            SnapSnapshot snapshot = _snapshot;
+
+            if (sample == null || snapshot == null)
+            {
+                // Checked again after announcing the park, so a sample submitted meanwhile either
+                // is seen here or unparks the worker
+                _parked = true;
+
+                if (_mailbox.get() == null && !_closed)
+                {
+                    LockSupport.park(this);
+                }
+
+                _parked = false;
+                continue;
+            }
+
+            SnapDecision decision = snapshot.resolve(sample._screenX, sample._screenY, sample._generation);
+            _resolved.incrementAndGet();
+
+            if (decision == null)
+            {
+                continue;
+            }
+
+            _result.set(decision);
+
+            if (_handOffPending.compareAndSet(false, true))
+            {
+                _inputExecutor.execute(_handOff);
+            }
+        }
+    }
+
+    /**
+     * Applies the latest decision on the input thread, unless its drag was cancelled.
+     */
+    private void handOff()
+    {
+        // Cleared first, so a decision resolved meanwhile schedules another hand-off
+        _handOffPending.set(false);
+        SnapDecision decision = _result.getAndSet(null);
+        Consumer<SnapDecision> consumer = _consumer;
+
+        if (decision == null || consumer == null || decision.getGeneration() != _generation.get())
+        {
+            return;
+        }
+
+        _applied.incrementAndGet();
+        consumer.accept(decision);
+    }
+
+    /**
+     * An immutable pointer sample of the input thread
+     */
+    private static final class PointerSample
+    {
+        private final double _screenX;
+        private final double _screenY;
+        private final long _generation;
+
+        private PointerSample(double screenX, double screenY, long generation)
+        {
+            _screenX = screenX;
+            _screenY = screenY;
+            _generation = generation;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Animates the bounds of a window towards the result of a state transition, one bounds update
+ * per pulse.
+ * <p>
+ * The start, target and current bounds are kept in primitive arrays and interpolated together,
+ * so a frame is a single bounds update of the window instead of one animation per stage property,
+ * and nothing is allocated. A {@link WindowHost} offers the bounds of every ended bounds
+ * transaction with {@link #offer(double, double, double, double, double, double, double, double, boolean, long)}:
+ * </p>
+ * <ul>
+ *     <li>the result of a transition starts an animation, or retargets the running one from its
+ *     current bounds with the full duration;</li>
+ *     <li>any other bounds, e.g. a drag sample, retarget the running animation keeping its end
+ *     time, so the window catches up with the pointer instead of trailing it;</li>
+ *     <li>without a running animation other bounds are not taken and applied right away.</li>
+ * </ul>
+ * While animating, the host reports the target bounds to the {@link WindowStateMachine} and
+ * applies {@link #getX()}, {@link #getY()}, {@link #getWidth()} and {@link #getHeight()} after every
+ * {@link #tick(long)}.
+ * <p>
+ * Not thread-safe.
+ * </p>
+ */
+public class BoundsAnimator
+{
+    /**
+     * The default duration of an animation.
+     */
+    public static final long DEFAULT_DURATION_MILLIS = 150;
+
+    private final double[] _from = new double[4];
+    private final double[] _to = new double[4];
+    private final double[] _current = new double[4];
+    private Easing _easing = StandardEasing.EASE_OUT_CUBIC;
+    private long _durationNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DURATION_MILLIS);
+    private boolean _enabled;
+    private boolean _running;
+    private long _startNanos;
+    private long _endNanos;
+    private long _animations;
+    private long _retargets;
+    private long _frames;
+
+    public boolean isEnabled()
+    {
+        return _enabled;
+    }
+
+    /**
+     * Sets whether transitions are animated, false by default. Disabling it finishes the running
+     * animation on the next {@link #tick(long)}.
+     *
+     * @param value true to animate transitions.
+     */
+    public void setEnabled(boolean value)
+    {
+        _enabled = value;
+
+        if (!value)
+        {
+            _endNanos = _startNanos;
+        }
+    }
+
+    public long getDurationMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_durationNanos);
+    }
+
+    /**
+     * Sets the duration of an animation, 0 disables the animations.
+     *
+     * @param millis The duration in milliseconds.
+     */
+    public void setDurationMillis(long millis)
+    {
+        if (millis < 0)
+        {
+            throw new IllegalArgumentException("The duration cannot be negative: " + millis);
+        }
+
+        _durationNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public Easing getEasing()
+    {
+        return _easing;
+    }
+
+    /**
+     * Sets the easing curve, {@link StandardEasing#EASE_OUT_CUBIC} by default.
+     *
+     * @param easing The easing, instance of {@link Easing}.
+     */
+    public void setEasing(Easing easing)
+    {
+        _easing = requireNonNull(easing);
+    }
+
+    /**
+     * @return {@code boolean} - true if an animation is running otherwise false.
+     */
+    public boolean isRunning()
+    {
+        return _running;
+    }
+
+    /**
+     * Offers the bounds of an ended bounds transaction.
+     *
+     * @param fromX      The x coordinate the window is displayed at.
+     * @param fromY      The y coordinate the window is displayed at.
+     * @param fromWidth  The width the window is displayed with.
+     * @param fromHeight The height the window is displayed with.
+     * @param x          The new x coordinate.
+     * @param y          The new y coordinate.
+     * @param width      The new width.
+     * @param height     The new height.
+     * @param transition true if the bounds are the result of a state transition.
+     * @param nowNanos   The current time, from {@link System#nanoTime()}.
+     * @return {@code boolean} - true if the bounds are animated towards, false if they must be
+     * applied right away.
+     */
+    @SuppressWarnings("java:S107")
+    public boolean offer(double fromX, double fromY, double fromWidth, double fromHeight, double x, double y, double width, double height, boolean transition,
+        long nowNanos)
+    {
+        if (_running)
+        {
+            // Retarget from where the window is displayed now
+            interpolate(nowNanos);
+            copy(_current, _from);
+            set(_to, x, y, width, height);
+            _startNanos = nowNanos;
+
+            if (transition)
+            {
+                _endNanos = nowNanos + _durationNanos;
+            }
+
+            _retargets++;
+            return true;
+        }
+
+        if (!transition || !_enabled || _durationNanos == 0 || (fromX == x && fromY == y && fromWidth == width && fromHeight == height))
+        {
+            return false;
+        }
+
+        set(_from, fromX, fromY, fromWidth, fromHeight);
+        set(_to, x, y, width, height);
+        copy(_from, _current);
+        _startNanos = nowNanos;
+        _endNanos = nowNanos + _durationNanos;
+        _running = true;
+        _animations++;
+        return true;
+    }
+
+    /**
+     * Advances the running animation, called once per pulse.
+     *
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     * @return {@code boolean} - true if an animation advanced and its current bounds must be
+     * applied, false if none is running.
+     */
+    public boolean tick(long nowNanos)
+    {
+        if (!_running)
+        {
+            return false;
+        }
+
+        interpolate(nowNanos);
+        _frames++;
+
+        if (nowNanos >= _endNanos)
+        {
+            _running = false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops the running animation where it is.
+     */
+    public void cancel()
+    {
+        _running = false;
+    }
+
+    public double getX()
+    {
+        return _current[0];
+    }
+
+    public double getY()
+    {
+        return _current[1];
+    }
+
+    public double getWidth()
+    {
+        return _current[2];
+    }
+
+    public double getHeight()
+    {
+        return _current[3];
+    }
+
+    public double getTargetX()
+    {
+        return _to[0];
+    }
+
+    public double getTargetY()
+    {
+        return _to[1];
+    }
+
+    public double getTargetWidth()
+    {
+        return _to[2];
+    }
+
+    public double getTargetHeight()
+    {
+        return _to[3];
+    }
+
+    /**
+     * @return {@code long} - the number of animations started.
+     */
+    public long getAnimations()
+    {
+        return _animations;
+    }
+
+    /**
+     * @return {@code long} - the number of times a running animation was given a new target.
+     */
+    public long getRetargets()
+    {
+        return _retargets;
+    }
+
+    /**
+     * @return {@code long} - the number of frames applied.
+     */
+    public long getFrames()
+    {
+        return _frames;
+    }
+
+    public void resetCounters()
+    {
+        _animations = 0;
+        _retargets = 0;
+        _frames = 0;
+    }
+
+    private void interpolate(long nowNanos)
+    {
+        long duration = _endNanos - _startNanos;
+
+        if (nowNanos >= _endNanos || duration <= 0)
+        {
+            copy(_to, _current);
+            return;
+        }
+
+        double eased = _easing.ease((double) (nowNanos - _startNanos) / duration);
+
+        for (int i = 0; i < 4; i++)
+        {
+            _current[i] = _from[i] + (_to[i] - _from[i]) * eased;
+        }
+    }
+
+    private static void set(double[] bounds, double x, double y, double width, double height)
+    {
+        bounds[0] = x;
+        bounds[1] = y;
+        bounds[2] = width;
+        bounds[3] = height;
+    }
+
+    private static void copy(double[] from, double[] to)
+    {
+        System.arraycopy(from, 0, to, 0, 4);
+    }
+}
@@ -0,0 +1,118 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+/**
+ * Collects the bounds updates of a window so they are applied as one operation.
+ * <p>
+ * While a transaction is open a {@link WindowHost} records the bounds passed to
+ * {@link WindowHost#setBounds(double, double, double, double)} here and reports them from its
+ * getters, instead of touching the native window. When the outermost transaction ends the final
+ * bounds are applied once, so intermediate bounds (e.g. unsnapping and then restoring a maximized
+ * window) never reach the window. Transactions can be nested.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     public void setBounds(double x, double y, double width, double height)
+ *     {
+ *         if (_transaction.isOpen())
+ *             _transaction.set(x, y, width, height);
+ *         else
+ *             apply(x, y, width, height);
+ *     }
+ *
+ *     public void endBoundsUpdate()
+ *     {
+ *         if (_transaction.end())
+ *             apply(_transaction.getBounds());
+ *     }
+ * }
+ * </pre>
+ */
+public final class BoundsTransaction
+{
+    private final Rect _bounds = new Rect();
+    private int _depth;
+    private boolean _dirty;
+    private long _commits;
+
+    /**
+     * Opens a transaction, or a nested one if already open.
+     *
+     * @param x      The current x coordinate of the window.
+     * @param y      The current y coordinate of the window.
+     * @param width  The current width of the window.
+     * @param height The current height of the window.
+     */
+    public void begin(double x, double y, double width, double height)
+    {
+        if (_depth++ == 0)
+        {
+            _bounds.set(x, y, width, height);
+            _dirty = false;
+        }
+    }
+
+    /**
+     * @return {@code boolean} - true if a transaction is open otherwise false.
+     */
+    public boolean isOpen()
+    {
+        return _depth > 0;
+    }
+
+    /**
+     * Records the bounds of the window, only valid while a transaction is open.
+     *
+     * @param x      The x coordinate of the window.
+     * @param y      The y coordinate of the window.
+     * @param width  The width of the window.
+     * @param height The height of the window.
+     */
+    public void set(double x, double y, double width, double height)
+    {
+        _bounds.set(x, y, width, height);
+        _dirty = true;
+    }
+
+    /**
+     * Ends the innermost transaction.
+     *
+     * @return {@code boolean} - true if the outermost transaction ended and bounds were recorded,
+     * which must then be applied to the window.
+     * @throws IllegalStateException if no transaction is open.
+     */
+    public boolean end()
+    {
+        if (_depth == 0)
+        {
+            throw new IllegalStateException("No bounds transaction is open");
+        }
+
+        if (--_depth > 0 || !_dirty)
+        {
+            return false;
+        }
+
+        _dirty = false;
+        _commits++;
+        return true;
+    }
+
+    /**
+     * @return The recorded bounds, instance of {@link Rect}.
+     */
+    public Rect getBounds()
+    {
+        return _bounds;
+    }
+
+    /**
+     * @return {@code long} - the number of transactions that had to be applied to the window.
+     */
+    public long getCommits()
+    {
+        return _commits;
+    }
+}
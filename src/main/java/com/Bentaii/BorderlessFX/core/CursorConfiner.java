@@ -0,0 +1,33 @@
+package com.Bentaii.BorderlessFX.core;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Keeps the pointer within the visual bounds of a screen while the window is dragged or resized,
+ * so it cannot reach the taskbar.
+ * <p>
+ * The default implementation is {@link PulseCursorConfiner}. Other implementations can be plugged
+ * into a {@link WindowStateMachine}, e.g. to count the warps in headless tests.
+ * </p>
+ */
+public interface CursorConfiner
+{
+
+    /**
+     * Called for every pointer sample of a drag or resize while the mouse is prevented from moving
+     * over the taskbar.
+     *
+     * @param screenX The x coordinate of the pointer on the screen.
+     * @param screenY The y coordinate of the pointer on the screen.
+     * @param bounds  The visual bounds of the screen the pointer must stay in.
+     */
+    void confine(double screenX, double screenY, Rectangle2D bounds);
+
+    /**
+     * Called once per JavaFX pulse.
+     */
+    default void pulse()
+    {
+        // Not rate limited by default
+    }
+}
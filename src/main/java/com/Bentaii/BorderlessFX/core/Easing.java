@@ -0,0 +1,18 @@
+package com.Bentaii.BorderlessFX.core;
+
+/**
+ * An easing curve of a {@link BoundsAnimator}, see {@link StandardEasing} for the built-in ones.
+ */
+@FunctionalInterface
+public interface Easing
+{
+
+    /**
+     * Maps the elapsed fraction of an animation to the fraction of the distance covered.
+     *
+     * @param t The elapsed fraction, between 0 and 1.
+     * @return {@code double} - the covered fraction, 0 for 0 and 1 for 1. It should stay within
+     * [0, 1], overshooting could break the size constraints of the window.
+     */
+    double ease(double t);
+}
@@ -0,0 +1,571 @@
+package com.Bentaii.BorderlessFX.core;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.EdgeIndex;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+
+/**
+ * A {@link WindowHost} which only records the state of a window, for driving a
+ * {@link WindowStateMachine} without a display, e.g. in benchmarks, fuzzers or replays.
+ * <p>
+ * The defaults match those of {@code DockableScene}. The number of bounds updates, preview
+ * updates and cursor moves is counted, bounds transactions can be disabled to compare the number
+ * of bounds updates with and without them.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     HeadlessWindowHost host = new HeadlessWindowHost(100, 100, 800, 600);
+ *     WindowStateMachine stateMachine = new WindowStateMachine(host, ScreenTopology.of(screens),
+ *         SnapZoneMap.DEFAULT_ALLOWANCE, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+ *     host.attach(stateMachine);
+ * }
+ * </pre>
+ */
+public class HeadlessWindowHost implements WindowHost
+{
+    private final Rect _bounds = new Rect();
+    private final Rect _previewBounds = new Rect();
+    private final BoundsTransaction _boundsTransaction = new BoundsTransaction();
+    private final Set<Direction> _disabledDirections = EnumSet.of(Direction.BOTTOM);
+    private final List<Rect> _neighbors = new ArrayList<>();
+    private WindowStateMachine _stateMachine;
+    private BoundsAnimator _boundsAnimator;
+    private boolean _transitionPending;
+    private long _pulseNanos;
+    private double _minWidth;
+    private double _maxWidth = Double.MAX_VALUE;
+    private double _minHeight;
+    private double _maxHeight = Double.MAX_VALUE;
+    private boolean _maximized;
+    private boolean _minimized;
+    private boolean _snapped;
+    private boolean _aeroSnap = true;
+    private double _aeroSnapAllowance = SnapZoneMap.DEFAULT_ALLOWANCE;
+    private boolean _doubleClickMaximizable = true;
+    private boolean _verticalResizeSnap = true;
+    private boolean _preventMouseOverTaskbar = true;
+    private boolean _previewVisible;
+    private boolean _batchedBoundsUpdates = true;
+    private double _previewMinWidth;
+    private long _boundsUpdates;
+    private long _previewUpdates;
+    private long _previewPrepositions;
+    private long _cursorMoves;
+
+    public HeadlessWindowHost(double x, double y, double width, double height)
+    {
+        _bounds.set(x, y, width, height);
+    }
+
+    /**
+     * Attaches the state machine driving this host, required for maximizing.
+     *
+     * @param stateMachine The state machine, instance of {@link WindowStateMachine}.
+     */
+    public void attach(WindowStateMachine stateMachine)
+    {
+        _stateMachine = stateMachine;
+    }
+
+    /**
+     * Simulates a JavaFX pulse, which allows the cursor confiner of the attached state machine to
+     * warp the pointer again and runs its oldest queued keyboard command.
+     */
+    public void pulse()
+    {
+        pulse(System.nanoTime());
+    }
+
+    /**
+     * Simulates a JavaFX pulse at the given time, which also applies the next frame of the running
+     * bounds animation. Animations started until the next pulse start at that time.
+     *
+     * @param nowNanos The time of the pulse, from {@link System#nanoTime()}.
+     */
+    public void pulse(long nowNanos)
+    {
+        _pulseNanos = nowNanos;
+
+        if (_stateMachine != null)
+        {
+            _stateMachine.pulse();
+        }
+        if (_boundsAnimator != null && _boundsAnimator.tick(nowNanos))
+        {
+            applyBounds(_boundsAnimator.getX(), _boundsAnimator.getY(), _boundsAnimator.getWidth(), _boundsAnimator.getHeight());
+        }
+    }
+
+    public BoundsAnimator getBoundsAnimator()
+    {
+        return _boundsAnimator;
+    }
+
+    /**
+     * Sets the animator of the transitions, null by default so the results of transitions are
+     * applied immediately. Animations are advanced by {@link #pulse(long)}.
+     *
+     * @param animator The animator, instance of {@link BoundsAnimator}, or null.
+     */
+    public void setBoundsAnimator(BoundsAnimator animator)
+    {
+        _boundsAnimator = animator;
+    }
+
+    /**
+     * @return The bounds applied to the window, instance of {@link Rect}.
+     */
+    public Rect getBounds()
+    {
+        return _bounds;
+    }
+
+    /**
+     * @return The bounds of the neighbor windows the window is magnetically snapped to, a mutable
+     * {@link List} of {@link Rect}.
+     */
+    public List<Rect> getNeighbors()
+    {
+        return _neighbors;
+    }
+
+    /**
+     * @return The bounds of the aero snap visual feedback, instance of {@link Rect}.
+     */
+    public Rect getPreviewBounds()
+    {
+        return _previewBounds;
+    }
+
+    public boolean isPreviewVisible()
+    {
+        return _previewVisible;
+    }
+
+    /**
+     * @return {@code long} - the number of bounds updates that changed the bounds.
+     */
+    public long getBoundsUpdates()
+    {
+        return _boundsUpdates;
+    }
+
+    /**
+     * @return {@code long} - the number of times the visual feedback was shown or moved.
+     */
+    public long getPreviewUpdates()
+    {
+        return _previewUpdates;
+    }
+
+    /**
+     * @return {@code long} - the number of times the hidden visual feedback was moved to predicted
+     * bounds.
+     */
+    public long getPreviewPrepositions()
+    {
+        return _previewPrepositions;
+    }
+
+    /**
+     * @return {@code long} - the number of times the pointer was moved.
+     */
+    public long getCursorMoves()
+    {
+        return _cursorMoves;
+    }
+
+    /**
+     * Sets the maximized and snapped state without notifying the attached state machine, e.g. to
+     * put the window back to a recorded state.
+     *
+     * @param maximized true if the window is maximized.
+     * @param snapped   true if the window is snapped.
+     */
+    public void setState(boolean maximized, boolean snapped)
+    {
+        _maximized = maximized;
+        _snapped = snapped;
+    }
+
+    public boolean isBatchedBoundsUpdates()
+    {
+        return _batchedBoundsUpdates;
+    }
+
+    /**
+     * Sets whether bounds transactions are honored, true by default. If false every
+     * {@link #setBounds(double, double, double, double)} is applied immediately.
+     *
+     * @param value true to honor bounds transactions.
+     */
+    public void setBatchedBoundsUpdates(boolean value)
+    {
+        _batchedBoundsUpdates = value;
+    }
+
+    public void resetCounters()
+    {
+        _boundsUpdates = 0;
+        _previewUpdates = 0;
+        _previewPrepositions = 0;
+        _cursorMoves = 0;
+    }
+
+    @Override
+    public double getX()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getX();
+        }
+
+        return isAnimating() ? _boundsAnimator.getTargetX() : _bounds.getX();
+    }
+
+    @Override
+    public double getY()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getY();
+        }
+
+        return isAnimating() ? _boundsAnimator.getTargetY() : _bounds.getY();
+    }
+
+    @Override
+    public double getWidth()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getWidth();
+        }
+
+        return isAnimating() ? _boundsAnimator.getTargetWidth() : _bounds.getWidth();
+    }
+
+    @Override
+    public double getHeight()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getHeight();
+        }
+
+        return isAnimating() ? _boundsAnimator.getTargetHeight() : _bounds.getHeight();
+    }
+
+    @Override
+    public double getMinWidth()
+    {
+        return _minWidth;
+    }
+
+    @Override
+    public double getMaxWidth()
+    {
+        return _maxWidth;
+    }
+
+    @Override
+    public double getMinHeight()
+    {
+        return _minHeight;
+    }
+
+    @Override
+    public double getMaxHeight()
+    {
+        return _maxHeight;
+    }
+
+    /**
+     * Sets the size constraints of the window.
+     *
+     * @param minWidth  The minimum width.
+     * @param maxWidth  The maximum width.
+     * @param minHeight The minimum height.
+     * @param maxHeight The maximum height.
+     */
+    public void setSizeConstraints(double minWidth, double maxWidth, double minHeight, double maxHeight)
+    {
+        _minWidth = minWidth;
+        _maxWidth = maxWidth;
+        _minHeight = minHeight;
+        _maxHeight = maxHeight;
+    }
+
+    @Override
+    public void setBounds(double x, double y, double width, double height)
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            _boundsTransaction.set(x, y, width, height);
+            return;
+        }
+
+        offerBounds(x, y, width, height, false);
+    }
+
+    @Override
+    public void beginBoundsUpdate()
+    {
+        if (_batchedBoundsUpdates)
+        {
+            _boundsTransaction.begin(getX(), getY(), getWidth(), getHeight());
+        }
+    }
+
+    @Override
+    public void transitionCommitted()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            _transitionPending = true;
+        }
+    }
+
+    @Override
+    public void endBoundsUpdate()
+    {
+        if (!_boundsTransaction.isOpen())
+        {
+            return;
+        }
+
+        boolean apply = _boundsTransaction.end();
+        boolean transition = _transitionPending;
+
+        if (!_boundsTransaction.isOpen())
+        {
+            _transitionPending = false;
+        }
+
+        if (apply)
+        {
+            Rect bounds = _boundsTransaction.getBounds();
+            offerBounds(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight(), transition);
+        }
+    }
+
+    private boolean isAnimating()
+    {
+        return _boundsAnimator != null && _boundsAnimator.isRunning();
+    }
+
+    private void offerBounds(double x, double y, double width, double height, boolean transition)
+    {
+        if (_boundsAnimator == null
+            || !_boundsAnimator.offer(_bounds.getX(), _bounds.getY(), _bounds.getWidth(), _bounds.getHeight(), x, y, width, height, transition, _pulseNanos))
+        {
+            applyBounds(x, y, width, height);
+        }
+    }
+
+    private void applyBounds(double x, double y, double width, double height)
+    {
+        if (x == _bounds.getX() && y == _bounds.getY() && width == _bounds.getWidth() && height == _bounds.getHeight())
+        {
+            return;
+        }
+
+        _bounds.set(x, y, width, height);
+        _boundsUpdates++;
+    }
+
+    @Override
+    public void collectNeighbors(EdgeIndex edges)
+    {
+        for (int i = 0; i < _neighbors.size(); i++)
+        {
+            Rect neighbor = _neighbors.get(i);
+            edges.add(neighbor.getX(), neighbor.getY(), neighbor.getWidth(), neighbor.getHeight());
+        }
+    }
+
+    @Override
+    public boolean isMaximized()
+    {
+        return _maximized;
+    }
+
+    @Override
+    public void setMaximized(boolean value)
+    {
+        if (_maximized == value)
+        {
+            return;
+        }
+
+        _maximized = value;
+
+        if (_stateMachine != null)
+        {
+            _stateMachine.maximizedChanged();
+        }
+    }
+
+    @Override
+    public boolean isMinimized()
+    {
+        return _minimized;
+    }
+
+    @Override
+    public void setMinimized(boolean value)
+    {
+        if (_minimized == value)
+        {
+            return;
+        }
+
+        _minimized = value;
+
+        if (_stateMachine != null)
+        {
+            _stateMachine.iconifiedChanged(value);
+        }
+    }
+
+    @Override
+    public boolean isSnapped()
+    {
+        return _snapped;
+    }
+
+    @Override
+    public void setSnapped(boolean value)
+    {
+        _snapped = value;
+    }
+
+    @Override
+    public boolean isAeroSnap()
+    {
+        return _aeroSnap;
+    }
+
+    public void setAeroSnap(boolean value)
+    {
+        _aeroSnap = value;
+    }
+
+    @Override
+    public double getAeroSnapAllowance()
+    {
+        return _aeroSnapAllowance;
+    }
+
+    /**
+     * Sets the allowances, also updating the snap zones of the attached state machine.
+     *
+     * @param allowance       The amount of space from an edge that triggers a snap.
+     * @param cornerAllowance The amount of space from a corner that triggers a quarter tile.
+     */
+    public void setAeroSnapAllowances(double allowance, double cornerAllowance)
+    {
+        _aeroSnapAllowance = allowance;
+
+        if (_stateMachine != null)
+        {
+            _stateMachine.getSnapZoneMap().setAllowances(allowance, cornerAllowance);
+        }
+    }
+
+    @Override
+    public boolean isDoubleClickMaximizable()
+    {
+        return _doubleClickMaximizable;
+    }
+
+    public void setDoubleClickMaximizable(boolean value)
+    {
+        _doubleClickMaximizable = value;
+    }
+
+    @Override
+    public boolean isVerticalResizeSnap()
+    {
+        return _verticalResizeSnap;
+    }
+
+    public void setVerticalResizeSnap(boolean value)
+    {
+        _verticalResizeSnap = value;
+    }
+
+    @Override
+    public boolean isPreventMouseOverTaskbar()
+    {
+        return _preventMouseOverTaskbar;
+    }
+
+    public void setPreventMouseOverTaskbar(boolean value)
+    {
+        _preventMouseOverTaskbar = value;
+    }
+
+    @Override
+    public boolean isDirectionDisabled(Direction direction)
+    {
+        return _disabledDirections.contains(direction);
+    }
+
+    /**
+     * @return The directions of which the window snap is disabled, {@link Direction#BOTTOM} by
+     * default.
+     */
+    public Set<Direction> getDisabledDirections()
+    {
+        return _disabledDirections;
+    }
+
+    @Override
+    public double getPreviewMinWidth()
+    {
+        return _previewMinWidth;
+    }
+
+    public void setPreviewMinWidth(double value)
+    {
+        _previewMinWidth = value;
+    }
+
+    @Override
+    public void showPreview(Rect bounds)
+    {
+        _previewBounds.set(bounds);
+        _previewVisible = true;
+        _previewUpdates++;
+    }
+
+    @Override
+    public void prepositionPreview(Rect bounds)
+    {
+        if (!_previewVisible)
+        {
+            _previewBounds.set(bounds);
+            _previewPrepositions++;
+        }
+    }
+
+    @Override
+    public void hidePreview()
+    {
+        _previewVisible = false;
+    }
+
+    @Override
+    public void moveCursor(double x, double y)
+    {
+        _cursorMoves++;
+    }
+}
@@ -0,0 +1,88 @@
+package com.Bentaii.BorderlessFX.core;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * The default {@link CursorConfiner}, moving the pointer back onto the screen when it reaches the
+ * right or bottom edge of the visual bounds.
+ * <p>
+ * Samples with the pointer inside the bounds cost two comparisons. The pointer is warped at most
+ * once per pulse, further samples outside the bounds in the same pulse are dropped, since the
+ * pointer position they report is already outdated by the pending warp.
+ * </p>
+ */
+public class PulseCursorConfiner implements CursorConfiner
+{
+    private final CursorWarp _warp;
+    private long _pulse;
+    private long _lastWarpPulse = -1;
+    private long _warps;
+    private long _throttled;
+
+    /**
+     * Creates a new {@link PulseCursorConfiner}.
+     *
+     * @param warp Moves the pointer, e.g. {@link WindowHost#moveCursor(double, double)}.
+     */
+    public PulseCursorConfiner(CursorWarp warp)
+    {
+        _warp = warp;
+    }
+
+    @Override
+    public void confine(double screenX, double screenY, Rectangle2D bounds)
+    {
+        if (screenX < bounds.getMaxX() && screenY < bounds.getMaxY())
+        {
+            return;
+        }
+
+        if (_lastWarpPulse == _pulse)
+        {
+            _throttled++;
+            return;
+        }
+
+        _lastWarpPulse = _pulse;
+        _warps++;
+        _warp.warp(Math.min(screenX, bounds.getMaxX()) - 1, Math.min(screenY, bounds.getMaxY()) - 1);
+    }
+
+    @Override
+    public void pulse()
+    {
+        _pulse++;
+    }
+
+    /**
+     * @return {@code long} - the number of times the pointer was warped.
+     */
+    public long getWarps()
+    {
+        return _warps;
+    }
+
+    /**
+     * @return {@code long} - the number of warps dropped because the pointer was already warped in
+     * the same pulse.
+     */
+    public long getThrottled()
+    {
+        return _throttled;
+    }
+
+    public void resetCounters()
+    {
+        _warps = 0;
+        _throttled = 0;
+    }
+
+    /**
+     * Moves the pointer.
+     */
+    @FunctionalInterface
+    public interface CursorWarp
+    {
+        void warp(double screenX, double screenY);
+    }
+}
@@ -0,0 +1,66 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+/**
+ * The immutable result of resolving a pointer sample against a {@link SnapSnapshot}: the snap
+ * direction under the pointer and the bounds of the aero snap visual feedback.
+ */
+public final class SnapDecision
+{
+    private final long _generation;
+    private final Direction _direction;
+    private final double _x;
+    private final double _y;
+    private final double _width;
+    private final double _height;
+
+    SnapDecision(long generation, Direction direction, Rect bounds)
+    {
+        _generation = generation;
+        _direction = direction;
+        _x = bounds.getX();
+        _y = bounds.getY();
+        _width = bounds.getWidth();
+        _height = bounds.getHeight();
+    }
+
+    /**
+     * @return {@code long} - the generation of the drag the sample belongs to, see
+     * {@link AsyncSnapResolver#cancel()}.
+     */
+    public long getGeneration()
+    {
+        return _generation;
+    }
+
+    /**
+     * @return The snap direction, instance of {@link Direction}, or null if the visual feedback
+     * must be hidden.
+     */
+    public Direction getDirection()
+    {
+        return _direction;
+    }
+
+    public double getX()
+    {
+        return _x;
+    }
+
+    public double getY()
+    {
+        return _y;
+    }
+
+    public double getWidth()
+    {
+        return _width;
+    }
+
+    public double getHeight()
+    {
+        return _height;
+    }
+}
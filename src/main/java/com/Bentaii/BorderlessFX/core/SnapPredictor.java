@@ -0,0 +1,268 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+
+/**
+ * Predicts where the pointer will be a few frames ahead while dragging the move control, so the
+ * aero snap visual feedback can be positioned before the pointer enters a snap zone.
+ * <p>
+ * Drag samples are applied once per pulse, so the velocity and acceleration of the pointer are
+ * estimated per frame from consecutive samples and smoothed exponentially. The predicted position
+ * is {@code p + v * n + a * n * n / 2} for a lookahead of {@code n} frames.
+ * </p>
+ * <p>
+ * Every new predicted snap zone counts as a prediction. It is a hit if the pointer enters that zone
+ * within twice the lookahead, otherwise a miss. Zones entered without being predicted are counted
+ * separately, so {@link #getHitRate()} measures the precision of the predictions and
+ * {@link #getUnpredicted()} what they did not cover.
+ * </p>
+ * <p>
+ * Disabled by default, see {@link #setLookaheadFrames(int)}: with a persistent preview every
+ * prediction moves its hidden window, which is wasted work for every miss.
+ * </p>
+ * Not thread-safe.
+ */
+public class SnapPredictor
+{
+    /**
+     * The default number of frames to predict ahead, the prediction is disabled by default.
+     */
+    public static final int DEFAULT_LOOKAHEAD_FRAMES = 0;
+    private static final double SMOOTHING = 0.5;
+
+    private int _lookaheadFrames = DEFAULT_LOOKAHEAD_FRAMES;
+    private int _samples;
+    private double _x;
+    private double _y;
+    private double _velocityX;
+    private double _velocityY;
+    private double _accelerationX;
+    private double _accelerationY;
+    private Direction _predicted;
+    private int _predictedAge;
+    private long _predictions;
+    private long _hits;
+    private long _misses;
+    private long _unpredicted;
+
+    public int getLookaheadFrames()
+    {
+        return _lookaheadFrames;
+    }
+
+    /**
+     * Sets the number of frames to predict ahead, 0 disables the prediction.
+     *
+     * @param frames The number of frames.
+     */
+    public void setLookaheadFrames(int frames)
+    {
+        if (frames < 0)
+        {
+            throw new IllegalArgumentException("The lookahead cannot be negative: " + frames);
+        }
+
+        _lookaheadFrames = frames;
+    }
+
+    /**
+     * @return {@code boolean} - true if predicting otherwise false.
+     */
+    public boolean isEnabled()
+    {
+        return _lookaheadFrames > 0;
+    }
+
+    /**
+     * Adds a drag sample, one per frame.
+     *
+     * @param x The x coordinate of the pointer on the screen.
+     * @param y The y coordinate of the pointer on the screen.
+     */
+    public void update(double x, double y)
+    {
+        if (_samples > 0)
+        {
+            double velocityX = x - _x;
+            double velocityY = y - _y;
+
+            if (_samples > 1)
+            {
+                _accelerationX += SMOOTHING * (velocityX - _velocityX - _accelerationX);
+                _accelerationY += SMOOTHING * (velocityY - _velocityY - _accelerationY);
+                _velocityX += SMOOTHING * (velocityX - _velocityX);
+                _velocityY += SMOOTHING * (velocityY - _velocityY);
+            }
+            else
+            {
+                _velocityX = velocityX;
+                _velocityY = velocityY;
+            }
+        }
+
+        _x = x;
+        _y = y;
+        _samples++;
+
+        if (_predicted != null && ++_predictedAge > 2 * _lookaheadFrames)
+        {
+            _misses++;
+            _predicted = null;
+        }
+    }
+
+    /**
+     * @return {@code boolean} - true if a predicted zone is waiting for the pointer otherwise
+     * false, it is dropped once entered or missed.
+     */
+    public boolean hasPrediction()
+    {
+        return _predicted != null;
+    }
+
+    /**
+     * @return {@code boolean} - true if there are enough samples to predict otherwise false.
+     */
+    public boolean canPredict()
+    {
+        return _samples > 1 && (_velocityX != 0 || _velocityY != 0);
+    }
+
+    /**
+     * @return {@code double} - the predicted x coordinate of the pointer.
+     */
+    public double predictX()
+    {
+        double frames = _lookaheadFrames;
+        return _x + _velocityX * frames + _accelerationX * frames * frames / 2;
+    }
+
+    /**
+     * @return {@code double} - the predicted y coordinate of the pointer.
+     */
+    public double predictY()
+    {
+        double frames = _lookaheadFrames;
+        return _y + _velocityY * frames + _accelerationY * frames * frames / 2;
+    }
+
+    /**
+     * The pointer is predicted to enter a snap zone.
+     *
+     * @param direction The direction of the zone, instance of {@link Direction}.
+     * @return {@code boolean} - true if this is a new prediction otherwise false.
+     */
+    public boolean predicted(Direction direction)
+    {
+        if (direction == _predicted)
+        {
+            return false;
+        }
+        if (_predicted != null)
+        {
+            _misses++;
+        }
+
+        _predictions++;
+        _predicted = direction;
+        _predictedAge = 0;
+        return true;
+    }
+
+    /**
+     * The pointer entered a snap zone, the visual feedback is being shown.
+     *
+     * @param direction The direction of the zone, instance of {@link Direction}.
+     */
+    public void entered(Direction direction)
+    {
+        if (_predicted == null)
+        {
+            _unpredicted++;
+            return;
+        }
+
+        if (_predicted == direction)
+        {
+            _hits++;
+        }
+        else
+        {
+            _misses++;
+            _unpredicted++;
+        }
+
+        _predicted = null;
+    }
+
+    /**
+     * The drag ended, a prediction still pending is a miss.
+     */
+    public void end()
+    {
+        if (_predicted != null)
+        {
+            _misses++;
+            _predicted = null;
+        }
+
+        _samples = 0;
+        _velocityX = 0;
+        _velocityY = 0;
+        _accelerationX = 0;
+        _accelerationY = 0;
+    }
+
+    /**
+     * @return {@code long} - the number of predicted snap zones.
+     */
+    public long getPredictions()
+    {
+        return _predictions;
+    }
+
+    /**
+     * @return {@code long} - the number of predictions followed by the pointer entering the
+     * predicted zone.
+     */
+    public long getHits()
+    {
+        return _hits;
+    }
+
+    /**
+     * @return {@code long} - the number of predictions not followed by the pointer entering the
+     * predicted zone in time.
+     */
+    public long getMisses()
+    {
+        return _misses;
+    }
+
+    /**
+     * @return {@code long} - the number of times the pointer entered a snap zone which was not
+     * predicted.
+     */
+    public long getUnpredicted()
+    {
+        return _unpredicted;
+    }
+
+    /**
+     * @return {@code double} - the share of the decided predictions which were hits, between 0 and
+     * 1, or {@link Double#NaN} if none was decided yet.
+     */
+    public double getHitRate()
+    {
+        long decided = _hits + _misses;
+        return decided == 0 ? Double.NaN : (double) _hits / decided;
+    }
+
+    public void resetCounters()
+    {
+        _predictions = 0;
+        _hits = 0;
+        _misses = 0;
+        _unpredicted = 0;
+    }
+}
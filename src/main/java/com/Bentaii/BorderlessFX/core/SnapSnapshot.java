@@ -0,0 +1,71 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.geometry.TileTable;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+/**
+ * An immutable copy of everything a snap decision depends on: the screens, the snap zones, the
+ * tiling layouts, the disabled directions and the minimum width of the visual feedback.
+ * <p>
+ * Captured on the JavaFX Application Thread by {@link WindowStateMachine#captureSnapSnapshot()}
+ * and read by the worker of an {@link AsyncSnapResolver}.
+ * </p>
+ */
+public final class SnapSnapshot
+{
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Rect HIDDEN = new Rect();
+
+    private final ScreenTopology _topology;
+    private final SnapZoneMap _snapZoneMap;
+    private final TileTable _tileTable;
+    private final boolean[] _disabled = new boolean[DIRECTIONS.length];
+    private final double _previewMinWidth;
+
+    SnapSnapshot(ScreenTopology topology, SnapZoneMap snapZoneMap, TileTable tileTable, WindowHost host)
+    {
+        _topology = topology.snapshot();
+        _snapZoneMap = snapZoneMap.copyFor(_topology);
+        _tileTable = tileTable.copyFor(_topology);
+        _previewMinWidth = host.getPreviewMinWidth();
+
+        for (Direction direction : DIRECTIONS)
+        {
+            _disabled[direction.ordinal()] = host.isDirectionDisabled(direction);
+        }
+    }
+
+    /**
+     * Resolves the snap direction under the pointer and the bounds of the visual feedback, the
+     * same way {@link WindowStateMachine#moveDragged(double, double)} does.
+     *
+     * @param screenX    The x coordinate of the pointer on the screen.
+     * @param screenY    The y coordinate of the pointer on the screen.
+     * @param generation The generation of the drag the sample belongs to.
+     * @return The decision, instance of {@link SnapDecision}, or null if the pointer is on no
+     * screen, in which case the visual feedback is left as is.
+     */
+    public SnapDecision resolve(double screenX, double screenY, long generation)
+    {
+        int screenIndex = _topology.indexAt(screenX, screenY);
+
+        if (screenIndex < 0)
+        {
+            return null;
+        }
+
+        Direction direction = _snapZoneMap.classify(screenIndex, screenX, screenY);
+
+        if (direction == null || _disabled[direction.ordinal()])
+        {
+            return new SnapDecision(generation, null, HIDDEN);
+        }
+
+        Rect bounds = new Rect();
+        _tileTable.bounds(screenIndex, direction, _previewMinWidth, bounds);
+        return new SnapDecision(generation, direction, bounds);
+    }
+}
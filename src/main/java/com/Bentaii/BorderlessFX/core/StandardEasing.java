@@ -0,0 +1,45 @@
+package com.Bentaii.BorderlessFX.core;
+
+/**
+ * The built-in easing curves.
+ */
+public enum StandardEasing implements Easing
+{
+    LINEAR
+        {
+            @Override
+            public double ease(double t)
+            {
+                return t;
+            }
+        },
+    /**
+     * Starts fast and slows down towards the target, the default.
+     */
+    EASE_OUT_CUBIC
+        {
+            @Override
+            public double ease(double t)
+            {
+                double u = 1 - t;
+                return 1 - u * u * u;
+            }
+        },
+    /**
+     * Speeds up and then slows down towards the target.
+     */
+    EASE_IN_OUT_CUBIC
+        {
+            @Override
+            public double ease(double t)
+            {
+                if (t < 0.5)
+                {
+                    return 4 * t * t * t;
+                }
+
+                double u = -2 * t + 2;
+                return 1 - u * u * u / 2;
+            }
+        }
+}
@@ -0,0 +1,109 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+
+/**
+ * The built-in window management commands.
+ */
+public enum StandardWindowCommand implements WindowCommand
+{
+    /**
+     * Snaps the window to the tile of {@link Direction#LEFT}.
+     */
+    SNAP_LEFT
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.snapLeft();
+            }
+        },
+    /**
+     * Snaps the window to the tile of {@link Direction#RIGHT}.
+     */
+    SNAP_RIGHT
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.snapRight();
+            }
+        },
+    /**
+     * Snaps the window to the left, or cycles the width of a window already snapped to the left.
+     */
+    CYCLE_LEFT
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.cycleSnap(Direction.LEFT);
+            }
+        },
+    /**
+     * Snaps the window to the right, or cycles the width of a window already snapped to the right.
+     */
+    CYCLE_RIGHT
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.cycleSnap(Direction.RIGHT);
+            }
+        },
+    /**
+     * Maximizes a snapped window.
+     */
+    MAXIMIZE_FROM_SNAP
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.maximizeFromSnap();
+            }
+        },
+    /**
+     * Minimizes a snapped window.
+     */
+    MINIMIZE_FROM_SNAP
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.minimizeFromSnap();
+            }
+        },
+    /**
+     * Restores a snapped or maximized window to its previous bounds.
+     */
+    RESTORE
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.restore();
+            }
+        },
+    /**
+     * Moves the window to the next screen, keeping its snap or maximized state.
+     */
+    MOVE_TO_NEXT_SCREEN
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.moveToScreen(1);
+            }
+        },
+    /**
+     * Moves the window to the previous screen, keeping its snap or maximized state.
+     */
+    MOVE_TO_PREVIOUS_SCREEN
+        {
+            @Override
+            public void execute(WindowStateMachine stateMachine)
+            {
+                stateMachine.moveToScreen(-1);
+            }
+        }
+}
@@ -0,0 +1,21 @@
+package com.Bentaii.BorderlessFX.core;
+
+/**
+ * A window management command run by a {@link WindowCommandEngine}, usually bound to a key.
+ * <p>
+ * Commands only use the public API of the {@link WindowStateMachine}, so they run the same way on
+ * a {@code DockableScene} and on a {@link HeadlessWindowHost}. See {@link StandardWindowCommand}
+ * for the built-in ones.
+ * </p>
+ */
+@FunctionalInterface
+public interface WindowCommand
+{
+
+    /**
+     * Runs the command.
+     *
+     * @param stateMachine The state machine of the window, instance of {@link WindowStateMachine}.
+     */
+    void execute(WindowStateMachine stateMachine);
+}
@@ -0,0 +1,260 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+import javafx.scene.input.KeyCode;
+
+/**
+ * Maps key strokes to {@link WindowCommand window commands} and runs them on a
+ * {@link WindowStateMachine}.
+ * <p>
+ * A key stroke only queues the command it is bound to, and every {@link #pulse()} runs the oldest
+ * queued command. Holding a key down therefore results in at most one state transition per pulse
+ * however fast the keyboard auto-repeats: a stroke repeating the last queued command is coalesced
+ * into it, while a stroke of another command is queued after it, so quick sequences such as
+ * META + LEFT then META + UP run in order. Bindings are stored in an array indexed by key code and
+ * modifiers and the queue is a fixed ring buffer, so handling a stroke does not allocate.
+ * </p>
+ * <p>
+ * The engine only depends on the state machine, so commands can be tested without a display by
+ * calling {@link #handleKey(KeyCode, int)} and {@link HeadlessWindowHost#pulse()}.
+ * </p>
+ * The default bindings are:
+ * <ul>
+ *     <li>META + LEFT/RIGHT: {@link StandardWindowCommand#SNAP_LEFT}/{@link StandardWindowCommand#SNAP_RIGHT}</li>
+ *     <li>META + UP: {@link StandardWindowCommand#MAXIMIZE_FROM_SNAP}</li>
+ *     <li>META + DOWN: {@link StandardWindowCommand#MINIMIZE_FROM_SNAP}</li>
+ *     <li>META + SHIFT + LEFT/RIGHT: {@link StandardWindowCommand#MOVE_TO_PREVIOUS_SCREEN}/{@link StandardWindowCommand#MOVE_TO_NEXT_SCREEN}</li>
+ * </ul>
+ * Usage:
+ * <pre>
+ * {@code
+ *     WindowCommandEngine engine = dockableScene.getCommandEngine();
+ *     engine.bind(KeyCode.LEFT, WindowCommandEngine.META | WindowCommandEngine.ALT, StandardWindowCommand.CYCLE_LEFT);
+ *     engine.bind(KeyCode.HOME, WindowCommandEngine.META, StandardWindowCommand.RESTORE);
+ * }
+ * </pre>
+ * Not thread-safe, key strokes must come from the thread of the state machine.
+ */
+public class WindowCommandEngine
+{
+    public static final int SHIFT = 1;
+    public static final int CONTROL = 2;
+    public static final int ALT = 4;
+    public static final int META = 8;
+    private static final int MODIFIER_COMBINATIONS = 16;
+    /**
+     * The number of distinct commands which can wait for a pulse, a stroke of a full queue replaces
+     * the last queued command
+     */
+    private static final int QUEUE_CAPACITY = 8;
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+
+    private final WindowStateMachine _stateMachine;
+    private final WindowCommand[] _bindings = new WindowCommand[KEY_CODES.length * MODIFIER_COMBINATIONS];
+    private final WindowCommand[] _queue = new WindowCommand[QUEUE_CAPACITY];
+    private int _head;
+    private int _size;
+    private long _strokes;
+    private long _coalesced;
+    private long _executed;
+
+    /**
+     * Creates a new {@link WindowCommandEngine} with the default bindings.
+     *
+     * @param stateMachine The state machine to run the commands on, instance of
+     *                     {@link WindowStateMachine}.
+     */
+    public WindowCommandEngine(WindowStateMachine stateMachine)
+    {
+        _stateMachine = stateMachine;
+        bindDefaults();
+    }
+
+    /**
+     * Combines modifier flags, e.g. from the state of a {@code KeyEvent}.
+     *
+     * @param shift   true if shift is down.
+     * @param control true if control is down.
+     * @param alt     true if alt is down.
+     * @param meta    true if meta (the Windows key) is down.
+     * @return {@code int} - the modifiers, a combination of {@link #SHIFT}, {@link #CONTROL},
+     * {@link #ALT} and {@link #META}.
+     */
+    public static int modifiers(boolean shift, boolean control, boolean alt, boolean meta)
+    {
+        return (shift ? SHIFT : 0) | (control ? CONTROL : 0) | (alt ? ALT : 0) | (meta ? META : 0);
+    }
+
+    /**
+     * Binds a key stroke to a command, replacing the command it was bound to.
+     *
+     * @param code      The key, instance of {@link KeyCode}.
+     * @param modifiers The modifiers held down, see {@link #modifiers(boolean, boolean, boolean, boolean)}.
+     * @param command   The command, instance of {@link WindowCommand}, or null to unbind the key
+     *                  stroke.
+     */
+    public void bind(KeyCode code, int modifiers, WindowCommand command)
+    {
+        _bindings[index(code, modifiers)] = command;
+    }
+
+    /**
+     * @param code      The key, instance of {@link KeyCode}.
+     * @param modifiers The modifiers held down.
+     * @return The command bound to the key stroke, instance of {@link WindowCommand}, or null.
+     */
+    public WindowCommand getBinding(KeyCode code, int modifiers)
+    {
+        return _bindings[index(code, modifiers)];
+    }
+
+    /**
+     * Removes every binding, including the default ones.
+     */
+    public void clearBindings()
+    {
+        Arrays.fill(_bindings, null);
+    }
+
+    /**
+     * Restores the default bindings, keeping the other ones.
+     */
+    public void bindDefaults()
+    {
+        bind(KeyCode.LEFT, META, StandardWindowCommand.SNAP_LEFT);
+        bind(KeyCode.RIGHT, META, StandardWindowCommand.SNAP_RIGHT);
+        bind(KeyCode.UP, META, StandardWindowCommand.MAXIMIZE_FROM_SNAP);
+        bind(KeyCode.DOWN, META, StandardWindowCommand.MINIMIZE_FROM_SNAP);
+        bind(KeyCode.LEFT, META | SHIFT, StandardWindowCommand.MOVE_TO_PREVIOUS_SCREEN);
+        bind(KeyCode.RIGHT, META | SHIFT, StandardWindowCommand.MOVE_TO_NEXT_SCREEN);
+    }
+
+    /**
+     * Handles a key stroke, the command it is bound to is queued, unless it is the last queued
+     * command already, and runs on a following {@link #pulse()}.
+     *
+     * @param code      The key, instance of {@link KeyCode}.
+     * @param modifiers The modifiers held down, see {@link #modifiers(boolean, boolean, boolean, boolean)}.
+     * @return {@code boolean} - true if the key stroke is bound to a command otherwise false.
+     */
+    public boolean handleKey(KeyCode code, int modifiers)
+    {
+        WindowCommand command = _bindings[index(code, modifiers)];
+
+        if (command == null)
+        {
+            return false;
+        }
+
+        _strokes++;
+        int last = (_head + _size - 1) % QUEUE_CAPACITY;
+
+        // Auto-repeat of the same stroke
+        if (_size > 0 && _queue[last] == command)
+        {
+            _coalesced++;
+            return true;
+        }
+
+        if (_size == QUEUE_CAPACITY)
+        {
+            _queue[last] = command;
+            _coalesced++;
+            return true;
+        }
+
+        _queue[(_head + _size) % QUEUE_CAPACITY] = command;
+        _size++;
+        return true;
+    }
+
+    /**
+     * @return {@code boolean} - true if a command waits for a pulse otherwise false.
+     */
+    public boolean hasPending()
+    {
+        return _size > 0;
+    }
+
+    /**
+     * @return {@code int} - the number of commands waiting for a pulse.
+     */
+    public int getPendingCount()
+    {
+        return _size;
+    }
+
+    /**
+     * Runs the oldest queued command, called once per pulse.
+     */
+    public void pulse()
+    {
+        if (_size == 0)
+        {
+            return;
+        }
+
+        // Dequeued first, so a command failing does not run again on every pulse
+        WindowCommand command = _queue[_head];
+        _queue[_head] = null;
+        _head = (_head + 1) % QUEUE_CAPACITY;
+        _size--;
+        _executed++;
+        command.execute(_stateMachine);
+    }
+
+    /**
+     * Drops the queued commands, e.g. when the window loses the focus.
+     */
+    public void cancel()
+    {
+        Arrays.fill(_queue, null);
+        _head = 0;
+        _size = 0;
+    }
+
+    /**
+     * @return {@code long} - the number of bound key strokes handled.
+     */
+    public long getStrokes()
+    {
+        return _strokes;
+    }
+
+    /**
+     * @return {@code long} - the number of bound key strokes which were coalesced into a queued
+     * command instead of running on a pulse of their own.
+     */
+    public long getCoalesced()
+    {
+        return _coalesced;
+    }
+
+    /**
+     * @return {@code long} - the number of commands run.
+     */
+    public long getExecuted()
+    {
+        return _executed;
+    }
+
+    public void resetCounters()
+    {
+        _strokes = 0;
+        _coalesced = 0;
+        _executed = 0;
+    }
+
+    private static int index(KeyCode code, int modifiers)
+    {
+        if ((modifiers & ~(MODIFIER_COMBINATIONS - 1)) != 0)
+        {
+            throw new IllegalArgumentException("Unknown modifiers: " + modifiers);
+        }
+
+        return requireNonNull(code).ordinal() * MODIFIER_COMBINATIONS + modifiers;
+    }
+}
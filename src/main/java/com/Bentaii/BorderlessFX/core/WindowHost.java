@@ -0,0 +1,168 @@
+package com.Bentaii.BorderlessFX.core;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.EdgeIndex;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+/**
+ * The window driven by a {@link WindowStateMachine}.
+ * <p>
+ * Implemented by the scene controller on top of a JavaFX {@code Stage}, and by
+ * {@link HeadlessWindowHost} for running the window management logic without a display.
+ * </p>
+ */
+public interface WindowHost
+{
+
+    double getX();
+
+    double getY();
+
+    double getWidth();
+
+    double getHeight();
+
+    double getMinWidth();
+
+    double getMaxWidth();
+
+    double getMinHeight();
+
+    double getMaxHeight();
+
+    /**
+     * A state transition, e.g. a snap or maximizing, started in the open bounds transaction. The
+     * host may defer the layout of its content until the outermost transaction ended.
+     */
+    default void transitionStarted()
+    {
+        // Laid out with every bounds update by default
+    }
+
+    /**
+     * The bounds of the open bounds transaction are the result of a state transition, e.g. a snap
+     * or maximizing, and may be animated when the transaction ends, see {@link BoundsAnimator}.
+     */
+    default void transitionCommitted()
+    {
+        // Applied immediately by default
+    }
+
+    /**
+     * Moves and resizes the window. Values equal to the current ones should not cause any work.
+     *
+     * @param x      The x coordinate of the window.
+     * @param y      The y coordinate of the window.
+     * @param width  The width of the window.
+     * @param height The height of the window.
+     */
+    void setBounds(double x, double y, double width, double height);
+
+    /**
+     * Opens a bounds transaction, see {@link BoundsTransaction}. Until the matching
+     * {@link #endBoundsUpdate()} the host may defer applying the bounds passed to
+     * {@link #setBounds(double, double, double, double)}, its getters must then return the deferred
+     * bounds.
+     */
+    default void beginBoundsUpdate()
+    {
+        // Bounds are applied immediately by default
+    }
+
+    /**
+     * Ends a bounds transaction, applying the deferred bounds once the outermost one ends.
+     */
+    default void endBoundsUpdate()
+    {
+        // Bounds are applied immediately by default
+    }
+
+    /**
+     * Adds the bounds of the windows this window is magnetically snapped to, see
+     * {@link EdgeIndex#add(double, double, double, double)}. Called when a move or resize starts.
+     *
+     * @param edges The index to add the neighbor windows to, already cleared.
+     */
+    default void collectNeighbors(EdgeIndex edges)
+    {
+        // No neighbor windows by default
+    }
+
+    boolean isMaximized();
+
+    /**
+     * Sets whether the window is maximized.
+     * <p>
+     * When the value changes the host must call {@link WindowStateMachine#maximizedChanged()},
+     * which applies the maximized or restored bounds.
+     * </p>
+     *
+     * @param value true to maximize, false to unmaximize.
+     */
+    void setMaximized(boolean value);
+
+    boolean isMinimized();
+
+    void setMinimized(boolean value);
+
+    boolean isSnapped();
+
+    void setSnapped(boolean value);
+
+    boolean isAeroSnap();
+
+    double getAeroSnapAllowance();
+
+    boolean isDoubleClickMaximizable();
+
+    boolean isVerticalResizeSnap();
+
+    boolean isPreventMouseOverTaskbar();
+
+    boolean isDirectionDisabled(Direction direction);
+
+    /**
+     * @return {@code double} - the minimum width of the aero snap visual feedback.
+     */
+    double getPreviewMinWidth();
+
+    /**
+     * Shows the aero snap visual feedback at the given bounds, or moves it if already shown.
+     *
+     * @param bounds The bounds of the visual feedback.
+     */
+    void showPreview(Rect bounds);
+
+    /**
+     * Hides the aero snap visual feedback.
+     */
+    void hidePreview();
+
+    /**
+     * Moves the hidden aero snap visual feedback to the bounds it is predicted to be shown at, so
+     * showing it does not have to move or map its window. Does nothing if it is already shown.
+     *
+     * @param bounds The predicted bounds of the visual feedback.
+     */
+    default void prepositionPreview(Rect bounds)
+    {
+        // Not prepositioned by default
+    }
+
+    /**
+     * Moves the hidden aero snap visual feedback back out of the way, once the prediction it was
+     * prepositioned for was missed or the drag ended without showing it.
+     */
+    default void cancelPreviewPreposition()
+    {
+        // Not prepositioned by default
+    }
+
+    /**
+     * Moves the pointer, used to keep it within the visual bounds of a screen.
+     *
+     * @param x The x coordinate on the screen.
+     * @param y The y coordinate on the screen.
+     */
+    void moveCursor(double x, double y);
+}
@@ -0,0 +1,1612 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static java.util.Objects.requireNonNull;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.EdgeIndex;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.Position;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.geometry.Size;
+import com.Bentaii.BorderlessFX.geometry.SnapGeometry;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.geometry.TileTable;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.metrics.MaximizeEvent;
+import com.Bentaii.BorderlessFX.metrics.MinimizeEvent;
+import com.Bentaii.BorderlessFX.metrics.PreviewCloseEvent;
+import com.Bentaii.BorderlessFX.metrics.PreviewShowEvent;
+import com.Bentaii.BorderlessFX.metrics.RevertEvent;
+import com.Bentaii.BorderlessFX.metrics.SnapEvent;
+import com.Bentaii.BorderlessFX.metrics.SnapOffEvent;
+import com.Bentaii.BorderlessFX.metrics.TransitionTrigger;
+import com.Bentaii.BorderlessFX.metrics.WindowTransitionEvent;
+import com.Bentaii.BorderlessFX.state.WindowState;
+import com.Bentaii.BorderlessFX.trace.PointerTraceRecorder;
+import com.Bentaii.BorderlessFX.trace.TraceEventType;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * The window management logic of the borderless scene: moving, resizing, maximizing, restoring
+ * and Aero Snap/Quarter Tiling.
+ * <p>
+ * It takes pointer and screen inputs and drives a {@link WindowHost}, without depending on a
+ * JavaFX {@code Stage} or on the JavaFX toolkit. Nothing is allocated per input, so combined with
+ * a {@link HeadlessWindowHost} and a detached {@link ScreenTopology} it can replay millions of
+ * drag samples per second.
+ * </p>
+ * <p>
+ * Every input and state transition runs in a bounds transaction of the host, so the window
+ * receives at most one bounds update per input. State transitions are also recorded as JDK Flight
+ * Recorder events, see {@link WindowTransitionEvent}.
+ * </p>
+ * <p>
+ * While moving or resizing, the edges of the window are magnetically snapped to the edges of the
+ * neighbor windows reported by {@link WindowHost#collectNeighbors(EdgeIndex)}, see
+ * {@link #setMagnetDistance(double)}.
+ * </p>
+ * <p>
+ * While dragging, the {@link #getSnapPredictor() snap predictor} can extrapolate the pointer a few
+ * frames ahead, and the visual feedback of a snap zone the pointer is heading to is positioned
+ * before it is shown, see {@link WindowHost#prepositionPreview(Rect)}. It is moved back out of the
+ * way when the prediction is missed, see {@link WindowHost#cancelPreviewPreposition()}.
+ * </p>
+ * <p>
+ * Keyboard shortcuts are mapped to {@link WindowCommand commands} by the
+ * {@link #getCommandEngine() command engine}, which runs at most one of them per {@link #pulse()}.
+ * </p>
+ * Not thread-safe, inputs must come from a single thread.
+ */
+public class WindowStateMachine
+{
+    /**
+     * The default distance at which an edge of a neighbor window attracts an edge of the window.
+     */
+    public static final double DEFAULT_MAGNET_DISTANCE = 10;
+    private static final String VERTICAL_SNAP = "VERTICAL";
+    private static final double[] DEFAULT_SNAP_CYCLE = {1 / 2.0, 1 / 3.0, 2 / 3.0};
+    private final WindowHost _host;
+    private final ScreenTopology _topology;
+    private final SnapZoneMap _snapZoneMap;
+    private final TileTable _tileTable;
+    private final Size _prevSize = new Size(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+    private final Position _prevPos = new Position(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+    private final Position _dragOffset = new Position();
+    private final Position _dragOrigin = new Position();
+    private final Rect _previewBounds = new Rect();
+    private final Rect _targetBounds = new Rect();
+    private final Rect _screenBounds = new Rect();
+    private final Rect _predictedBounds = new Rect();
+    /**
+     * The visual bounds of the last screen the window was found on, used while there are no screens
+     */
+    private Rectangle2D _lastScreen;
+    private final SnapPredictor _snapPredictor = new SnapPredictor();
+    private final EdgeIndex _neighborEdges = new EdgeIndex();
+    private final WindowCommandEngine _commandEngine;
+    private double _magnetDistance = DEFAULT_MAGNET_DISTANCE;
+    private boolean _previewVisible;
+    /**
+     * Whether the hidden visual feedback was moved to a predicted snap zone
+     */
+    private boolean _previewPrepositioned;
+    private boolean _wasSnapped;
+    private Direction _snapDirection;
+    private TransitionTrigger _trigger;
+    private CursorConfiner _cursorConfiner;
+    private AsyncSnapResolver _asyncSnapResolver;
+    private PointerTraceRecorder _traceRecorder;
+    private double[] _snapCycle = DEFAULT_SNAP_CYCLE;
+
+    /**
+     * Creates a new {@link WindowStateMachine}.
+     *
+     * @param host            The window to drive, instance of {@link WindowHost}.
+     * @param topology        The screens the window can be on, instance of {@link ScreenTopology}.
+     * @param allowance       The amount of space from an edge that triggers a snap.
+     * @param cornerAllowance The amount of space from a corner that triggers a quarter tile.
+     */
+    public WindowStateMachine(WindowHost host, ScreenTopology topology, double allowance, double cornerAllowance)
+    {
+        _host = host;
+        _topology = topology;
+        _snapZoneMap = new SnapZoneMap(topology, allowance, cornerAllowance);
+        _tileTable = new TileTable(topology);
+        _cursorConfiner = new PulseCursorConfiner(host::moveCursor);
+        _commandEngine = new WindowCommandEngine(this);
+    }
+
+    public WindowHost getHost()
+    {
+        return _host;
+    }
+
+    public ScreenTopology getScreenTopology()
+    {
+        return _topology;
+    }
+
+    public SnapZoneMap getSnapZoneMap()
+    {
+        return _snapZoneMap;
+    }
+
+    /**
+     * @return The bounds every snap direction resolves to on every screen, used by dragging,
+     * releasing and keyboard snapping, instance of {@link TileTable}.
+     */
+    public TileTable getTileTable()
+    {
+        return _tileTable;
+    }
+
+    /**
+     * @return The cursor confiner keeping the pointer off the taskbar, instance of
+     * {@link CursorConfiner}.
+     */
+    public CursorConfiner getCursorConfiner()
+    {
+        return _cursorConfiner;
+    }
+
+    /**
+     * Sets the cursor confiner, a {@link PulseCursorConfiner} warping through
+     * {@link WindowHost#moveCursor(double, double)} by default.
+     *
+     * @param cursorConfiner The cursor confiner, instance of {@link CursorConfiner}.
+     */
+    public void setCursorConfiner(CursorConfiner cursorConfiner)
+    {
+        _cursorConfiner = requireNonNull(cursorConfiner);
+    }
+
+    /**
+     * @return The engine running the keyboard commands, instance of {@link WindowCommandEngine}.
+     */
+    public WindowCommandEngine getCommandEngine()
+    {
+        return _commandEngine;
+    }
+
+    /**
+     * Runs the work deferred to the next pulse: lets the cursor confiner warp the pointer again
+     * and runs the oldest queued keyboard command.
+     */
+    public void pulse()
+    {
+        _cursorConfiner.pulse();
+        _commandEngine.pulse();
+    }
+
+    /**
+     * @return The predictor positioning the aero snap visual feedback ahead of the pointer while
+     * dragging, instance of {@link SnapPredictor}. Only the synchronous snap resolution predicts,
+     * not the {@link AsyncSnapResolver}.
+     */
+    public SnapPredictor getSnapPredictor()
+    {
+        return _snapPredictor;
+    }
+
+    public PointerTraceRecorder getTraceRecorder()
+    {
+        return _traceRecorder;
+    }
+
+    /**
+     * Sets the recorder of the pointer inputs, which begins a new trace. The recorder is not
+     * closed when replaced.
+     *
+     * @param recorder The recorder, instance of {@link PointerTraceRecorder}, or null to stop
+     *                 recording.
+     */
+    public void setTraceRecorder(PointerTraceRecorder recorder)
+    {
+        if (recorder != null)
+        {
+            recorder.begin(_topology, _host, _snapZoneMap.getAllowance(), _snapZoneMap.getCornerAllowance());
+        }
+
+        _traceRecorder = recorder;
+    }
+
+    /**
+     * @return The widths {@link #cycleSnap(Direction)} cycles through, as fractions of the screen
+     * width.
+     */
+    public double[] getSnapCycle()
+    {
+        return _snapCycle.clone();
+    }
+
+    /**
+     * Sets the widths {@link #cycleSnap(Direction)} cycles through, a half, a third and two thirds
+     * of the screen by default.
+     *
+     * @param fractions The widths, as fractions of the screen width.
+     * @throws IllegalArgumentException if there is no width or a width is not within (0, 1].
+     */
+    public void setSnapCycle(double... fractions)
+    {
+        if (fractions.length == 0)
+        {
+            throw new IllegalArgumentException("The snap cycle needs at least one width");
+        }
+
+        for (double fraction : fractions)
+        {
+            if (!(fraction > 0 && fraction <= 1))
+            {
+                throw new IllegalArgumentException("Widths must be within (0, 1]: " + fraction);
+            }
+        }
+
+        _snapCycle = fractions.clone();
+    }
+
+    /**
+     * @return The resolver computing the snap decisions of drags on a worker thread, instance of
+     * {@link AsyncSnapResolver}, or null if they are computed by the input handlers.
+     */
+    public AsyncSnapResolver getAsyncSnapResolver()
+    {
+        return _asyncSnapResolver;
+    }
+
+    /**
+     * Sets the resolver computing the snap direction and visual feedback bounds of move control
+     * drags on a worker thread, null by default.
+     * <p>
+     * When set, a drag sample only moves the window, confines the pointer and submits the sample,
+     * the visual feedback is updated when the decision comes back. Releasing still decides
+     * synchronously, so the window always snaps to the zone under the pointer.
+     * </p>
+     *
+     * @param resolver The resolver, instance of {@link AsyncSnapResolver}, or null.
+     */
+    public void setAsyncSnapResolver(AsyncSnapResolver resolver)
+    {
+        if (_asyncSnapResolver != null)
+        {
+            _asyncSnapResolver.setConsumer(null);
+            _asyncSnapResolver.cancel();
+        }
+
+        _asyncSnapResolver = resolver;
+
+        if (resolver != null)
+        {
+            resolver.setConsumer(this::applySnapDecision);
+        }
+    }
+
+    /**
+     * Captures the current screens, snap zones, tiling layouts and disabled directions, see
+     * {@link AsyncSnapResolver}.
+     *
+     * @return The snapshot, instance of {@link SnapSnapshot}.
+     */
+    public SnapSnapshot captureSnapSnapshot()
+    {
+        return new SnapSnapshot(_topology, _snapZoneMap, _tileTable, _host);
+    }
+
+    public double getMagnetDistance()
+    {
+        return _magnetDistance;
+    }
+
+    /**
+     * Sets the distance at which an edge of a neighbor window attracts an edge of the window while
+     * moving or resizing, 0 disables the magnetism.
+     * <p>
+     * The default value is {@link #DEFAULT_MAGNET_DISTANCE}.
+     * </p>
+     *
+     * @param distance The distance.
+     */
+    public void setMagnetDistance(double distance)
+    {
+        _magnetDistance = distance;
+    }
+
+    /**
+     * @return The edges of the neighbor windows collected when the last move or resize started,
+     * instance of {@link EdgeIndex}.
+     */
+    public EdgeIndex getNeighborEdges()
+    {
+        return _neighborEdges;
+    }
+
+    /**
+     * @return The size of the window before it was snapped or maximized, instance of
+     * {@link Size}.
+     */
+    public Size getPreviousSize()
+    {
+        return _prevSize;
+    }
+
+    /**
+     * @return The position of the window before it was snapped or maximized, instance of
+     * {@link Position}.
+     */
+    public Position getPreviousPosition()
+    {
+        return _prevPos;
+    }
+
+    /**
+     * @return The bounds of the aero snap visual feedback, only meaningful while
+     * {@link #isPreviewVisible()}.
+     */
+    public Rect getPreviewBounds()
+    {
+        return _previewBounds;
+    }
+
+    /**
+     * @return {@code boolean} - true if the aero snap visual feedback is shown otherwise false.
+     */
+    public boolean isPreviewVisible()
+    {
+        return _previewVisible;
+    }
+
+    /**
+     * @return The source of the input currently being handled, instance of
+     * {@link TransitionTrigger}, or null outside of an input.
+     */
+    public TransitionTrigger getTrigger()
+    {
+        return _trigger;
+    }
+
+    /**
+     * Sets the source of the transitions caused until it is reset to null, used by the host for
+     * transitions it starts itself, e.g. minimizing through the API.
+     *
+     * @param trigger The source, instance of {@link TransitionTrigger}, or null.
+     */
+    public void setTrigger(TransitionTrigger trigger)
+    {
+        _trigger = trigger;
+    }
+
+    /**
+     * @return The direction the window was last snapped to, instance of {@link Direction}, or null
+     * if it was snapped vertically. Only meaningful while the window is snapped.
+     */
+    public Direction getSnapDirection()
+    {
+        return _snapDirection;
+    }
+
+    /**
+     * Captures the state of the window, to be persisted by a
+     * {@link com.Bentaii.BorderlessFX.state.WindowStateStore}.
+     *
+     * @return The state, instance of {@link WindowState}.
+     */
+    public WindowState captureState()
+    {
+        Rect bounds = new Rect(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+        Rect restoreBounds = bounds;
+        Rectangle2D screen = getStageScreen();
+
+        if ((_host.isSnapped() || _host.isMaximized()) && Double.isFinite(_prevSize.getWidth()) && Double.isFinite(_prevSize.getHeight()))
+        {
+            restoreBounds = new Rect(_prevPos.getX(), _prevPos.getY(), _prevSize.getWidth(), _prevSize.getHeight());
+        }
+
+        return new WindowState(bounds, restoreBounds, new Rect(screen.getMinX(), screen.getMinY(), screen.getWidth(), screen.getHeight()),
+            _host.isSnapped() ? _snapDirection : null, _host.isSnapped(), _host.isMaximized());
+    }
+
+    /**
+     * Restores a state captured by {@link #captureState()}, usually before the window is shown.
+     * <p>
+     * The window goes back to the screen it was on, found by its visual bounds, or by its position
+     * if its visual bounds changed, e.g. after moving the taskbar. If that screen no longer exists
+     * the window is moved to the same place on the primary screen and kept within it. A snapped
+     * window snaps again with the current tiling layout of the screen.
+     * </p>
+     *
+     * @param state The state, instance of {@link WindowState}.
+     */
+    public void restoreState(WindowState state)
+    {
+        _trigger = TransitionTrigger.API;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            Rect savedScreen = state.getScreenBounds();
+            Rect bounds = state.getBounds();
+            Rect restoreBounds = state.getRestoreBounds();
+            int screenIndex = indexOfScreen(savedScreen);
+            boolean screenChanged = screenIndex < 0;
+
+            if (screenChanged)
+            {
+                screenIndex = _topology.indexAt(savedScreen.getX() + savedScreen.getWidth() / 2, savedScreen.getY() + savedScreen.getHeight() / 2);
+            }
+            if (screenIndex < 0)
+            {
+                screenIndex = _topology.getPrimaryIndex();
+            }
+
+            Rectangle2D screen = screenIndex < 0 ? getStageScreen() : _topology.getVisualBounds(screenIndex);
+
+            if (screenChanged)
+            {
+                relocate(bounds, savedScreen, screen);
+                relocate(restoreBounds, savedScreen, screen);
+            }
+
+            _prevSize.set(restoreBounds.getWidth(), restoreBounds.getHeight());
+            _prevPos.set(restoreBounds.getX(), restoreBounds.getY());
+
+            if (state.isMaximized())
+            {
+                _host.setSnapped(false);
+                setBounds(restoreBounds);
+                _host.setMaximized(true);
+            }
+            else if (state.isSnapped() && state.getSnapDirection() != null && screenIndex >= 0)
+            {
+                _host.setMaximized(false);
+                _tileTable.bounds(screenIndex, state.getSnapDirection(), _host.getPreviewMinWidth(), _targetBounds);
+                setBounds(_targetBounds);
+                _host.setSnapped(true);
+                _snapDirection = state.getSnapDirection();
+            }
+            else if (state.isSnapped())
+            {
+                _host.setMaximized(false);
+                _host.setBounds(bounds.getX(), screen.getMinY(), bounds.getWidth(), screen.getHeight());
+                _host.setSnapped(true);
+                _snapDirection = null;
+            }
+            else
+            {
+                _host.setMaximized(false);
+                _host.setSnapped(false);
+                setBounds(bounds);
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * The window has been shown.
+     */
+    public void shown()
+    {
+        if (!_host.isSnapped() && !_host.isMaximized())
+        {
+            updatePrevSizeAndPos();
+        }
+    }
+
+    /**
+     * The window has been (un)minimized, e.g. via the taskbar.
+     *
+     * @param minimizing true if the window is being minimized.
+     */
+    public void iconifiedChanged(boolean minimizing)
+    {
+        MinimizeEvent event = beginTransition(new MinimizeEvent(), TransitionTrigger.TASKBAR);
+        event.setMinimized(minimizing);
+
+        if (minimizing)
+        {
+            _wasSnapped = _host.isSnapped();
+        }
+
+        commitTransition(event);
+    }
+
+    /**
+     * Maximize/unmaximize the window after {@link WindowHost#isMaximized()} changed.
+     */
+    public void maximizedChanged()
+    {
+        if (!_host.isMaximized())
+        {
+            revertToPreviousSizeAndPos();
+            return;
+        }
+
+        MaximizeEvent event = beginTransition(new MaximizeEvent(), TransitionTrigger.API);
+
+        if (!_host.isSnapped())
+        {
+            updatePrevSizeAndPos();
+        }
+
+        Rectangle2D screen = getStageScreen();
+        _host.setBounds(screen.getMinX(), screen.getMinY(), screen.getWidth(), screen.getHeight());
+        commitTransition(event);
+    }
+
+    /**
+     * The move control has been pressed with the primary button.
+     *
+     * @param sceneX            The x coordinate of the pointer in the scene.
+     * @param sceneY            The y coordinate of the pointer in the scene.
+     * @param screenX           The x coordinate of the pointer on the screen.
+     * @param moveControlHeight The preferred height of the move control.
+     */
+    public void movePressed(double sceneX, double sceneY, double screenX, double moveControlHeight)
+    {
+        trace(TraceEventType.MOVE_PRESSED, 0, sceneX, sceneY, screenX, moveControlHeight, 0, 0);
+        if (_host.isMaximized() || _host.isSnapped())
+        {
+            _dragOffset.set(_prevSize.getWidth() * (sceneX / _host.getWidth()), _prevSize.getHeight() * (sceneY / _host.getHeight()));
+        }
+        else
+        {
+            _dragOffset.set(sceneX, sceneY);
+            updatePrevSizeAndPos();
+        }
+
+        _dragOrigin.set(screenX, moveControlHeight);
+        _snapPredictor.end();
+        cancelPreposition();
+        collectNeighbors();
+
+        if (_asyncSnapResolver != null)
+        {
+            _asyncSnapResolver.publish(captureSnapSnapshot());
+        }
+    }
+
+    /**
+     * The move control has been dragged, moves the window and updates the aero snap visual
+     * feedback.
+     *
+     * @param screenX The x coordinate of the pointer on the screen.
+     * @param screenY The y coordinate of the pointer on the screen.
+     */
+    public void moveDragged(double screenX, double screenY)
+    {
+        trace(TraceEventType.MOVE_DRAGGED, 0, screenX, screenY, 0, 0, 0, 0);
+        _trigger = TransitionTrigger.MOUSE;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            double x = screenX - _dragOffset.getX();
+
+            if (_host.isSnapped())
+            {
+                if (screenY > _dragOrigin.getY())
+                {
+                    _host.setBounds(x, _host.getY(), _host.getWidth(), _host.getHeight());
+                    snapOff();
+                }
+                else
+                {
+                    Rectangle2D screen = _topology.visualBoundsAt(screenX, screenY);
+                    _host.setBounds(x, _host.getY(), _host.getWidth(), screen != null ? screen.getHeight() : _host.getHeight());
+                }
+            }
+            else
+            {
+                double y = screenY - _dragOffset.getY();
+
+                if (!_neighborEdges.isEmpty() && !_host.isMaximized())
+                {
+                    double magnetX = magnet(x, _neighborEdges.nearestVertical(x, y, y + _host.getHeight(), _magnetDistance),
+                        _neighborEdges.nearestVertical(x + _host.getWidth(), y, y + _host.getHeight(), _magnetDistance));
+                    y = magnet(y, _neighborEdges.nearestHorizontal(y, x, x + _host.getWidth(), _magnetDistance),
+                        _neighborEdges.nearestHorizontal(y + _host.getHeight(), x, x + _host.getWidth(), _magnetDistance));
+                    x = magnetX;
+                }
+
+                _host.setBounds(x, y, _host.getWidth(), _host.getHeight());
+            }
+
+            // Aero snap off
+            if (_host.isMaximized())
+            {
+                snapOff();
+                _host.setMaximized(false);
+            }
+
+            if (!_host.isAeroSnap())
+            {
+                return;
+            }
+
+            int screenIndex = _topology.indexAt(screenX, screenY);
+
+            if (screenIndex < 0)
+            {
+                return;
+            }
+
+            Rectangle2D screen = _topology.getVisualBounds(screenIndex);
+
+            if (_host.isPreventMouseOverTaskbar())
+            {
+                limitMouseMovement(screen, screenX, screenY);
+            }
+
+            if (_asyncSnapResolver != null)
+            {
+                _asyncSnapResolver.submit(screenX, screenY);
+                return;
+            }
+
+            boolean predicting = _snapPredictor.isEnabled();
+
+            if (predicting)
+            {
+                _snapPredictor.update(screenX, screenY);
+
+                // The prediction expired without the pointer entering the zone
+                if (!_snapPredictor.hasPrediction())
+                {
+                    cancelPreposition();
+                }
+            }
+
+            Direction snapDirection = _snapZoneMap.classify(screenIndex, screenX, screenY);
+
+            if (snapDirection == null || _host.isDirectionDisabled(snapDirection))
+            {
+                hidePreview();
+
+                if (predicting)
+                {
+                    predictSnap(screen);
+                }
+
+                return;
+            }
+
+            if (predicting && !_previewVisible)
+            {
+                _snapPredictor.entered(snapDirection);
+            }
+
+            _tileTable.bounds(screenIndex, snapDirection, _host.getPreviewMinWidth(), _previewBounds);
+            showPreview();
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * The move control has been released, snaps the window if the pointer is in a snap zone.
+     *
+     * @param screenX The x coordinate of the pointer on the screen.
+     * @param screenY The y coordinate of the pointer on the screen.
+     * @param primary true if the primary button was released.
+     */
+    public void moveReleased(double screenX, double screenY, boolean primary)
+    {
+        trace(TraceEventType.MOVE_RELEASED, PointerTraceRecorder.flags(null, null, primary, 0), screenX, screenY, 0, 0, 0, 0);
+        _trigger = TransitionTrigger.MOUSE;
+        _host.beginBoundsUpdate();
+
+        if (_asyncSnapResolver != null)
+        {
+            _asyncSnapResolver.cancel();
+        }
+
+        try
+        {
+            if (!_host.isAeroSnap() || !primary || screenX == _dragOrigin.getX())
+            {
+                return;
+            }
+
+            int screenIndex = _topology.indexAt(screenX, screenY);
+
+            if (screenIndex < 0)
+            {
+                return;
+            }
+
+            Direction snapDirection = _snapZoneMap.classify(screenIndex, screenX, screenY);
+
+            if (snapDirection == null || _host.isDirectionDisabled(snapDirection))
+            {
+                return;
+            }
+
+            if (_tileTable.isMaximize(screenIndex, snapDirection))
+            {
+                _host.setMaximized(true);
+            }
+            else
+            {
+                SnapEvent event = beginSnap(snapDirection.name());
+                _tileTable.bounds(screenIndex, snapDirection, _host.getPreviewMinWidth(), _targetBounds);
+                setBounds(_targetBounds);
+                _host.setSnapped(true);
+                _snapDirection = snapDirection;
+                commitTransition(event);
+            }
+            // Close the visual feedback regardless
+            hidePreview();
+        }
+        finally
+        {
+            // Decisions still in flight were discarded, so they cannot hide it anymore
+            if (_asyncSnapResolver != null && _previewVisible)
+            {
+                hidePreview();
+            }
+
+            _snapPredictor.end();
+            cancelPreposition();
+
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * The move control has been clicked, (un)maximizes the window on a double click.
+     *
+     * @param primary    true if the primary button was clicked.
+     * @param clickCount The number of clicks.
+     */
+    public void moveClicked(boolean primary, int clickCount)
+    {
+        trace(TraceEventType.MOVE_CLICKED, PointerTraceRecorder.flags(null, null, primary, clickCount), 0, 0, 0, 0, 0, 0);
+        _trigger = TransitionTrigger.DOUBLE_CLICK;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (!primary || clickCount < 2 || !_host.isDoubleClickMaximizable())
+            {
+                return;
+            }
+
+            if (_host.isSnapped())
+            {
+                snapOff();
+                revertToPreviousSizeAndPosClamped(getStageScreen());
+                return;
+            }
+
+            _host.setMaximized(!_host.isMaximized());
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * A resize edge has been pressed or started dragging, records the size and position to
+     * restore.
+     */
+    public void resizeStarted()
+    {
+        trace(TraceEventType.RESIZE_STARTED, 0, 0, 0, 0, 0, 0, 0);
+        if (!_host.isSnapped())
+        {
+            updatePrevSizeAndPos();
+        }
+
+        collectNeighbors();
+    }
+
+    /**
+     * A resize edge has been dragged.
+     *
+     * @param hDirection The horizontal direction of the edge, null for the top and bottom edges.
+     * @param vDirection The vertical direction of the edge, null for the left and right edges.
+     * @param screenX    The x coordinate of the pointer on the screen.
+     * @param screenY    The y coordinate of the pointer on the screen.
+     * @param localX     The x coordinate of the pointer relative to the edge.
+     * @param localY     The y coordinate of the pointer relative to the edge.
+     * @param sceneX     The x coordinate of the pointer in the scene.
+     * @param sceneY     The y coordinate of the pointer in the scene.
+     */
+    @SuppressWarnings("java:S3776")
+    public void resizeDragged(HDirection hDirection, VDirection vDirection, double screenX, double screenY, double localX, double localY, double sceneX,
+        double sceneY)
+    {
+        trace(TraceEventType.RESIZE_DRAGGED, PointerTraceRecorder.flags(hDirection, vDirection, false, 0), screenX, screenY, localX, localY, sceneX, sceneY);
+        _trigger = TransitionTrigger.MOUSE;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            final double width = _host.getWidth();
+            final double height = _host.getHeight();
+            Rectangle2D screen = getStageScreen();
+
+            if (_host.isPreventMouseOverTaskbar())
+            {
+                limitMouseMovement(screen, screenX, screenY);
+            }
+
+            // Horizontal resize
+            if (hDirection != null)
+            {
+                // Distance the dragged edge moves to the nearest neighbor edge
+                double delta = hDirection == HDirection.LEFT ? magnetDelta(_neighborEdges.nearestVertical(screenX, _host.getY(), _host.getY() + height,
+                    _magnetDistance)) : magnetDelta(_neighborEdges.nearestVertical(_host.getX() + sceneX, _host.getY(), _host.getY() + height, _magnetDistance));
+                double comingWidth = hDirection == HDirection.LEFT ? width - screenX - delta + _host.getX() : width + localX + delta;
+
+                if (comingWidth <= 0 || comingWidth < _host.getMinWidth() || comingWidth > _host.getMaxWidth())
+                {
+                    return;
+                }
+
+                if (hDirection == HDirection.LEFT)
+                {
+                    _host.setBounds(screenX + delta, _host.getY(), _host.getX() - screenX - delta + width, _host.getHeight());
+                }
+                else
+                {
+                    _host.setBounds(_host.getX(), _host.getY(), sceneX + delta, _host.getHeight());
+                }
+            }
+
+            // Vertical resize
+            if (vDirection != null)
+            {
+                if (_host.isSnapped() && !(_host.getX() <= screen.getMinX() || (_host.getX() + width) >= screen.getMaxX()))
+                {
+                    SnapOffEvent event = beginTransition(new SnapOffEvent(), TransitionTrigger.MOUSE);
+                    _host.setBounds(_host.getX(), _host.getY(), _host.getWidth(), _prevSize.getHeight());
+                    _host.setSnapped(false);
+                    commitTransition(event);
+                }
+
+                double delta = vDirection == VDirection.TOP ? magnetDelta(_neighborEdges.nearestHorizontal(screenY, _host.getX(), _host.getX() + _host.getWidth(),
+                    _magnetDistance)) : magnetDelta(_neighborEdges.nearestHorizontal(_host.getY() + sceneY, _host.getX(), _host.getX() + _host.getWidth(),
+                    _magnetDistance));
+                double comingHeight = vDirection == VDirection.TOP ? height - screenY - delta + _host.getY() : height + localY + delta;
+
+                if (comingHeight <= 0 || comingHeight < _host.getMinHeight() || comingHeight > _host.getMaxHeight())
+                {
+                    return;
+                }
+
+                if (vDirection == VDirection.TOP)
+                {
+                    _host.setBounds(_host.getX(), screenY + delta, _host.getWidth(), _host.getY() - screenY - delta + height);
+                }
+                else
+                {
+                    _host.setBounds(_host.getX(), _host.getY(), _host.getWidth(), sceneY + delta);
+                }
+
+                if (_host.isAeroSnap() && _host.isVerticalResizeSnap())
+                {
+                    if (!SnapGeometry.isLegalVerticalResizeSnap(screen, _host.getAeroSnapAllowance(), vDirection, _host.getY(), screenY))
+                    {
+                        hidePreview();
+                        return;
+                    }
+
+                    _previewBounds.set(_host.getX(), screen.getMinY(), _host.getWidth(), screen.getHeight());
+                    showPreview();
+                }
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * A resize edge has been released, snaps the window vertically if allowed.
+     *
+     * @param vDirection The vertical direction of the edge, null for the left and right edges.
+     * @param screenX    The x coordinate of the pointer on the screen.
+     * @param screenY    The y coordinate of the pointer on the screen.
+     * @param primary    true if the primary button was released.
+     */
+    public void resizeReleased(VDirection vDirection, double screenX, double screenY, boolean primary)
+    {
+        trace(TraceEventType.RESIZE_RELEASED, PointerTraceRecorder.flags(null, vDirection, primary, 0), screenX, screenY, 0, 0, 0, 0);
+        _trigger = TransitionTrigger.MOUSE;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (vDirection == null || !_host.isVerticalResizeSnap() || !primary)
+            {
+                return;
+            }
+
+            Rectangle2D screen = _topology.visualBoundsAt(screenX, screenY);
+
+            if (screen != null && SnapGeometry.isLegalVerticalResizeSnap(screen, _host.getAeroSnapAllowance(), vDirection, _host.getY(), screenY))
+            {
+                SnapEvent event = beginSnap(VERTICAL_SNAP);
+                _snapDirection = null;
+                _host.setBounds(_host.getX(), screen.getMinY(), _host.getWidth(), screen.getHeight());
+                _host.setSnapped(true);
+                commitTransition(event);
+            }
+
+            if (_host.isAeroSnap())
+            {
+                hidePreview();
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * A resize edge has been clicked, toggles the vertical snap on a double click.
+     *
+     * @param vDirection The vertical direction of the edge, null for the left and right edges.
+     * @param primary    true if the primary button was clicked.
+     * @param clickCount The number of clicks.
+     */
+    public void resizeClicked(VDirection vDirection, boolean primary, int clickCount)
+    {
+        trace(TraceEventType.RESIZE_CLICKED, PointerTraceRecorder.flags(null, vDirection, primary, clickCount), 0, 0, 0, 0, 0, 0);
+        _trigger = TransitionTrigger.DOUBLE_CLICK;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (!primary || clickCount < 2 || vDirection == null)
+            {
+                return;
+            }
+
+            if (_host.isSnapped())
+            {
+                SnapOffEvent event = beginTransition(new SnapOffEvent(), TransitionTrigger.DOUBLE_CLICK);
+                _host.setBounds(_host.getX(), _prevPos.getY(), _host.getWidth(), _prevSize.getHeight());
+                _host.setSnapped(false);
+                commitTransition(event);
+            }
+            else
+            {
+                SnapEvent event = beginSnap(VERTICAL_SNAP);
+                _snapDirection = null;
+                Rectangle2D screen = getStageScreen();
+
+                _prevSize.setHeight(_host.getHeight());
+                _prevPos.setY(_host.getY());
+                _host.setBounds(_host.getX(), screen.getMinY(), _host.getWidth(), screen.getHeight());
+                _host.setSnapped(true);
+                commitTransition(event);
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Snaps the window to the tile of {@link Direction#LEFT} on its screen, the left half by
+     * default.
+     */
+    public void snapLeft()
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (_host.isMinimized() || _host.isDirectionDisabled(Direction.LEFT))
+                return;
+
+            snapTo(Direction.LEFT);
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Snaps the window to the tile of {@link Direction#RIGHT} on its screen, the right half by
+     * default.
+     */
+    public void snapRight()
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (_host.isMinimized() || _host.isDirectionDisabled(Direction.RIGHT))
+                return;
+
+            snapTo(Direction.RIGHT);
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Maximizes a snapped window, unless it was snapped before being minimized.
+     */
+    public void maximizeFromSnap()
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (!_host.isMaximized() && _host.isSnapped() && !_wasSnapped)
+                _host.setMaximized(!_host.isMaximized());
+            _wasSnapped = false;
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Minimizes a snapped window.
+     */
+    public void minimizeFromSnap()
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (!_host.isMaximized() && _host.isSnapped())
+                _host.setMinimized(!_host.isMinimized());
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Snaps the window to the tile of the given direction on its screen. If the window is already
+     * snapped to the left or right, its width cycles through the {@link #setSnapCycle(double...)
+     * snap cycle} instead, starting after the width closest to the current one.
+     *
+     * @param direction The snap direction, instance of {@link Direction}.
+     */
+    public void cycleSnap(Direction direction)
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (_host.isMinimized() || _host.isDirectionDisabled(direction))
+                return;
+
+            if (!_host.isSnapped() || _host.isMaximized() || _snapDirection != direction || (direction != Direction.LEFT && direction != Direction.RIGHT))
+            {
+                snapTo(direction);
+                return;
+            }
+
+            int screenIndex = getStageScreenIndex();
+
+            if (screenIndex < 0)
+                return;
+
+            Rectangle2D screen = _topology.getVisualBounds(screenIndex);
+            double[] cycle = _snapCycle;
+            double fraction = _host.getWidth() / screen.getWidth();
+            int closest = 0;
+
+            for (int i = 1; i < cycle.length; i++)
+            {
+                if (Math.abs(cycle[i] - fraction) < Math.abs(cycle[closest] - fraction))
+                {
+                    closest = i;
+                }
+            }
+
+            double width = Math.max(screen.getWidth() * cycle[(closest + 1) % cycle.length], _host.getPreviewMinWidth());
+            double x = direction == Direction.LEFT ? screen.getMinX() : screen.getMaxX() - width;
+
+            // Keeps the vertical extent of the tile of the layout
+            _tileTable.bounds(screenIndex, direction, _host.getPreviewMinWidth(), _targetBounds);
+            SnapEvent event = beginSnap(direction.name());
+            _host.setBounds(x, _targetBounds.getY(), width, _targetBounds.getHeight());
+            commitTransition(event);
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Restores the window: unminimizes a minimized window, and brings a maximized or snapped window
+     * back to its previous size and position.
+     */
+    public void restore()
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            if (_host.isMinimized())
+            {
+                _host.setMinimized(false);
+            }
+            else if (_host.isMaximized())
+            {
+                _host.setMaximized(false);
+                _host.setSnapped(false);
+            }
+            else if (_host.isSnapped())
+            {
+                snapOff();
+                revertToPreviousSizeAndPosClamped(getStageScreen());
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Moves the window to another screen, keeping its state: a maximized window is maximized on
+     * the other screen, a snapped window snaps to the same tile, and a floating window keeps its
+     * offset from the top left corner of the screen while being kept within it. The size and
+     * position to restore move along.
+     *
+     * @param offset The offset of the other screen from the screen of the window in the
+     *               {@link ScreenTopology}, e.g. 1 for the next screen and -1 for the previous
+     *               one, wrapping around.
+     */
+    public void moveToScreen(int offset)
+    {
+        _trigger = TransitionTrigger.KEYBOARD;
+        _host.beginBoundsUpdate();
+
+        try
+        {
+            int count = _topology.getScreenCount();
+
+            if (_host.isMinimized() || count < 2)
+                return;
+
+            int fromIndex = getStageScreenIndex();
+            int toIndex = Math.floorMod(fromIndex + offset, count);
+
+            if (toIndex == fromIndex)
+                return;
+
+            Rectangle2D from = _topology.getVisualBounds(fromIndex);
+            Rectangle2D to = _topology.getVisualBounds(toIndex);
+            _screenBounds.set(from.getMinX(), from.getMinY(), from.getWidth(), from.getHeight());
+
+            if (Double.isFinite(_prevSize.getWidth()) && Double.isFinite(_prevPos.getX()))
+            {
+                _targetBounds.set(_prevPos.getX(), _prevPos.getY(), _prevSize.getWidth(), _prevSize.getHeight());
+                relocate(_targetBounds, _screenBounds, to);
+                _prevPos.set(_targetBounds.getX(), _targetBounds.getY());
+                _prevSize.set(_targetBounds.getWidth(), _targetBounds.getHeight());
+            }
+
+            if (_host.isMaximized())
+            {
+                MaximizeEvent event = beginTransition(new MaximizeEvent(), TransitionTrigger.API);
+                _host.setBounds(to.getMinX(), to.getMinY(), to.getWidth(), to.getHeight());
+                commitTransition(event);
+            }
+            else if (_host.isSnapped() && _snapDirection != null)
+            {
+                SnapEvent event = beginSnap(_snapDirection.name());
+                _tileTable.bounds(toIndex, _snapDirection, _host.getPreviewMinWidth(), _targetBounds);
+                setBounds(_targetBounds);
+                commitTransition(event);
+            }
+            else if (_host.isSnapped())
+            {
+                SnapEvent event = beginSnap(VERTICAL_SNAP);
+                _targetBounds.set(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+                relocate(_targetBounds, _screenBounds, to);
+                _host.setBounds(_targetBounds.getX(), to.getMinY(), _targetBounds.getWidth(), to.getHeight());
+                commitTransition(event);
+            }
+            else
+            {
+                _targetBounds.set(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+                relocate(_targetBounds, _screenBounds, to);
+                setBounds(_targetBounds);
+            }
+        }
+        finally
+        {
+            _trigger = null;
+            _host.endBoundsUpdate();
+        }
+    }
+
+    /**
+     * Returns the visual bounds of the screen the window is on.
+     * <p>
+     * The screen intersecting the top left half of the window is preferred, then the screen
+     * intersecting the whole window and finally the primary screen. While there are no screens,
+     * e.g. headless, the last screen found is returned, or the bounds of the window if none was.
+     * </p>
+     *
+     * @return The visual bounds, instance of {@link Rectangle2D}.
+     */
+    public Rectangle2D getStageScreen()
+    {
+        int index = getStageScreenIndex();
+
+        if (index >= 0)
+        {
+            _lastScreen = _topology.getVisualBounds(index);
+        }
+        else if (_lastScreen == null)
+        {
+            return new Rectangle2D(_host.getX(), _host.getY(), Math.max(0, _host.getWidth()), Math.max(0, _host.getHeight()));
+        }
+
+        return _lastScreen;
+    }
+
+    /**
+     * Returns the index of the screen the window is on, see {@link #getStageScreen()}.
+     *
+     * @return {@code int} - the index of the screen in the {@link ScreenTopology}, or -1 if there
+     * are no screens.
+     */
+    public int getStageScreenIndex()
+    {
+        int index = _topology.indexFor(_host.getX(), _host.getY(), _host.getWidth() / 2, _host.getHeight() / 2);
+
+        if (index < 0)
+        {
+            index = _topology.indexFor(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+        }
+        if (index < 0)
+        {
+            index = _topology.getPrimaryIndex();
+        }
+
+        return index;
+    }
+
+    /**
+     * Snaps the window to the tile of the given direction on its screen, or maximizes it if the
+     * direction maximizes.
+     */
+    private void snapTo(Direction direction)
+    {
+        int screenIndex = getStageScreenIndex();
+
+        if (screenIndex < 0)
+        {
+            return;
+        }
+
+        if (_tileTable.isMaximize(screenIndex, direction))
+        {
+            _host.setMaximized(true);
+            return;
+        }
+
+        SnapEvent event = beginSnap(direction.name());
+
+        if (!_host.isSnapped())
+            updatePrevSizeAndPos();
+        _host.setMaximized(false);
+        _tileTable.bounds(screenIndex, direction, _host.getPreviewMinWidth(), _targetBounds);
+        setBounds(_targetBounds);
+        _host.setSnapped(true);
+        _snapDirection = direction;
+        commitTransition(event);
+    }
+
+    /**
+     * Positions the hidden visual feedback at the snap zone the pointer is predicted to enter. A
+     * prediction past the edge of the screen is brought back within it, as the pointer stops at
+     * the edge.
+     */
+    private void predictSnap(Rectangle2D screen)
+    {
+        if (!_snapPredictor.canPredict())
+        {
+            return;
+        }
+
+        double x = _snapPredictor.predictX();
+        double y = _snapPredictor.predictY();
+        int screenIndex = _topology.indexAt(x, y);
+
+        if (screenIndex < 0)
+        {
+            x = SnapGeometry.clamp(x, screen.getMinX(), screen.getMaxX() - 1);
+            y = SnapGeometry.clamp(y, screen.getMinY(), screen.getMaxY() - 1);
+            screenIndex = _topology.indexAt(x, y);
+        }
+        if (screenIndex < 0)
+        {
+            return;
+        }
+
+        Direction direction = _snapZoneMap.classify(screenIndex, x, y);
+
+        if (direction == null || _host.isDirectionDisabled(direction))
+        {
+            return;
+        }
+
+        _tileTable.bounds(screenIndex, direction, _host.getPreviewMinWidth(), _targetBounds);
+
+        if (_snapPredictor.predicted(direction) || !_targetBounds.equals(_predictedBounds))
+        {
+            _predictedBounds.set(_targetBounds);
+            _host.prepositionPreview(_predictedBounds);
+            _previewPrepositioned = true;
+        }
+    }
+
+    /**
+     * Moves the hidden visual feedback back out of the way if it was prepositioned and not shown.
+     */
+    private void cancelPreposition()
+    {
+        if (!_previewPrepositioned)
+        {
+            return;
+        }
+
+        _previewPrepositioned = false;
+
+        if (!_previewVisible)
+        {
+            _host.cancelPreviewPreposition();
+        }
+    }
+
+    /**
+     * Records an input with the bounds of the window before it is handled, if recording.
+     */
+    @SuppressWarnings("java:S107")
+    private void trace(TraceEventType type, int flags, double a0, double a1, double a2, double a3, double a4, double a5)
+    {
+        PointerTraceRecorder recorder = _traceRecorder;
+
+        if (recorder != null)
+        {
+            recorder.record(type, flags, a0, a1, a2, a3, a4, a5, _host);
+        }
+    }
+
+    /**
+     * Collects the edges of the neighbor windows for the move or resize starting.
+     */
+    private void collectNeighbors()
+    {
+        _neighborEdges.clear();
+
+        if (_magnetDistance > 0)
+        {
+            _host.collectNeighbors(_neighborEdges);
+        }
+
+        _neighborEdges.build();
+    }
+
+    /**
+     * Moves a coordinate by the closer of the deltas found for the two opposite edges of the window.
+     */
+    private static double magnet(double value, double firstDelta, double secondDelta)
+    {
+        double delta = EdgeIndex.closest(firstDelta, secondDelta);
+        return Double.isNaN(delta) ? value : value + delta;
+    }
+
+    private int indexOfScreen(Rect bounds)
+    {
+        for (int i = 0; i < _topology.getScreenCount(); i++)
+        {
+            Rectangle2D screen = _topology.getVisualBounds(i);
+
+            if (screen.getMinX() == bounds.getX() && screen.getMinY() == bounds.getY() && screen.getWidth() == bounds.getWidth()
+                && screen.getHeight() == bounds.getHeight())
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Moves the given bounds to the same offset on another screen, keeping them within that screen.
+     */
+    private static void relocate(Rect bounds, Rect from, Rectangle2D to)
+    {
+        double width = Math.min(bounds.getWidth(), to.getWidth());
+        double height = Math.min(bounds.getHeight(), to.getHeight());
+        bounds.set(SnapGeometry.clamp(to.getMinX() + bounds.getX() - from.getX(), to.getMinX(), to.getMaxX() - width),
+            SnapGeometry.clamp(to.getMinY() + bounds.getY() - from.getY(), to.getMinY(), to.getMaxY() - height), width, height);
+    }
+
+    private static double magnetDelta(double delta)
+    {
+        return Double.isNaN(delta) ? 0 : delta;
+    }
+
+    private void snapOff()
+    {
+        SnapOffEvent event = beginTransition(new SnapOffEvent(), TransitionTrigger.MOUSE);
+        _host.setBounds(_host.getX(), _host.getY(), _prevSize.getWidth(), _prevSize.getHeight());
+        _host.setSnapped(false);
+        commitTransition(event);
+    }
+
+    /**
+     * Applies a snap decision of the {@link AsyncSnapResolver} to the visual feedback.
+     */
+    private void applySnapDecision(SnapDecision decision)
+    {
+        if (decision.getDirection() == null)
+        {
+            hidePreview();
+            return;
+        }
+
+        _previewBounds.set(decision.getX(), decision.getY(), decision.getWidth(), decision.getHeight());
+        showPreview();
+    }
+
+    private void showPreview()
+    {
+        if (_previewVisible)
+        {
+            _host.showPreview(_previewBounds);
+            return;
+        }
+
+        PreviewShowEvent event = new PreviewShowEvent();
+        event.begin();
+        _host.showPreview(_previewBounds);
+        _previewVisible = true;
+        // Hiding it parks it again
+        _previewPrepositioned = false;
+        event.end();
+
+        if (event.shouldCommit())
+        {
+            event.setBounds(_previewBounds.getX(), _previewBounds.getY(), _previewBounds.getWidth(), _previewBounds.getHeight());
+            event.commit();
+        }
+    }
+
+    private void hidePreview()
+    {
+        if (!_previewVisible)
+        {
+            _host.hidePreview();
+            return;
+        }
+
+        PreviewCloseEvent event = new PreviewCloseEvent();
+        event.begin();
+        _host.hidePreview();
+        _previewVisible = false;
+        event.end();
+
+        if (event.shouldCommit())
+        {
+            event.setBounds(_previewBounds.getX(), _previewBounds.getY(), _previewBounds.getWidth(), _previewBounds.getHeight());
+            event.commit();
+        }
+    }
+
+    private SnapEvent beginSnap(String direction)
+    {
+        SnapEvent event = beginTransition(new SnapEvent(), TransitionTrigger.API);
+        event.setDirection(direction);
+        return event;
+    }
+
+    /**
+     * Starts timing a transition and opens a bounds transaction, so the transition is applied to
+     * the window as a single update. The trigger falls back to the given one outside of an input.
+     */
+    private <T extends WindowTransitionEvent> T beginTransition(T event, TransitionTrigger fallback)
+    {
+        _host.beginBoundsUpdate();
+        _host.transitionStarted();
+
+        if (event.isEnabled())
+        {
+            event.setTrigger(_trigger != null ? _trigger : fallback);
+            event.setBefore(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+            event.begin();
+        }
+
+        return event;
+    }
+
+    private void commitTransition(WindowTransitionEvent event)
+    {
+        _host.transitionCommitted();
+        _host.endBoundsUpdate();
+        event.end();
+
+        if (event.shouldCommit())
+        {
+            event.setAfter(_host.getX(), _host.getY(), _host.getWidth(), _host.getHeight());
+            event.commit();
+        }
+    }
+
+    /**
+     * Limits the pointer to move within the visual bounds of the screen.
+     */
+    private void limitMouseMovement(Rectangle2D screen, double screenX, double screenY)
+    {
+        _cursorConfiner.confine(screenX, screenY, screen);
+    }
+
+    private void updatePrevSizeAndPos()
+    {
+        _prevSize.set(_host.getWidth(), _host.getHeight());
+        _prevPos.set(_host.getX(), _host.getY());
+    }
+
+    private void revertToPreviousSizeAndPos()
+    {
+        RevertEvent event = beginTransition(new RevertEvent(), TransitionTrigger.API);
+        _host.setBounds(_prevPos.getX(), _prevPos.getY(), _prevSize.getWidth(), _prevSize.getHeight());
+        _wasSnapped = false;
+        commitTransition(event);
+    }
+
+    private void revertToPreviousSizeAndPosClamped(Rectangle2D screen)
+    {
+        RevertEvent event = beginTransition(new RevertEvent(), TransitionTrigger.API);
+        SnapGeometry.clampedRestoreBounds(screen, _prevSize, _prevPos, _host.getMinWidth(), _host.getMaxWidth(), _host.getMinHeight(), _host.getMaxHeight(),
+            _targetBounds);
+        setBounds(_targetBounds);
+        commitTransition(event);
+    }
+
+    private void setBounds(Rect bounds)
+    {
+        _host.setBounds(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
+    }
+}
@@ -2,6 +2,10 @@ package com.Bentaii.BorderlessFX.geometry;
 
 /**
  * A class that represents a delta between two points.
+ * <p>
+ * Unset coordinates are null. Returned by {@code DockableScene#getStagePosition()} as a copy of
+ * the {@link Position} the library tracks, see {@link #toPosition()}.
+ * </p>
  */
 public class Delta
 {
@@ -20,6 +24,16 @@ public class Delta
         this.y = y;
     }
 
+    /**
+     * Copies the values of a {@link Position}.
+     *
+     * @param position The values to copy, instance of {@link Position}.
+     */
+    public Delta(Position position)
+    {
+        this(position.getX(), position.getY());
+    }
+
     public Double getX()
     {
         return x;
@@ -39,4 +53,13 @@ public class Delta
     {
         this.y = y;
     }
+
+    /**
+     * @return The values as primitive doubles, instance of {@link Position}. Null values are mapped to
+     * {@link Double#NaN}.
+     */
+    public Position toPosition()
+    {
+        return new Position(x != null ? x : Double.NaN, y != null ? y : Double.NaN);
+    }
 }
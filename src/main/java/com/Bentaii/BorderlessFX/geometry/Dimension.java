@@ -2,6 +2,10 @@ package com.Bentaii.BorderlessFX.geometry;
 
 /**
  * A class representing a dimension.
+ * <p>
+ * An unset width or height is null. {@code DockableScene#getStageSize()} returns one as a
+ * snapshot of the {@link Size} restored after un-snapping or un-maximizing, see {@link #toSize()}.
+ * </p>
  */
 public class Dimension
 {
@@ -20,6 +24,16 @@ public class Dimension
         this.height = height;
     }
 
+    /**
+     * Copies the values of a {@link Size}.
+     *
+     * @param size The values to copy, instance of {@link Size}.
+     */
+    public Dimension(Size size)
+    {
+        this(size.getWidth(), size.getHeight());
+    }
+
     public Double getWidth()
     {
         return width;
@@ -39,4 +53,13 @@ public class Dimension
     {
         this.height = height;
     }
+
+    /**
+     * @return The values as primitive doubles, instance of {@link Size}. Null values are mapped to
+     * {@link Double#NaN}.
+     */
+    public Size toSize()
+    {
+        return new Size(width != null ? width : Double.NaN, height != null ? height : Double.NaN);
+    }
 }
@@ -0,0 +1,245 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import java.util.Arrays;
+
+/**
+ * An index of the edges of a set of windows, used to magnetically snap a window to its neighbors.
+ * <p>
+ * The vertical edges (left and right) and the horizontal edges (top and bottom) of every added
+ * window are stored in two flat primitive arrays sorted by their coordinate. Finding the nearest
+ * edge within a distance is then a binary search followed by a scan of the edges within that
+ * distance, so a lookup stays cheap with many windows and nothing is allocated per lookup.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     index.clear();
+ *     index.add(x, y, width, height); // For every neighbor window
+ *     index.build();
+ *     double delta = index.nearestVertical(left, top, bottom, 10);
+ * }
+ * </pre>
+ */
+public class EdgeIndex
+{
+    private final Axis _vertical = new Axis();
+    private final Axis _horizontal = new Axis();
+
+    /**
+     * Removes every edge, the arrays are kept for the next {@link #build()}.
+     */
+    public void clear()
+    {
+        _vertical._count = 0;
+        _horizontal._count = 0;
+    }
+
+    /**
+     * Adds the four edges of a window, {@link #build()} must be called once every window is added.
+     *
+     * @param x      The x coordinate of the window.
+     * @param y      The y coordinate of the window.
+     * @param width  The width of the window.
+     * @param height The height of the window.
+     */
+    public void add(double x, double y, double width, double height)
+    {
+        _vertical.add(x, y, y + height);
+        _vertical.add(x + width, y, y + height);
+        _horizontal.add(y, x, x + width);
+        _horizontal.add(y + height, x, x + width);
+    }
+
+    /**
+     * Sorts the added edges, required before any lookup.
+     */
+    public void build()
+    {
+        _vertical.sort();
+        _horizontal.sort();
+    }
+
+    /**
+     * @return {@code boolean} - true if no edge is indexed otherwise false.
+     */
+    public boolean isEmpty()
+    {
+        return _vertical._count == 0;
+    }
+
+    /**
+     * @return {@code int} - the number of indexed windows.
+     */
+    public int size()
+    {
+        return _vertical._count / 2;
+    }
+
+    /**
+     * Finds the vertical edge nearest to the given x coordinate.
+     *
+     * @param x        The x coordinate of the edge to snap.
+     * @param minY     The top of the edge to snap, only edges overlapping it vertically attract it.
+     * @param maxY     The bottom of the edge to snap.
+     * @param distance The maximum distance to an attracting edge.
+     * @return {@code double} - the amount to add to x to reach the nearest edge, or
+     * {@link Double#NaN} if no edge is within the distance.
+     */
+    public double nearestVertical(double x, double minY, double maxY, double distance)
+    {
+        return _vertical.nearest(x, minY, maxY, distance);
+    }
+
+    /**
+     * Finds the horizontal edge nearest to the given y coordinate.
+     *
+     * @param y        The y coordinate of the edge to snap.
+     * @param minX     The left of the edge to snap, only edges overlapping it horizontally attract
+     *                 it.
+     * @param maxX     The right of the edge to snap.
+     * @param distance The maximum distance to an attracting edge.
+     * @return {@code double} - the amount to add to y to reach the nearest edge, or
+     * {@link Double#NaN} if no edge is within the distance.
+     */
+    public double nearestHorizontal(double y, double minX, double maxX, double distance)
+    {
+        return _horizontal.nearest(y, minX, maxX, distance);
+    }
+
+    /**
+     * Returns the smaller of two deltas returned by a lookup, ignoring {@link Double#NaN}.
+     *
+     * @param first  The first delta.
+     * @param second The second delta.
+     * @return {@code double} - the delta closest to zero, or {@link Double#NaN} if both are.
+     */
+    public static double closest(double first, double second)
+    {
+        if (Double.isNaN(first))
+        {
+            return second;
+        }
+        if (Double.isNaN(second))
+        {
+            return first;
+        }
+
+        return Math.abs(second) < Math.abs(first) ? second : first;
+    }
+
+    /**
+     * The edges of one orientation, each one a position along the axis and a span across it.
+     */
+    private static final class Axis
+    {
+        private double[] _position = new double[16];
+        private double[] _spanMin = new double[16];
+        private double[] _spanMax = new double[16];
+        private int _count;
+
+        private void add(double position, double spanMin, double spanMax)
+        {
+            if (_count == _position.length)
+            {
+                _position = Arrays.copyOf(_position, _count * 2);
+                _spanMin = Arrays.copyOf(_spanMin, _count * 2);
+                _spanMax = Arrays.copyOf(_spanMax, _count * 2);
+            }
+
+            _position[_count] = position;
+            _spanMin[_count] = spanMin;
+            _spanMax[_count] = spanMax;
+            _count++;
+        }
+
+        /**
+         * In-place heap sort of the parallel arrays, so rebuilding the index does not allocate.
+         */
+        private void sort()
+        {
+            for (int i = _count / 2 - 1; i >= 0; i--)
+            {
+                siftDown(i, _count);
+            }
+
+            for (int end = _count - 1; end > 0; end--)
+            {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        private void siftDown(int root, int end)
+        {
+            int child;
+
+            while ((child = 2 * root + 1) < end)
+            {
+                if (child + 1 < end && _position[child + 1] > _position[child])
+                {
+                    child++;
+                }
+
+                if (_position[root] >= _position[child])
+                {
+                    return;
+                }
+
+                swap(root, child);
+                root = child;
+            }
+        }
+
+        private void swap(int i, int j)
+        {
+            double position = _position[i];
+            double spanMin = _spanMin[i];
+            double spanMax = _spanMax[i];
+
+            _position[i] = _position[j];
+            _spanMin[i] = _spanMin[j];
+            _spanMax[i] = _spanMax[j];
+            _position[j] = position;
+            _spanMin[j] = spanMin;
+            _spanMax[j] = spanMax;
+        }
+
+        private double nearest(double position, double spanMin, double spanMax, double distance)
+        {
+            double best = Double.NaN;
+            double bestDistance = distance;
+
+            // First edge at or after position - distance
+            int low = 0;
+            int high = _count;
+            double from = position - distance;
+
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+
+                if (_position[mid] < from)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+
+            for (int i = low; i < _count && _position[i] <= position + distance; i++)
+            {
+                double delta = _position[i] - position;
+
+                if (Math.abs(delta) <= bestDistance && _spanMin[i] <= spanMax + distance && _spanMax[i] >= spanMin - distance)
+                {
+                    best = delta;
+                    bestDistance = Math.abs(delta);
+                }
+            }
+
+            return best;
+        }
+    }
+}
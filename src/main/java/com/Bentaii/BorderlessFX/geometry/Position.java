@@ -0,0 +1,101 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+/**
+ * A position, or a delta between two points.
+ * <p>
+ * Unlike {@link Delta} the coordinates are primitive doubles updated in place, so a single
+ * instance can be reused while dragging without allocating.
+ * </p>
+ */
+public class Position
+{
+
+    double x;
+    double y;
+
+    public Position()
+    {
+
+    }
+
+    public Position(double x, double y)
+    {
+        this.x = x;
+        this.y = y;
+    }
+
+    public Position(Position position)
+    {
+        this(position.x, position.y);
+    }
+
+    public double getX()
+    {
+        return x;
+    }
+
+    public void setX(double x)
+    {
+        this.x = x;
+    }
+
+    public double getY()
+    {
+        return y;
+    }
+
+    public void setY(double y)
+    {
+        this.y = y;
+    }
+
+    /**
+     * Sets both coordinates at once.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     */
+    public void set(double x, double y)
+    {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Determines whether both coordinates hold a finite value.
+     *
+     * @return {@code boolean} - true if both coordinates are finite otherwise false.
+     */
+    public boolean isFinite()
+    {
+        return Double.isFinite(x) && Double.isFinite(y);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Position))
+        {
+            return false;
+        }
+
+        Position position = (Position) o;
+        return Double.compare(position.x, x) == 0 && Double.compare(position.y, y) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Position[x=" + x + ", y=" + y + "]";
+    }
+}
@@ -0,0 +1,120 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+/**
+ * A class representing a rectangle by its position and dimension.
+ * <p>
+ * Unlike {@link javafx.geometry.Rectangle2D} it is mutable, so a single instance can be reused
+ * as the output of bounds computations without allocating.
+ * </p>
+ */
+public class Rect
+{
+
+    double x;
+    double y;
+    double width;
+    double height;
+
+    public Rect()
+    {
+
+    }
+
+    public Rect(double x, double y, double width, double height)
+    {
+        set(x, y, width, height);
+    }
+
+    public Rect(Rect rect)
+    {
+        this(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    public double getX()
+    {
+        return x;
+    }
+
+    public double getY()
+    {
+        return y;
+    }
+
+    public double getWidth()
+    {
+        return width;
+    }
+
+    public double getHeight()
+    {
+        return height;
+    }
+
+    public double getMaxX()
+    {
+        return x + width;
+    }
+
+    public double getMaxY()
+    {
+        return y + height;
+    }
+
+    /**
+     * Sets the position and the dimension at once.
+     *
+     * @param x      The x coordinate.
+     * @param y      The y coordinate.
+     * @param width  The width.
+     * @param height The height.
+     */
+    public void set(double x, double y, double width, double height)
+    {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Copies the position and the dimension of the given rectangle.
+     *
+     * @param rect The rectangle to copy.
+     */
+    public void set(Rect rect)
+    {
+        set(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Rect))
+        {
+            return false;
+        }
+
+        Rect rect = (Rect) o;
+        return Double.compare(rect.x, x) == 0 && Double.compare(rect.y, y) == 0 && Double.compare(rect.width, width) == 0
+            && Double.compare(rect.height, height) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = Double.hashCode(x);
+        result = 31 * result + Double.hashCode(y);
+        result = 31 * result + Double.hashCode(width);
+        return 31 * result + Double.hashCode(height);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Rect[x=" + x + ", y=" + y + ", width=" + width + ", height=" + height + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+/**
+ * Hit testing of the resize edges of a window.
+ * <p>
+ * The edges are a band of the given border width along every side, the corners are squares of
+ * the given corner size, matching the layout of the resize panes of the borderless scene.
+ * </p>
+ */
+public final class ResizeEdges
+{
+
+    private ResizeEdges()
+    {
+        // Use static methods
+    }
+
+    /**
+     * Returns the resize edge at the given point.
+     *
+     * @param x          The x coordinate relative to the window.
+     * @param y          The y coordinate relative to the window.
+     * @param width      The width of the window.
+     * @param height     The height of the window.
+     * @param border     The width of the edges.
+     * @param cornerSize The size of the corners.
+     * @return The direction of the edge, instance of {@link Direction}, or null if the point is not
+     * on an edge.
+     */
+    public static Direction hitTest(double x, double y, double width, double height, double border, double cornerSize)
+    {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+        {
+            return null;
+        }
+
+        boolean left = x < border;
+        boolean right = x >= width - border;
+        boolean top = y < border;
+        boolean bottom = y >= height - border;
+
+        if (!left && !right && !top && !bottom)
+        {
+            return null;
+        }
+
+        boolean leftCorner = x < cornerSize;
+        boolean rightCorner = x >= width - cornerSize;
+        boolean topCorner = y < cornerSize;
+        boolean bottomCorner = y >= height - cornerSize;
+
+        if (topCorner && leftCorner)
+            return Direction.TOP_LEFT;
+        if (topCorner && rightCorner)
+            return Direction.TOP_RIGHT;
+        if (bottomCorner && leftCorner)
+            return Direction.BOTTOM_LEFT;
+        if (bottomCorner && rightCorner)
+            return Direction.BOTTOM_RIGHT;
+        if (left)
+            return Direction.LEFT;
+        if (right)
+            return Direction.RIGHT;
+
+        return top ? Direction.TOP : Direction.BOTTOM;
+    }
+}
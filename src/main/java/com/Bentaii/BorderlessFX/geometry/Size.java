@@ -0,0 +1,101 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+/**
+ * A width and a height.
+ * <p>
+ * Unlike {@link Dimension} they are primitive doubles updated in place, so a single instance can
+ * be reused while resizing without allocating.
+ * </p>
+ */
+public class Size
+{
+
+    double width;
+    double height;
+
+    public Size()
+    {
+
+    }
+
+    public Size(double width, double height)
+    {
+        this.width = width;
+        this.height = height;
+    }
+
+    public Size(Size size)
+    {
+        this(size.width, size.height);
+    }
+
+    public double getWidth()
+    {
+        return width;
+    }
+
+    public void setWidth(double width)
+    {
+        this.width = width;
+    }
+
+    public double getHeight()
+    {
+        return height;
+    }
+
+    public void setHeight(double height)
+    {
+        this.height = height;
+    }
+
+    /**
+     * Sets both the width and the height at once.
+     *
+     * @param width  The width.
+     * @param height The height.
+     */
+    public void set(double width, double height)
+    {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Determines whether both the width and the height hold a finite value.
+     *
+     * @return {@code boolean} - true if both are finite otherwise false.
+     */
+    public boolean isFinite()
+    {
+        return Double.isFinite(width) && Double.isFinite(height);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Size))
+        {
+            return false;
+        }
+
+        Size size = (Size) o;
+        return Double.compare(size.width, width) == 0 && Double.compare(size.height, height) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Double.hashCode(width) + Double.hashCode(height);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Size[width=" + width + ", height=" + height + "]";
+    }
+}
@@ -0,0 +1,105 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Bounds computations of aero snap/quarter tiling.
+ * <p>
+ * The methods only work on primitive values and write their results into a {@link Rect}, so they
+ * neither allocate nor need the JavaFX toolkit.
+ * </p>
+ */
+public final class SnapGeometry
+{
+
+    private SnapGeometry()
+    {
+        // Use static methods
+    }
+
+    /**
+     * Computes the bounds the stage snaps to, which are also the bounds of the visual feedback.
+     *
+     * @param direction The snap direction, instance of {@link Direction}.
+     * @param screen    The visual bounds of the screen to snap on.
+     * @param minWidth  The minimum width of the snapped stage.
+     * @param out       The rectangle receiving the bounds.
+     */
+    public static void snapBounds(Direction direction, Rectangle2D screen, double minWidth, Rect out)
+    {
+        double halfWidth = screen.getWidth() / 2;
+        double halfHeight = screen.getHeight() / 2;
+
+        switch (direction)
+        {
+            case TOP_RIGHT:
+                out.set(screen.getMinX() + halfWidth, screen.getMinY(), halfWidth, halfHeight);
+                break;
+            case TOP_LEFT:
+                out.set(screen.getMinX(), screen.getMinY(), halfWidth, halfHeight);
+                break;
+            case BOTTOM_RIGHT:
+                out.set(screen.getMinX() + halfWidth, screen.getMaxY() - halfHeight, halfWidth, halfHeight);
+                break;
+            case BOTTOM_LEFT:
+                out.set(screen.getMinX(), screen.getMaxY() - halfHeight, halfWidth, halfHeight);
+                break;
+            case RIGHT:
+            {
+                double width = Math.max(halfWidth, minWidth);
+                out.set(screen.getMaxX() - width, screen.getMinY(), width, screen.getHeight());
+                break;
+            }
+            case LEFT:
+                out.set(screen.getMinX(), screen.getMinY(), Math.max(halfWidth, minWidth), screen.getHeight());
+                break;
+            default:
+                // TOP and BOTTOM maximize
+                out.set(screen.getMinX(), screen.getMinY(), screen.getWidth(), screen.getHeight());
+                break;
+        }
+    }
+
+    /**
+     * Determines whether the window is allowed to snap vertically while resizing.
+     *
+     * @param screen     The visual bounds of the screen the pointer is on.
+     * @param allowance  The amount of space from an edge that triggers a snap.
+     * @param vDirection The resize direction, instance of {@link VDirection}.
+     * @param stageY     The y coordinate of the stage.
+     * @param pointerY   The y coordinate of the pointer on the screen.
+     * @return {@code boolean} - true if the window may snap otherwise false.
+     */
+    public static boolean isLegalVerticalResizeSnap(Rectangle2D screen, double allowance, VDirection vDirection, double stageY, double pointerY)
+    {
+        double upperBoundary = screen.getMinY() + allowance;
+        double lowerBoundary = screen.getMaxY() - allowance;
+        return stageY <= upperBoundary && vDirection == VDirection.TOP || pointerY >= lowerBoundary && vDirection == VDirection.BOTTOM;
+    }
+
+    /**
+     * Computes the previous bounds of the stage clamped to the given screen.
+     *
+     * @param screen    The visual bounds of the screen to restore on.
+     * @param prevSize  The previous size of the stage.
+     * @param prevPos   The previous position of the stage.
+     * @param minWidth  The minimum width of the stage.
+     * @param maxWidth  The maximum width of the stage.
+     * @param minHeight The minimum height of the stage.
+     * @param maxHeight The maximum height of the stage.
+     * @param out       The rectangle receiving the bounds.
+     */
+    public static void clampedRestoreBounds(Rectangle2D screen, Size prevSize, Position prevPos, double minWidth, double maxWidth, double minHeight,
+        double maxHeight, Rect out)
+    {
+        out.set(clamp(prevPos.getX(), screen.getMinX(), screen.getMaxX()),
+            clamp(prevPos.getY(), screen.getMinY(), screen.getMaxY()),
+            clamp(prevSize.getWidth(), minWidth, Math.min(screen.getWidth(), maxWidth)),
+            clamp(prevSize.getHeight(), minHeight, Math.min(screen.getHeight(), maxHeight)));
+    }
+
+    public static double clamp(double value, double min, double max)
+    {
+        return Math.min(Math.max(value, min), max);
+    }
+}
@@ -0,0 +1,33 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A custom aero snap/quarter tiling zone.
+ * <p>
+ * Custom zones can have any shape and are tested before the built-in rectangular edge and corner
+ * zones of a {@link SnapZoneMap}.
+ * </p>
+ */
+public interface SnapZone
+{
+
+    /**
+     * @return The direction the stage snaps to when the pointer is inside this zone, instance of
+     * {@link Direction}.
+     */
+    Direction getDirection();
+
+    /**
+     * Determines whether the pointer is inside this zone.
+     * <p>
+     * Called for every drag sample, so implementations should not allocate.
+     * </p>
+     *
+     * @param x            The x coordinate of the pointer on the screen.
+     * @param y            The y coordinate of the pointer on the screen.
+     * @param visualBounds The visual bounds of the screen the pointer is on.
+     * @return {@code boolean} - true if the pointer is inside this zone otherwise false.
+     */
+    boolean contains(double x, double y, Rectangle2D visualBounds);
+}
@@ -0,0 +1,256 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A precomputed map of the aero snap/quarter tiling zones of every screen.
+ * <p>
+ * For every screen the edge and corner boundaries are computed once from the allowances and
+ * stored in a flat primitive array. Classifying a pointer then takes four comparisons per axis,
+ * which are combined into an index of a lookup table holding the resulting {@link Direction}.
+ * Nothing is allocated per lookup.
+ * </p>
+ * The boundaries are rebuilt only when the {@link ScreenTopology} changes or when
+ * {@link #setAllowances(double, double)} is called with different values.
+ */
+public class SnapZoneMap
+{
+    /**
+     * The default amount of space from an edge that triggers a snap
+     */
+    public static final double DEFAULT_ALLOWANCE = 10;
+    /**
+     * The default amount of space from a corner that triggers a quarter tile
+     */
+    public static final double DEFAULT_CORNER_ALLOWANCE = 50;
+    private static final int STRIDE = 8;
+    private static final int LEFT_EDGE = 0;
+    private static final int LEFT_CORNER = 1;
+    private static final int RIGHT_CORNER = 2;
+    private static final int RIGHT_EDGE = 3;
+    private static final int TOP_EDGE = 4;
+    private static final int TOP_CORNER = 5;
+    private static final int BOTTOM_CORNER = 6;
+    private static final int BOTTOM_EDGE = 7;
+    private static final Direction[] ZONES = buildZones();
+
+    private final ScreenTopology _topology;
+    private final List<SnapZone> _customZones = new ArrayList<>();
+    private double[] _boundaries = new double[0];
+    private double _allowance;
+    private double _cornerAllowance;
+    private long _builtRevision = -1;
+
+    /**
+     * Creates a new {@link SnapZoneMap}.
+     *
+     * @param topology        The screens to compute the zones for.
+     * @param allowance       The amount of space from an edge that triggers a snap.
+     * @param cornerAllowance The amount of space from a corner that triggers a quarter tile.
+     */
+    public SnapZoneMap(ScreenTopology topology, double allowance, double cornerAllowance)
+    {
+        _topology = topology;
+        _allowance = allowance;
+        _cornerAllowance = cornerAllowance;
+    }
+
+    private static Direction[] buildZones()
+    {
+        Direction[] zones = new Direction[256];
+
+        for (int xMask = 0; xMask < 16; xMask++)
+        {
+            for (int yMask = 0; yMask < 16; yMask++)
+            {
+                zones[(xMask << 4) | yMask] = resolve(xMask, yMask);
+            }
+        }
+
+        return zones;
+    }
+
+    /**
+     * Resolves the direction of a zone from the boundaries the pointer is past, in the same order
+     * of precedence the controller always used: corners first, then left/right, then top/bottom.
+     */
+    private static Direction resolve(int xMask, int yMask)
+    {
+        boolean leftEdge = (xMask & 1) != 0;
+        boolean leftCorner = (xMask & 2) != 0;
+        boolean rightCorner = (xMask & 4) != 0;
+        boolean rightEdge = (xMask & 8) != 0;
+        boolean topEdge = (yMask & 1) != 0;
+        boolean topCorner = (yMask & 2) != 0;
+        boolean bottomCorner = (yMask & 4) != 0;
+        boolean bottomEdge = (yMask & 8) != 0;
+
+        if (topCorner && rightCorner)
+            return Direction.TOP_RIGHT;
+        if (topCorner && leftCorner)
+            return Direction.TOP_LEFT;
+        if (bottomCorner && rightCorner)
+            return Direction.BOTTOM_RIGHT;
+        if (bottomCorner && leftCorner)
+            return Direction.BOTTOM_LEFT;
+        if (rightEdge)
+            return Direction.RIGHT;
+        if (leftEdge)
+            return Direction.LEFT;
+        if (topEdge)
+            return Direction.TOP;
+        if (bottomEdge)
+            return Direction.BOTTOM;
+
+        return null;
+    }
+
+    /**
+     * Creates a copy of this map for another topology, with the same allowances and custom zones,
+     * and builds its boundaries right away.
+     * <p>
+     * A copy made for a {@link ScreenTopology#snapshot()} never changes afterwards, so it can be
+     * read from another thread once safely published, provided the custom zones are thread-safe.
+     * </p>
+     *
+     * @param topology The screens to compute the zones for.
+     * @return The copy, instance of {@link SnapZoneMap}.
+     */
+    public SnapZoneMap copyFor(ScreenTopology topology)
+    {
+        SnapZoneMap copy = new SnapZoneMap(topology, _allowance, _cornerAllowance);
+        copy._customZones.addAll(_customZones);
+        copy.rebuild();
+        return copy;
+    }
+
+    public double getAllowance()
+    {
+        return _allowance;
+    }
+
+    public double getCornerAllowance()
+    {
+        return _cornerAllowance;
+    }
+
+    /**
+     * Sets the allowances, the boundaries are rebuilt on the next lookup if they changed.
+     *
+     * @param allowance       The amount of space from an edge that triggers a snap.
+     * @param cornerAllowance The amount of space from a corner that triggers a quarter tile.
+     */
+    public void setAllowances(double allowance, double cornerAllowance)
+    {
+        if (allowance != _allowance || cornerAllowance != _cornerAllowance)
+        {
+            _allowance = allowance;
+            _cornerAllowance = cornerAllowance;
+            _builtRevision = -1;
+        }
+    }
+
+    /**
+     * Adds a custom zone, custom zones are tested in the order they were added and take
+     * precedence over the built-in zones.
+     *
+     * @param zone The zone to add, instance of {@link SnapZone}.
+     */
+    public void addCustomZone(SnapZone zone)
+    {
+        _customZones.add(zone);
+    }
+
+    /**
+     * Removes a custom zone.
+     *
+     * @param zone The zone to remove, instance of {@link SnapZone}.
+     */
+    public void removeCustomZone(SnapZone zone)
+    {
+        _customZones.remove(zone);
+    }
+
+    /**
+     * Classifies the pointer position on the screen it is on.
+     *
+     * @param x The x coordinate of the pointer on the screen.
+     * @param y The y coordinate of the pointer on the screen.
+     * @return The snap direction, instance of {@link Direction}, or null if the pointer is not in
+     * a snap zone.
+     */
+    public Direction classify(double x, double y)
+    {
+        int screenIndex = _topology.indexAt(x, y);
+        return screenIndex < 0 ? null : classify(screenIndex, x, y);
+    }
+
+    /**
+     * Classifies the pointer position on the given screen.
+     *
+     * @param screenIndex The index of the screen in the {@link ScreenTopology}.
+     * @param x           The x coordinate of the pointer on the screen.
+     * @param y           The y coordinate of the pointer on the screen.
+     * @return The snap direction, instance of {@link Direction}, or null if the pointer is not in
+     * a snap zone.
+     */
+    public Direction classify(int screenIndex, double x, double y)
+    {
+        if (_builtRevision != _topology.getRevision())
+        {
+            rebuild();
+        }
+
+        for (int i = 0; i < _customZones.size(); i++)
+        {
+            SnapZone zone = _customZones.get(i);
+
+            if (zone.contains(x, y, _topology.getVisualBounds(screenIndex)))
+            {
+                return zone.getDirection();
+            }
+        }
+
+        double[] b = _boundaries;
+        int offset = screenIndex * STRIDE;
+        int xMask = (x <= b[offset + LEFT_EDGE] ? 1 : 0)
+            | (x <= b[offset + LEFT_CORNER] ? 2 : 0)
+            | (x >= b[offset + RIGHT_CORNER] ? 4 : 0)
+            | (x >= b[offset + RIGHT_EDGE] ? 8 : 0);
+        int yMask = (y <= b[offset + TOP_EDGE] ? 1 : 0)
+            | (y <= b[offset + TOP_CORNER] ? 2 : 0)
+            | (y >= b[offset + BOTTOM_CORNER] ? 4 : 0)
+            | (y >= b[offset + BOTTOM_EDGE] ? 8 : 0);
+
+        return ZONES[(xMask << 4) | yMask];
+    }
+
+    private void rebuild()
+    {
+        int count = _topology.getScreenCount();
+        double[] boundaries = new double[count * STRIDE];
+
+        for (int i = 0; i < count; i++)
+        {
+            Rectangle2D screen = _topology.getVisualBounds(i);
+            int offset = i * STRIDE;
+
+            boundaries[offset + LEFT_EDGE] = screen.getMinX() + _allowance;
+            boundaries[offset + LEFT_CORNER] = screen.getMinX() + _cornerAllowance;
+            boundaries[offset + RIGHT_CORNER] = screen.getMaxX() - _cornerAllowance;
+            boundaries[offset + RIGHT_EDGE] = screen.getMaxX() - _allowance;
+            boundaries[offset + TOP_EDGE] = screen.getMinY() + _allowance;
+            boundaries[offset + TOP_CORNER] = screen.getMinY() + _cornerAllowance;
+            boundaries[offset + BOTTOM_CORNER] = screen.getMaxY() - _cornerAllowance;
+            boundaries[offset + BOTTOM_EDGE] = screen.getMaxY() - _allowance;
+        }
+
+        _boundaries = boundaries;
+        _builtRevision = _topology.getRevision();
+    }
+}
@@ -0,0 +1,210 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import java.util.Arrays;
+
+/**
+ * A declarative aero snap/quarter tiling layout, mapping every snap {@link Direction} to a tile of
+ * the screen.
+ * <p>
+ * Tiles are given in fractions of the visual bounds of a screen, e.g. {@code (0, 0, 0.5, 1)} is the
+ * left half. A direction can also maximize the window instead of snapping it to a tile, which is
+ * what {@link Direction#TOP} and {@link Direction#BOTTOM} do in every built-in layout. Layouts are
+ * immutable, they are compiled into a {@link TileTable} of absolute bounds per screen.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     // Left and right thirds, sixths in the corners
+ *     TileLayout thirds = TileLayout.grid(3, 2);
+ *     // Left two thirds, right third, and the top zone snapping to the middle third
+ *     TileLayout custom = TileLayout.columns(2, 1).withTile(Direction.TOP, 1 / 3.0, 0, 1 / 3.0, 1);
+ * }
+ * </pre>
+ */
+public final class TileLayout
+{
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final TileLayout HALVES_AND_QUARTERS = grid(2, 2);
+
+    /**
+     * The x, y, width and height fractions of the tile of every direction, by ordinal
+     */
+    private final double[] _tiles;
+    private final boolean[] _maximize;
+
+    private TileLayout(double[] tiles, boolean[] maximize)
+    {
+        _tiles = tiles;
+        _maximize = maximize;
+    }
+
+    /**
+     * The default layout: the left and right halves, a quarter in each corner, and maximizing at
+     * the top and bottom.
+     *
+     * @return The layout, instance of {@link TileLayout}.
+     */
+    public static TileLayout halvesAndQuarters()
+    {
+        return HALVES_AND_QUARTERS;
+    }
+
+    /**
+     * Creates a layout of equally sized columns and rows, see {@link #grid(double[], double[])}.
+     *
+     * @param columns The number of columns.
+     * @param rows    The number of rows.
+     * @return The layout, instance of {@link TileLayout}.
+     */
+    public static TileLayout grid(int columns, int rows)
+    {
+        double[] columnRatios = new double[columns];
+        double[] rowRatios = new double[rows];
+        Arrays.fill(columnRatios, 1);
+        Arrays.fill(rowRatios, 1);
+        return grid(columnRatios, rowRatios);
+    }
+
+    /**
+     * Creates a layout of two rows and columns of the given ratios, e.g. {@code columns(2, 1)}
+     * snaps to the left two thirds and the right third.
+     *
+     * @param ratios The relative width of every column.
+     * @return The layout, instance of {@link TileLayout}.
+     */
+    public static TileLayout columns(double... ratios)
+    {
+        return grid(ratios, new double[]{1, 1});
+    }
+
+    /**
+     * Creates a grid layout of columns and rows of the given ratios.
+     * <p>
+     * The corners snap to the corner cells of the grid, the left and right edges to the first and
+     * last column at full height, and the top and bottom edges maximize. The remaining cells can be
+     * assigned with {@link #withTile(Direction, double, double, double, double)}.
+     * </p>
+     *
+     * @param columnRatios The relative width of every column.
+     * @param rowRatios    The relative height of every row.
+     * @return The layout, instance of {@link TileLayout}.
+     * @throws IllegalArgumentException if there are no columns or rows or a ratio is not positive.
+     */
+    public static TileLayout grid(double[] columnRatios, double[] rowRatios)
+    {
+        double columnTotal = total(columnRatios);
+        double rowTotal = total(rowRatios);
+        double firstColumn = columnRatios[0] / columnTotal;
+        double lastColumn = columnRatios[columnRatios.length - 1] / columnTotal;
+        double firstRow = rowRatios[0] / rowTotal;
+        double lastRow = rowRatios[rowRatios.length - 1] / rowTotal;
+
+        return new TileLayout(new double[DIRECTIONS.length * 4], new boolean[DIRECTIONS.length])
+            .withTile(Direction.TOP_LEFT, 0, 0, firstColumn, firstRow)
+            .withTile(Direction.TOP_RIGHT, 1 - lastColumn, 0, lastColumn, firstRow)
+            .withTile(Direction.BOTTOM_LEFT, 0, 1 - lastRow, firstColumn, lastRow)
+            .withTile(Direction.BOTTOM_RIGHT, 1 - lastColumn, 1 - lastRow, lastColumn, lastRow)
+            .withTile(Direction.LEFT, 0, 0, firstColumn, 1)
+            .withTile(Direction.RIGHT, 1 - lastColumn, 0, lastColumn, 1)
+            .withMaximize(Direction.TOP)
+            .withMaximize(Direction.BOTTOM);
+    }
+
+    private static double total(double[] ratios)
+    {
+        if (ratios.length == 0)
+        {
+            throw new IllegalArgumentException("A grid needs at least one column and one row");
+        }
+
+        double total = 0;
+
+        for (double ratio : ratios)
+        {
+            if (!(ratio > 0))
+            {
+                throw new IllegalArgumentException("Ratios must be positive: " + ratio);
+            }
+
+            total += ratio;
+        }
+
+        return total;
+    }
+
+    /**
+     * Returns a copy of this layout in which the given direction snaps to the given tile.
+     *
+     * @param direction The direction, instance of {@link Direction}.
+     * @param x         The x coordinate of the tile, as a fraction of the screen width.
+     * @param y         The y coordinate of the tile, as a fraction of the screen height.
+     * @param width     The width of the tile, as a fraction of the screen width.
+     * @param height    The height of the tile, as a fraction of the screen height.
+     * @return The layout, instance of {@link TileLayout}.
+     * @throws IllegalArgumentException if the tile is not within the screen.
+     */
+    public TileLayout withTile(Direction direction, double x, double y, double width, double height)
+    {
+        if (!(x >= 0 && y >= 0 && width > 0 && height > 0 && x + width <= 1 + 1e-9 && y + height <= 1 + 1e-9))
+        {
+            throw new IllegalArgumentException("The tile must be within the screen: " + x + ", " + y + ", " + width + ", " + height);
+        }
+
+        double[] tiles = _tiles.clone();
+        boolean[] maximize = _maximize.clone();
+        int offset = direction.ordinal() * 4;
+
+        tiles[offset] = x;
+        tiles[offset + 1] = y;
+        tiles[offset + 2] = width;
+        tiles[offset + 3] = height;
+        maximize[direction.ordinal()] = false;
+        return new TileLayout(tiles, maximize);
+    }
+
+    /**
+     * Returns a copy of this layout in which the given direction maximizes the window.
+     *
+     * @param direction The direction, instance of {@link Direction}.
+     * @return The layout, instance of {@link TileLayout}.
+     */
+    public TileLayout withMaximize(Direction direction)
+    {
+        double[] tiles = _tiles.clone();
+        boolean[] maximize = _maximize.clone();
+        int offset = direction.ordinal() * 4;
+
+        tiles[offset] = 0;
+        tiles[offset + 1] = 0;
+        tiles[offset + 2] = 1;
+        tiles[offset + 3] = 1;
+        maximize[direction.ordinal()] = true;
+        return new TileLayout(tiles, maximize);
+    }
+
+    /**
+     * @param direction The direction, instance of {@link Direction}.
+     * @return {@code boolean} - true if the direction maximizes the window otherwise false.
+     */
+    public boolean isMaximize(Direction direction)
+    {
+        return _maximize[direction.ordinal()];
+    }
+
+    /**
+     * Computes the tile of a direction on a screen.
+     *
+     * @param direction The direction, instance of {@link Direction}.
+     * @param screenX   The x coordinate of the visual bounds of the screen.
+     * @param screenY   The y coordinate of the visual bounds of the screen.
+     * @param width     The width of the visual bounds of the screen.
+     * @param height    The height of the visual bounds of the screen.
+     * @param out       The rectangle receiving the bounds, the whole screen for a maximizing
+     *                  direction.
+     */
+    public void tileBounds(Direction direction, double screenX, double screenY, double width, double height, Rect out)
+    {
+        int offset = direction.ordinal() * 4;
+        out.set(screenX + _tiles[offset] * width, screenY + _tiles[offset + 1] * height, _tiles[offset + 2] * width, _tiles[offset + 3] * height);
+    }
+}
@@ -0,0 +1,194 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+/**
+ * The {@link TileLayout} of every screen compiled into a table of absolute bounds.
+ * <p>
+ * For every screen the bounds of the tile of each {@link Direction} are computed once and stored in
+ * a flat primitive array, so resolving the bounds a window snaps to is an array lookup. Nothing is
+ * allocated per lookup.
+ * </p>
+ * The table is rebuilt only when the {@link ScreenTopology} changes or when a layout is set.
+ */
+public class TileTable
+{
+    private static final int DIRECTIONS = Direction.values().length;
+    private static final int STRIDE = DIRECTIONS * 4;
+
+    private final ScreenTopology _topology;
+    private final Map<Screen, TileLayout> _screenLayouts = new HashMap<>();
+    private TileLayout _layout = TileLayout.halvesAndQuarters();
+    private double[] _bounds = new double[0];
+    private boolean[] _maximize = new boolean[0];
+    private double[] _screenMaxX = new double[0];
+    private long _builtRevision = -1;
+
+    /**
+     * Creates a new {@link TileTable} using {@link TileLayout#halvesAndQuarters()} on every screen.
+     *
+     * @param topology The screens to compile the layouts for.
+     */
+    public TileTable(ScreenTopology topology)
+    {
+        _topology = topology;
+    }
+
+    /**
+     * Creates a copy of this table for another topology, with the same layouts, and builds it
+     * right away.
+     * <p>
+     * A copy made for a {@link ScreenTopology#snapshot()} never changes afterwards, so it can be
+     * read from another thread once safely published.
+     * </p>
+     *
+     * @param topology The screens to compile the layouts for.
+     * @return The copy, instance of {@link TileTable}.
+     */
+    public TileTable copyFor(ScreenTopology topology)
+    {
+        TileTable copy = new TileTable(topology);
+        copy._layout = _layout;
+        copy._screenLayouts.putAll(_screenLayouts);
+        copy.rebuild();
+        return copy;
+    }
+
+    /**
+     * @return The layout of the screens without a layout of their own, instance of
+     * {@link TileLayout}.
+     */
+    public TileLayout getLayout()
+    {
+        return _layout;
+    }
+
+    /**
+     * Sets the layout of the screens without a layout of their own.
+     *
+     * @param layout The layout, instance of {@link TileLayout}.
+     */
+    public void setLayout(TileLayout layout)
+    {
+        _layout = requireNonNull(layout);
+        _builtRevision = -1;
+    }
+
+    /**
+     * Sets the layout of a single screen, only applies to a live {@link ScreenTopology}.
+     *
+     * @param screen The screen, instance of {@link Screen}.
+     * @param layout The layout, instance of {@link TileLayout}, or null to use the default layout.
+     */
+    public void setLayout(Screen screen, TileLayout layout)
+    {
+        if (layout == null)
+        {
+            _screenLayouts.remove(screen);
+        }
+        else
+        {
+            _screenLayouts.put(screen, layout);
+        }
+
+        _builtRevision = -1;
+    }
+
+    /**
+     * @param screenIndex The index of the screen in the {@link ScreenTopology}.
+     * @param direction   The snap direction, instance of {@link Direction}.
+     * @return {@code boolean} - true if the direction maximizes the window on the screen otherwise
+     * false.
+     */
+    public boolean isMaximize(int screenIndex, Direction direction)
+    {
+        ensureBuilt();
+        return _maximize[screenIndex * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Resolves the bounds a window snaps to, which are also the bounds of the visual feedback.
+     * <p>
+     * A tile narrower than the minimum width grows away from the right edge of the screen if it
+     * touches it, towards the right otherwise.
+     * </p>
+     *
+     * @param screenIndex The index of the screen in the {@link ScreenTopology}.
+     * @param direction   The snap direction, instance of {@link Direction}.
+     * @param minWidth    The minimum width of the snapped window.
+     * @param out         The rectangle receiving the bounds.
+     */
+    public void bounds(int screenIndex, Direction direction, double minWidth, Rect out)
+    {
+        ensureBuilt();
+
+        double[] b = _bounds;
+        int offset = screenIndex * STRIDE + direction.ordinal() * 4;
+        double x = b[offset];
+        double width = b[offset + 2];
+
+        if (width < minWidth)
+        {
+            if (x + width >= _screenMaxX[screenIndex] - 1e-6)
+            {
+                x = x + width - minWidth;
+            }
+
+            width = minWidth;
+        }
+
+        out.set(x, b[offset + 1], width, b[offset + 3]);
+    }
+
+    private void ensureBuilt()
+    {
+        if (_builtRevision != _topology.getRevision())
+        {
+            rebuild();
+        }
+    }
+
+    private void rebuild()
+    {
+        Direction[] directions = Direction.values();
+        int count = _topology.getScreenCount();
+        double[] bounds = new double[count * STRIDE];
+        boolean[] maximize = new boolean[count * DIRECTIONS];
+        double[] screenMaxX = new double[count];
+        Rect tile = new Rect();
+
+        for (int i = 0; i < count; i++)
+        {
+            Rectangle2D screen = _topology.getVisualBounds(i);
+            Screen key = _topology.getScreen(i);
+            TileLayout layout = key == null ? _layout : _screenLayouts.getOrDefault(key, _layout);
+
+            for (Direction direction : directions)
+            {
+                int offset = i * STRIDE + direction.ordinal() * 4;
+
+                layout.tileBounds(direction, screen.getMinX(), screen.getMinY(), screen.getWidth(), screen.getHeight(), tile);
+                bounds[offset] = tile.getX();
+                bounds[offset + 1] = tile.getY();
+                bounds[offset + 2] = tile.getWidth();
+                bounds[offset + 3] = tile.getHeight();
+                maximize[i * DIRECTIONS + direction.ordinal()] = layout.isMaximize(direction);
+            }
+
+            screenMaxX[i] = screen.getMaxX();
+        }
+
+        _bounds = bounds;
+        _maximize = maximize;
+        _screenMaxX = screenMaxX;
+        _builtRevision = _topology.getRevision();
+    }
+}
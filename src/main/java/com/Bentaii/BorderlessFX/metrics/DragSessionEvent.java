@@ -0,0 +1,28 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A move control drag, from press to release.
+ */
+@Name("com.Bentaii.BorderlessFX.DragSession")
+@Label("Drag Session")
+@Description("A move control drag, from press to release.")
+public class DragSessionEvent extends WindowTransitionEvent
+{
+    @Label("Samples Received")
+    @Description("The number of mouse drag events received")
+    private long samplesReceived;
+
+    @Label("Samples Applied")
+    @Description("The number of coalesced samples applied to the stage")
+    private long samplesApplied;
+
+    public void setSamples(long received, long applied)
+    {
+        samplesReceived = received;
+        samplesApplied = applied;
+    }
+}
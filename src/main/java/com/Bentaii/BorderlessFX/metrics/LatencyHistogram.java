@@ -0,0 +1,138 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size histogram of nanosecond latencies.
+ * <p>
+ * Values are counted in logarithmic buckets, each power of two being split in eight linear
+ * sub-buckets, so percentiles are accurate to within 12.5% while recording never allocates.
+ * </p>
+ * Not thread-safe.
+ */
+public final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] _counts = new long[(Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+    private long _count;
+    private long _sum;
+    private long _max;
+
+    private static int indexOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(int index)
+    {
+        if (index < SUB_BUCKETS)
+        {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = SUB_BUCKETS + index % SUB_BUCKETS;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a value, negative values are recorded as zero.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(0, nanos);
+
+        _counts[indexOf(value)]++;
+        _count++;
+        _sum += value;
+
+        if (value > _max)
+        {
+            _max = value;
+        }
+    }
+
+    /**
+     * @return {@code long} - the number of recorded values.
+     */
+    public long getCount()
+    {
+        return _count;
+    }
+
+    /**
+     * @return {@code long} - the highest recorded value in nanoseconds.
+     */
+    public long getMax()
+    {
+        return _max;
+    }
+
+    /**
+     * @return {@code double} - the mean of the recorded values in nanoseconds, 0 if empty.
+     */
+    public double getMean()
+    {
+        return _count == 0 ? 0 : (double) _sum / _count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return {@code long} - the value in nanoseconds, 0 if empty.
+     */
+    public long getValueAtPercentile(double percentile)
+    {
+        if (_count == 0)
+        {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * _count));
+        long seen = 0;
+
+        for (int i = 0; i < _counts.length; i++)
+        {
+            seen += _counts[i];
+
+            if (seen >= rank)
+            {
+                return Math.min(highestValueOf(i), _max);
+            }
+        }
+
+        return _max;
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void reset()
+    {
+        Arrays.fill(_counts, 0);
+        _count = 0;
+        _sum = 0;
+        _max = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LatencyHistogram[count=" + _count + ", mean=" + (long) getMean() + ", p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99)
+            + ", max=" + _max + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The stage was maximized.
+ */
+@Name("com.Bentaii.BorderlessFX.Maximize")
+@Label("Maximize")
+@Description("The stage was maximized.")
+public class MaximizeEvent extends WindowTransitionEvent
+{
+}
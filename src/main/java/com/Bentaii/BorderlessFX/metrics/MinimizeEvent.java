@@ -0,0 +1,22 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The stage was minimized or unminimized.
+ */
+@Name("com.Bentaii.BorderlessFX.Minimize")
+@Label("Minimize")
+@Description("The stage was minimized or unminimized.")
+public class MinimizeEvent extends WindowTransitionEvent
+{
+    @Label("Minimized")
+    private boolean minimized;
+
+    public void setMinimized(boolean minimized)
+    {
+        this.minimized = minimized;
+    }
+}
@@ -0,0 +1,39 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The aero snap visual feedback was shown.
+ */
+@Name("com.Bentaii.BorderlessFX.PreviewShow")
+@Label("Preview Show")
+@Description("The aero snap visual feedback was shown.")
+@Category({"BorderlessSceneFX", "Preview"})
+@StackTrace(false)
+public class PreviewShowEvent extends Event
+{
+    @Label("X")
+    private double x;
+
+    @Label("Y")
+    private double y;
+
+    @Label("Width")
+    private double width;
+
+    @Label("Height")
+    private double height;
+
+    public void setBounds(double x, double y, double width, double height)
+    {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+}
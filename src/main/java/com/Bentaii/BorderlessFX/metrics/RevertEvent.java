@@ -0,0 +1,15 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The stage was restored to its size and position from before it was maximized or snapped.
+ */
+@Name("com.Bentaii.BorderlessFX.RevertToPreviousSizeAndPos")
+@Label("Revert To Previous Size And Position")
+@Description("The stage was restored to its size and position from before it was maximized or snapped.")
+public class RevertEvent extends WindowTransitionEvent
+{
+}
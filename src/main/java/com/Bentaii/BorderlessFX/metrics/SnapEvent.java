@@ -0,0 +1,23 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The stage was snapped to a half, a quarter or vertically.
+ */
+@Name("com.Bentaii.BorderlessFX.Snap")
+@Label("Snap")
+@Description("The stage was snapped to a half, a quarter or vertically.")
+public class SnapEvent extends WindowTransitionEvent
+{
+    @Label("Direction")
+    @Description("The snap direction, VERTICAL for a vertical resize snap")
+    private String direction;
+
+    public void setDirection(String direction)
+    {
+        this.direction = direction;
+    }
+}
@@ -0,0 +1,15 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The stage was unsnapped.
+ */
+@Name("com.Bentaii.BorderlessFX.SnapOff")
+@Label("Snap Off")
+@Description("The stage was unsnapped.")
+public class SnapOffEvent extends WindowTransitionEvent
+{
+}
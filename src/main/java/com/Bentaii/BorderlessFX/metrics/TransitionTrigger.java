@@ -0,0 +1,25 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+/**
+ * The source of a window state transition, recorded by the JFR events.
+ */
+public enum TransitionTrigger
+{
+    /**
+     * Dragging or releasing the move control or a resize edge.
+     */
+    MOUSE,
+    DOUBLE_CLICK,
+    /**
+     * The Windows key shortcuts, i.e. WIN + arrow keys.
+     */
+    KEYBOARD,
+    /**
+     * The window was (un)minimized by the OS, e.g. via the taskbar.
+     */
+    TASKBAR,
+    /**
+     * A property of the scene was set by the application.
+     */
+    API
+}
@@ -0,0 +1,24 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+/**
+ * The input events handled by a {@code DockableScene}, used to group the recorded metrics.
+ */
+public enum WindowEventType
+{
+    MOVE_PRESSED,
+    /**
+     * A coalesced move control drag sample, its latency is measured from the delivery of the
+     * oldest mouse event of the sample to the stage update.
+     */
+    MOVE_DRAGGED,
+    MOVE_RELEASED,
+    MOVE_CLICKED,
+    RESIZE_PRESSED,
+    RESIZE_DRAGGED,
+    RESIZE_RELEASED,
+    RESIZE_CLICKED,
+    /**
+     * A keyboard command, its latency is measured from the pulse running it.
+     */
+    KEY_PRESSED
+}
@@ -0,0 +1,298 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+/**
+ * Opt-in instrumentation of the event handlers of a {@code DockableScene}.
+ * <p>
+ * Records a latency histogram per {@link WindowEventType}, the native stage updates and screen
+ * lookups each event causes, how often the aero snap visual feedback is shown and hidden, and the
+ * pulse intervals during move control drags and resize drags. Nothing is measured while no instance is set on the
+ * scene, the disabled cost is a null check per event.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     WindowMetrics metrics = new WindowMetrics();
+ *     metrics.setListener((type, latencyNanos, stageMutations, screenLookups) -> ...);
+ *     dockableScene.setMetrics(metrics);
+ * }
+ * </pre>
+ * Must only be used on the JavaFX Application Thread.
+ */
+public class WindowMetrics
+{
+    /**
+     * The default jank threshold, one and a half frames at 60 Hz.
+     */
+    public static final long DEFAULT_JANK_THRESHOLD_NANOS = 25_000_000L;
+    private static final WindowEventType[] TYPES = WindowEventType.values();
+
+    private final LatencyHistogram[] _latencies = new LatencyHistogram[TYPES.length];
+    private final long[] _eventMutations = new long[TYPES.length];
+    private final long[] _eventLookups = new long[TYPES.length];
+    private final LatencyHistogram _pulseIntervals = new LatencyHistogram();
+    private final LatencyHistogram _resizePulseIntervals = new LatencyHistogram();
+    private WindowMetricsListener _listener;
+    private long _jankThresholdNanos = DEFAULT_JANK_THRESHOLD_NANOS;
+    private long _stageMutations;
+    private long _previewShows;
+    private long _previewHides;
+    private long _jankPulses;
+    private long _eventStart;
+    private long _eventStartMutations;
+    private long _eventStartLookups;
+
+    public WindowMetrics()
+    {
+        for (int i = 0; i < _latencies.length; i++)
+        {
+            _latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public WindowMetricsListener getListener()
+    {
+        return _listener;
+    }
+
+    /**
+     * Sets the listener notified of every handled event and janky pulse.
+     *
+     * @param listener The listener, instance of {@link WindowMetricsListener}, or null.
+     */
+    public void setListener(WindowMetricsListener listener)
+    {
+        _listener = listener;
+    }
+
+    public long getJankThresholdNanos()
+    {
+        return _jankThresholdNanos;
+    }
+
+    /**
+     * Sets the pulse interval above which a pulse during a drag is counted as janky.
+     * <p>
+     * The default value is {@link #DEFAULT_JANK_THRESHOLD_NANOS}.
+     * </p>
+     *
+     * @param nanos The threshold in nanoseconds.
+     */
+    public void setJankThresholdNanos(long nanos)
+    {
+        _jankThresholdNanos = nanos;
+    }
+
+    /**
+     * Marks the start of an event.
+     *
+     * @param startNanos    The {@link System#nanoTime()} the event was delivered at.
+     * @param screenLookups The current screen lookup count of the screen topology.
+     */
+    public void eventStarted(long startNanos, long screenLookups)
+    {
+        _eventStart = startNanos;
+        _eventStartMutations = _stageMutations;
+        _eventStartLookups = screenLookups;
+    }
+
+    /**
+     * Marks the end of the event started last and records it.
+     *
+     * @param type          The type of the event, instance of {@link WindowEventType}.
+     * @param screenLookups The current screen lookup count of the screen topology.
+     */
+    public void eventFinished(WindowEventType type, long screenLookups)
+    {
+        long latency = System.nanoTime() - _eventStart;
+        int mutations = (int) (_stageMutations - _eventStartMutations);
+        int lookups = (int) (screenLookups - _eventStartLookups);
+        int index = type.ordinal();
+
+        _latencies[index].record(latency);
+        _eventMutations[index] += mutations;
+        _eventLookups[index] += lookups;
+
+        if (_listener != null)
+        {
+            _listener.eventHandled(type, latency, mutations, lookups);
+        }
+    }
+
+    /**
+     * Counts a native update of the stage or of the visual feedback stage, e.g. a call to
+     * {@code Stage.setX()}.
+     */
+    public void stageMutated()
+    {
+        _stageMutations++;
+    }
+
+    public void previewShown()
+    {
+        _previewShows++;
+    }
+
+    public void previewHidden()
+    {
+        _previewHides++;
+    }
+
+    /**
+     * Records the interval between two pulses during a drag.
+     *
+     * @param intervalNanos The interval in nanoseconds.
+     */
+    public void pulse(long intervalNanos)
+    {
+        _pulseIntervals.record(intervalNanos);
+
+        if (intervalNanos > _jankThresholdNanos)
+        {
+            _jankPulses++;
+
+            if (_listener != null)
+            {
+                _listener.pulseJank(intervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Records the interval between two pulses during a resize drag, the frame time of live
+     * resizing.
+     *
+     * @param intervalNanos The interval in nanoseconds.
+     */
+    public void resizePulse(long intervalNanos)
+    {
+        _resizePulseIntervals.record(intervalNanos);
+
+        if (intervalNanos > _jankThresholdNanos)
+        {
+            _jankPulses++;
+
+            if (_listener != null)
+            {
+                _listener.pulseJank(intervalNanos);
+            }
+        }
+    }
+
+    /**
+     * @param type The type of the event, instance of {@link WindowEventType}.
+     * @return The latencies of the events of the given type, instance of {@link LatencyHistogram}.
+     */
+    public LatencyHistogram getLatency(WindowEventType type)
+    {
+        return _latencies[type.ordinal()];
+    }
+
+    /**
+     * @param type The type of the event, instance of {@link WindowEventType}.
+     * @return {@code long} - the number of handled events of the given type.
+     */
+    public long getEventCount(WindowEventType type)
+    {
+        return _latencies[type.ordinal()].getCount();
+    }
+
+    /**
+     * @param type The type of the event, instance of {@link WindowEventType}.
+     * @return {@code double} - the mean number of native stage updates per event of the given type.
+     */
+    public double getStageMutationsPerEvent(WindowEventType type)
+    {
+        long count = getEventCount(type);
+        return count == 0 ? 0 : (double) _eventMutations[type.ordinal()] / count;
+    }
+
+    /**
+     * @param type The type of the event, instance of {@link WindowEventType}.
+     * @return {@code double} - the mean number of screen lookups per event of the given type.
+     */
+    public double getScreenLookupsPerEvent(WindowEventType type)
+    {
+        long count = getEventCount(type);
+        return count == 0 ? 0 : (double) _eventLookups[type.ordinal()] / count;
+    }
+
+    /**
+     * @return {@code long} - the total number of native stage updates, including those made outside
+     * of input events, e.g. when maximizing through the API.
+     */
+    public long getStageMutations()
+    {
+        return _stageMutations;
+    }
+
+    /**
+     * @return {@code long} - the total number of screen lookups made by input events.
+     */
+    public long getScreenLookups()
+    {
+        long lookups = 0;
+
+        for (long eventLookups : _eventLookups)
+        {
+            lookups += eventLookups;
+        }
+
+        return lookups;
+    }
+
+    public long getPreviewShows()
+    {
+        return _previewShows;
+    }
+
+    public long getPreviewHides()
+    {
+        return _previewHides;
+    }
+
+    /**
+     * @return The intervals between the pulses during drags, instance of {@link LatencyHistogram}.
+     */
+    public LatencyHistogram getPulseIntervals()
+    {
+        return _pulseIntervals;
+    }
+
+    /**
+     * @return The intervals between the pulses during resize drags, instance of
+     * {@link LatencyHistogram}. Comparing them with and without the resize snapshot of the
+     * {@code DockableScene} shows what laying out the content on every frame costs.
+     */
+    public LatencyHistogram getResizePulseIntervals()
+    {
+        return _resizePulseIntervals;
+    }
+
+    /**
+     * @return {@code long} - the number of pulses during drags that exceeded the jank threshold.
+     */
+    public long getJankPulses()
+    {
+        return _jankPulses;
+    }
+
+    /**
+     * Resets every recorded value, the listener and the jank threshold are kept.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < _latencies.length; i++)
+        {
+            _latencies[i].reset();
+            _eventMutations[i] = 0;
+            _eventLookups[i] = 0;
+        }
+
+        _pulseIntervals.reset();
+        _resizePulseIntervals.reset();
+        _stageMutations = 0;
+        _previewShows = 0;
+        _previewHides = 0;
+        _jankPulses = 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+/**
+ * Receives the measurements of a {@link WindowMetrics} as they are recorded.
+ * <p>
+ * Called on the JavaFX Application Thread from within the event handlers, implementations should
+ * return quickly.
+ * </p>
+ */
+@FunctionalInterface
+public interface WindowMetricsListener
+{
+
+    /**
+     * Called after an input event was handled.
+     *
+     * @param type           The type of the event, instance of {@link WindowEventType}.
+     * @param latencyNanos   The time it took to handle the event in nanoseconds.
+     * @param stageMutations The number of native stage updates the event caused.
+     * @param screenLookups  The number of screen lookups the event caused.
+     */
+    void eventHandled(WindowEventType type, long latencyNanos, int stageMutations, int screenLookups);
+
+    /**
+     * Called when the interval between two pulses during a drag exceeded the jank threshold.
+     *
+     * @param pulseIntervalNanos The interval between the pulses in nanoseconds.
+     */
+    default void pulseJank(long pulseIntervalNanos)
+    {
+        // Optional
+    }
+}
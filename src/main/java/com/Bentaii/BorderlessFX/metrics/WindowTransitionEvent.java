@@ -0,0 +1,67 @@
+package com.Bentaii.BorderlessFX.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the JDK Flight Recorder events of the window state transitions.
+ * <p>
+ * The duration of an event is the time spent applying the transition, the bounds are those of
+ * the stage before and after it.
+ * </p>
+ * The fields are protected because JFR ignores private fields of super classes.
+ */
+@Category({"BorderlessSceneFX", "Window"})
+@StackTrace(false)
+public abstract class WindowTransitionEvent extends Event
+{
+    @Label("Trigger")
+    protected String trigger;
+
+    @Label("Before X")
+    protected double beforeX;
+
+    @Label("Before Y")
+    protected double beforeY;
+
+    @Label("Before Width")
+    protected double beforeWidth;
+
+    @Label("Before Height")
+    protected double beforeHeight;
+
+    @Label("After X")
+    protected double afterX;
+
+    @Label("After Y")
+    protected double afterY;
+
+    @Label("After Width")
+    protected double afterWidth;
+
+    @Label("After Height")
+    protected double afterHeight;
+
+    public void setTrigger(TransitionTrigger trigger)
+    {
+        this.trigger = trigger.name();
+    }
+
+    public void setBefore(double x, double y, double width, double height)
+    {
+        beforeX = x;
+        beforeY = y;
+        beforeWidth = width;
+        beforeHeight = height;
+    }
+
+    public void setAfter(double x, double y, double width, double height)
+    {
+        afterX = x;
+        afterY = y;
+        afterWidth = width;
+        afterHeight = height;
+    }
+}
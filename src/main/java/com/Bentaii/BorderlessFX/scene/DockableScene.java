@@ -6,11 +6,24 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.Bentaii.BorderlessFX.core.BoundsAnimator;
+import com.Bentaii.BorderlessFX.core.CursorConfiner;
+import com.Bentaii.BorderlessFX.core.Easing;
+import com.Bentaii.BorderlessFX.core.PulseCursorConfiner;
+import com.Bentaii.BorderlessFX.core.SnapPredictor;
+import com.Bentaii.BorderlessFX.core.WindowCommandEngine;
 import com.Bentaii.BorderlessFX.geometry.Delta;
 import com.Bentaii.BorderlessFX.geometry.Dimension;
 import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.SnapZone;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.geometry.TileLayout;
+import com.Bentaii.BorderlessFX.metrics.WindowMetrics;
+import com.Bentaii.BorderlessFX.state.WindowStateStore;
+import com.Bentaii.BorderlessFX.trace.PointerTraceRecorder;
 import com.Bentaii.BorderlessFX.window.TransparentWindow;
 import com.Bentaii.BorderlessFX.window.TransparentWindow.TransparentWindowStyle;
+import com.Bentaii.BorderlessFX.window.TransparentWindowPool;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
@@ -23,6 +36,7 @@ import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Paint;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
@@ -282,7 +296,7 @@ public class DockableScene extends Scene
     {
         if (_aeroSnapAllowance == null)
         {
-            _aeroSnapAllowance = new SimpleDoubleProperty(25);
+            _aeroSnapAllowance = new SimpleDoubleProperty(SnapZoneMap.DEFAULT_ALLOWANCE);
         }
 
         return _aeroSnapAllowance;
@@ -292,7 +306,7 @@ public class DockableScene extends Scene
     {
         if (_aeroSnapCornerAllowance == null)
         {
-            _aeroSnapCornerAllowance = new SimpleDoubleProperty(50);
+            _aeroSnapCornerAllowance = new SimpleDoubleProperty(SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
         }
 
         return _aeroSnapCornerAllowance;
@@ -350,6 +364,7 @@ public class DockableScene extends Scene
         AnchorPane.setTopAnchor(parent, 0.0D);
         AnchorPane.setRightAnchor(parent, 0.0D);
         AnchorPane.setBottomAnchor(parent, 0.0D);
+        _controller.setContent(parent);
     }
 
     /**
@@ -362,6 +377,429 @@ public class DockableScene extends Scene
         _controller.setMoveControl(node);
     }
 
+    /**
+     * Returns the number of pointer samples received from the move control while dragging.
+     * <p>
+     * Samples are coalesced and applied to the stage at most once per JavaFX pulse, compare with
+     * {@link #getDragSamplesApplied()} to see how many stage moves were saved.
+     * </p>
+     *
+     * @return {@code long} - the number of drag samples received.
+     */
+    public long getDragSamplesReceived()
+    {
+        return _controller.getDragSamplesReceived();
+    }
+
+    /**
+     * Returns the number of pointer samples that were applied to the stage while dragging the
+     * move control.
+     *
+     * @return {@code long} - the number of drag samples applied.
+     */
+    public long getDragSamplesApplied()
+    {
+        return _controller.getDragSamplesApplied();
+    }
+
+    /**
+     * Resets the drag sample counters to zero.
+     */
+    public void resetDragSampleCounters()
+    {
+        _controller.resetDragCounters();
+    }
+
+    /**
+     * @return The cursor confiner keeping the mouse off the taskbar, instance of
+     * {@link CursorConfiner}.
+     */
+    public CursorConfiner getCursorConfiner()
+    {
+        return _controller.getStateMachine().getCursorConfiner();
+    }
+
+    /**
+     * Sets the cursor confiner used while the mouse is prevented from moving over the taskbar, see
+     * {@link #setPreventMouseOverTaskbar(boolean)}.
+     * <p>
+     * The default {@link PulseCursorConfiner} warps the pointer with a single robot at most once per
+     * pulse, and only when it left the visual bounds of the screen.
+     * </p>
+     *
+     * @param cursorConfiner The cursor confiner, instance of {@link CursorConfiner}.
+     */
+    public void setCursorConfiner(CursorConfiner cursorConfiner)
+    {
+        _controller.getStateMachine().setCursorConfiner(cursorConfiner);
+    }
+
+    /**
+     * @return The engine mapping key strokes to window commands, instance of
+     * {@link WindowCommandEngine}. Bindings can be added, replaced or removed, see
+     * {@link WindowCommandEngine#bind(javafx.scene.input.KeyCode, int, com.Bentaii.BorderlessFX.core.WindowCommand)}.
+     */
+    public WindowCommandEngine getCommandEngine()
+    {
+        return _controller.getStateMachine().getCommandEngine();
+    }
+
+    /**
+     * Sets the widths {@link com.Bentaii.BorderlessFX.core.StandardWindowCommand#CYCLE_LEFT} and
+     * {@link com.Bentaii.BorderlessFX.core.StandardWindowCommand#CYCLE_RIGHT} cycle through, a
+     * half, a third and two thirds of the screen by default.
+     *
+     * @param fractions The widths, as fractions of the screen width.
+     */
+    public void setSnapCycle(double... fractions)
+    {
+        _controller.getStateMachine().setSnapCycle(fractions);
+    }
+
+    /**
+     * @return The predictor positioning the aero snap visual feedback ahead of the pointer, with
+     * its hit rate, instance of {@link SnapPredictor}.
+     */
+    public SnapPredictor getSnapPredictor()
+    {
+        return _controller.getStateMachine().getSnapPredictor();
+    }
+
+    /**
+     * Sets how many frames ahead the pointer is extrapolated to position the aero snap visual
+     * feedback before the pointer enters a snap zone, 0 disables the prediction.
+     * <p>
+     * The default value is {@link SnapPredictor#DEFAULT_LOOKAHEAD_FRAMES}, the prediction is
+     * disabled. A longer lookahead hides more of the latency of showing the visual feedback, at the
+     * cost of more mispredictions. A {@link #setPersistentPreview(boolean) persistent preview} is
+     * also mapped ahead of time.
+     * </p>
+     *
+     * @param frames The number of frames.
+     */
+    public void setSnapPredictionFrames(int frames)
+    {
+        _controller.getStateMachine().getSnapPredictor().setLookaheadFrames(frames);
+    }
+
+    /**
+     * Sets the recorder of the pointer inputs of this scene, to replay them without a display with
+     * a {@link com.Bentaii.BorderlessFX.trace.TraceReplayer}. Recording is disabled by default.
+     * <p>
+     * Setting a recorder begins a new trace. The recorder is not closed when replaced, the caller
+     * closes it.
+     * </p>
+     *
+     * @param recorder The recorder, instance of {@link PointerTraceRecorder}, or null to stop
+     *                 recording.
+     */
+    public void setTraceRecorder(PointerTraceRecorder recorder)
+    {
+        _controller.getStateMachine().setTraceRecorder(recorder);
+    }
+
+    public double getMagnetDistance()
+    {
+        return _controller.getStateMachine().getMagnetDistance();
+    }
+
+    /**
+     * Sets the distance at which the edges of the other windows registered with the same
+     * {@link DockableWindowManager} attract the edges of this window while moving or resizing it,
+     * 0 disables the magnetism.
+     * <p>
+     * The default value is {@link com.Bentaii.BorderlessFX.core.WindowStateMachine#DEFAULT_MAGNET_DISTANCE}.
+     * </p>
+     *
+     * @param distance The distance.
+     */
+    public void setMagnetDistance(double distance)
+    {
+        _controller.getStateMachine().setMagnetDistance(distance);
+    }
+
+    /**
+     * @return The resize mode, instance of {@link ResizeMode}.
+     */
+    public ResizeMode getResizeMode()
+    {
+        return _controller.getResizeMode();
+    }
+
+    /**
+     * Sets how the resize edges are implemented.
+     * <p>
+     * {@link ResizeMode#PANES} (the default) uses eight styleable panes.
+     * {@link ResizeMode#HIT_TEST} replaces them with a single overlay hit-testing the edges, which
+     * keeps the node count and picking cost down in scenes with many nodes.
+     * </p>
+     *
+     * @param mode The resize mode, instance of {@link ResizeMode}.
+     */
+    public void setResizeMode(ResizeMode mode)
+    {
+        _controller.setResizeMode(requireNonNull(mode));
+    }
+
+    /**
+     * Sets the width of the resize edges and the size of the resize corners used by
+     * {@link ResizeMode#HIT_TEST}.
+     * <p>
+     * The default values are 5 and 8, the size of the resize panes.
+     * </p>
+     *
+     * @param width      The width of the edges.
+     * @param cornerSize The size of the corners.
+     */
+    public void setResizeBorder(double width, double cornerSize)
+    {
+        _controller.setResizeBorder(width, cornerSize);
+    }
+
+    /**
+     * @return {@code boolean} - true if the content is replaced by a snapshot during resize drags
+     * otherwise false.
+     */
+    public boolean isResizeSnapshot()
+    {
+        return _controller.getResizeSnapshot().isEnabled();
+    }
+
+    /**
+     * Sets whether the content is replaced by a snapshot during resize drags.
+     * <p>
+     * When enabled the content is captured when a resize drag starts and a scaled image of it is
+     * shown instead, so heavy content is neither laid out nor rendered on every frame of the drag.
+     * The content is laid out at its final size when the drag ends, see
+     * {@link #setResizeLayoutInterval(long)} to also refresh it during the drag. Disabled by
+     * default, the frame times of resize drags can be compared with
+     * {@link WindowMetrics#getResizePulseIntervals()}.
+     * </p>
+     *
+     * @param value true to show a snapshot during resize drags.
+     */
+    public void setResizeSnapshot(boolean value)
+    {
+        _controller.getResizeSnapshot().setEnabled(value);
+    }
+
+    public long getResizeLayoutInterval()
+    {
+        return _controller.getResizeSnapshot().getLayoutIntervalMillis();
+    }
+
+    /**
+     * Sets how often the content is laid out at the current size and captured again during a resize
+     * drag with {@link #setResizeSnapshot(boolean)} enabled.
+     * <p>
+     * The default value is 0, the content is only laid out when the drag ends.
+     * </p>
+     *
+     * @param millis The interval in milliseconds, 0 to only lay out the content when the drag ends.
+     */
+    public void setResizeLayoutInterval(long millis)
+    {
+        _controller.getResizeSnapshot().setLayoutIntervalMillis(millis);
+    }
+
+    /**
+     * @return {@code boolean} - true if the bounds updates of an input or state transition are
+     * applied to the stage as one operation otherwise false.
+     */
+    public boolean isBatchedBoundsUpdates()
+    {
+        return _controller.isBatchedBoundsUpdates();
+    }
+
+    /**
+     * Sets whether the bounds updates of an input or state transition (e.g. snapping or
+     * maximizing) are collected and applied to the stage as one operation.
+     * <p>
+     * When enabled intermediate bounds never reach the stage and every stage setter is called at
+     * most once per transition. Enabled by default, the number of stage updates per event can be
+     * compared with {@link WindowMetrics#getStageMutationsPerEvent}.
+     * </p>
+     *
+     * @param value true to batch the bounds updates.
+     */
+    public void setBatchedBoundsUpdates(boolean value)
+    {
+        _controller.setBatchedBoundsUpdates(value);
+    }
+
+    /**
+     * @return {@code boolean} - true if snapping, maximizing and restoring are animated otherwise
+     * false.
+     */
+    public boolean isAnimatedTransitions()
+    {
+        return _controller.getBoundsAnimator().isEnabled();
+    }
+
+    /**
+     * Sets whether the window glides to the result of a state transition (e.g. snapping or
+     * maximizing) instead of jumping to it.
+     * <p>
+     * A single animation interpolates all the bounds and applies them once per pulse, a new
+     * transition or a drag during the animation retargets it from where the window is. Transitions
+     * of a stage which is not showing are never animated. Disabled by default, only applies with
+     * {@link #setBatchedBoundsUpdates(boolean) batched bounds updates}.
+     * </p>
+     *
+     * @param value true to animate the transitions.
+     */
+    public void setAnimatedTransitions(boolean value)
+    {
+        _controller.getBoundsAnimator().setEnabled(value);
+    }
+
+    /**
+     * Sets the duration and the easing curve of the transition animations.
+     * <p>
+     * The default values are {@link BoundsAnimator#DEFAULT_DURATION_MILLIS} and
+     * {@link com.Bentaii.BorderlessFX.core.StandardEasing#EASE_OUT_CUBIC}.
+     * </p>
+     *
+     * @param millis The duration in milliseconds, 0 disables the animations.
+     * @param easing The easing, instance of {@link Easing}.
+     */
+    public void setTransitionAnimation(long millis, Easing easing)
+    {
+        BoundsAnimator animator = _controller.getBoundsAnimator();
+        animator.setDurationMillis(millis);
+        animator.setEasing(easing);
+    }
+
+    /**
+     * @return The animator of the transitions, with its frame counters, instance of
+     * {@link BoundsAnimator}.
+     */
+    public BoundsAnimator getBoundsAnimator()
+    {
+        return _controller.getBoundsAnimator();
+    }
+
+    /**
+     * Runs an operation changing the bounds of the stage in several steps, e.g. a programmatic snap
+     * or maximizing, without laying out the content at every step.
+     * <p>
+     * The content keeps its size until the operation ended, including the
+     * {@link #setAnimatedTransitions(boolean) transition animation} it started, then a single CSS and
+     * layout pass lays it out at the final size on the next pulse. Calls can be nested, the content
+     * is laid out once the outermost one ended.
+     * </p>
+     * <p>
+     * The built-in transitions, e.g. keyboard commands, snapping on release and maximizing on
+     * double click, are deferred the same way without calling this method.
+     * </p>
+     * Usage:
+     * <pre>
+     * {@code
+     *     dockableScene.deferLayout(() -> dockableScene.setMaximized(true));
+     *     ...
+     *     double passes = dockableScene.getLayoutPassesPerOperation();
+     * }
+     * </pre>
+     *
+     * @param operation The operation, instance of {@link Runnable}.
+     */
+    public void deferLayout(Runnable operation)
+    {
+        _controller.deferLayout(requireNonNull(operation));
+    }
+
+    /**
+     * @return {@code boolean} - true if the layout of the content is currently deferred otherwise
+     * false.
+     */
+    public boolean isLayoutDeferred()
+    {
+        return _controller.getLayoutDeferral().isOpen();
+    }
+
+    /**
+     * @return {@code long} - the number of layout passes of the content.
+     */
+    public long getLayoutPasses()
+    {
+        return _controller.getLayoutDeferral().getLayoutPasses();
+    }
+
+    /**
+     * @return {@code long} - the number of operations run with {@link #deferLayout(Runnable)} and
+     * built-in transitions which were laid out.
+     */
+    public long getDeferredLayoutOperations()
+    {
+        return _controller.getLayoutDeferral().getOperations();
+    }
+
+    /**
+     * @return {@code double} - the mean number of layout passes of the content per operation run
+     * with {@link #deferLayout(Runnable)} or built-in transition, from its start to the pulse after
+     * it ended. 1 when
+     * nothing but the deferred pass laid the content out.
+     */
+    public double getLayoutPassesPerOperation()
+    {
+        return _controller.getLayoutDeferral().getLayoutPassesPerOperation();
+    }
+
+    public void resetLayoutCounters()
+    {
+        _controller.getLayoutDeferral().resetCounters();
+    }
+
+    /**
+     * @return {@code boolean} - true if the snap decisions of drags are computed on a worker
+     * thread otherwise false.
+     */
+    public boolean isAsyncSnapComputation()
+    {
+        return _controller.getStateMachine().getAsyncSnapResolver() != null;
+    }
+
+    /**
+     * Sets whether the snap direction and the bounds of the aero snap visual feedback are computed
+     * on a worker thread while dragging the move control.
+     * <p>
+     * Useful when the JavaFX Application Thread is saturated, e.g. by rendering charts: the input
+     * handlers then only move the stage, and the visual feedback is updated once per
+     * {@link javafx.application.Platform#runLater(Runnable)} with the latest decision. Disabled by
+     * default. Custom snap zones must be thread-safe when enabled, see {@link #addSnapZone(SnapZone)}.
+     * </p>
+     *
+     * @param value true to compute the snap decisions on a worker thread.
+     */
+    public void setAsyncSnapComputation(boolean value)
+    {
+        _controller.setAsyncSnapComputation(value);
+    }
+
+    /**
+     * @return The instrumentation of this scene, instance of {@link WindowMetrics}, or null if
+     * disabled.
+     */
+    public WindowMetrics getMetrics()
+    {
+        return _controller.getMetrics();
+    }
+
+    /**
+     * Enables the instrumentation of the move control, resize and keyboard event handlers.
+     * <p>
+     * While enabled the handler latencies, native stage updates, screen lookups, visual feedback
+     * shows/hides and pulse jank during drags are recorded into the given metrics. Disabled by
+     * default, pass null to disable.
+     * </p>
+     *
+     * @param metrics The metrics, instance of {@link WindowMetrics}.
+     */
+    public void setMetrics(WindowMetrics metrics)
+    {
+        _controller.setMetrics(metrics);
+    }
+
     /**
      * Determines whether the stage is maximized or not.
      *
@@ -453,7 +891,15 @@ public class DockableScene extends Scene
      */
     public Double getAeroSnapAllowance()
     {
-        return _aeroSnapAllowance == null ? 10 : _aeroSnapAllowance.get();
+        return aeroSnapAllowance();
+    }
+
+    /**
+     * The primitive value of {@link #getAeroSnapAllowance()}, read per event without boxing.
+     */
+    double aeroSnapAllowance()
+    {
+        return _aeroSnapAllowance == null ? SnapZoneMap.DEFAULT_ALLOWANCE : _aeroSnapAllowance.get();
     }
 
     /**
@@ -478,7 +924,15 @@ public class DockableScene extends Scene
      */
     public Double getAeroSnapCornerAllowance()
     {
-        return _aeroSnapCornerAllowance == null ? 50 : _aeroSnapCornerAllowance.get();
+        return aeroSnapCornerAllowance();
+    }
+
+    /**
+     * The primitive value of {@link #getAeroSnapCornerAllowance()}.
+     */
+    double aeroSnapCornerAllowance()
+    {
+        return _aeroSnapCornerAllowance == null ? SnapZoneMap.DEFAULT_CORNER_ALLOWANCE : _aeroSnapCornerAllowance.get();
     }
 
     /**
@@ -621,44 +1075,115 @@ public class DockableScene extends Scene
         _disabledDirections.add(direction);
     }
 
+    /**
+     * Adds a custom aero snap/quarter tiling zone.
+     * <p>
+     * Custom zones can have any shape and take precedence over the built-in edge and corner
+     * zones.
+     * </p>
+     *
+     * @param zone The zone to add, instance of {@link SnapZone}.
+     */
+    public void addSnapZone(SnapZone zone)
+    {
+        _controller.getStateMachine().getSnapZoneMap().addCustomZone(zone);
+    }
+
+    /**
+     * Removes a custom aero snap/quarter tiling zone.
+     *
+     * @param zone The zone to remove, instance of {@link SnapZone}.
+     */
+    public void removeSnapZone(SnapZone zone)
+    {
+        _controller.getStateMachine().getSnapZoneMap().removeCustomZone(zone);
+    }
+
+    /**
+     * @return The tiling layout of the screens without a layout of their own, instance of
+     * {@link TileLayout}.
+     */
+    public TileLayout getTileLayout()
+    {
+        return _controller.getStateMachine().getTileTable().getLayout();
+    }
+
+    /**
+     * Sets the tiling layout, which defines the bounds the stage snaps to from every aero snap
+     * zone, both when dragging and with the keyboard.
+     * <p>
+     * The default value is {@link TileLayout#halvesAndQuarters()}.
+     * </p>
+     *
+     * @param layout The layout, instance of {@link TileLayout}.
+     */
+    public void setTileLayout(TileLayout layout)
+    {
+        _controller.getStateMachine().getTileTable().setLayout(requireNonNull(layout));
+    }
+
+    /**
+     * Sets the tiling layout of a single screen, overriding {@link #setTileLayout(TileLayout)}.
+     *
+     * @param screen The screen, instance of {@link Screen}.
+     * @param layout The layout, instance of {@link TileLayout}, or null to use the layout of the
+     *               other screens again.
+     */
+    public void setTileLayout(Screen screen, TileLayout layout)
+    {
+        _controller.getStateMachine().getTileTable().setLayout(requireNonNull(screen), layout);
+    }
+
     /**
      * Gets the size of the stage.
+     * <p>
+     * The returned instance is a copy taken when called. Unlike earlier versions it does not
+     * follow later changes of the stage, and modifying it has no effect, call this method again
+     * to read the current size.
+     * </p>
      *
-     * @return The size of this stage, an instance of {@link Dimension} with the
+     * @return The size of this stage, a new instance of {@link Dimension} with the
      * current width and height.
      */
     public Dimension getStageSize()
     {
-        if (_controller._prevSize.getWidth() == 0)
+        // The previous size starts out as negative infinity until the stage has been shown
+        if (!Double.isFinite(_controller.getStateMachine().getPreviousSize().getWidth()))
         {
-            _controller._prevSize.setWidth(_stage.getWidth());
+            _controller.getStateMachine().getPreviousSize().setWidth(_stage.getWidth());
         }
-        if (_controller._prevSize.getHeight() == 0)
+        if (!Double.isFinite(_controller.getStateMachine().getPreviousSize().getHeight()))
         {
-            _controller._prevSize.setHeight(_stage.getHeight());
+            _controller.getStateMachine().getPreviousSize().setHeight(_stage.getHeight());
         }
 
-        return _controller._prevSize;
+        return new Dimension(_controller.getStateMachine().getPreviousSize());
     }
 
     /**
      * Gets the position of the stage.
+     * <p>
+     * The returned instance is a copy taken when called. Unlike earlier versions it does not
+     * follow later changes of the stage, and modifying it has no effect, call this method again
+     * to read the current position.
+     * </p>
      *
-     * @return The position of this stage, an instance of {@link Delta} with the
+     * @return The position of this stage, a new instance of {@link Delta} with the
      * current x and y coordinates.
      */
     public Delta getStagePosition()
     {
-        if (_controller._prevPos.getX() == null)
+        // The previous position starts out as negative infinity until the stage has been shown
+        if (!Double.isFinite(_controller.getStateMachine().getPreviousPosition().getX()))
         {
-            _controller._prevPos.setX(_stage.getX());
+            _controller.getStateMachine().getPreviousPosition().setX(_stage.getX());
         }
-        if (_controller._prevPos.getY() == null)
+        if (!Double.isFinite(_controller.getStateMachine().getPreviousPosition().getY()))
         {
-            _controller._prevPos.setY(_stage.getY());
+            _controller.getStateMachine().getPreviousPosition().setY(_stage.getY());
         }
 
-        return _controller._prevPos;
+        return new Delta(_controller.getStateMachine().getPreviousPosition());
     }
 
     /**
@@ -682,6 +1207,79 @@ public class DockableScene extends Scene
         }
     }
 
+    /**
+     * @return {@code boolean} - true if the transparent window of this scene stays mapped while
+     * hidden otherwise false.
+     */
+    public boolean isPersistentPreview()
+    {
+        return _controller.isPersistentPreview();
+    }
+
+    /**
+     * Sets whether the transparent window of this scene stays mapped while hidden.
+     * <p>
+     * A persistent preview is mapped fully transparent once the stage is shown, and is then only
+     * made visible or transparent again, which avoids mapping a native window every time the
+     * pointer enters a snap zone. While hidden it is parked at 1x1 outside of the screens. Disabled
+     * by default. A pooled transparent window follows
+     * {@link TransparentWindowPool#setPersistent(boolean)} instead.
+     * </p>
+     *
+     * @param value true to keep the transparent window mapped.
+     */
+    public void setPersistentPreview(boolean value)
+    {
+        _controller.setPersistentPreview(value);
+    }
+
+    /**
+     * Shares the transparent window of the given pool instead of creating one for this scene.
+     * <p>
+     * Applications with several {@link DockableScene} instances can use one pool for all of them,
+     * so only a single aero snap preview stage exists. Pass null to go back to a transparent
+     * window owned by this scene.
+     * </p>
+     * <p>
+     * The shared preview stage is owned by the owner of the pool, not by this stage, so it is not
+     * shown while that owner is minimized or hidden, see {@link TransparentWindowPool}.
+     * </p>
+     *
+     * @param pool The pool, instance of {@link TransparentWindowPool}.
+     */
+    public void setTransparentWindowPool(TransparentWindowPool pool)
+    {
+        _controller.setTransparentWindowPool(pool);
+    }
+
+    /**
+     * Persists the state of the stage (bounds, snap and maximized state, screen) in the given
+     * store, and restores the state saved under the key.
+     * <p>
+     * Should be called before the stage is shown, so it appears in its final place right away. The
+     * state is saved at most once per pulse while it changes, the store is responsible for writing
+     * it in the background. If the screen the stage was on no longer exists, the stage is restored
+     * on the primary screen.
+     * </p>
+     *
+     * @param store The store, instance of {@link WindowStateStore}, or null to stop persisting.
+     * @param key   The key identifying this stage in the store.
+     */
+    public void setWindowStateStore(WindowStateStore store, String key)
+    {
+        _controller.setWindowStateStore(store, store == null ? null : requireNonNull(key));
+    }
+
+    /**
+     * Sets the manager this scene is registered with, called by {@link DockableWindowManager}.
+     *
+     * @param manager The manager, instance of {@link DockableWindowManager}, or null.
+     */
+    void setWindowManager(DockableWindowManager manager)
+    {
+        _controller.setWindowManager(manager);
+    }
+
     /**
      * The transparent window which allows the library to have aero snap controls
      *
@@ -2,23 +2,35 @@ package com.Bentaii.BorderlessFX.scene;
 
 import java.util.List;
 
-import com.Bentaii.BorderlessFX.geometry.Delta;
-import com.Bentaii.BorderlessFX.geometry.Dimension;
+import com.Bentaii.BorderlessFX.core.AsyncSnapResolver;
+import com.Bentaii.BorderlessFX.core.BoundsAnimator;
+import com.Bentaii.BorderlessFX.core.BoundsTransaction;
+import com.Bentaii.BorderlessFX.core.WindowCommandEngine;
+import com.Bentaii.BorderlessFX.core.WindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
 import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.EdgeIndex;
 import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.Rect;
 import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.metrics.DragSessionEvent;
+import com.Bentaii.BorderlessFX.metrics.TransitionTrigger;
+import com.Bentaii.BorderlessFX.metrics.WindowEventType;
+import com.Bentaii.BorderlessFX.metrics.WindowMetrics;
+import com.Bentaii.BorderlessFX.state.WindowState;
+import com.Bentaii.BorderlessFX.state.WindowStateStore;
 import com.Bentaii.BorderlessFX.utils.OsUtils;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
 import com.Bentaii.BorderlessFX.utils.WindowInstance;
 import com.Bentaii.BorderlessFX.window.TransparentWindow;
+import com.Bentaii.BorderlessFX.window.TransparentWindowPool;
 import com.sun.jna.platform.win32.WinUser;
 
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.collections.ObservableList;
-import javafx.geometry.Rectangle2D;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
@@ -26,21 +38,24 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.robot.Robot;
-import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 /**
  * Controller for the borderless scene.
  * Used internally by {@code BorderlessSceneFX}.
+ * <p>
+ * Adapts the {@link Stage} and the {@link DockableScene} properties to a {@link WindowHost} and
+ * forwards the mouse and keyboard events to the {@link WindowStateMachine}, which holds the actual
+ * window management logic.
+ * </p>
  */
-class DockableSceneController
+class DockableSceneController implements WindowHost
 {
     private static final String PANE_RESIZE_STYLE_CLASS = "borderless-scene-resize-pane";
-    final Dimension _prevSize = new Dimension(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
-    final Delta _prevPos = new Delta(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
     private final DockableScene _scene;
     private final Stage _stage;
-    private final SimpleBooleanProperty _wasSnapped = new SimpleBooleanProperty(false);
+    private final WindowStateMachine _stateMachine;
     private final Pane _leftPane = new Pane();
     private final Pane _rightPane = new Pane();
     private final Pane _topPane = new Pane();
@@ -49,16 +64,81 @@ class DockableSceneController
     private final Pane _topRightPane = new Pane();
     private final Pane _bottomLeftPane = new Pane();
     private final Pane _bottomRightPane = new Pane();
+    private final ResizeOverlay _resizeOverlay = new ResizeOverlay(this::isResizeAllowed);
+    private final DragSampleCoalescer _dragCoalescer = new DragSampleCoalescer();
+    private final DragSampleCoalescer.SampleConsumer _moveDragConsumer;
+    private final BoundsTransaction _boundsTransaction = new BoundsTransaction();
+    private final BoundsAnimator _boundsAnimator = new BoundsAnimator();
+    private final ManagedContent _managedContent = new ManagedContent();
+    private final LayoutDeferral _layoutDeferral = new LayoutDeferral(_managedContent);
+    private boolean _batchedBoundsUpdates = true;
+    /**
+     * Whether the bounds of the open transaction are the result of a state transition
+     */
+    private boolean _transitionPending;
+    /**
+     * Whether the running bounds animation keeps the layout of the content deferred
+     */
+    private boolean _animationDefersLayout;
+    /**
+     * Whether a state transition keeps the layout of the content deferred until the outermost
+     * bounds update ended
+     */
+    private boolean _transitionDefersLayout;
+    private int _boundsUpdateDepth;
+    private ResizeMode _resizeMode = ResizeMode.PANES;
+    private AnchorPane _root;
+    private ResizeSnapshot _resizeSnapshot;
+
+    /**
+     * Whether the resize gesture started by the last press on a resize pane is allowed
+     */
+    private boolean _resizeGestureAllowed;
     /**
      * Transparent Window used to as visual feedback for window snapping
      */
     private TransparentWindow _transparentWindow;
 
+    /**
+     * Pool sharing a single transparent window between scenes, null if this scene owns its own
+     */
+    private TransparentWindowPool _transparentWindowPool;
+    private boolean _persistentPreview;
+
+    /**
+     * Manager this scene is registered with, null if none
+     */
+    private DockableWindowManager _windowManager;
+
+    /**
+     * Store persisting the window state, null if none
+     */
+    private WindowStateStore _windowStateStore;
+    private String _windowStateKey;
+    private boolean _windowStateDirty;
+
+    /**
+     * Robot warping the pointer for the cursor confiner, created on first use
+     */
+    private Robot _robot;
+
     /**
      * An object holding our window handle used to enable window animations for Windows OS
      */
     private WindowInstance _windowInstance;
 
+    /**
+     * Opt-in instrumentation of the event handlers, null when disabled
+     */
+    private WindowMetrics _metrics;
+
+    /**
+     * JFR event of the current move control drag
+     */
+    private DragSessionEvent _dragSessionEvent;
+    private long _dragSessionReceived;
+    private long _dragSessionApplied;
+
     /**
      * Constructor.
      *
@@ -69,40 +149,224 @@ class DockableSceneController
     {
         this._stage = stage;
         this._scene = scene;
+        this._stateMachine = new WindowStateMachine(this, ScreenTopology.getInstance(), scene.aeroSnapAllowance(), scene.aeroSnapCornerAllowance());
+        // Created once so starting a drag does not allocate
+        this._moveDragConsumer = this::applyMoveDrag;
+
+        // Only rebuild the snap zones when an allowance changes instead of reading them per event
+        InvalidationListener allowanceListener = observable -> _stateMachine.getSnapZoneMap()
+            .setAllowances(_scene.aeroSnapAllowance(), _scene.aeroSnapCornerAllowance());
+        scene.aeroSnapAllowanceProperty().addListener(allowanceListener);
+        scene.aeroSnapCornerAllowanceProperty().addListener(allowanceListener);
+
+        // Lets the cursor confiner warp the pointer at most once per pulse, runs at most one
+        // keyboard command per pulse, advances the bounds animation and saves the window state at
+        // most once per pulse
+        scene.addPreLayoutPulseListener(() -> {
+            boolean command = _stateMachine.getCommandEngine().hasPending();
+
+            if (command)
+            {
+                eventStarted();
+            }
+
+            _stateMachine.pulse();
+
+            if (command)
+            {
+                eventFinished(WindowEventType.KEY_PRESSED);
+
+                // The next queued command runs on the following pulse
+                if (_stateMachine.getCommandEngine().hasPending())
+                {
+                    Platform.requestNextPulse();
+                }
+            }
+
+            tickBoundsAnimation();
+            saveWindowState();
+        });
+        scene.addPostLayoutPulseListener(_layoutDeferral::settled);
+
+        InvalidationListener windowStateListener = observable -> windowStateChanged();
+        stage.xProperty().addListener(windowStateListener);
+        stage.yProperty().addListener(windowStateListener);
+        stage.widthProperty().addListener(windowStateListener);
+        stage.heightProperty().addListener(windowStateListener);
+        scene.maximizedProperty().addListener(windowStateListener);
+        scene.snappedProperty().addListener(windowStateListener);
 
         stage.setOnShown(windowEvent -> {
-            if (!_scene.getSnapped())
-                updatePrevSizeAndPos();
+            _stateMachine.shown();
 
             if (OsUtils.IS_WINDOWS)
-                _windowInstance = new WindowInstance();
+                _windowInstance = new WindowInstance(_stage);
+
+            // Render the first frame of the visual feedback before the first drag needs it
+            if (_transparentWindow != null)
+                _transparentWindow.prewarm();
         });
+        // The release of a drag may never arrive once the stage is hidden or loses the focus, do
+        // not keep requesting pulses for it
+        InvalidationListener dragSuspender = observable -> {
+            if (!stage.isShowing() || !stage.isFocused())
+            {
+                _dragCoalescer.suspend();
+            }
+        };
+        stage.showingProperty().addListener(dragSuspender);
+        stage.focusedProperty().addListener(dragSuspender);
         stage.iconifiedProperty().addListener((observableValue, aBoolean, isMinimizing) -> {
             // Update minimize property in case the user minimizes/unminimizes the stage via
             // the taskbar
-            if (isMinimizing)
-                _wasSnapped.set(_scene.getSnapped());
+            _stateMachine.iconifiedChanged(isMinimizing);
             scene.setMinimized(isMinimizing);
         });
     }
 
-    private static Double clamp(Double value, Double min, Double max)
+    private static boolean isPrimary(MouseEvent event)
     {
-        return Math.min(Math.max(value, min), max);
+        return event.getButton().equals(MouseButton.PRIMARY);
     }
 
     protected void createTransparentWindow()
     {
-        _transparentWindow = new TransparentWindow();
-        _transparentWindow.getStage().initOwner(_stage);
+        if (_transparentWindowPool != null)
+        {
+            _transparentWindow = _transparentWindowPool.acquire();
+        }
+        else
+        {
+            _transparentWindow = new TransparentWindow();
+            _transparentWindow.setPersistent(_persistentPreview);
+            _transparentWindow.getStage().initOwner(_stage);
+        }
+
+        if (_stage.isShowing())
+        {
+            _transparentWindow.prewarm();
+        }
     }
 
     protected void destroyTransparentWindow()
     {
-        _transparentWindow.destroy();
+        if (_transparentWindow == null)
+        {
+            return;
+        }
+
+        if (_transparentWindowPool != null)
+        {
+            _transparentWindowPool.release(_transparentWindow);
+        }
+        else
+        {
+            _transparentWindow.destroy();
+        }
         _transparentWindow = null;
     }
 
+    protected boolean isPersistentPreview()
+    {
+        return _persistentPreview;
+    }
+
+    /**
+     * Sets whether the transparent window owned by this scene stays mapped while hidden, a pooled
+     * transparent window follows the setting of its pool.
+     */
+    protected void setPersistentPreview(boolean value)
+    {
+        _persistentPreview = value;
+
+        if (_transparentWindow != null && _transparentWindowPool == null)
+        {
+            _transparentWindow.setPersistent(value);
+
+            if (_stage.isShowing())
+            {
+                _transparentWindow.prewarm();
+            }
+        }
+    }
+
+    protected void setTransparentWindowPool(TransparentWindowPool pool)
+    {
+        boolean hadTransparentWindow = _transparentWindow != null;
+
+        destroyTransparentWindow();
+        _transparentWindowPool = pool;
+
+        if (hadTransparentWindow)
+        {
+            createTransparentWindow();
+        }
+    }
+
+    /**
+     * Sets the store persisting the window state and restores the state saved under the key.
+     */
+    protected void setWindowStateStore(WindowStateStore store, String key)
+    {
+        _windowStateStore = store;
+        _windowStateKey = key;
+        _windowStateDirty = false;
+
+        if (store == null)
+        {
+            return;
+        }
+
+        WindowState state = store.load(key);
+
+        if (state != null)
+        {
+            _stateMachine.restoreState(state);
+        }
+    }
+
+    /**
+     * Marks the window state as changed, it is saved on the next pulse. Invalidation listeners
+     * only fire again once the value was read, so the value is read right away.
+     */
+    private void windowStateChanged()
+    {
+        _stage.getX();
+        _stage.getY();
+        _stage.getWidth();
+        _stage.getHeight();
+        _scene.getMaximized();
+        _scene.getSnapped();
+
+        if (_windowStateStore != null && _stage.isShowing() && !_windowStateDirty)
+        {
+            _windowStateDirty = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void saveWindowState()
+    {
+        // The bounds of a minimized window are meaningless, e.g. -32000 on Windows OS
+        if (!_windowStateDirty || _stage.isIconified())
+        {
+            return;
+        }
+
+        _windowStateDirty = false;
+        _windowStateStore.save(_windowStateKey, _stateMachine.captureState());
+    }
+
+    void setWindowManager(DockableWindowManager manager)
+    {
+        _windowManager = manager;
+    }
+
+    protected WindowStateMachine getStateMachine()
+    {
+        return _stateMachine;
+    }
+
     protected TransparentWindow getTransparentWindow()
     {
         return _transparentWindow;
@@ -181,8 +445,17 @@ class DockableSceneController
         AnchorPane.setRightAnchor(_bottomPane, 5.0);
         _bottomPane.setCursor(Cursor.S_RESIZE);
 
-        var children = List.of(new Region(), _topLeftPane, _topRightPane, _bottomRightPane, _bottomLeftPane, _leftPane, _rightPane, _topPane, _bottomPane);
-        anchorPane.getChildren().addAll(children);
+        AnchorPane.setTopAnchor(_resizeOverlay, 0.0);
+        AnchorPane.setRightAnchor(_resizeOverlay, 0.0);
+        AnchorPane.setBottomAnchor(_resizeOverlay, 0.0);
+        AnchorPane.setLeftAnchor(_resizeOverlay, 0.0);
+
+        var content = new Region();
+        anchorPane.getChildren().add(content);
+        _root = anchorPane;
+        _resizeSnapshot = new ResizeSnapshot(anchorPane, _managedContent);
+        setContent(content);
+        addResizeNodes();
 
         setResizeControl(_topRightPane, Direction.TOP_RIGHT);
         setResizeControl(_topPane, Direction.TOP);
@@ -193,17 +466,10 @@ class DockableSceneController
         setResizeControl(_bottomPane, Direction.BOTTOM);
         setResizeControl(_bottomLeftPane, Direction.BOTTOM_LEFT);
 
-        BooleanBinding allowResizingBind = Bindings.createBooleanBinding(() -> !_scene.getResizable() || _scene.getMaximized(), _scene.resizableProperty(),
-            _scene.maximizedProperty());
-
-        _topRightPane.disableProperty().bind(allowResizingBind);
-        _topPane.disableProperty().bind(allowResizingBind);
-        _topLeftPane.disableProperty().bind(allowResizingBind);
-        _rightPane.disableProperty().bind(allowResizingBind);
-        _leftPane.disableProperty().bind(allowResizingBind);
-        _bottomRightPane.disableProperty().bind(allowResizingBind);
-        _bottomPane.disableProperty().bind(allowResizingBind);
-        _bottomLeftPane.disableProperty().bind(allowResizingBind);
+        // Whether the panes and the overlay may resize is only checked when the pointer enters or
+        // moves over them and when a resize gesture starts, so toggling the resizable or maximized
+        // property does not touch them
+        setResizeOverlayControl();
 
         addWindowsKeyListener();
 
@@ -215,36 +481,7 @@ class DockableSceneController
      */
     protected void maximize()
     {
-        // Because this is called via the property invalidate method the value of the property
-        // has changed already hence why we evaluate the negation of it
-        if (!_scene.getMaximized())
-        {
-            revertToPreviousSizeAndPos();
-        }
-        else
-        {
-            if (!_scene.getSnapped())
-            {
-                updatePrevSizeAndPos();
-            }
-
-            Rectangle2D screen;
-            ObservableList<Screen> screensIntersectingHalf = getScreensIntersectingHalf();
-
-            if (screensIntersectingHalf.isEmpty())
-            {
-                screen = getScreensIntersectingFull().get(0).getVisualBounds();
-            }
-            else
-            {
-                screen = screensIntersectingHalf.get(0).getVisualBounds();
-            }
-
-            _stage.setX(screen.getMinX());
-            _stage.setY(screen.getMinY());
-            _stage.setWidth(screen.getWidth());
-            _stage.setHeight(screen.getHeight());
-        }
+        _stateMachine.maximizedChanged();
     }
 
     /**
@@ -260,7 +497,21 @@ class DockableSceneController
             _windowInstance._user32.SetWindowLong(_windowInstance._hwnd, WinUser.GWL_STYLE, newStyle);
         }
 
+        // Recorded as an API transition unless the state machine is handling an input
+        boolean apiTrigger = _stateMachine.getTrigger() == null;
+
+        if (apiTrigger)
+        {
+            _stateMachine.setTrigger(TransitionTrigger.API);
+        }
+
         _stage.setIconified(_scene.minimizedProperty().get());
+        stageMutated();
+
+        if (apiTrigger)
+        {
+            _stateMachine.setTrigger(null);
+        }
     }
 
     /**
@@ -270,620 +521,925 @@ class DockableSceneController
      */
     protected void setMoveControl(Node node)
     {
-        final Delta delta = new Delta();
-        final Delta eventSource = new Delta();
-
         // We are using addEventHandler() instead of setOnXXXXX() because the node is known to
         // the user, and they could very likely use the convenience method to override these
         // event handlers. For more information see:
         // https://stackoverflow.com/questions/37821796/difference-between-setonxxx-method-and-addeventhandler-javafx
 
-        addMousePressed(node, delta, eventSource);
-        addMouseDragged(node, delta, eventSource);
-        addMouseReleased(node, eventSource);
-        addDoubleClickMaximize(node);
-    }
-
-    private void addDoubleClickMaximize(Node node)
-    {
-        // Maximize/unmaximize on double click
-        node.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
-            if (!event.getButton().equals(MouseButton.PRIMARY) || event.getClickCount() < 2 || !_scene.getDoubleClickMaximizable())
+        // Record drag deltas on mouse press event
+        node.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            if (!event.isPrimaryButtonDown())
             {
                 return;
             }
 
-            if (_scene.getSnapped())
+            eventStarted();
+            _stateMachine.movePressed(event.getSceneX(), event.getSceneY(), event.getScreenX(), node.prefHeight(_stage.getHeight()));
+            _dragCoalescer.begin(_moveDragConsumer);
+            beginDragSession();
+            eventFinished(WindowEventType.MOVE_PRESSED);
+        });
+
+        // Dragging only records the latest pointer sample, the stage is moved once per pulse by
+        // the drag coalescer
+        node.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            if (!event.isPrimaryButtonDown())
             {
-                snapOff();
-                revertToPreviousSizeAndPosClamped(getScreensIntersectingHalf().get(0).getVisualBounds());
                 return;
             }
 
-            _scene.setMaximized(!_scene.getMaximized());
+            _dragCoalescer.offer(event.getScreenX(), event.getScreenY());
         });
-    }
 
-    private void addMouseReleased(Node node, Delta eventSource)
-    {
         // Snap window to position on release.
         node.addEventHandler(MouseEvent.MOUSE_RELEASED, event -> {
-            if (!_scene.getAeroSnap() || !event.getButton().equals(MouseButton.PRIMARY) || event.getScreenX() == eventSource.getX())
-            {
-                return;
-            }
+            // Apply the last drag sample before the stage is snapped
+            _dragCoalescer.end();
+            eventStarted();
+            _stateMachine.moveReleased(event.getScreenX(), event.getScreenY(), isPrimary(event));
+            commitDragSession();
+            eventFinished(WindowEventType.MOVE_RELEASED);
+        });
+
+        // Maximize/unmaximize on double click
+        node.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
+            eventStarted();
+            _stateMachine.moveClicked(isPrimary(event), event.getClickCount());
+            eventFinished(WindowEventType.MOVE_CLICKED);
+        });
+    }
 
-            Rectangle2D screen = Screen.getScreensForRectangle(event.getScreenX(), event.getScreenY(), 1, 1).get(0).getVisualBounds();
-            Direction snapDirection = resolveSnapDirection(event, screen);
+    /**
+     * Set pane (anchor points) to resize application when pressed and dragged.
+     *
+     * @param pane      The pane to set the resize event on.
+     * @param direction The resize direction this node handles, instance of {@link Direction}.
+     */
+    private void setResizeControl(Pane pane, final Direction direction)
+    {
+        HDirection hDirection = direction.getHDirection();
+        VDirection vDirection = direction.getVDirection();
 
-            if (snapDirection == null || _scene.getDisabledDirections().contains(snapDirection))
-            {
-                return;
-            }
+        // Only show the resize cursor if the stage can be resized
+        Cursor cursor = ResizeOverlay.cursorOf(direction);
+        pane.setOnMouseEntered(event -> pane.setCursor(isResizeAllowed() ? cursor : null));
 
-            if (snapDirection.equals(Direction.TOP) || snapDirection.equals(Direction.BOTTOM))
+        //Record the previous size and previous position
+        pane.setOnDragDetected(event -> {
+            if (_resizeGestureAllowed)
             {
-                _scene.setMaximized(true);
+                _stateMachine.resizeStarted();
+                _resizeSnapshot.begin();
             }
-            else
-            {
-                Stage transparentWindowStage = _transparentWindow.getStage();
+        });
 
-                _stage.setX(transparentWindowStage.getX());
-                _stage.setY(transparentWindowStage.getY());
-                _stage.setWidth(transparentWindowStage.getWidth());
-                _stage.setHeight(transparentWindowStage.getHeight());
-                _scene.setSnapped(true);
-            }
-            // Close the visual feedback window regardless
-            if (_transparentWindow != null)
+        pane.setOnMouseDragged(event -> {
+            if (!event.isPrimaryButtonDown() || !_resizeGestureAllowed)
             {
-                _transparentWindow.close();
+                return;
             }
-            _stage.setAlwaysOnTop(false);
+
+            eventStarted();
+            _stateMachine.resizeDragged(hDirection, vDirection, event.getScreenX(), event.getScreenY(), event.getX(), event.getY(), event.getSceneX(),
+                event.getSceneY());
+            eventFinished(WindowEventType.RESIZE_DRAGGED);
         });
-    }
 
-    @SuppressWarnings("java:S3776")
-    private void addMouseDragged(Node node, Delta delta, Delta eventSource)
-    {
-        // Dragging moves the stage around and displays window snapping visual feedback if enabled
-        node.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+        // Capture stage dimensions and position when the move node is pressed
+        pane.setOnMousePressed(event -> {
             if (!event.isPrimaryButtonDown())
             {
                 return;
             }
 
-            // Move x axis
-            _stage.setX(event.getScreenX() - delta.getX());
+            _resizeGestureAllowed = isResizeAllowed();
 
-            if (_scene.getSnapped())
-            {
-                if (event.getScreenY() > eventSource.getY())
-                {
-                    snapOff();
-                }
-                else
-                {
-                    Rectangle2D screen = Screen.getScreensForRectangle(event.getScreenX(), event.getScreenY(), 1, 1).get(0).getVisualBounds();
-                    _stage.setHeight(screen.getHeight());
-                }
-            }
-            else
+            if (!_resizeGestureAllowed)
             {
-                // Move y axis
-                _stage.setY(event.getScreenY() - delta.getY());
+                return;
             }
 
-            // Aero snap off
-            if (_scene.getMaximized())
-            {
-                snapOff();
-                _scene.setMaximized(false);
-            }
+            eventStarted();
+            _stateMachine.resizeStarted();
+            eventFinished(WindowEventType.RESIZE_PRESSED);
+        });
 
-            if (!_scene.getAeroSnap())
+        // Aero Snap during vertical resizing
+        pane.setOnMouseReleased(event -> {
+            if (!_resizeGestureAllowed)
             {
                 return;
             }
 
-            ObservableList<Screen> screens = Screen.getScreensForRectangle(event.getScreenX(), event.getScreenY(), 1, 1);
+            eventStarted();
+            _stateMachine.resizeReleased(vDirection, event.getScreenX(), event.getScreenY(), isPrimary(event));
+            _resizeSnapshot.end();
+            eventFinished(WindowEventType.RESIZE_RELEASED);
+        });
 
-            if (screens.isEmpty())
+        // Aero snap resize on double click
+        pane.setOnMouseClicked(event -> {
+            if (!_resizeGestureAllowed)
             {
                 return;
             }
 
-            Rectangle2D screen = screens.get(0).getVisualBounds();
-            Direction snapDirection = resolveSnapDirection(event, screen);
+            eventStarted();
+            _stateMachine.resizeClicked(vDirection, isPrimary(event), event.getClickCount());
+            eventFinished(WindowEventType.RESIZE_CLICKED);
+        });
+    }
+
+    /**
+     * @return {@code boolean} - true if the stage can currently be resized by the user otherwise
+     * false.
+     */
+    private boolean isResizeAllowed()
+    {
+        return _scene.getResizable() && !_scene.getMaximized();
+    }
 
-            if (_scene.getPreventMouseOverTaskbar())
+    /**
+     * Set the resize overlay to resize application when an edge is pressed and dragged, the same
+     * way {@link #setResizeControl(Pane, Direction)} does for every pane.
+     */
+    private void setResizeOverlayControl()
+    {
+        _resizeOverlay.setOnDragDetected(event -> {
+            if (_resizeOverlay.getDirection() != null)
             {
-                limitMouseMovement(screen, event);
+                _stateMachine.resizeStarted();
+                _resizeSnapshot.begin();
             }
+        });
+
+        _resizeOverlay.setOnMouseDragged(event -> {
+            Direction direction = _resizeOverlay.getDirection();
 
-            if (snapDirection == null || _scene.getDisabledDirections().contains(snapDirection))
+            if (!event.isPrimaryButtonDown() || direction == null)
             {
-                _transparentWindow.close();
-                _stage.setAlwaysOnTop(false);
                 return;
             }
 
-            Stage transparentWindowStage = _transparentWindow.getStage();
+            eventStarted();
+            _stateMachine.resizeDragged(direction.getHDirection(), direction.getVDirection(), event.getScreenX(), event.getScreenY(),
+                _resizeOverlay.toEdgeX(direction, event.getX()), _resizeOverlay.toEdgeY(direction, event.getY()), event.getSceneX(), event.getSceneY());
+            eventFinished(WindowEventType.RESIZE_DRAGGED);
+        });
 
-            if (snapDirection.equals(Direction.TOP_RIGHT))
-            {
-                transparentWindowStage.setX((screen.getWidth() / 2) + screen.getMinX());
-                transparentWindowStage.setY(screen.getMinY());
-                transparentWindowStage.setWidth(screen.getWidth() / 2);
-                transparentWindowStage.setHeight(screen.getHeight() / 2);
-            }
-            else if (snapDirection.equals(Direction.TOP_LEFT))
-            {
-                transparentWindowStage.setX(screen.getMinX());
-                transparentWindowStage.setY(screen.getMinY());
-                transparentWindowStage.setWidth(screen.getWidth() / 2);
-                transparentWindowStage.setHeight(screen.getHeight() / 2);
-            }
-            else if (snapDirection.equals(Direction.BOTTOM_RIGHT))
-            {
-                transparentWindowStage.setX((screen.getWidth() / 2) + screen.getMinX());
-                transparentWindowStage.setY(screen.getMaxY() - (screen.getHeight() / 2));
-                transparentWindowStage.setWidth(screen.getWidth() / 2);
-                transparentWindowStage.setHeight(screen.getHeight() / 2);
-            }
-            else if (snapDirection.equals(Direction.BOTTOM_LEFT))
-            {
-                transparentWindowStage.setX(screen.getMinX());
-                transparentWindowStage.setY(screen.getMaxY() - (screen.getHeight() / 2));
-                transparentWindowStage.setWidth(screen.getWidth() / 2);
-                transparentWindowStage.setHeight(screen.getHeight() / 2);
-            }
-            else if (snapDirection.equals(Direction.RIGHT))
-            {
-                transparentWindowStage.setY(screen.getMinY());
-                transparentWindowStage.setHeight(screen.getHeight());
-                transparentWindowStage.setWidth(Math.max(screen.getWidth() / 2, transparentWindowStage.getMinWidth()));
-                transparentWindowStage.setX(screen.getMaxX() - transparentWindowStage.getWidth());
-            }
-            else if (snapDirection.equals(Direction.LEFT))
+        _resizeOverlay.setOnMousePressed(event -> {
+            if (!event.isPrimaryButtonDown())
             {
-                transparentWindowStage.setY(screen.getMinY());
-                transparentWindowStage.setHeight(screen.getHeight());
-                transparentWindowStage.setX(screen.getMinX());
-                transparentWindowStage.setWidth(Math.max(screen.getWidth() / 2, transparentWindowStage.getMinWidth()));
+                return;
             }
-            else if (snapDirection.equals(Direction.TOP) || snapDirection.equals(Direction.BOTTOM))
+
+            Direction direction = _resizeOverlay.hitTest(event.getX(), event.getY());
+            _resizeOverlay.setDirection(direction);
+
+            if (direction == null)
             {
-                transparentWindowStage.setX(screen.getMinX());
-                transparentWindowStage.setY(screen.getMinY());
-                transparentWindowStage.setWidth(screen.getWidth());
-                transparentWindowStage.setHeight(screen.getHeight());
+                return;
             }
 
-            _transparentWindow.show();
-            // stage.toFront() doesn't seem to work, so we have to do it with stage
-            // .setAlwaysOnTop() in a "hackish" way
-            _stage.setAlwaysOnTop(true);
+            eventStarted();
+            _stateMachine.resizeStarted();
+            eventFinished(WindowEventType.RESIZE_PRESSED);
         });
-    }
 
-    private void addMousePressed(Node node, Delta delta, Delta eventSource)
-    {
-        // Record drag deltas on mouse press event
-        node.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
-            if (!event.isPrimaryButtonDown())
+        _resizeOverlay.setOnMouseReleased(event -> {
+            Direction direction = _resizeOverlay.getDirection();
+
+            if (direction == null)
             {
                 return;
             }
 
-            delta.setX(event.getSceneX());
-            delta.setY(event.getSceneY());
+            eventStarted();
+            _stateMachine.resizeReleased(direction.getVDirection(), event.getScreenX(), event.getScreenY(), isPrimary(event));
+            _resizeSnapshot.end();
+            eventFinished(WindowEventType.RESIZE_RELEASED);
+        });
 
-            if (_scene.getMaximized() || _scene.getSnapped())
-            {
-                delta.setX(_prevSize.getWidth() * (event.getSceneX() / _stage.getWidth()));
-                delta.setY(_prevSize.getHeight() * (event.getSceneY() / _stage.getHeight()));
-            }
-            else
+        _resizeOverlay.setOnMouseClicked(event -> {
+            Direction direction = _resizeOverlay.getDirection();
+
+            if (direction == null)
             {
-                updatePrevSizeAndPos();
+                return;
             }
 
-            eventSource.setX(event.getScreenX());
-            eventSource.setY(node.prefHeight(_stage.getHeight()));
+            eventStarted();
+            _stateMachine.resizeClicked(direction.getVDirection(), isPrimary(event), event.getClickCount());
+            eventFinished(WindowEventType.RESIZE_CLICKED);
         });
     }
 
     /**
-     * Set pane (anchor points) to resize application when pressed and dragged.
-     *
-     * @param pane      The pane to set the resize event on.
-     * @param direction The resize direction this node handles, instance of {@link Direction}.
+     * Adds the nodes of the current resize mode on top of the content.
      */
-    private void setResizeControl(Pane pane, final Direction direction)
-    {
-        HDirection hDirection = direction.getHDirection();
-        VDirection vDirection = direction.getVDirection();
-
-        setOnDragDetected(pane);
-        setOnMouseDragged(pane, hDirection, vDirection);
-        setUpdatePositionDimensionOnClick(pane);
-        setAeroSnapOnVerticalResizing(pane, vDirection);
-        setDoubleClickAeroSnap(pane, vDirection);
-    }
-
-    private void setOnDragDetected(Pane pane)
+    private void addResizeNodes()
     {
-        //Record the previous size and previous position
-        pane.setOnDragDetected(event -> {
-            if (!_scene.getSnapped())
+        if (_resizeMode == ResizeMode.HIT_TEST)
+        {
+            _root.getChildren().add(_resizeOverlay);
+        }
+        else
+        {
+            _root.getChildren().addAll(_topLeftPane, _topRightPane, _bottomRightPane, _bottomLeftPane, _leftPane, _rightPane, _topPane, _bottomPane);
+        }
+    }
+
+    protected ResizeMode getResizeMode()
+    {
+        return _resizeMode;
+    }
+
+    protected void setResizeMode(ResizeMode mode)
+    {
+        if (mode == _resizeMode)
+        {
+            return;
+        }
+
+        _resizeMode = mode;
+
+        if (_root != null)
+        {
+            _root.getChildren().removeAll(_resizeOverlay, _topLeftPane, _topRightPane, _bottomRightPane, _bottomLeftPane, _leftPane, _rightPane, _topPane,
+                _bottomPane);
+            addResizeNodes();
+        }
+    }
+
+    protected void setResizeBorder(double width, double cornerSize)
+    {
+        _resizeOverlay.setBorderWidths(width, cornerSize);
+    }
+
+    private void addWindowsKeyListener()
+    {
+        _stage.addEventHandler(KeyEvent.KEY_PRESSED, keyEvent -> {
+            /*
+             * The default minimize and restore are already handled by windows. The bound commands, by
+             * default the maximize with WIN + UP, the restore from maximized with WIN + DOWN, the
+             * snapping to the left and right with WIN + LEFT/RIGHT and moving to another screen with
+             * WIN + SHIFT + LEFT/RIGHT, are queued on key press and run one per pulse, so auto-repeat
+             * results in at most one transition per pulse
+             */
+            int modifiers = WindowCommandEngine.modifiers(keyEvent.isShiftDown(), keyEvent.isControlDown(), keyEvent.isAltDown(), keyEvent.isMetaDown());
+
+            if (_stateMachine.getCommandEngine().handleKey(keyEvent.getCode(), modifiers))
             {
-                updatePrevSizeAndPos();
+                Platform.requestNextPulse();
             }
         });
     }
 
-    @SuppressWarnings("java:S3776")
-    private void setOnMouseDragged(Pane pane, HDirection hDirection, VDirection vDirection)
+    /**
+     * Applies a coalesced move control drag sample to the stage.
+     */
+    private void applyMoveDrag(double screenX, double screenY)
     {
-        pane.setOnMouseDragged(event -> {
-            if (!event.isPrimaryButtonDown())
-            {
-                return;
-            }
+        if (_metrics != null)
+        {
+            // Measured from the delivery of the mouse event rather than from the pulse
+            _metrics.eventStarted(_dragCoalescer.getPendingSince(), _stateMachine.getScreenTopology().getLookupCount());
+        }
 
-            final double width = _stage.getWidth();
-            final double height = _stage.getHeight();
-            Rectangle2D screen = getScreensIntersectingHalf().get(0).getVisualBounds();
+        _stateMachine.moveDragged(screenX, screenY);
+        eventFinished(WindowEventType.MOVE_DRAGGED);
+    }
 
-            if (_scene.getPreventMouseOverTaskbar())
-            {
-                limitMouseMovement(screen, event);
-            }
+    private void beginDragSession()
+    {
+        DragSessionEvent event = new DragSessionEvent();
 
-            // Horizontal resize
-            if (hDirection != null)
-            {
-                double comingWidth = hDirection.equals(HDirection.LEFT) ? width - event.getScreenX() + _stage.getX() : width + event.getX();
+        if (event.isEnabled())
+        {
+            event.setTrigger(TransitionTrigger.MOUSE);
+            event.setBefore(_stage.getX(), _stage.getY(), _stage.getWidth(), _stage.getHeight());
+            _dragSessionReceived = _dragCoalescer.getSamplesReceived();
+            _dragSessionApplied = _dragCoalescer.getSamplesApplied();
+            event.begin();
+            _dragSessionEvent = event;
+        }
+    }
 
-                if (comingWidth <= 0 || comingWidth < _stage.getMinWidth() || comingWidth > _stage.getMaxWidth())
-                {
-                    return;
-                }
+    private void commitDragSession()
+    {
+        DragSessionEvent event = _dragSessionEvent;
 
-                if (hDirection.equals(HDirection.LEFT))
-                {
-                    _stage.setWidth(_stage.getX() - event.getScreenX() + width);
-                    _stage.setX(event.getScreenX());
-                }
-                else
-                {
-                    _stage.setWidth(event.getSceneX());
-                }
-            }
+        if (event == null)
+        {
+            return;
+        }
 
-            // Vertical resize
-            if (vDirection != null)
-            {
-                if (_scene.getSnapped() && !(_stage.getX() <= screen.getMinX() || (_stage.getX() + width) >= screen.getMaxX()))
-                {
-                    _stage.setHeight(_prevSize.getHeight());
-                    _scene.setSnapped(false);
-                }
+        _dragSessionEvent = null;
+        event.end();
 
-                double comingHeight = vDirection.equals(VDirection.TOP) ? height - event.getScreenY() + _stage.getY() : height + event.getY();
+        if (event.shouldCommit())
+        {
+            event.setSamples(_dragCoalescer.getSamplesReceived() - _dragSessionReceived, _dragCoalescer.getSamplesApplied() - _dragSessionApplied);
+            event.setAfter(_stage.getX(), _stage.getY(), _stage.getWidth(), _stage.getHeight());
+            event.commit();
+        }
+    }
 
-                if (comingHeight <= 0 || comingHeight < _stage.getMinHeight() || comingHeight > _stage.getMaxHeight())
-                {
-                    return;
-                }
+    private void eventStarted()
+    {
+        if (_metrics != null)
+        {
+            _metrics.eventStarted(System.nanoTime(), _stateMachine.getScreenTopology().getLookupCount());
+        }
+    }
 
-                if (vDirection.equals(VDirection.TOP))
-                {
-                    _stage.setHeight(_stage.getY() - event.getScreenY() + height);
-                    _stage.setY(event.getScreenY());
-                }
-                else
-                {
-                    _stage.setHeight(event.getSceneY());
-                }
+    private void eventFinished(WindowEventType type)
+    {
+        if (_metrics != null)
+        {
+            _metrics.eventFinished(type, _stateMachine.getScreenTopology().getLookupCount());
+        }
+    }
 
-                if (_scene.getAeroSnap() && _scene.getVerticalResizeSnap())
-                {
-                    if (!isLegalVerticalResizeSnap(screen, vDirection, event))
-                    {
-                        _transparentWindow.close();
-                        _stage.setAlwaysOnTop(false);
-                        return;
-                    }
-
-                    Stage transparentWindowStage = _transparentWindow.getStage();
-
-                    transparentWindowStage.setWidth(_stage.getWidth());
-                    transparentWindowStage.setHeight(screen.getHeight());
-                    transparentWindowStage.setX(_stage.getX());
-                    transparentWindowStage.setY(screen.getMinY());
-
-                    _transparentWindow.show();
-                    _stage.setAlwaysOnTop(true);
-                }
-            }
-        });
+    private void stageMutated()
+    {
+        if (_metrics != null)
+        {
+            _metrics.stageMutated();
+        }
     }
 
-    private void setUpdatePositionDimensionOnClick(Pane pane)
+    protected void setAsyncSnapComputation(boolean value)
     {
-        // Capture stage dimensions and position when the move node is pressed
-        pane.setOnMousePressed(event -> {
-            if (!event.isPrimaryButtonDown() || _scene.getSnapped())
-            {
-                return;
-            }
+        AsyncSnapResolver resolver = _stateMachine.getAsyncSnapResolver();
 
-            updatePrevSizeAndPos();
-        });
+        if (value == (resolver != null))
+        {
+            return;
+        }
+
+        if (resolver != null)
+        {
+            _stateMachine.setAsyncSnapResolver(null);
+            resolver.close();
+        }
+        else
+        {
+            _stateMachine.setAsyncSnapResolver(new AsyncSnapResolver(Platform::runLater));
+        }
     }
 
-    private void setAeroSnapOnVerticalResizing(Pane pane, VDirection vDirection)
+    protected boolean isBatchedBoundsUpdates()
     {
-        // Aero Snap during vertical resizing
-        pane.setOnMouseReleased(event -> {
-            if (vDirection == null || !_scene.getVerticalResizeSnap() || !event.getButton().equals(MouseButton.PRIMARY))
-            {
-                return;
-            }
+        return _batchedBoundsUpdates;
+    }
 
-            Rectangle2D screen = Screen.getScreensForRectangle(event.getScreenX(), event.getScreenY(), 1, 1).get(0).getVisualBounds();
+    protected void setBatchedBoundsUpdates(boolean value)
+    {
+        _batchedBoundsUpdates = value;
+    }
 
-            if (isLegalVerticalResizeSnap(screen, vDirection, event))
-            {
-                _stage.setY(screen.getMinY());
-                _stage.setHeight(screen.getHeight());
-                _scene.setSnapped(true);
-            }
+    protected ResizeSnapshot getResizeSnapshot()
+    {
+        return _resizeSnapshot;
+    }
 
-            if (_scene.getAeroSnap())
-            {
-                _transparentWindow.close();
-                _stage.setAlwaysOnTop(false);
-            }
-        });
+    protected WindowMetrics getMetrics()
+    {
+        return _metrics;
     }
 
-    private void setDoubleClickAeroSnap(Pane pane, VDirection vDirection)
+    protected void setMetrics(WindowMetrics metrics)
     {
-        // Aero snap resize on double click
-        pane.setOnMouseClicked(event -> {
-            if (!(event.getButton().equals(MouseButton.PRIMARY)) || (event.getClickCount() < 2) || (vDirection == null))
-            {
-                return;
-            }
+        _metrics = metrics;
+        _dragCoalescer.setMetrics(metrics);
+        _resizeSnapshot.setMetrics(metrics);
+    }
 
-            if (_scene.getSnapped())
-            {
-                _stage.setHeight(_prevSize.getHeight());
-                _stage.setY(_prevPos.getY());
-                _scene.setSnapped(false);
-            }
-            else
-            {
-                Rectangle2D screen = getScreensIntersectingHalf().get(0).getVisualBounds();
+    /**
+     * @return The number of move control drag samples received.
+     */
+    protected long getDragSamplesReceived()
+    {
+        return _dragCoalescer.getSamplesReceived();
+    }
 
-                _prevSize.setHeight(_stage.getHeight());
-                _prevPos.setY(_stage.getY());
-                _stage.setHeight(screen.getHeight());
-                _stage.setY(screen.getMinY());
-                _scene.setSnapped(true);
-            }
-        });
+    /**
+     * @return The number of move control drag samples applied to the stage.
+     */
+    protected long getDragSamplesApplied()
+    {
+        return _dragCoalescer.getSamplesApplied();
     }
 
-    private void addWindowsKeyListener()
+    protected void resetDragCounters()
     {
-        _stage.addEventHandler(KeyEvent.KEY_RELEASED, keyEvent -> {
-            if (!keyEvent.isMetaDown() || !keyEvent.getCode().isArrowKey())
-                return;
+        _dragCoalescer.resetCounters();
+    }
 
-            /*
-             * The default minimize and restore are already handled by windows. We only need to handle the
-             * maximize with WIN + UP, the restore from maximized with WIN + DOWN and the snapping to the
-             * left and right with WIN + LEFT/RIGHT
-             */
-            switch (keyEvent.getCode())
-            {
-                case LEFT -> snapLeft();
-                case RIGHT -> snapRight();
-                case UP ->
-                {
-                    if (!_scene.getMaximized() && _scene.getSnapped() && !_wasSnapped.get())
-                        _scene.maximizeStage();
-                    _wasSnapped.set(false);
-                }
-                case DOWN ->
-                {
-                    if (!_scene.getMaximized() && _scene.getSnapped())
-                        _scene.minimizeStage();
-                }
-                default ->
-                {/*Should never happen but sonar is not happy*/}
-            }
-        });
+    @Override
+    public double getX()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getX();
+        }
+
+        return _boundsAnimator.isRunning() ? _boundsAnimator.getTargetX() : _stage.getX();
     }
 
-    private void snapRight()
+    @Override
+    public double getY()
     {
-        if (_scene.isMinimized() || _scene.getDisabledDirections().contains(Direction.LEFT))
-            return;
+        if (_boundsTransaction.isOpen())
+        {
+            return _boundsTransaction.getBounds().getY();
+        }
+
+        return _boundsAnimator.isRunning() ? _boundsAnimator.getTargetY() : _stage.getY();
+    }
 
-        Rectangle2D screen;
-        ObservableList<Screen> screensIntersectingHalf = getScreensIntersectingHalf();
-        if (screensIntersectingHalf.isEmpty())
+    @Override
+    public double getWidth()
+    {
+        if (_boundsTransaction.isOpen())
         {
-            screen = getScreensIntersectingFull().get(0).getVisualBounds();
+            return _boundsTransaction.getBounds().getWidth();
         }
-        else
+
+        return _boundsAnimator.isRunning() ? _boundsAnimator.getTargetWidth() : _stage.getWidth();
+    }
+
+    @Override
+    public double getHeight()
+    {
+        if (_boundsTransaction.isOpen())
         {
-            screen = screensIntersectingHalf.get(0).getVisualBounds();
+            return _boundsTransaction.getBounds().getHeight();
         }
 
-        if (!_scene.getSnapped())
-            updatePrevSizeAndPos();
-        _scene.setMaximized(false);
-        _stage.setY(screen.getMinY());
-        _stage.setHeight(screen.getHeight());
-        _stage.setWidth(screen.getWidth() / 2);
-        _stage.setX(screen.getMaxX() - _stage.getWidth());
-        _scene.setSnapped(true);
+        return _boundsAnimator.isRunning() ? _boundsAnimator.getTargetHeight() : _stage.getHeight();
+    }
+
+    @Override
+    public double getMinWidth()
+    {
+        return _stage.getMinWidth();
+    }
+
+    @Override
+    public double getMaxWidth()
+    {
+        return _stage.getMaxWidth();
+    }
+
+    @Override
+    public double getMinHeight()
+    {
+        return _stage.getMinHeight();
+    }
+
+    @Override
+    public double getMaxHeight()
+    {
+        return _stage.getMaxHeight();
     }
 
-    private void snapLeft()
+    @Override
+    public void setBounds(double x, double y, double width, double height)
     {
-        if (_scene.isMinimized() || _scene.getDisabledDirections().contains(Direction.LEFT))
+        if (_boundsTransaction.isOpen())
+        {
+            _boundsTransaction.set(x, y, width, height);
             return;
-        Rectangle2D screen;
-        ObservableList<Screen> screensIntersectingHalf = getScreensIntersectingHalf();
-        if (screensIntersectingHalf.isEmpty())
+        }
+
+        applyStageBounds(x, y, width, height, false);
+    }
+
+    @Override
+    public void beginBoundsUpdate()
+    {
+        _boundsUpdateDepth++;
+
+        if (_batchedBoundsUpdates)
         {
-            screen = getScreensIntersectingFull().get(0).getVisualBounds();
+            // Starts from the target of a running animation, the state machine never sees the
+            // intermediate bounds
+            _boundsTransaction.begin(getX(), getY(), getWidth(), getHeight());
         }
-        else
+    }
+
+    /**
+     * Defers the layout of the content until the outermost bounds update ended, so built-in
+     * transitions, e.g. keyboard commands and snapping on release, are laid out once like the
+     * operations run with {@link #deferLayout(Runnable)}.
+     */
+    @Override
+    public void transitionStarted()
+    {
+        if (!_transitionDefersLayout)
         {
-            screen = screensIntersectingHalf.get(0).getVisualBounds();
+            _transitionDefersLayout = true;
+            _layoutDeferral.begin();
         }
+    }
 
-        if (!_scene.getSnapped())
-            updatePrevSizeAndPos();
-        _scene.setMaximized(false);
-        _stage.setX(screen.getMinX());
-        _stage.setY(screen.getMinY());
-        _stage.setWidth(screen.getWidth() / 2);
-        _stage.setHeight(screen.getHeight());
-        _scene.setSnapped(true);
+    @Override
+    public void transitionCommitted()
+    {
+        if (_boundsTransaction.isOpen())
+        {
+            _transitionPending = true;
+        }
     }
 
-    private Direction resolveSnapDirection(MouseEvent event, Rectangle2D screen)
+    /**
+     * Applies the bounds of the outermost transaction, every stage setter is called at most once.
+     * The result of a state transition is animated instead, see {@link BoundsAnimator}.
+     */
+    @Override
+    public void endBoundsUpdate()
     {
-        Double allowance = _scene.getAeroSnapAllowance();
-        Double cornerAllowance = _scene.getAeroSnapCornerAllowance();
+        try
+        {
+            applyBoundsUpdate();
+        }
+        finally
+        {
+            if (_boundsUpdateDepth > 0 && --_boundsUpdateDepth == 0 && _transitionDefersLayout)
+            {
+                _transitionDefersLayout = false;
+                endLayoutDeferral();
+            }
+        }
+    }
 
-        if (event.getScreenY() <= screen.getMinY() + cornerAllowance && event.getScreenX() >= screen.getMaxX() - cornerAllowance)
+    private void applyBoundsUpdate()
+    {
+        if (!_boundsTransaction.isOpen())
         {
-            // Window snap top right corner
-            return Direction.TOP_RIGHT;
+            return;
         }
 
-        if (event.getScreenY() <= screen.getMinY() + cornerAllowance && event.getScreenX() <= screen.getMinX() + cornerAllowance)
+        boolean apply = _boundsTransaction.end();
+        boolean transition = _transitionPending;
+
+        if (!_boundsTransaction.isOpen())
         {
-            // Window snap top left corner
-            return Direction.TOP_LEFT;
+            _transitionPending = false;
         }
 
-        if (event.getScreenY() >= screen.getMaxY() - cornerAllowance && event.getScreenX() >= screen.getMaxX() - cornerAllowance)
+        if (apply)
         {
-            // Window snap bottom right corner
-            return Direction.BOTTOM_RIGHT;
+            Rect bounds = _boundsTransaction.getBounds();
+            applyStageBounds(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight(), transition);
         }
+    }
 
-        if (event.getScreenY() >= screen.getMaxY() - cornerAllowance && event.getScreenX() <= screen.getMinX() + cornerAllowance)
+    protected BoundsAnimator getBoundsAnimator()
+    {
+        return _boundsAnimator;
+    }
+
+    private void applyStageBounds(double x, double y, double width, double height, boolean transition)
+    {
+        // A stage which is not showing, e.g. maximized or restored before it is shown, is placed
+        // right away instead of sliding in
+        if (!_stage.isShowing())
+        {
+            stopBoundsAnimation();
+            applyBounds(_stage, x, y, width, height);
+            return;
+        }
+
+        if (_boundsAnimator.offer(_stage.getX(), _stage.getY(), _stage.getWidth(), _stage.getHeight(), x, y, width, height, transition, System.nanoTime()))
         {
-            // Window snap bottom left corner
-            return Direction.BOTTOM_LEFT;
+            Platform.requestNextPulse();
+            return;
         }
 
-        if (event.getScreenX() >= screen.getMaxX() - allowance)
+        applyBounds(_stage, x, y, width, height);
+    }
+
+    /**
+     * Applies the next frame of the running bounds animation, a single bounds update per pulse.
+     */
+    private void tickBoundsAnimation()
+    {
+        if (!_boundsAnimator.tick(System.nanoTime()))
         {
-            // Window snap right
-            return Direction.RIGHT;
+            return;
         }
 
-        if (event.getScreenX() <= screen.getMinX() + allowance)
+        applyBounds(_stage, _boundsAnimator.getX(), _boundsAnimator.getY(), _boundsAnimator.getWidth(), _boundsAnimator.getHeight());
+
+        if (_boundsAnimator.isRunning())
+        {
+            Platform.requestNextPulse();
+        }
+        else if (_animationDefersLayout)
         {
-            // Window snap left
-            return Direction.LEFT;
+            _animationDefersLayout = false;
+            _layoutDeferral.end();
         }
+    }
 
-        if (event.getScreenY() <= screen.getMinY() + allowance)
+    /**
+     * Stops the running bounds animation where it is, releasing the layout deferral it holds.
+     */
+    private void stopBoundsAnimation()
+    {
+        if (!_boundsAnimator.isRunning())
         {
-            // Window snap top
-            return Direction.TOP;
+            return;
         }
 
-        if (event.getScreenY() >= screen.getMaxY() - allowance)
+        _boundsAnimator.cancel();
+
+        if (_animationDefersLayout)
         {
-            // Window snap bottom
-            return Direction.BOTTOM;
+            _animationDefersLayout = false;
+            _layoutDeferral.end();
         }
+    }
 
-        return null;
+    /**
+     * Sets the content of the scene, whose layout is suspended by the layout deferral and the
+     * resize snapshot.
+     */
+    protected void setContent(Parent content)
+    {
+        _managedContent.setContent(content);
+        _layoutDeferral.setContent(content);
     }
 
-    private void snapOff()
+    protected LayoutDeferral getLayoutDeferral()
     {
-        _stage.setWidth(_prevSize.getWidth());
-        _stage.setHeight(_prevSize.getHeight());
-        _scene.setSnapped(false);
+        return _layoutDeferral;
     }
 
     /**
-     * Limits the mouse to move within the visual bounds of the screen.
+     * Runs an operation with the layout of the content deferred until it ended, including the
+     * bounds animation it started.
+     *
+     * @param operation The operation changing the bounds of the stage.
      */
-    private void limitMouseMovement(Rectangle2D screen, MouseEvent event)
+    protected void deferLayout(Runnable operation)
     {
-        if (event.getScreenX() >= screen.getMaxX() || event.getScreenY() >= screen.getMaxY())
+        _layoutDeferral.begin();
+
+        try
+        {
+            operation.run();
+        }
+        finally
         {
-            Robot robot = new Robot();
-            double x = Math.min(event.getScreenX(), screen.getMaxX()) - 1;
-            double y = Math.min(event.getScreenY(), screen.getMaxY()) - 1;
-            robot.mouseMove(x, y);
+            endLayoutDeferral();
         }
     }
 
     /**
-     * Determines whether the window is allowed to snap vertically while resizing.
+     * Ends a layout deferral, the running bounds animation keeps it open until its last frame.
      */
-    private boolean isLegalVerticalResizeSnap(Rectangle2D screen, VDirection vDirection, MouseEvent event)
+    private void endLayoutDeferral()
+    {
+        if (_boundsAnimator.isRunning() && !_animationDefersLayout)
+        {
+            _animationDefersLayout = true;
+            _layoutDeferral.begin();
+        }
+
+        _layoutDeferral.end();
+        Platform.requestNextPulse();
+    }
+
+    private void applyBounds(Stage stage, double x, double y, double width, double height)
+    {
+        // Only touch what changed, every stage setter can reconfigure the native window
+        if (stage.getWidth() != width)
+        {
+            stage.setWidth(width);
+            stageMutated();
+        }
+        if (stage.getHeight() != height)
+        {
+            stage.setHeight(height);
+            stageMutated();
+        }
+        if (stage.getX() != x)
+        {
+            stage.setX(x);
+            stageMutated();
+        }
+        if (stage.getY() != y)
+        {
+            stage.setY(y);
+            stageMutated();
+        }
+    }
+
+    @Override
+    public void collectNeighbors(EdgeIndex edges)
+    {
+        if (_windowManager == null)
+        {
+            return;
+        }
+
+        List<DockableScene> scenes = _windowManager.getScenes();
+
+        for (int i = 0; i < scenes.size(); i++)
+        {
+            DockableScene scene = scenes.get(i);
+            Window window = scene.getWindow();
+
+            if (scene == _scene || window == null || !window.isShowing() || scene.isMinimized())
+            {
+                continue;
+            }
+
+            edges.add(window.getX(), window.getY(), window.getWidth(), window.getHeight());
+        }
+    }
+
+    @Override
+    public boolean isMaximized()
+    {
+        return _scene.getMaximized();
+    }
+
+    @Override
+    public void setMaximized(boolean value)
     {
-        double upperBoundary = screen.getMinY() + _scene.getAeroSnapAllowance();
-        double lowerBoundary = screen.getMaxY() - _scene.getAeroSnapAllowance();
-        return _stage.getY() <= upperBoundary && vDirection.equals(VDirection.TOP) || event.getScreenY() >= lowerBoundary && vDirection.equals(VDirection.BOTTOM);
+        // The maximized property calls maximize() when invalidated
+        _scene.setMaximized(value);
     }
 
-    private void updatePrevSizeAndPos()
+    @Override
+    public boolean isMinimized()
     {
-        _prevSize.setWidth(_stage.getWidth());
-        _prevSize.setHeight(_stage.getHeight());
-        _prevPos.setX(_stage.getX());
-        _prevPos.setY(_stage.getY());
+        return _scene.isMinimized();
     }
 
-    private void revertToPreviousSizeAndPos()
+    @Override
+    public void setMinimized(boolean value)
+    {
+        _scene.setMinimized(value);
+    }
+
+    @Override
+    public boolean isSnapped()
+    {
+        return _scene.getSnapped();
+    }
+
+    @Override
+    public void setSnapped(boolean value)
+    {
+        _scene.setSnapped(value);
+    }
+
+    @Override
+    public boolean isAeroSnap()
+    {
+        return _scene.getAeroSnap();
+    }
+
+    @Override
+    public double getAeroSnapAllowance()
+    {
+        return _scene.aeroSnapAllowance();
+    }
+
+    @Override
+    public boolean isDoubleClickMaximizable()
+    {
+        return _scene.getDoubleClickMaximizable();
+    }
+
+    @Override
+    public boolean isVerticalResizeSnap()
+    {
+        return _scene.getVerticalResizeSnap();
+    }
+
+    @Override
+    public boolean isPreventMouseOverTaskbar()
+    {
+        return _scene.getPreventMouseOverTaskbar();
+    }
+
+    @Override
+    public boolean isDirectionDisabled(Direction direction)
+    {
+        return _scene.getDisabledDirections().contains(direction);
+    }
+
+    @Override
+    public double getPreviewMinWidth()
+    {
+        return _transparentWindow == null ? 0 : _transparentWindow.getStage().getMinWidth();
+    }
+
+    /**
+     * Shows the visual feedback window below the stage.
+     */
+    @Override
+    public void showPreview(Rect bounds)
     {
-        _stage.setWidth(_prevSize.getWidth());
-        _stage.setHeight(_prevSize.getHeight());
-        _stage.setX(_prevPos.getX());
-        _stage.setY(_prevPos.getY());
-        _wasSnapped.set(false);
+        if (_transparentWindow == null)
+        {
+            return;
+        }
+
+        applyBounds(_transparentWindow.getStage(), bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
+
+        if (!_transparentWindow.isShownToUser())
+        {
+            _transparentWindow.show();
+
+            if (_metrics != null)
+            {
+                _metrics.previewShown();
+            }
+        }
+
+        // stage.toFront() doesn't seem to work, so we have to do it with stage
+        // .setAlwaysOnTop() in a "hackish" way
+        if (!_stage.isAlwaysOnTop())
+        {
+            _stage.setAlwaysOnTop(true);
+            stageMutated();
+        }
     }
 
-    private void revertToPreviousSizeAndPosClamped(Rectangle2D screen)
+    /**
+     * Maps the hidden visual feedback window and moves it to the predicted bounds, so showing it
+     * only changes its opacity.
+     */
+    @Override
+    public void prepositionPreview(Rect bounds)
     {
-        Double maxWidth = Math.min(screen.getWidth(), _stage.getMaxWidth());
-        Double maxHeight = Math.min(screen.getHeight(), _stage.getMaxHeight());
+        if (_transparentWindow == null || _transparentWindow.isShownToUser())
+        {
+            return;
+        }
 
-        _stage.setWidth(clamp(_prevSize.getWidth(), _stage.getMinWidth(), maxWidth));
-        _stage.setHeight(clamp(_prevSize.getHeight(), _stage.getMinHeight(), maxHeight));
-        _stage.setX(clamp(_prevPos.getX(), screen.getMinX(), screen.getMaxX()));
-        _stage.setY(clamp(_prevPos.getY(), screen.getMinY(), screen.getMaxY()));
+        _transparentWindow.prewarm();
+        applyBounds(_transparentWindow.getStage(), bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
     }
 
-    private ObservableList<Screen> getScreensIntersectingHalf()
+    /**
+     * Parks the hidden visual feedback window again after a missed prediction.
+     */
+    @Override
+    public void cancelPreviewPreposition()
     {
-        return Screen.getScreensForRectangle(_stage.getX(), _stage.getY(), _stage.getWidth() / 2, _stage.getHeight() / 2);
+        if (_transparentWindow != null && !_transparentWindow.isShownToUser())
+        {
+            _transparentWindow.park();
+        }
     }
 
-    private ObservableList<Screen> getScreensIntersectingFull()
+    /**
+     * Hides the visual feedback window, the native window stays mapped and is parked while the
+     * transparent window is persistent.
+     */
+    @Override
+    public void hidePreview()
     {
-        return Screen.getScreensForRectangle(_stage.getX(), _stage.getY(), _stage.getWidth(), _stage.getHeight());
+        if (_transparentWindow != null && _transparentWindow.isShownToUser())
+        {
+            _transparentWindow.close();
+
+            if (_metrics != null)
+            {
+                _metrics.previewHidden();
+            }
+        }
+
+        if (_stage.isAlwaysOnTop())
+        {
+            _stage.setAlwaysOnTop(false);
+            stageMutated();
+        }
+    }
+
+    /**
+     * Warps the pointer, used by the cursor confiner to keep the mouse within the visual bounds of
+     * the screen.
+     */
+    @Override
+    public void moveCursor(double x, double y)
+    {
+        if (_robot == null)
+        {
+            _robot = new Robot();
+        }
+
+        _robot.mouseMove(x, y);
+        // Make sure there is a next pulse allowing the next warp, even if nothing else changed
+        Platform.requestNextPulse();
     }
 }
@@ -0,0 +1,111 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+import com.Bentaii.BorderlessFX.window.TransparentWindowPool;
+
+import javafx.stage.Window;
+
+/**
+ * Manages the {@link DockableScene} instances of an application with many windows.
+ * <p>
+ * Every registered scene shares one aero snap preview stage through a
+ * {@link TransparentWindowPool} and the screen layout cache of {@link ScreenTopology#getInstance()},
+ * so opening another window does not create another preview stage or screen listener. The window
+ * handle of each scene is resolved from its own stage, see
+ * {@link com.Bentaii.BorderlessFX.utils.WindowInstance}.
+ * </p>
+ * <p>
+ * While a registered scene is moved or resized, its edges are magnetically snapped to the edges of
+ * the other registered windows that are showing, see {@link DockableScene#setMagnetDistance(double)}.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     DockableWindowManager manager = new DockableWindowManager(primaryStage);
+ *     manager.register(firstScene);
+ *     manager.register(secondScene);
+ * }
+ * </pre>
+ * Must only be used on the JavaFX Application Thread.
+ */
+public class DockableWindowManager
+{
+    private final TransparentWindowPool _transparentWindowPool;
+    private final ScreenTopology _screenTopology;
+    private final List<DockableScene> _scenes = new ArrayList<>();
+    private final List<DockableScene> _unmodifiableScenes = Collections.unmodifiableList(_scenes);
+
+    /**
+     * Constructor.
+     *
+     * @param owner The owner of the shared preview stage, which should outlive every registered
+     *              scene, usually the primary stage. The preview is hidden with it, so while it
+     *              is minimized or hidden no registered scene shows an aero snap preview.
+     */
+    public DockableWindowManager(Window owner)
+    {
+        _transparentWindowPool = new TransparentWindowPool(owner);
+        _screenTopology = ScreenTopology.getInstance();
+    }
+
+    /**
+     * Registers a scene, which then uses the shared preview stage. Registering a scene twice has no
+     * effect.
+     *
+     * @param scene The scene, instance of {@link DockableScene}.
+     */
+    public void register(DockableScene scene)
+    {
+        if (_scenes.contains(scene))
+        {
+            return;
+        }
+
+        _scenes.add(scene);
+        scene.setTransparentWindowPool(_transparentWindowPool);
+        scene.setWindowManager(this);
+    }
+
+    /**
+     * Unregisters a scene, which then goes back to a preview stage of its own. Should be called once
+     * the stage of the scene is closed for good, so the shared preview stage can be released.
+     *
+     * @param scene The scene, instance of {@link DockableScene}.
+     */
+    public void unregister(DockableScene scene)
+    {
+        if (_scenes.remove(scene))
+        {
+            scene.setTransparentWindowPool(null);
+            scene.setWindowManager(null);
+        }
+    }
+
+    /**
+     * @return The registered scenes in registration order, an unmodifiable {@link List}.
+     */
+    public List<DockableScene> getScenes()
+    {
+        return _unmodifiableScenes;
+    }
+
+    /**
+     * @return The pool of the shared preview stage, instance of {@link TransparentWindowPool}.
+     */
+    public TransparentWindowPool getTransparentWindowPool()
+    {
+        return _transparentWindowPool;
+    }
+
+    /**
+     * @return The screen layout cache shared by every scene, instance of {@link ScreenTopology}.
+     */
+    public ScreenTopology getScreenTopology()
+    {
+        return _screenTopology;
+    }
+}
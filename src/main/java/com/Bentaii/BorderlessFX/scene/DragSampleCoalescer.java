@@ -0,0 +1,172 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import com.Bentaii.BorderlessFX.metrics.WindowMetrics;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Coalesces pointer samples of a move control drag so the stage is updated at most once per
+ * JavaFX pulse.
+ * <p>
+ * Mouse events may be delivered at a much higher rate than the display refresh rate (e.g. 1000 Hz
+ * mice). Instead of moving the stage on every event, only the latest sample is recorded and it is
+ * applied on the next pulse.
+ * </p>
+ * <p>
+ * The timer only runs while samples arrive, it is started by the first sample of a burst and stops
+ * itself once a pulse finds no sample to apply, so a press without a drag never requests pulses.
+ * </p>
+ * Used internally by {@link DockableSceneController}.
+ */
+class DragSampleCoalescer extends AnimationTimer
+{
+    private SampleConsumer _consumer;
+    private boolean _pending;
+    private double _screenX;
+    private double _screenY;
+    private long _samplesReceived;
+    private long _samplesApplied;
+    private WindowMetrics _metrics;
+    private long _pendingSince;
+    private long _lastPulse;
+    private boolean _running;
+
+    /**
+     * Starts a new drag session.
+     *
+     * @param consumer The consumer applying a sample to the stage.
+     */
+    void begin(SampleConsumer consumer)
+    {
+        _consumer = consumer;
+        _pending = false;
+    }
+
+    /**
+     * Records the latest pointer sample, replacing any sample not yet applied.
+     *
+     * @param screenX The x coordinate of the pointer on the screen.
+     * @param screenY The y coordinate of the pointer on the screen.
+     */
+    void offer(double screenX, double screenY)
+    {
+        if (_consumer == null)
+        {
+            return;
+        }
+
+        if (!_pending && _metrics != null)
+        {
+            _pendingSince = System.nanoTime();
+        }
+
+        _screenX = screenX;
+        _screenY = screenY;
+        _pending = true;
+        _samplesReceived++;
+
+        if (!_running)
+        {
+            _running = true;
+            _lastPulse = 0;
+            start();
+        }
+    }
+
+    /**
+     * Applies the pending sample, if any, and ends the drag session.
+     */
+    void end()
+    {
+        suspend();
+        _consumer = null;
+    }
+
+    /**
+     * Applies the pending sample, if any, and stops the timer while keeping the drag session, e.g.
+     * when the window is hidden or loses the focus. The next sample starts it again.
+     */
+    void suspend()
+    {
+        flush();
+        stop();
+        _running = false;
+    }
+
+    @Override
+    public void handle(long now)
+    {
+        if (!_pending)
+        {
+            stop();
+            _running = false;
+            return;
+        }
+
+        if (_metrics != null)
+        {
+            if (_lastPulse != 0)
+            {
+                _metrics.pulse(now - _lastPulse);
+            }
+
+            _lastPulse = now;
+        }
+
+        flush();
+    }
+
+    /**
+     * Sets the metrics recording the pulse intervals, null to disable.
+     */
+    void setMetrics(WindowMetrics metrics)
+    {
+        _metrics = metrics;
+    }
+
+    /**
+     * @return {@code long} - the {@link System#nanoTime()} the oldest mouse event merged into the pending sample
+     * was received at, only recorded while metrics are set.
+     */
+    long getPendingSince()
+    {
+        return _pendingSince;
+    }
+
+    long getSamplesReceived()
+    {
+        return _samplesReceived;
+    }
+
+    long getSamplesApplied()
+    {
+        return _samplesApplied;
+    }
+
+    void resetCounters()
+    {
+        _samplesReceived = 0;
+        _samplesApplied = 0;
+    }
+
+    private void flush()
+    {
+        if (!_pending || _consumer == null)
+        {
+            return;
+        }
+
+        _pending = false;
+        _samplesApplied++;
+        _consumer.accept(_screenX, _screenY);
+    }
+
+    /**
+     * Applies a pointer sample.
+     */
+    @FunctionalInterface
+    interface SampleConsumer
+    {
+        void accept(double screenX, double screenY);
+    }
+}
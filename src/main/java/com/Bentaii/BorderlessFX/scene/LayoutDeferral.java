@@ -0,0 +1,160 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Parent;
+
+/**
+ * Defers the layout of the content of the scene while a multi-step bounds change is in progress.
+ * <p>
+ * Every bounds update of the stage resizes the root, which lays out the whole content again on the
+ * next pulse. While a deferral is open the layout of the content is suspended through the
+ * {@link ManagedContent}, so the root neither resizes nor lays it out. Once the outermost deferral
+ * ends the suspension is resumed and the next pulse runs a single CSS and layout pass at the final
+ * size.
+ * </p>
+ * <p>
+ * The layout passes of the content are counted from its {@link Parent#needsLayoutProperty()}, and
+ * attributed to a deferred operation from its start until the first pulse after it ended.
+ * </p>
+ * Used internally by {@link DockableSceneController}.
+ */
+class LayoutDeferral
+{
+    private final ChangeListener<Boolean> _layoutListener = this::needsLayoutChanged;
+    private final ManagedContent _managedContent;
+    private Parent _content;
+    private int _depth;
+    /**
+     * Whether an operation ended and its layout pass is still to come
+     */
+    private boolean _settling;
+    private long _operationStart;
+    private long _layoutPasses;
+    private long _operations;
+    private long _operationLayoutPasses;
+
+    /**
+     * Constructor.
+     *
+     * @param managedContent The owner of the managed flag of the content.
+     */
+    LayoutDeferral(ManagedContent managedContent)
+    {
+        _managedContent = managedContent;
+    }
+
+    /**
+     * Sets the content whose layout passes are counted, the {@link ManagedContent} moves an open
+     * deferral to it.
+     */
+    void setContent(Parent content)
+    {
+        if (_content != null)
+        {
+            _content.needsLayoutProperty().removeListener(_layoutListener);
+        }
+
+        _content = content;
+
+        if (content != null)
+        {
+            content.needsLayoutProperty().addListener(_layoutListener);
+        }
+    }
+
+    /**
+     * @return {@code boolean} - true if a deferral is open otherwise false.
+     */
+    boolean isOpen()
+    {
+        return _depth > 0;
+    }
+
+    /**
+     * Opens a deferral, or a nested one if already open.
+     */
+    void begin()
+    {
+        if (_depth++ == 0)
+        {
+            settled();
+            _operationStart = _layoutPasses;
+            _managedContent.suspend();
+        }
+    }
+
+    /**
+     * Ends a deferral, the content is laid out on the next pulse once the outermost one ends.
+     *
+     * @return {@code boolean} - true if the outermost deferral ended otherwise false.
+     */
+    boolean end()
+    {
+        if (_depth == 0 || --_depth > 0)
+        {
+            return false;
+        }
+
+        _managedContent.resume();
+        _settling = true;
+        return true;
+    }
+
+    /**
+     * Called after the layout pass of every pulse, attributes the layout passes to the last ended
+     * operation.
+     */
+    void settled()
+    {
+        if (!_settling)
+        {
+            return;
+        }
+
+        _settling = false;
+        _operations++;
+        _operationLayoutPasses += _layoutPasses - _operationStart;
+    }
+
+    /**
+     * @return {@code long} - the number of layout passes of the content.
+     */
+    long getLayoutPasses()
+    {
+        return _layoutPasses;
+    }
+
+    /**
+     * @return {@code long} - the number of deferred operations which settled.
+     */
+    long getOperations()
+    {
+        return _operations;
+    }
+
+    /**
+     * @return {@code double} - the mean number of layout passes of the content per deferred
+     * operation, including the pass after it.
+     */
+    double getLayoutPassesPerOperation()
+    {
+        return _operations == 0 ? 0 : (double) _operationLayoutPasses / _operations;
+    }
+
+    void resetCounters()
+    {
+        _layoutPasses = 0;
+        _operations = 0;
+        _operationLayoutPasses = 0;
+        _operationStart = 0;
+    }
+
+    private void needsLayoutChanged(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue)
+    {
+        if (!newValue)
+        {
+            _layoutPasses++;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import javafx.scene.Parent;
+
+/**
+ * The single owner of the managed flag of the content of the scene.
+ * <p>
+ * Both the {@link LayoutDeferral} and the {@link ResizeSnapshot} take the content out of the layout
+ * of the root by making it unmanaged, and their suspensions can overlap in any order. They are
+ * counted here instead: the content is made unmanaged by the first suspension, and its own managed
+ * flag is only restored once the last one is resumed.
+ * </p>
+ * Used internally by {@link DockableSceneController}.
+ */
+class ManagedContent
+{
+    private Parent _content;
+    private int _suspensions;
+    /**
+     * The managed flag of the content before the first suspension
+     */
+    private boolean _managed;
+
+    /**
+     * @return The content of the scene, instance of {@link Parent}, or null.
+     */
+    Parent getContent()
+    {
+        return _content;
+    }
+
+    /**
+     * Sets the content of the scene, moving the open suspensions to it.
+     */
+    void setContent(Parent content)
+    {
+        if (_content != null && _suspensions > 0)
+        {
+            _content.setManaged(_managed);
+        }
+
+        _content = content;
+
+        if (content != null && _suspensions > 0)
+        {
+            _managed = content.isManaged();
+            content.setManaged(false);
+        }
+    }
+
+    /**
+     * @return {@code boolean} - true if the layout of the content is suspended otherwise false.
+     */
+    boolean isSuspended()
+    {
+        return _suspensions > 0;
+    }
+
+    /**
+     * Suspends the layout of the content, or nests another suspension if already suspended.
+     */
+    void suspend()
+    {
+        if (_suspensions++ == 0 && _content != null)
+        {
+            _managed = _content.isManaged();
+            _content.setManaged(false);
+        }
+    }
+
+    /**
+     * Resumes a suspension, the content is managed again once the last one is resumed.
+     */
+    void resume()
+    {
+        if (_suspensions == 0)
+        {
+            return;
+        }
+
+        if (--_suspensions == 0 && _content != null)
+        {
+            _content.setManaged(_managed);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.Bentaii.BorderlessFX.scene;
+
+/**
+ * How the resize edges of a {@link DockableScene} are implemented.
+ */
+public enum ResizeMode
+{
+    /**
+     * Eight panes along the edges and corners, each with its own cursor and event handlers. They
+     * can be styled through the {@code borderless-scene-resize-pane} style class.
+     */
+    PANES,
+    /**
+     * A single overlay which is only picked on its border and hit-tests the edges and corners
+     * mathematically. Keeps the node count and picking cost down in large scenes.
+     */
+    HIT_TEST
+}
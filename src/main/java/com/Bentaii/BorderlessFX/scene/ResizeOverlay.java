@@ -0,0 +1,166 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import java.util.function.BooleanSupplier;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.ResizeEdges;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+
+import javafx.scene.Cursor;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+/**
+ * A single node replacing the eight resize panes in {@link ResizeMode#HIT_TEST}.
+ * <p>
+ * The overlay covers the whole scene but has no background and a transparent border of the
+ * resize border width, so it is only picked on the edges. Which edge or corner is under the
+ * pointer is computed with {@link ResizeEdges}. Like the resize panes, whether the stage can be
+ * resized is only checked by the hit test, when the pointer moves over the overlay or presses it,
+ * so no edge is found on a maximized or non-resizable stage.
+ * </p>
+ * Used internally by {@link DockableSceneController}.
+ */
+class ResizeOverlay extends Region
+{
+    private final BooleanSupplier _resizeAllowed;
+    private double _border = 5;
+    private double _cornerSize = 8;
+    private Direction _direction;
+
+    /**
+     * @param resizeAllowed Whether resizing is currently allowed, only evaluated when the pointer
+     *                      moves over the overlay or presses it.
+     */
+    ResizeOverlay(BooleanSupplier resizeAllowed)
+    {
+        _resizeAllowed = resizeAllowed;
+        setId("resizeOverlay");
+        setPickOnBounds(false);
+        updateBorder();
+
+        addEventHandler(MouseEvent.MOUSE_MOVED, event -> setCursor(cursorOf(hitTest(event.getX(), event.getY()))));
+    }
+
+    /**
+     * @return The resize cursor of the given edge, instance of {@link Cursor}, or null.
+     */
+    static Cursor cursorOf(Direction direction)
+    {
+        if (direction == null)
+        {
+            return null;
+        }
+
+        switch (direction)
+        {
+            case TOP_LEFT:
+                return Cursor.NW_RESIZE;
+            case TOP:
+                return Cursor.N_RESIZE;
+            case TOP_RIGHT:
+                return Cursor.NE_RESIZE;
+            case LEFT:
+                return Cursor.W_RESIZE;
+            case RIGHT:
+                return Cursor.E_RESIZE;
+            case BOTTOM_LEFT:
+                return Cursor.SW_RESIZE;
+            case BOTTOM:
+                return Cursor.S_RESIZE;
+            default:
+                return Cursor.SE_RESIZE;
+        }
+    }
+
+    /**
+     * Sets the width of the edges and the size of the corners.
+     */
+    void setBorderWidths(double border, double cornerSize)
+    {
+        _border = border;
+        _cornerSize = cornerSize;
+        updateBorder();
+    }
+
+    double getBorderWidth()
+    {
+        return _border;
+    }
+
+    double getCornerSize()
+    {
+        return _cornerSize;
+    }
+
+    /**
+     * Returns the edge at the given point.
+     *
+     * @param x The x coordinate relative to the overlay.
+     * @param y The y coordinate relative to the overlay.
+     * @return The direction of the edge, instance of {@link Direction}, or null if resizing is not
+     * allowed or the point is not on an edge.
+     */
+    Direction hitTest(double x, double y)
+    {
+        if (!_resizeAllowed.getAsBoolean())
+        {
+            return null;
+        }
+
+        return ResizeEdges.hitTest(x, y, getWidth(), getHeight(), _border, _cornerSize);
+    }
+
+    /**
+     * @return The edge that was pressed last, instance of {@link Direction}, or null.
+     */
+    Direction getDirection()
+    {
+        return _direction;
+    }
+
+    void setDirection(Direction direction)
+    {
+        _direction = direction;
+    }
+
+    /**
+     * Converts an x coordinate of the overlay to the coordinate relative to the given edge, as if
+     * the edge was its own pane.
+     */
+    double toEdgeX(Direction direction, double x)
+    {
+        if (direction.getHDirection() != HDirection.RIGHT)
+        {
+            return x;
+        }
+
+        return x - getWidth() + (direction.getVDirection() == null ? _border : _cornerSize);
+    }
+
+    /**
+     * Converts a y coordinate of the overlay to the coordinate relative to the given edge, as if
+     * the edge was its own pane.
+     */
+    double toEdgeY(Direction direction, double y)
+    {
+        if (direction.getVDirection() != VDirection.BOTTOM)
+        {
+            return y;
+        }
+
+        return y - getHeight() + (direction.getHDirection() == null ? _border : _cornerSize);
+    }
+
+    private void updateBorder()
+    {
+        setBorder(new Border(new BorderStroke(Color.TRANSPARENT, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, new BorderWidths(_border))));
+    }
+}
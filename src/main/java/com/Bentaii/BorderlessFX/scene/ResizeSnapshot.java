@@ -0,0 +1,252 @@
+package com.Bentaii.BorderlessFX.scene;
+
+import java.util.concurrent.TimeUnit;
+
+import com.Bentaii.BorderlessFX.metrics.WindowMetrics;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+/**
+ * Replaces the content of the scene with a scaled snapshot of it during a resize drag.
+ * <p>
+ * Every stage resize lays out and renders the whole content, which heavy content (e.g. charts and
+ * tables) cannot do at the rate of the pointer. While enabled, the content is captured once when
+ * the drag starts and an {@link ImageView} stretched to the scene is shown in its place. The
+ * content is hidden and its layout suspended through the {@link ManagedContent}, so resizing the
+ * root neither lays it out nor renders it. It is laid out at its final size when the drag ends,
+ * and optionally every given interval during the drag, refreshing the snapshot.
+ * </p>
+ * <p>
+ * Whether enabled or not, the pulse intervals of a resize drag are recorded in the metrics, see
+ * {@link WindowMetrics#getResizePulseIntervals()}.
+ * </p>
+ * Used internally by {@link DockableSceneController}.
+ */
+class ResizeSnapshot extends AnimationTimer
+{
+    private final AnchorPane _root;
+    private final ManagedContent _managedContent;
+    private final ImageView _placeholder = new ImageView();
+    private final SnapshotParameters _parameters = new SnapshotParameters();
+    private WritableImage _image;
+    private boolean _enabled;
+    private long _layoutIntervalNanos;
+    private WindowMetrics _metrics;
+    private Node _content;
+    private boolean _running;
+    private long _lastPulse;
+    private long _lastLayout;
+    private long _snapshots;
+
+    /**
+     * Constructor.
+     *
+     * @param root           The root of the scene.
+     * @param managedContent The owner of the managed flag of the content.
+     */
+    ResizeSnapshot(AnchorPane root, ManagedContent managedContent)
+    {
+        _root = root;
+        _managedContent = managedContent;
+        _parameters.setFill(Color.TRANSPARENT);
+        _placeholder.setManaged(false);
+        _placeholder.setMouseTransparent(true);
+        _placeholder.fitWidthProperty().bind(root.widthProperty());
+        _placeholder.fitHeightProperty().bind(root.heightProperty());
+    }
+
+    boolean isEnabled()
+    {
+        return _enabled;
+    }
+
+    /**
+     * Sets whether the content is replaced by a snapshot during resize drags, the snapshot image
+     * is released when disabled.
+     */
+    void setEnabled(boolean value)
+    {
+        _enabled = value;
+
+        if (!value && _content == null)
+        {
+            _image = null;
+        }
+    }
+
+    long getLayoutIntervalMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_layoutIntervalNanos);
+    }
+
+    /**
+     * Sets how often the content is laid out and captured again during a drag, 0 to only lay it out
+     * when the drag ends.
+     */
+    void setLayoutIntervalMillis(long millis)
+    {
+        if (millis < 0)
+        {
+            throw new IllegalArgumentException("The interval cannot be negative: " + millis);
+        }
+
+        _layoutIntervalNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Sets the metrics recording the pulse intervals, null to disable.
+     */
+    void setMetrics(WindowMetrics metrics)
+    {
+        _metrics = metrics;
+    }
+
+    /**
+     * @return {@code long} - the number of snapshots taken.
+     */
+    long getSnapshots()
+    {
+        return _snapshots;
+    }
+
+    void resetCounters()
+    {
+        _snapshots = 0;
+    }
+
+    /**
+     * Starts a resize drag, replacing the content with its snapshot if enabled. Does nothing if
+     * already started.
+     */
+    void begin()
+    {
+        if (_running)
+        {
+            return;
+        }
+
+        Node content = _managedContent.getContent();
+
+        if (_enabled && _content == null && content != null && _root.getScene() != null)
+        {
+            if (content.getLayoutBounds().getWidth() > 0 && content.getLayoutBounds().getHeight() > 0)
+            {
+                _content = content;
+                capture();
+                _root.getChildren().add(_root.getChildren().indexOf(content) + 1, _placeholder);
+                _managedContent.suspend();
+                content.setVisible(false);
+            }
+        }
+
+        if (_content != null || _metrics != null)
+        {
+            _running = true;
+            _lastPulse = 0;
+            _lastLayout = System.nanoTime();
+            start();
+        }
+    }
+
+    /**
+     * Ends the resize drag, the content is shown again and laid out once at the final size on the
+     * next pulse.
+     */
+    void end()
+    {
+        if (!_running)
+        {
+            return;
+        }
+
+        stop();
+        _running = false;
+
+        if (_content == null)
+        {
+            return;
+        }
+
+        _root.getChildren().remove(_placeholder);
+        _content.setVisible(true);
+        _managedContent.resume();
+        _content = null;
+
+        if (!_enabled)
+        {
+            _image = null;
+        }
+    }
+
+    @Override
+    public void handle(long now)
+    {
+        if (_metrics != null)
+        {
+            if (_lastPulse != 0)
+            {
+                _metrics.resizePulse(now - _lastPulse);
+            }
+
+            _lastPulse = now;
+        }
+
+        if (_content != null && _layoutIntervalNanos > 0 && now - _lastLayout >= _layoutIntervalNanos)
+        {
+            _lastLayout = now;
+            Scene scene = _root.getScene();
+
+            // Unmanaged, the content keeps its size until resized explicitly
+            _content.resizeRelocate(0, 0, scene.getWidth(), scene.getHeight());
+            _content.setVisible(true);
+            capture();
+            _content.setVisible(false);
+        }
+    }
+
+    /**
+     * Renders the content into the snapshot image at the output scale of the window, reusing the
+     * image while it is large enough, and the transform and viewport while they are unchanged.
+     */
+    private void capture()
+    {
+        Window window = _root.getScene().getWindow();
+        double scaleX = window != null ? window.getOutputScaleX() : 1;
+        double scaleY = window != null ? window.getOutputScaleY() : 1;
+        double width = _content.getLayoutBounds().getWidth() * scaleX;
+        double height = _content.getLayoutBounds().getHeight() * scaleY;
+
+        if (_image != null && (_image.getWidth() < width || _image.getHeight() < height))
+        {
+            _image = null;
+        }
+
+        Transform transform = _parameters.getTransform();
+
+        if (transform == null || transform.getMxx() != scaleX || transform.getMyy() != scaleY)
+        {
+            _parameters.setTransform(Transform.scale(scaleX, scaleY));
+        }
+
+        _image = _content.snapshot(_parameters, _image);
+        _placeholder.setImage(_image);
+        Rectangle2D viewport = _placeholder.getViewport();
+
+        if (viewport == null || viewport.getWidth() != width || viewport.getHeight() != height)
+        {
+            _placeholder.setViewport(new Rectangle2D(0, 0, width, height));
+        }
+
+        _snapshots++;
+    }
+}
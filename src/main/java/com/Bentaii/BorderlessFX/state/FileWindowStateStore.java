@@ -0,0 +1,313 @@
+package com.Bentaii.BorderlessFX.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+/**
+ * A {@link WindowStateStore} keeping every state in memory and persisting them to a compact binary
+ * file.
+ * <p>
+ * The file is read once by the constructor, so {@link #load(String)} never touches the disk.
+ * Saves are debounced: the file is written on a background thread once no state was saved for the
+ * debounce delay, so a drag only writes the file once after it ends. The file is replaced
+ * atomically where the file system supports it, a missing or unreadable file starts empty.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     FileWindowStateStore store = new FileWindowStateStore(Path.of(System.getProperty("user.home"), ".myapp", "windows.bin"));
+ *     dockableScene.setWindowStateStore(store, "main");
+ *     primaryStage.show();
+ *     ...
+ *     // In Application.stop()
+ *     store.close();
+ * }
+ * </pre>
+ */
+public class FileWindowStateStore implements WindowStateStore, AutoCloseable
+{
+    /**
+     * The default delay without saves after which the file is written.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+    private static final int MAGIC = 0x42535753;
+    private static final int VERSION = 1;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Path _file;
+    private final long _debounceNanos;
+    private final Map<String, WindowState> _states = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor _executor;
+    private final AtomicBoolean _writeScheduled = new AtomicBoolean();
+    private volatile boolean _closed;
+    private volatile long _lastSave;
+    private volatile long _writes;
+    private volatile IOException _lastError;
+
+    /**
+     * Creates a store with the {@link #DEFAULT_DEBOUNCE_MILLIS default debounce delay}.
+     *
+     * @param file The file to persist the states to, its parent directories are created if needed.
+     */
+    public FileWindowStateStore(Path file)
+    {
+        this(file, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a store and reads the saved states.
+     *
+     * @param file           The file to persist the states to, its parent directories are created
+     *                       if needed.
+     * @param debounceMillis The delay without saves after which the file is written.
+     */
+    public FileWindowStateStore(Path file, long debounceMillis)
+    {
+        _file = file;
+        _debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        _executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "BorderlessSceneFX-WindowStateStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A delayed write still pending on close is cancelled and written by close() instead
+        _executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        read();
+    }
+
+    @Override
+    public WindowState load(String key)
+    {
+        return _states.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ignored once the store is {@link #close() closed}.
+     * </p>
+     */
+    @Override
+    public void save(String key, WindowState state)
+    {
+        if (_closed)
+        {
+            return;
+        }
+
+        _states.put(key, state);
+        _lastSave = System.nanoTime();
+
+        if (_writeScheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                _executor.schedule(this::writeWhenQuiet, _debounceNanos, TimeUnit.NANOSECONDS);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // Closed concurrently, the write is still pending and made by close()
+            }
+        }
+    }
+
+    /**
+     * Writes the file now if a write is pending, blocking until it is written.
+     */
+    public void flush()
+    {
+        if (_writeScheduled.compareAndSet(true, false))
+        {
+            write();
+        }
+    }
+
+    /**
+     * Stops the background thread, waiting for a write in progress, then writes any pending state.
+     * Later saves are ignored.
+     */
+    @Override
+    public void close()
+    {
+        _closed = true;
+        _executor.shutdown();
+
+        try
+        {
+            _executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        flush();
+    }
+
+    /**
+     * @return {@code long} - the number of times the file was written.
+     */
+    public long getWrites()
+    {
+        return _writes;
+    }
+
+    /**
+     * @return The error of the last failed write, instance of {@link IOException}, or null if the
+     * last write succeeded.
+     */
+    public IOException getLastError()
+    {
+        return _lastError;
+    }
+
+    /**
+     * Writes the file once no state was saved for the debounce delay, otherwise waits for the rest
+     * of the delay.
+     */
+    private void writeWhenQuiet()
+    {
+        long remaining = _lastSave + _debounceNanos - System.nanoTime();
+
+        if (remaining > 0)
+        {
+            if (!_executor.isShutdown())
+            {
+                // Otherwise left pending for close() to write
+                _executor.schedule(this::writeWhenQuiet, remaining, TimeUnit.NANOSECONDS);
+            }
+
+            return;
+        }
+
+        // Cleared before writing, so a save made during the write schedules another one
+        if (_writeScheduled.compareAndSet(true, false))
+        {
+            write();
+        }
+    }
+
+    private synchronized void write()
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + _states.size() * 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            Map<String, WindowState> states = new HashMap<>(_states);
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(states.size());
+
+            for (Map.Entry<String, WindowState> entry : states.entrySet())
+            {
+                WindowState state = entry.getValue();
+
+                out.writeUTF(entry.getKey());
+                writeRect(out, state.getBounds());
+                writeRect(out, state.getRestoreBounds());
+                writeRect(out, state.getScreenBounds());
+                out.writeByte(state.getSnapDirection() == null ? -1 : state.getSnapDirection().ordinal());
+                out.writeByte((state.isSnapped() ? 1 : 0) | (state.isMaximized() ? 2 : 0));
+            }
+
+            Path parent = _file.toAbsolutePath().getParent();
+
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+
+            Path temp = _file.resolveSibling(_file.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+
+            try
+            {
+                Files.move(temp, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp, _file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            _writes++;
+            _lastError = null;
+        }
+        catch (IOException e)
+        {
+            _lastError = e;
+        }
+    }
+
+    private void read()
+    {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(_file))))
+        {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION)
+            {
+                return;
+            }
+
+            int count = in.readInt();
+            Map<String, WindowState> states = new HashMap<>();
+
+            for (int i = 0; i < count; i++)
+            {
+                String key = in.readUTF();
+                Rect bounds = readRect(in);
+                Rect restoreBounds = readRect(in);
+                Rect screenBounds = readRect(in);
+                int direction = in.readByte();
+                int flags = in.readByte();
+
+                states.put(key, new WindowState(bounds, restoreBounds, screenBounds, direction >= 0 && direction < DIRECTIONS.length ? DIRECTIONS[direction] : null,
+                    (flags & 1) != 0, (flags & 2) != 0));
+            }
+
+            // Only use a fully read file
+            _states.putAll(states);
+        }
+        catch (NoSuchFileException e)
+        {
+            // Nothing saved yet
+        }
+        catch (IOException e)
+        {
+            // A truncated or corrupt file is replaced by the next write
+            _lastError = e;
+        }
+    }
+
+    private static void writeRect(DataOutputStream out, Rect rect) throws IOException
+    {
+        out.writeDouble(rect.getX());
+        out.writeDouble(rect.getY());
+        out.writeDouble(rect.getWidth());
+        out.writeDouble(rect.getHeight());
+    }
+
+    private static Rect readRect(DataInputStream in) throws IOException
+    {
+        return new Rect(in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+    }
+}
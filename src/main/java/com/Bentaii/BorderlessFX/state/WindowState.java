@@ -0,0 +1,88 @@
+package com.Bentaii.BorderlessFX.state;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+/**
+ * An immutable snapshot of the state of a window, persisted by a {@link WindowStateStore}.
+ * <p>
+ * Holds the bounds of the window, the bounds it is restored to when unsnapped or unmaximized, the
+ * visual bounds of the screen it was on, which identify that screen, and whether and how it is
+ * snapped or maximized.
+ * </p>
+ */
+public final class WindowState
+{
+    private final Rect _bounds;
+    private final Rect _restoreBounds;
+    private final Rect _screenBounds;
+    private final Direction _snapDirection;
+    private final boolean _snapped;
+    private final boolean _maximized;
+
+    /**
+     * Constructor, the rectangles are copied.
+     *
+     * @param bounds        The bounds of the window.
+     * @param restoreBounds The bounds the window is restored to.
+     * @param screenBounds  The visual bounds of the screen of the window.
+     * @param snapDirection The direction the window is snapped to, instance of {@link Direction},
+     *                      or null if it is not snapped or snapped vertically.
+     * @param snapped       Whether the window is snapped.
+     * @param maximized     Whether the window is maximized.
+     */
+    public WindowState(Rect bounds, Rect restoreBounds, Rect screenBounds, Direction snapDirection, boolean snapped, boolean maximized)
+    {
+        _bounds = new Rect(bounds);
+        _restoreBounds = new Rect(restoreBounds);
+        _screenBounds = new Rect(screenBounds);
+        _snapDirection = snapDirection;
+        _snapped = snapped;
+        _maximized = maximized;
+    }
+
+    /**
+     * @return A copy of the bounds of the window, instance of {@link Rect}.
+     */
+    public Rect getBounds()
+    {
+        return new Rect(_bounds);
+    }
+
+    /**
+     * @return A copy of the bounds the window is restored to when unsnapped or unmaximized,
+     * instance of {@link Rect}.
+     */
+    public Rect getRestoreBounds()
+    {
+        return new Rect(_restoreBounds);
+    }
+
+    /**
+     * @return A copy of the visual bounds of the screen the window was on, instance of
+     * {@link Rect}.
+     */
+    public Rect getScreenBounds()
+    {
+        return new Rect(_screenBounds);
+    }
+
+    /**
+     * @return The direction the window is snapped to, instance of {@link Direction}, or null if it
+     * is not snapped or snapped vertically.
+     */
+    public Direction getSnapDirection()
+    {
+        return _snapDirection;
+    }
+
+    public boolean isSnapped()
+    {
+        return _snapped;
+    }
+
+    public boolean isMaximized()
+    {
+        return _maximized;
+    }
+}
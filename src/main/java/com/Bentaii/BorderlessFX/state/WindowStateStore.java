@@ -0,0 +1,29 @@
+package com.Bentaii.BorderlessFX.state;
+
+/**
+ * Persists the {@link WindowState} of windows between launches, each one under a key chosen by
+ * the application.
+ * <p>
+ * {@link #load(String)} is called on the JavaFX Application Thread before the window is shown and
+ * {@link #save(String, WindowState)} whenever the window state changes, possibly once per pulse
+ * during a drag. Both must therefore be cheap, implementations should keep the states in memory
+ * and write them in the background.
+ * </p>
+ */
+public interface WindowStateStore
+{
+
+    /**
+     * @param key The key of the window.
+     * @return The saved state, instance of {@link WindowState}, or null if none was saved.
+     */
+    WindowState load(String key);
+
+    /**
+     * Saves the state of a window.
+     *
+     * @param key   The key of the window.
+     * @param state The state, instance of {@link WindowState}.
+     */
+    void save(String key, WindowState state);
+}
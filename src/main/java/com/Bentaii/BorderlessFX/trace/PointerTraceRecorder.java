@@ -0,0 +1,263 @@
+package com.Bentaii.BorderlessFX.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.Bentaii.BorderlessFX.core.WindowHost;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Records the pointer inputs of a window and its bounds into a memory-mapped ring buffer file,
+ * to be replayed without a display by a {@link TraceReplayer}.
+ * <p>
+ * The file starts with a header holding the screens and the settings the inputs depend on,
+ * followed by fixed size records. Once the capacity is reached the oldest records are overwritten,
+ * so a recorder can stay enabled in the field and keep the last moments before a stutter. Each
+ * record is a few absolute writes to the mapped buffer: recording neither allocates nor makes a
+ * system call, the operating system writes the pages back to the file.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     PointerTraceRecorder recorder = new PointerTraceRecorder(Path.of("drag.trace"), PointerTraceRecorder.DEFAULT_CAPACITY);
+ *     dockableScene.setTraceRecorder(recorder);
+ *     ...
+ *     dockableScene.setTraceRecorder(null);
+ *     recorder.close();
+ *
+ *     TraceReplayer replayer = new TraceReplayer(RecordedTrace.read(Path.of("drag.trace")));
+ *     replayer.replay();
+ *     System.out.println(replayer.getLatencies(TraceEventType.MOVE_DRAGGED));
+ * }
+ * </pre>
+ * Not thread-safe, records must come from the thread of the state machine.
+ */
+public class PointerTraceRecorder implements AutoCloseable
+{
+    /**
+     * The default number of records kept, about 6 MB.
+     */
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    static final int MAGIC = 0x42535054;
+    static final int VERSION = 1;
+    static final int MAX_SCREENS = 16;
+    static final int ARGUMENTS = 6;
+
+    static final int CAPACITY_OFFSET = 8;
+    static final int SCREEN_COUNT_OFFSET = 12;
+    static final int WRITTEN_OFFSET = 16;
+    static final int SETTINGS_OFFSET = 24;
+    static final int SCREENS_OFFSET = 88;
+    static final int HEADER_SIZE = SCREENS_OFFSET + MAX_SCREENS * 32;
+
+    static final int RECORD_FLAGS_OFFSET = 4;
+    static final int RECORD_NANOS_OFFSET = 8;
+    static final int RECORD_ARGUMENTS_OFFSET = 16;
+    static final int RECORD_BOUNDS_OFFSET = RECORD_ARGUMENTS_OFFSET + ARGUMENTS * 8;
+    static final int RECORD_SIZE = RECORD_BOUNDS_OFFSET + 32;
+
+    static final int DIRECTION_MASK = 0x3;
+    static final int V_DIRECTION_SHIFT = 2;
+    static final int PRIMARY = 1 << 4;
+    static final int MAXIMIZED = 1 << 5;
+    static final int SNAPPED = 1 << 6;
+    static final int MINIMIZED = 1 << 7;
+    static final int CLICK_COUNT_SHIFT = 8;
+
+    private static final TraceEventType[] TYPES = TraceEventType.values();
+
+    private final FileChannel _channel;
+    private final MappedByteBuffer _buffer;
+    private final int _capacity;
+    private long _written;
+    private long _startNanos;
+
+    /**
+     * Creates the trace file, replacing an existing one, and maps it.
+     *
+     * @param file     The trace file.
+     * @param capacity The number of records kept before the oldest ones are overwritten.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public PointerTraceRecorder(Path file, int capacity) throws IOException
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+        }
+
+        _capacity = capacity;
+        _channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+        try
+        {
+            _buffer = _channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            _channel.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Combines the flags of an input.
+     *
+     * @param hDirection The horizontal direction of a resize edge, instance of {@link HDirection},
+     *                   or null.
+     * @param vDirection The vertical direction of a resize edge, instance of {@link VDirection},
+     *                   or null.
+     * @param primary    true if the primary button was released or clicked.
+     * @param clickCount The number of clicks.
+     * @return {@code int} - the flags.
+     */
+    public static int flags(HDirection hDirection, VDirection vDirection, boolean primary, int clickCount)
+    {
+        return (hDirection == null ? 0 : hDirection.ordinal() + 1) | (vDirection == null ? 0 : vDirection.ordinal() + 1) << V_DIRECTION_SHIFT
+            | (primary ? PRIMARY : 0) | Math.max(0, clickCount) << CLICK_COUNT_SHIFT;
+    }
+
+    /**
+     * Starts a new trace: writes the header and drops the previous records. Called by
+     * {@link com.Bentaii.BorderlessFX.core.WindowStateMachine#setTraceRecorder(PointerTraceRecorder)}.
+     *
+     * @param topology        The screens, the primary screen is stored first.
+     * @param host            The window, instance of {@link WindowHost}.
+     * @param allowance       The amount of space from an edge that triggers a snap.
+     * @param cornerAllowance The amount of space from a corner that triggers a quarter tile.
+     */
+    public void begin(ScreenTopology topology, WindowHost host, double allowance, double cornerAllowance)
+    {
+        MappedByteBuffer buffer = _buffer;
+        int count = Math.min(topology.getScreenCount(), MAX_SCREENS);
+        int primary = topology.getPrimaryIndex();
+
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, _capacity);
+        buffer.putInt(SCREEN_COUNT_OFFSET, count);
+        buffer.putLong(WRITTEN_OFFSET, 0);
+        buffer.putDouble(SETTINGS_OFFSET, allowance);
+        buffer.putDouble(SETTINGS_OFFSET + 8, cornerAllowance);
+        buffer.putDouble(SETTINGS_OFFSET + 16, host.getPreviewMinWidth());
+        buffer.putDouble(SETTINGS_OFFSET + 24, host.getMinWidth());
+        buffer.putDouble(SETTINGS_OFFSET + 32, host.getMaxWidth());
+        buffer.putDouble(SETTINGS_OFFSET + 40, host.getMinHeight());
+        buffer.putDouble(SETTINGS_OFFSET + 48, host.getMaxHeight());
+
+        // A detached topology treats the first screen as the primary one
+        for (int i = 0; i < count; i++)
+        {
+            Rectangle2D screen = topology.getVisualBounds(screenIndex(i, primary));
+            int offset = SCREENS_OFFSET + i * 32;
+
+            buffer.putDouble(offset, screen.getMinX());
+            buffer.putDouble(offset + 8, screen.getMinY());
+            buffer.putDouble(offset + 16, screen.getWidth());
+            buffer.putDouble(offset + 24, screen.getHeight());
+        }
+
+        _written = 0;
+        _startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records an input with the bounds and state of the window before it is handled.
+     *
+     * @param type  The input, instance of {@link TraceEventType}.
+     * @param flags The flags of the input, see {@link #flags(HDirection, VDirection, boolean, int)}.
+     * @param a0    The first argument.
+     * @param a1    The second argument.
+     * @param a2    The third argument.
+     * @param a3    The fourth argument.
+     * @param a4    The fifth argument.
+     * @param a5    The sixth argument.
+     * @param host  The window, instance of {@link WindowHost}.
+     */
+    @SuppressWarnings("java:S107")
+    public void record(TraceEventType type, int flags, double a0, double a1, double a2, double a3, double a4, double a5, WindowHost host)
+    {
+        MappedByteBuffer buffer = _buffer;
+        int offset = HEADER_SIZE + (int) (_written % _capacity) * RECORD_SIZE;
+        int state = (host.isMaximized() ? MAXIMIZED : 0) | (host.isSnapped() ? SNAPPED : 0) | (host.isMinimized() ? MINIMIZED : 0);
+
+        buffer.put(offset, (byte) type.ordinal());
+        buffer.putInt(offset + RECORD_FLAGS_OFFSET, flags | state);
+        buffer.putLong(offset + RECORD_NANOS_OFFSET, System.nanoTime() - _startNanos);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET, a0);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET + 8, a1);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET + 16, a2);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET + 24, a3);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET + 32, a4);
+        buffer.putDouble(offset + RECORD_ARGUMENTS_OFFSET + 40, a5);
+        buffer.putDouble(offset + RECORD_BOUNDS_OFFSET, host.getX());
+        buffer.putDouble(offset + RECORD_BOUNDS_OFFSET + 8, host.getY());
+        buffer.putDouble(offset + RECORD_BOUNDS_OFFSET + 16, host.getWidth());
+        buffer.putDouble(offset + RECORD_BOUNDS_OFFSET + 24, host.getHeight());
+
+        // Published last, so a reader never sees a partially written record
+        buffer.putLong(WRITTEN_OFFSET, ++_written);
+    }
+
+    /**
+     * @return {@code long} - the number of records written since the trace began, including the
+     * overwritten ones.
+     */
+    public long getWritten()
+    {
+        return _written;
+    }
+
+    public int getCapacity()
+    {
+        return _capacity;
+    }
+
+    /**
+     * Forces the records to the file, only needed to read the trace while still recording.
+     */
+    public void flush()
+    {
+        _buffer.force();
+    }
+
+    /**
+     * Forces the records to the file and closes it. The mapping itself is released once the
+     * recorder is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        flush();
+        _channel.close();
+    }
+
+    /**
+     * @param position     The position of a screen in the header.
+     * @param primaryIndex The index of the primary screen in the topology.
+     * @return {@code int} - the index in the topology of the screen stored at the position: the
+     * primary screen first, then the other ones in their order.
+     */
+    static int screenIndex(int position, int primaryIndex)
+    {
+        return position == 0 ? primaryIndex : position <= primaryIndex ? position - 1 : position;
+    }
+
+    static TraceEventType typeOf(int ordinal)
+    {
+        return ordinal >= 0 && ordinal < TYPES.length ? TYPES[ordinal] : null;
+    }
+}
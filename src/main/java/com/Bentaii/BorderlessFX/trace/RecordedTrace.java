@@ -0,0 +1,250 @@
+package com.Bentaii.BorderlessFX.trace;
+
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.ARGUMENTS;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.CAPACITY_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.HEADER_SIZE;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.MAGIC;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.MAX_SCREENS;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.RECORD_ARGUMENTS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.RECORD_BOUNDS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.RECORD_FLAGS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.RECORD_NANOS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.RECORD_SIZE;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.SCREENS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.SCREEN_COUNT_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.SETTINGS_OFFSET;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.VERSION;
+import static com.Bentaii.BorderlessFX.trace.PointerTraceRecorder.WRITTEN_OFFSET;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A trace written by a {@link PointerTraceRecorder}, read into flat primitive arrays in
+ * chronological order.
+ */
+public final class RecordedTrace
+{
+    private final Rectangle2D[] _screens;
+    private final double[] _settings;
+    private final TraceEventType[] _types;
+    private final int[] _flags;
+    private final long[] _nanos;
+    private final double[] _arguments;
+    private final double[] _bounds;
+
+    private RecordedTrace(Rectangle2D[] screens, double[] settings, int count)
+    {
+        _screens = screens;
+        _settings = settings;
+        _types = new TraceEventType[count];
+        _flags = new int[count];
+        _nanos = new long[count];
+        _arguments = new double[count * ARGUMENTS];
+        _bounds = new double[count * 4];
+    }
+
+    /**
+     * Reads a trace file, a trace which wrapped around starts at its oldest kept record.
+     *
+     * @param file The trace file.
+     * @return The trace, instance of {@link RecordedTrace}.
+     * @throws IOException if the file cannot be read or is not a trace.
+     */
+    public static RecordedTrace read(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (channel.size() < HEADER_SIZE)
+            {
+                throw new IOException("Not a pointer trace: " + file);
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            {
+                throw new IOException("Not a pointer trace: " + file);
+            }
+
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int screenCount = buffer.getInt(SCREEN_COUNT_OFFSET);
+            long written = buffer.getLong(WRITTEN_OFFSET);
+
+            if (capacity <= 0 || screenCount <= 0 || screenCount > MAX_SCREENS || written < 0 || channel.size() < HEADER_SIZE + (long) capacity * RECORD_SIZE)
+            {
+                throw new IOException("Corrupt pointer trace: " + file);
+            }
+
+            Rectangle2D[] screens = new Rectangle2D[screenCount];
+
+            for (int i = 0; i < screenCount; i++)
+            {
+                int offset = SCREENS_OFFSET + i * 32;
+                screens[i] = new Rectangle2D(buffer.getDouble(offset), buffer.getDouble(offset + 8), buffer.getDouble(offset + 16), buffer.getDouble(offset + 24));
+            }
+
+            double[] settings = new double[7];
+
+            for (int i = 0; i < settings.length; i++)
+            {
+                settings[i] = buffer.getDouble(SETTINGS_OFFSET + i * 8);
+            }
+
+            int count = (int) Math.min(written, capacity);
+            long first = written - count;
+            RecordedTrace trace = new RecordedTrace(screens, settings, count);
+
+            for (int i = 0; i < count; i++)
+            {
+                int offset = HEADER_SIZE + (int) ((first + i) % capacity) * RECORD_SIZE;
+                TraceEventType type = PointerTraceRecorder.typeOf(buffer.get(offset));
+
+                if (type == null)
+                {
+                    throw new IOException("Corrupt pointer trace record " + i + ": " + file);
+                }
+
+                trace._types[i] = type;
+                trace._flags[i] = buffer.getInt(offset + RECORD_FLAGS_OFFSET);
+                trace._nanos[i] = buffer.getLong(offset + RECORD_NANOS_OFFSET);
+
+                for (int k = 0; k < ARGUMENTS; k++)
+                {
+                    trace._arguments[i * ARGUMENTS + k] = buffer.getDouble(offset + RECORD_ARGUMENTS_OFFSET + k * 8);
+                }
+                for (int k = 0; k < 4; k++)
+                {
+                    trace._bounds[i * 4 + k] = buffer.getDouble(offset + RECORD_BOUNDS_OFFSET + k * 8);
+                }
+            }
+
+            return trace;
+        }
+    }
+
+    /**
+     * @return The visual bounds of the screens, the primary screen first, an array of
+     * {@link Rectangle2D}.
+     */
+    public Rectangle2D[] getScreens()
+    {
+        return _screens.clone();
+    }
+
+    public double getAllowance()
+    {
+        return _settings[0];
+    }
+
+    public double getCornerAllowance()
+    {
+        return _settings[1];
+    }
+
+    public double getPreviewMinWidth()
+    {
+        return _settings[2];
+    }
+
+    public double getMinWidth()
+    {
+        return _settings[3];
+    }
+
+    public double getMaxWidth()
+    {
+        return _settings[4];
+    }
+
+    public double getMinHeight()
+    {
+        return _settings[5];
+    }
+
+    public double getMaxHeight()
+    {
+        return _settings[6];
+    }
+
+    /**
+     * @return {@code int} - the number of recorded inputs.
+     */
+    public int size()
+    {
+        return _types.length;
+    }
+
+    public TraceEventType getType(int index)
+    {
+        return _types[index];
+    }
+
+    /**
+     * @param index The index of the input.
+     * @return {@code long} - the time of the input in nanoseconds since the trace began.
+     */
+    public long getNanos(int index)
+    {
+        return _nanos[index];
+    }
+
+    /**
+     * @param index    The index of the input.
+     * @param argument The index of the argument, see {@link TraceEventType}.
+     * @return {@code double} - the argument.
+     */
+    public double getArgument(int index, int argument)
+    {
+        return _arguments[index * ARGUMENTS + argument];
+    }
+
+    int getFlags(int index)
+    {
+        return _flags[index];
+    }
+
+    public boolean isPrimary(int index)
+    {
+        return (_flags[index] & PointerTraceRecorder.PRIMARY) != 0;
+    }
+
+    public int getClickCount(int index)
+    {
+        return _flags[index] >>> PointerTraceRecorder.CLICK_COUNT_SHIFT;
+    }
+
+    /**
+     * @param index The index of the input.
+     * @return {@code boolean} - true if the window was maximized before the input otherwise false.
+     */
+    public boolean isMaximized(int index)
+    {
+        return (_flags[index] & PointerTraceRecorder.MAXIMIZED) != 0;
+    }
+
+    /**
+     * @param index The index of the input.
+     * @return {@code boolean} - true if the window was snapped before the input otherwise false.
+     */
+    public boolean isSnapped(int index)
+    {
+        return (_flags[index] & PointerTraceRecorder.SNAPPED) != 0;
+    }
+
+    /**
+     * @param index The index of the input.
+     * @param bound 0 to 3 for the x coordinate, the y coordinate, the width and the height of the
+     *              window before the input.
+     * @return {@code double} - the bound.
+     */
+    public double getBounds(int index, int bound)
+    {
+        return _bounds[index * 4 + bound];
+    }
+}
@@ -0,0 +1,44 @@
+package com.Bentaii.BorderlessFX.trace;
+
+/**
+ * The inputs of a {@link com.Bentaii.BorderlessFX.core.WindowStateMachine} recorded by a
+ * {@link PointerTraceRecorder}, each one storing the arguments of the matching state machine
+ * method.
+ */
+public enum TraceEventType
+{
+    /**
+     * The scene x and y, the screen x and the height of the move control.
+     */
+    MOVE_PRESSED,
+    /**
+     * The screen x and y of a coalesced drag sample, applied once per pulse.
+     */
+    MOVE_DRAGGED,
+    /**
+     * The screen x and y, and whether the primary button was released.
+     */
+    MOVE_RELEASED,
+    /**
+     * Whether the primary button was clicked and the click count.
+     */
+    MOVE_CLICKED,
+    /**
+     * No arguments, a resize edge has been pressed or started dragging.
+     */
+    RESIZE_STARTED,
+    /**
+     * The directions of the edge, the screen, local and scene x and y.
+     */
+    RESIZE_DRAGGED,
+    /**
+     * The vertical direction of the edge, the screen x and y, and whether the primary button was
+     * released.
+     */
+    RESIZE_RELEASED,
+    /**
+     * The vertical direction of the edge, whether the primary button was clicked and the click
+     * count.
+     */
+    RESIZE_CLICKED
+}
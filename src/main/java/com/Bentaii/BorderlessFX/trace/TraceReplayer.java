@@ -0,0 +1,216 @@
+package com.Bentaii.BorderlessFX.trace;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.core.WindowStateMachine;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.metrics.LatencyHistogram;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+/**
+ * Replays a {@link RecordedTrace} through a {@link WindowStateMachine} driving a
+ * {@link HeadlessWindowHost}, timing every input.
+ * <p>
+ * The window is put back to its recorded bounds and state at the start of every gesture, so a
+ * gesture is replayed from the same starting point even if an earlier one ended differently. The
+ * inputs before the first gesture of a wrapped around trace are skipped. Within a gesture, the
+ * bounds of the window after every input are compared with the bounds recorded before the next
+ * input, the mismatches are counted as divergences.
+ * </p>
+ * <p>
+ * The tiling layout, neighbor windows and other settings not stored in the trace can be applied to
+ * {@link #getStateMachine()} before replaying.
+ * </p>
+ */
+public class TraceReplayer
+{
+    private static final HDirection[] H_DIRECTIONS = HDirection.values();
+    private static final VDirection[] V_DIRECTIONS = VDirection.values();
+    private static final double TOLERANCE = 0.5;
+
+    private final RecordedTrace _trace;
+    private final HeadlessWindowHost _host;
+    private final WindowStateMachine _stateMachine;
+    private final Map<TraceEventType, LatencyHistogram> _latencies = new EnumMap<>(TraceEventType.class);
+    private final int _first;
+    private long _divergences;
+
+    /**
+     * Creates a new {@link TraceReplayer} with the screens and settings of the trace.
+     *
+     * @param trace The trace, instance of {@link RecordedTrace}.
+     */
+    public TraceReplayer(RecordedTrace trace)
+    {
+        _trace = trace;
+        _host = new HeadlessWindowHost(0, 0, 0, 0);
+        _host.setSizeConstraints(trace.getMinWidth(), trace.getMaxWidth(), trace.getMinHeight(), trace.getMaxHeight());
+        _host.setPreviewMinWidth(trace.getPreviewMinWidth());
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(trace.getScreens()), trace.getAllowance(), trace.getCornerAllowance());
+        _host.attach(_stateMachine);
+        _host.setAeroSnapAllowances(trace.getAllowance(), trace.getCornerAllowance());
+
+        for (TraceEventType type : TraceEventType.values())
+        {
+            _latencies.put(type, new LatencyHistogram());
+        }
+
+        int first = 0;
+
+        while (first < trace.size() && !isGestureStart(trace.getType(first)))
+        {
+            first++;
+        }
+
+        _first = first;
+    }
+
+    public HeadlessWindowHost getHost()
+    {
+        return _host;
+    }
+
+    public WindowStateMachine getStateMachine()
+    {
+        return _stateMachine;
+    }
+
+    /**
+     * Replays the whole trace, replacing the timings and divergences of the previous replay.
+     *
+     * @return {@code long} - the total time spent handling the inputs, in nanoseconds.
+     */
+    public long replay()
+    {
+        RecordedTrace trace = _trace;
+        int size = trace.size();
+        long total = 0;
+
+        _latencies.values().forEach(LatencyHistogram::reset);
+        _divergences = 0;
+
+        for (int i = _first; i < size; i++)
+        {
+            TraceEventType type = trace.getType(i);
+
+            if (isGestureStart(type))
+            {
+                resynchronize(i);
+            }
+            if (type == TraceEventType.MOVE_DRAGGED)
+            {
+                // Move control drag samples are applied once per pulse
+                _host.pulse();
+            }
+
+            long start = System.nanoTime();
+            dispatch(type, i);
+            long elapsed = System.nanoTime() - start;
+
+            _latencies.get(type).record(elapsed);
+            total += elapsed;
+
+            // The window can be changed by the application between gestures, that is resynchronized
+            if (i + 1 < size && !isGestureStart(trace.getType(i + 1)) && !matches(i + 1))
+            {
+                _divergences++;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * @param type The input, instance of {@link TraceEventType}.
+     * @return The timings of the input in the last replay, instance of {@link LatencyHistogram}.
+     */
+    public LatencyHistogram getLatencies(TraceEventType type)
+    {
+        return _latencies.get(type);
+    }
+
+    /**
+     * @return {@code long} - the number of inputs in the last replay after which the bounds of the
+     * window differed from the recorded ones.
+     */
+    public long getDivergences()
+    {
+        return _divergences;
+    }
+
+    private static boolean isGestureStart(TraceEventType type)
+    {
+        return type == TraceEventType.MOVE_PRESSED || type == TraceEventType.RESIZE_STARTED;
+    }
+
+    private void resynchronize(int index)
+    {
+        RecordedTrace trace = _trace;
+        _host.setState(trace.isMaximized(index), trace.isSnapped(index));
+        _host.setBounds(trace.getBounds(index, 0), trace.getBounds(index, 1), trace.getBounds(index, 2), trace.getBounds(index, 3));
+
+        if (!trace.isMaximized(index) && !trace.isSnapped(index))
+        {
+            _stateMachine.shown();
+        }
+    }
+
+    private void dispatch(TraceEventType type, int i)
+    {
+        RecordedTrace trace = _trace;
+        WindowStateMachine stateMachine = _stateMachine;
+
+        switch (type)
+        {
+            case MOVE_PRESSED:
+                stateMachine.movePressed(trace.getArgument(i, 0), trace.getArgument(i, 1), trace.getArgument(i, 2), trace.getArgument(i, 3));
+                break;
+            case MOVE_DRAGGED:
+                stateMachine.moveDragged(trace.getArgument(i, 0), trace.getArgument(i, 1));
+                break;
+            case MOVE_RELEASED:
+                stateMachine.moveReleased(trace.getArgument(i, 0), trace.getArgument(i, 1), trace.isPrimary(i));
+                break;
+            case MOVE_CLICKED:
+                stateMachine.moveClicked(trace.isPrimary(i), trace.getClickCount(i));
+                break;
+            case RESIZE_STARTED:
+                stateMachine.resizeStarted();
+                break;
+            case RESIZE_DRAGGED:
+                stateMachine.resizeDragged(hDirection(i), vDirection(i), trace.getArgument(i, 0), trace.getArgument(i, 1), trace.getArgument(i, 2),
+                    trace.getArgument(i, 3), trace.getArgument(i, 4), trace.getArgument(i, 5));
+                break;
+            case RESIZE_RELEASED:
+                stateMachine.resizeReleased(vDirection(i), trace.getArgument(i, 0), trace.getArgument(i, 1), trace.isPrimary(i));
+                break;
+            case RESIZE_CLICKED:
+                stateMachine.resizeClicked(vDirection(i), trace.isPrimary(i), trace.getClickCount(i));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private HDirection hDirection(int index)
+    {
+        int ordinal = (_trace.getFlags(index) & PointerTraceRecorder.DIRECTION_MASK) - 1;
+        return ordinal < 0 ? null : H_DIRECTIONS[ordinal];
+    }
+
+    private VDirection vDirection(int index)
+    {
+        int ordinal = (_trace.getFlags(index) >>> PointerTraceRecorder.V_DIRECTION_SHIFT & PointerTraceRecorder.DIRECTION_MASK) - 1;
+        return ordinal < 0 ? null : V_DIRECTIONS[ordinal];
+    }
+
+    private boolean matches(int index)
+    {
+        RecordedTrace trace = _trace;
+        return Math.abs(_host.getX() - trace.getBounds(index, 0)) <= TOLERANCE && Math.abs(_host.getY() - trace.getBounds(index, 1)) <= TOLERANCE
+            && Math.abs(_host.getWidth() - trace.getBounds(index, 2)) <= TOLERANCE && Math.abs(_host.getHeight() - trace.getBounds(index, 3)) <= TOLERANCE;
+    }
+}
@@ -0,0 +1,310 @@
+package com.Bentaii.BorderlessFX.utils;
+
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+/**
+ * A cached index of the screen layout.
+ * <p>
+ * {@link Screen#getScreensForRectangle(double, double, double, double)} creates a new list and
+ * scans every screen on each call. This class snapshots the bounds of every screen into flat
+ * primitive arrays instead and answers point and rectangle queries without allocating. The
+ * snapshot is only rebuilt when {@link Screen#getScreens()} changes.
+ * </p>
+ * Lookups follow the same rules as {@link Screen#getScreensForRectangle(double, double, double, double)},
+ * they match against the full bounds of a screen and return the first screen in
+ * {@link Screen#getScreens()} order.
+ * <p>
+ * The live topology keeps the last known layout while {@link Screen#getScreens()} is empty, e.g.
+ * during a reconfiguration. It is only empty if no screen was ever attached, then
+ * {@link #getPrimaryIndex()} is -1 and every lookup returns -1 or null.
+ * </p>
+ */
+public final class ScreenTopology
+{
+    private static ScreenTopology _instance;
+
+    private final boolean _live;
+    private Screen[] _screens = new Screen[0];
+    private Rectangle2D[] _visualBounds = new Rectangle2D[0];
+    private double[] _minX = new double[0];
+    private double[] _minY = new double[0];
+    private double[] _maxX = new double[0];
+    private double[] _maxY = new double[0];
+    private int _count;
+    private int _primaryIndex = -1;
+    private long _revision;
+    private long _lookups;
+
+    private ScreenTopology(boolean live)
+    {
+        _live = live;
+    }
+
+    /**
+     * Returns the shared topology of the screens attached to this machine.
+     * <p>
+     * Must be called on the JavaFX Application Thread. The first call registers a listener on
+     * {@link Screen#getScreens()} which keeps the snapshot up-to-date.
+     * </p>
+     *
+     * @return The shared topology, instance of {@link ScreenTopology}.
+     */
+    public static ScreenTopology getInstance()
+    {
+        if (_instance == null)
+        {
+            ScreenTopology topology = new ScreenTopology(true);
+            topology.rebuild(Screen.getScreens(), Screen.getScreens().indexOf(Screen.getPrimary()));
+            Screen.getScreens().addListener((ListChangeListener<Screen>) change ->
+                topology.rebuild(Screen.getScreens(), Screen.getScreens().indexOf(Screen.getPrimary())));
+            _instance = topology;
+        }
+
+        return _instance;
+    }
+
+    /**
+     * Creates a detached topology from the given bounds, which does not require the JavaFX toolkit.
+     * <p>
+     * The bounds are used as both the bounds and the visual bounds of each screen, and the first
+     * one is treated as the primary screen. Useful for benchmarks and headless tests.
+     * </p>
+     *
+     * @param bounds The bounds of each screen.
+     * @return The topology, instance of {@link ScreenTopology}.
+     */
+    public static ScreenTopology of(Rectangle2D... bounds)
+    {
+        ScreenTopology topology = new ScreenTopology(false);
+        topology.rebuild(bounds);
+        return topology;
+    }
+
+    /**
+     * Creates a detached copy of the current snapshot, which never changes afterwards.
+     * <p>
+     * Unlike the live topology the copy can be read from another thread once safely published,
+     * e.g. through a volatile field. It keeps the {@link Screen} instances and the revision of this
+     * topology, and counts its own lookups.
+     * </p>
+     *
+     * @return The copy, instance of {@link ScreenTopology}.
+     */
+    public ScreenTopology snapshot()
+    {
+        ScreenTopology copy = new ScreenTopology(false);
+
+        // The arrays are replaced, never modified, when the snapshot is rebuilt
+        copy._screens = _screens;
+        copy._visualBounds = _visualBounds;
+        copy._minX = _minX;
+        copy._minY = _minY;
+        copy._maxX = _maxX;
+        copy._maxY = _maxY;
+        copy._count = _count;
+        copy._primaryIndex = _primaryIndex;
+        copy._revision = _revision;
+        return copy;
+    }
+
+    /**
+     * @return {@code boolean} - true if this topology follows {@link Screen#getScreens()}
+     * otherwise false.
+     */
+    public boolean isLive()
+    {
+        return _live;
+    }
+
+    /**
+     * Returns a revision number which is incremented every time the snapshot is rebuilt.
+     * <p>
+     * Caches derived from the topology can compare this number to detect a change.
+     * </p>
+     *
+     * @return {@code long} - the revision of the snapshot.
+     */
+    public long getRevision()
+    {
+        return _revision;
+    }
+
+    /**
+     * @return {@code int} - the number of screens.
+     */
+    public int getScreenCount()
+    {
+        return _count;
+    }
+
+    /**
+     * @return {@code int} - the index of the primary screen, or -1 if there are no screens.
+     */
+    public int getPrimaryIndex()
+    {
+        return _primaryIndex;
+    }
+
+    /**
+     * Returns the screen at the given index.
+     *
+     * @param index The index of the screen.
+     * @return The screen, instance of {@link Screen}, or null for a detached topology.
+     */
+    public Screen getScreen(int index)
+    {
+        return _screens[index];
+    }
+
+    /**
+     * Returns the visual bounds of the screen at the given index.
+     *
+     * @param index The index of the screen.
+     * @return The visual bounds, instance of {@link Rectangle2D}.
+     */
+    public Rectangle2D getVisualBounds(int index)
+    {
+        return _visualBounds[index];
+    }
+
+    /**
+     * @return {@code long} - the number of screen lookups made on this topology, used by the
+     * window metrics.
+     */
+    public long getLookupCount()
+    {
+        return _lookups;
+    }
+
+    /**
+     * Returns the index of the first screen containing the given point.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @return {@code int} - the index of the screen, or -1 if no screen contains the point.
+     */
+    public int indexAt(double x, double y)
+    {
+        return indexFor(x, y, 1, 1);
+    }
+
+    /**
+     * Returns the index of the first screen intersecting the given rectangle.
+     *
+     * @param x      The x coordinate of the rectangle.
+     * @param y      The y coordinate of the rectangle.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return {@code int} - the index of the screen, or -1 if no screen intersects the rectangle.
+     */
+    public int indexFor(double x, double y, double width, double height)
+    {
+        if (width < 0 || height < 0)
+        {
+            return -1;
+        }
+
+        double maxX = x + width;
+        double maxY = y + height;
+        _lookups++;
+
+        for (int i = 0; i < _count; i++)
+        {
+            if (maxX > _minX[i] && maxY > _minY[i] && x < _maxX[i] && y < _maxY[i])
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the visual bounds of the first screen containing the given point.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @return The visual bounds, instance of {@link Rectangle2D}, or null if no screen contains
+     * the point.
+     */
+    public Rectangle2D visualBoundsAt(double x, double y)
+    {
+        int index = indexAt(x, y);
+        return index < 0 ? null : _visualBounds[index];
+    }
+
+    /**
+     * Returns the visual bounds of the first screen intersecting the given rectangle.
+     *
+     * @param x      The x coordinate of the rectangle.
+     * @param y      The y coordinate of the rectangle.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return The visual bounds, instance of {@link Rectangle2D}, or null if no screen intersects
+     * the rectangle.
+     */
+    public Rectangle2D visualBoundsFor(double x, double y, double width, double height)
+    {
+        int index = indexFor(x, y, width, height);
+        return index < 0 ? null : _visualBounds[index];
+    }
+
+    private void rebuild(List<Screen> screens, int primaryIndex)
+    {
+        // The screens are briefly removed while the configuration changes, keep the last known
+        // layout until they come back
+        if (screens.isEmpty() && _count > 0)
+        {
+            return;
+        }
+
+        int count = screens.size();
+        Rectangle2D[] bounds = new Rectangle2D[count];
+        Rectangle2D[] visualBounds = new Rectangle2D[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            bounds[i] = screens.get(i).getBounds();
+            visualBounds[i] = screens.get(i).getVisualBounds();
+        }
+
+        apply(screens.toArray(new Screen[0]), bounds, visualBounds, primaryIndex);
+    }
+
+    private void rebuild(Rectangle2D[] bounds)
+    {
+        apply(new Screen[bounds.length], bounds, bounds.clone(), bounds.length == 0 ? -1 : 0);
+    }
+
+    private void apply(Screen[] screens, Rectangle2D[] bounds, Rectangle2D[] visualBounds, int primaryIndex)
+    {
+        int count = bounds.length;
+        double[] minX = new double[count];
+        double[] minY = new double[count];
+        double[] maxX = new double[count];
+        double[] maxY = new double[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            minX[i] = bounds[i].getMinX();
+            minY[i] = bounds[i].getMinY();
+            maxX[i] = bounds[i].getMaxX();
+            maxY[i] = bounds[i].getMaxY();
+        }
+
+        _screens = screens;
+        _visualBounds = visualBounds;
+        _minX = minX;
+        _minY = minY;
+        _maxX = maxX;
+        _maxY = maxY;
+        _count = count;
+        // The primary screen may be missing from the list while the configuration changes
+        _primaryIndex = count == 0 ? -1 : Math.max(primaryIndex, 0);
+        _revision++;
+    }
+}
@@ -6,21 +6,77 @@ import com.sun.jna.platform.win32.User32;
 import com.sun.jna.platform.win32.WinDef.HWND;
 import com.sun.jna.platform.win32.WinUser;
 
+import javafx.stage.Stage;
+
 /**
  * Class that provides methods to get the window handle of a JavaFX window.
  */
 public class WindowInstance
 {
+    /**
+     * How much more a difference in size counts than a difference in position
+     */
+    private static final double SIZE_WEIGHT = 1_000_000;
     public final HWND _hwnd;
     public final User32 _user32;
     public final int _oldStyle;
 
-    public WindowInstance()
+    /**
+     * Resolves the window handle of the given stage.
+     *
+     * @param stage The stage, must be showing.
+     * @throws IllegalStateException if the native window of the stage cannot be found.
+     */
+    public WindowInstance(Stage stage)
     {
-        var lhwnd = Window.getWindows().get(0).getNativeWindow();
+        var lhwnd = findNativeWindow(stage);
         var lpVoid = new Pointer(lhwnd);
         _hwnd = new HWND(lpVoid);
         _user32 = User32.INSTANCE;
         _oldStyle = _user32.GetWindowLong(_hwnd, WinUser.GWL_STYLE);
     }
+
+    /**
+     * Finds the native window of the given stage among the native windows of the application.
+     * <p>
+     * Only the visible native windows with the title of the stage are considered, the one closest
+     * to the bounds of the stage is picked. Sizes are compared first, as positions can only be
+     * compared exactly on the screen at the origin of the platform coordinates. This works with any
+     * number of windows, unlike picking the first native window, without changing the stage.
+     * </p>
+     */
+    private static long findNativeWindow(Stage stage)
+    {
+        String title = stage.getTitle() == null ? "" : stage.getTitle();
+        Window match = null;
+        double matchDistance = Double.MAX_VALUE;
+
+        for (Window window : Window.getWindows())
+        {
+            if (!window.isVisible() || !title.equals(window.getTitle() == null ? "" : window.getTitle()))
+            {
+                continue;
+            }
+
+            // The native bounds are in platform pixels
+            double scaleX = window.getPlatformScaleX();
+            double scaleY = window.getPlatformScaleY();
+            double sizeDistance = Math.abs(window.getWidth() / scaleX - stage.getWidth()) + Math.abs(window.getHeight() / scaleY - stage.getHeight());
+            double positionDistance = Math.abs(window.getX() / scaleX - stage.getX()) + Math.abs(window.getY() / scaleY - stage.getY());
+            double distance = sizeDistance * SIZE_WEIGHT + positionDistance;
+
+            if (distance < matchDistance)
+            {
+                match = window;
+                matchDistance = distance;
+            }
+        }
+
+        if (match == null)
+        {
+            throw new IllegalStateException("The native window of the stage could not be found, is the stage showing?");
+        }
+
+        return match.getNativeWindow();
+    }
 }
@@ -0,0 +1,327 @@
+package com.Bentaii.BorderlessFX.window;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.Bentaii.BorderlessFX.geometry.Size;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+/**
+ * A cache of the background images used by the transparent window styles.
+ * <p>
+ * Scaled down variants are decoded at the size of their bucket, so a preview never has to scale
+ * the full resolution texture. The full resolution image is only needed for its size, which is
+ * remembered once it is decoded: it is released as soon as a variant replaces it, and decoded again
+ * if it is needed later. Images and variants share a memory budget and are evicted least recently
+ * used first once the cache exceeds it.
+ * </p>
+ * Images and variants are decoded and scaled in the background, an image returned by this cache may
+ * still be loading, see {@link #isLoaded(Image)}.
+ * <p>
+ * Must only be used on the JavaFX Application Thread.
+ * </p>
+ */
+public final class PreviewImageCache
+{
+    public static final String GLASS_GLARE = "/img/glass_glare.png";
+    public static final String WHITE_NOISE = "/img/noise_pattern.png";
+    private static final int MIN_BUCKET = 256;
+    private static final double BUCKET_GROWTH = 1.5;
+    private static PreviewImageCache _instance;
+
+    /**
+     * The size of every decoded resource, kept after the image itself is released
+     */
+    private final Map<String, Size> _sizes = new HashMap<>();
+    /**
+     * The images keyed by resource and the variants keyed by resource and size, least recently
+     * used first
+     */
+    private final LinkedHashMap<String, Image> _images = new LinkedHashMap<>(16, 0.75f, true);
+    private long _maxBytes = 32L * 1024 * 1024;
+    private long _bytes;
+    private int _variants;
+    private long _decodeTimeNanos;
+    private long _hits;
+    private long _misses;
+
+    private PreviewImageCache()
+    {
+        // Use getInstance()
+    }
+
+    /**
+     * @return The shared cache, instance of {@link PreviewImageCache}.
+     */
+    public static PreviewImageCache getInstance()
+    {
+        if (_instance == null)
+        {
+            _instance = new PreviewImageCache();
+        }
+
+        return _instance;
+    }
+
+    private static int bucket(double size)
+    {
+        int bucket = MIN_BUCKET;
+
+        while (bucket < size)
+        {
+            bucket = (int) Math.ceil(bucket * BUCKET_GROWTH);
+        }
+
+        return bucket;
+    }
+
+    private static boolean isVariant(Image image)
+    {
+        return image.getRequestedWidth() > 0;
+    }
+
+    private static long bytesOf(Image image)
+    {
+        // A variant is decoded at its requested size, known before it is loaded, an image is only
+        // counted once loaded
+        if (isVariant(image))
+        {
+            return (long) image.getRequestedWidth() * (long) image.getRequestedHeight() * 4;
+        }
+
+        return isLoaded(image) ? (long) image.getWidth() * (long) image.getHeight() * 4 : 0;
+    }
+
+    /**
+     * Determines whether the given image is loaded and can be drawn.
+     *
+     * @param image The image, instance of {@link Image}.
+     * @return {@code boolean} - true if loaded without error otherwise false.
+     */
+    public static boolean isLoaded(Image image)
+    {
+        return image != null && image.getProgress() >= 1 && !image.isError();
+    }
+
+    /**
+     * Returns the decoded image of the given resource, starting to decode it in the background if
+     * it is not cached.
+     *
+     * @param resource The class path resource of the image, e.g. {@link #GLASS_GLARE}.
+     * @return The image, instance of {@link Image}, which may still be loading.
+     */
+    public Image getImage(String resource)
+    {
+        Image image = _images.get(resource);
+
+        if (image == null)
+        {
+            image = load(resource, 0, 0);
+            _images.put(resource, image);
+        }
+
+        return image;
+    }
+
+    /**
+     * Returns a variant of the given resource which is just large enough to cover an area of the
+     * given size.
+     * <p>
+     * The size is rounded up to a size bucket, so the same variant is returned for similar sizes.
+     * If the image is not larger than the bucket the decoded image itself is returned, as it is
+     * while its size is not known yet. Otherwise the decoded image is released from the cache.
+     * </p>
+     *
+     * @param resource The class path resource of the image, e.g. {@link #GLASS_GLARE}.
+     * @param width    The width of the area to cover.
+     * @param height   The height of the area to cover.
+     * @return The image, instance of {@link Image}, which may still be loading.
+     */
+    public Image getVariant(String resource, double width, double height)
+    {
+        // The size of the image is needed to keep the aspect ratio of the variant
+        Size size = _sizes.get(resource);
+
+        if (size == null)
+        {
+            return getImage(resource);
+        }
+
+        double scale = Math.min(1, Math.max(bucket(width) / size.getWidth(), bucket(height) / size.getHeight()));
+
+        if (scale >= 1)
+        {
+            return getImage(resource);
+        }
+
+        // Only the variants are drawn from now on
+        release(resource);
+
+        int variantWidth = (int) Math.ceil(size.getWidth() * scale);
+        int variantHeight = (int) Math.ceil(size.getHeight() * scale);
+        String key = resource + '@' + variantWidth + 'x' + variantHeight;
+        Image variant = _images.get(key);
+
+        if (variant != null)
+        {
+            _hits++;
+            return variant;
+        }
+
+        _misses++;
+        variant = load(resource, variantWidth, variantHeight);
+        _images.put(key, variant);
+        _bytes += bytesOf(variant);
+        _variants++;
+        evict();
+
+        return variant;
+    }
+
+    /**
+     * Sets the memory budget of the decoded images and their scaled variants, the least recently
+     * used ones are evicted when it is exceeded.
+     * <p>
+     * The default value is 32 MiB.
+     * </p>
+     *
+     * @param bytes The memory budget in bytes.
+     */
+    public void setMaxVariantBytes(long bytes)
+    {
+        _maxBytes = bytes;
+        evict();
+    }
+
+    /**
+     * @return {@code long} - the total time spent loading images in the background in
+     * nanoseconds.
+     */
+    public long getDecodeTimeNanos()
+    {
+        return _decodeTimeNanos;
+    }
+
+    /**
+     * @return {@code long} - the estimated memory held by the decoded images and their variants
+     * in bytes.
+     */
+    public long getMemoryBytes()
+    {
+        return _bytes;
+    }
+
+    /**
+     * @return {@code int} - the number of cached variants.
+     */
+    public int getVariantCount()
+    {
+        return _variants;
+    }
+
+    /**
+     * @return {@code long} - the number of variant lookups served from the cache.
+     */
+    public long getHits()
+    {
+        return _hits;
+    }
+
+    /**
+     * @return {@code long} - the number of variant lookups that had to decode a scaled image.
+     */
+    public long getMisses()
+    {
+        return _misses;
+    }
+
+    /**
+     * Removes every decoded image and variant from the cache.
+     */
+    public void clear()
+    {
+        _images.clear();
+        _bytes = 0;
+        _variants = 0;
+    }
+
+    /**
+     * Starts decoding the given resource in the background, at the given size or at its own size
+     * if 0.
+     */
+    private Image load(String resource, int width, int height)
+    {
+        long start = System.nanoTime();
+        String url = requireNonNull(PreviewImageCache.class.getResource(resource)).toExternalForm();
+        Image image = new Image(url, width, height, false, true, true);
+        boolean source = width == 0;
+
+        // The progress is updated on the JavaFX Application Thread
+        image.progressProperty().addListener(new InvalidationListener()
+        {
+            @Override
+            public void invalidated(Observable observable)
+            {
+                if (image.getProgress() < 1)
+                {
+                    return;
+                }
+
+                image.progressProperty().removeListener(this);
+                _decodeTimeNanos += System.nanoTime() - start;
+
+                if (source && !image.isError())
+                {
+                    _sizes.put(resource, new Size(image.getWidth(), image.getHeight()));
+
+                    // Not counted if it was released or evicted while loading
+                    if (_images.containsValue(image))
+                    {
+                        _bytes += bytesOf(image);
+                        evict();
+                    }
+                }
+            }
+        });
+
+        return image;
+    }
+
+    /**
+     * Removes the decoded image of the given resource from the cache, if cached.
+     */
+    private void release(String resource)
+    {
+        Image image = _images.remove(resource);
+
+        if (image != null)
+        {
+            _bytes -= bytesOf(image);
+        }
+    }
+
+    private void evict()
+    {
+        Iterator<Image> iterator = _images.values().iterator();
+
+        while (_bytes > _maxBytes && iterator.hasNext())
+        {
+            Image image = iterator.next();
+            _bytes -= bytesOf(image);
+
+            if (isVariant(image))
+            {
+                _variants--;
+            }
+
+            iterator.remove();
+        }
+    }
+}
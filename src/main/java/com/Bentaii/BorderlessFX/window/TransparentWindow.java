@@ -1,8 +1,12 @@
 package com.Bentaii.BorderlessFX.window;
 
+import javafx.beans.InvalidationListener;
 import javafx.scene.Scene;
+import javafx.scene.image.Image;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Rectangle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -18,10 +22,32 @@ public class TransparentWindow extends StackPane
 {
 
     public static final String DEFAULT_STYLE_CLASS = "transparent-window";
+    private static final double BACKGROUND_IMAGE_ARC = 6;
+    /**
+     * Where a hidden persistent stage is parked, far outside of any screen
+     */
+    private static final double PARKED_POSITION = -32000;
+    private final Rectangle backgroundImage = new Rectangle();
+    private final InvalidationListener imageLoaded = observable -> requestLayout();
     private Stage stage = new Stage();
+    private boolean persistent;
+    private TransparentWindowStyle style;
+    private double backgroundImageWidth;
+    private double backgroundImageHeight;
+    /**
+     * The background image still loading in the background, laid out again once loaded
+     */
+    private Image pendingImage;
 
     public TransparentWindow()
     {
+        // Background images are drawn by this rectangle from pre-scaled cached variants instead
+        // of letting CSS rescale the full resolution image
+        backgroundImage.setManaged(false);
+        backgroundImage.setMouseTransparent(true);
+        backgroundImage.setVisible(false);
+        getChildren().add(backgroundImage);
+
         // Defaults
         this.setId("transparentWindow");
         getStyleClass().add(DEFAULT_STYLE_CLASS);
@@ -52,6 +78,18 @@ public class TransparentWindow extends StackPane
     {
         // Remove previous style
         getStyleClass().removeIf(s -> !s.equals(DEFAULT_STYLE_CLASS));
+        this.style = style;
+        backgroundImageWidth = 0;
+        backgroundImageHeight = 0;
+        backgroundImage.setVisible(style.getBackgroundImage() != null);
+        backgroundImage.setFill(null);
+        requestLayout();
+
+        // Start decoding the background image before the first preview needs it
+        if (style.getBackgroundImage() != null)
+        {
+            PreviewImageCache.getInstance().getImage(style.getBackgroundImage());
+        }
 
         if (style.equals(TransparentWindowStyle.NONE))
         {
@@ -61,6 +99,176 @@ public class TransparentWindow extends StackPane
         getStyleClass().add(style.getStyleClass());
     }
 
+    @Override
+    protected void layoutChildren()
+    {
+        super.layoutChildren();
+
+        if (style == null || style.getBackgroundImage() == null)
+        {
+            return;
+        }
+
+        // Fill the area inside the border
+        double x = snappedLeftInset();
+        double y = snappedTopInset();
+        double width = Math.max(0, getWidth() - x - snappedRightInset());
+        double height = Math.max(0, getHeight() - y - snappedBottomInset());
+
+        backgroundImage.relocate(x, y);
+        backgroundImage.setWidth(width);
+        backgroundImage.setHeight(height);
+
+        if (width == backgroundImageWidth && height == backgroundImageHeight || width == 0 || height == 0)
+        {
+            return;
+        }
+
+        PreviewImageCache cache = PreviewImageCache.getInstance();
+        Image image = style.isBackgroundRepeat() ? cache.getImage(style.getBackgroundImage())
+            : cache.getVariant(style.getBackgroundImage(), width, height);
+
+        if (!awaitImage(image))
+        {
+            return;
+        }
+
+        backgroundImageWidth = width;
+        backgroundImageHeight = height;
+
+        if (style.isBackgroundRepeat())
+        {
+            backgroundImage.setArcWidth(0);
+            backgroundImage.setArcHeight(0);
+            backgroundImage.setFill(new ImagePattern(image, 0, 0, image.getWidth(), image.getHeight(), false));
+            return;
+        }
+
+        // Cover the area while keeping the aspect ratio, centered
+        double scale = Math.max(width / image.getWidth(), height / image.getHeight());
+        double imageWidth = image.getWidth() * scale;
+        double imageHeight = image.getHeight() * scale;
+
+        backgroundImage.setArcWidth(BACKGROUND_IMAGE_ARC);
+        backgroundImage.setArcHeight(BACKGROUND_IMAGE_ARC);
+        backgroundImage.setFill(new ImagePattern(image, (width - imageWidth) / 2, (height - imageHeight) / 2, imageWidth, imageHeight, false));
+    }
+
+    /**
+     * Waits for the given image to be loaded, keeping the current fill meanwhile.
+     *
+     * @return {@code boolean} - true if the image is loaded otherwise false.
+     */
+    private boolean awaitImage(Image image)
+    {
+        if (image == pendingImage && image.getProgress() < 1)
+        {
+            return false;
+        }
+
+        if (pendingImage != null)
+        {
+            pendingImage.progressProperty().removeListener(imageLoaded);
+            pendingImage = null;
+        }
+
+        if (image.getProgress() < 1)
+        {
+            pendingImage = image;
+            image.progressProperty().addListener(imageLoaded);
+            return false;
+        }
+
+        return !image.isError();
+    }
+
+    /**
+     * Determines whether the transparent window's stage stays mapped while hidden.
+     *
+     * @return {@code boolean} - true if persistent otherwise false.
+     */
+    public boolean isPersistent()
+    {
+        return persistent;
+    }
+
+    /**
+     * Sets whether the transparent window's stage stays mapped while hidden.
+     * <p>
+     * A persistent transparent window is shown once and is then hidden and shown again by only
+     * changing the opacity of its stage, which avoids mapping and unmapping a native window every
+     * time the pointer enters or leaves a snap zone. While hidden its stage is parked at 1x1 outside
+     * of the screens, so the invisible window never covers the application and takes its pointer
+     * input. Disabled by default.
+     * </p>
+     *
+     * @param value true to keep the stage mapped, false to close it when hidden.
+     */
+    public void setPersistent(boolean value)
+    {
+        persistent = value;
+
+        if (!value && stage.isShowing() && stage.getOpacity() == 0)
+        {
+            stage.close();
+        }
+    }
+
+    /**
+     * Determines whether the transparent window is visible to the user.
+     *
+     * @return {@code boolean} - true if visible otherwise false.
+     */
+    public boolean isShownToUser()
+    {
+        return stage.isShowing() && stage.getOpacity() > 0;
+    }
+
+    /**
+     * Maps the transparent window's stage fully transparent, so its first frame is already
+     * rendered the first time it is shown.
+     * <p>
+     * Only applies to a persistent transparent window, see {@link #setPersistent(boolean)}.
+     * </p>
+     */
+    public void prewarm()
+    {
+        if (persistent && !stage.isShowing())
+        {
+            stage.setOpacity(0);
+            park();
+            stage.show();
+        }
+    }
+
+    /**
+     * Determines whether the stage of a persistent transparent window is parked, see
+     * {@link #park()}.
+     *
+     * @return {@code boolean} - true if parked otherwise false.
+     */
+    public boolean isParked()
+    {
+        return stage.getX() == PARKED_POSITION && stage.getY() == PARKED_POSITION;
+    }
+
+    /**
+     * Moves the hidden stage of a persistent transparent window out of the way, at 1x1 outside of
+     * the screens. Does nothing while it is visible to the user.
+     */
+    public void park()
+    {
+        if (stage.getOpacity() > 0 && stage.isShowing())
+        {
+            return;
+        }
+
+        stage.setWidth(1);
+        stage.setHeight(1);
+        stage.setX(PARKED_POSITION);
+        stage.setY(PARKED_POSITION);
+    }
+
     /**
      * Show the transparent window's stage
      */
@@ -68,8 +276,13 @@ public class TransparentWindow extends StackPane
     {
         if (!stage.isShowing())
         {
+            stage.setOpacity(1);
             stage.show();
         }
+        else if (persistent)
+        {
+            stage.setOpacity(1);
+        }
         else
         {
             stage.requestFocus();
@@ -78,9 +291,19 @@ public class TransparentWindow extends StackPane
 
     /**
      * Close the transparent window's stage
+     * <p>
+     * A persistent transparent window is only made fully transparent and parked.
+     * </p>
      */
     public void close()
     {
+        if (persistent && stage.isShowing())
+        {
+            stage.setOpacity(0);
+            park();
+            return;
+        }
+
         stage.close();
     }
 
@@ -106,23 +329,49 @@ public class TransparentWindow extends StackPane
     public enum TransparentWindowStyle
     {
 
-        WHITE_NOISE("white-noise"),
-        GLASS_GLARE("glass-glare"),
+        WHITE_NOISE("white-noise", PreviewImageCache.WHITE_NOISE, true),
+        GLASS_GLARE("glass-glare", PreviewImageCache.GLASS_GLARE, false),
         GLASS_TRANSPARENT("glass-transparent"),
         GNOME("gnome"),
         MINIMALISTIC("minimalistic"),
         NONE(null);
 
         private final String styleClass;
+        private final String backgroundImage;
+        private final boolean backgroundRepeat;
 
         TransparentWindowStyle(String styleClass)
+        {
+            this(styleClass, null, false);
+        }
+
+        TransparentWindowStyle(String styleClass, String backgroundImage, boolean backgroundRepeat)
         {
             this.styleClass = styleClass;
+            this.backgroundImage = backgroundImage;
+            this.backgroundRepeat = backgroundRepeat;
         }
 
         public String getStyleClass()
         {
             return styleClass;
         }
+
+        /**
+         * @return The class path resource of the background image, null if the style has none.
+         */
+        public String getBackgroundImage()
+        {
+            return backgroundImage;
+        }
+
+        /**
+         * @return {@code boolean} - true if the background image is repeated otherwise it covers
+         * the window.
+         */
+        public boolean isBackgroundRepeat()
+        {
+            return backgroundRepeat;
+        }
     }
 }
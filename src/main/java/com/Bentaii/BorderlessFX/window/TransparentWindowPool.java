@@ -0,0 +1,118 @@
+package com.Bentaii.BorderlessFX.window;
+
+import javafx.stage.Window;
+
+/**
+ * A pool sharing a single {@link TransparentWindow} between several scenes of one application.
+ * <p>
+ * Only one window can be dragged at a time, so a single aero snap preview is enough for the whole
+ * application. The shared transparent window is owned by the window passed to the constructor,
+ * which should outlive every scene using the pool, usually the primary stage.
+ * </p>
+ * <p>
+ * An owned stage is hidden with its owner, and the owner of a stage cannot change once it has been
+ * shown. While the owner is minimized or hidden the shared preview is therefore not shown, even
+ * when another scene using the pool is dragged. Applications whose windows can be minimized
+ * independently of the owner should give those scenes their own transparent window instead.
+ * </p>
+ * Usage:
+ * <pre>
+ * {@code
+ *     TransparentWindowPool pool = new TransparentWindowPool(primaryStage);
+ *     firstScene.setTransparentWindowPool(pool);
+ *     secondScene.setTransparentWindowPool(pool);
+ * }
+ * </pre>
+ */
+public class TransparentWindowPool
+{
+    private final Window owner;
+    private TransparentWindow transparentWindow;
+    private boolean persistent;
+    private int references;
+
+    /**
+     * Creates a new {@link TransparentWindowPool}.
+     *
+     * @param owner The owner of the shared transparent window's stage, the preview is not shown
+     *              while it is minimized or hidden.
+     */
+    public TransparentWindowPool(Window owner)
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the shared transparent window, creating it if needed.
+     * <p>
+     * Every call must be balanced by a call to {@link #release(TransparentWindow)}.
+     * </p>
+     *
+     * @return The shared transparent window, instance of {@link TransparentWindow}.
+     */
+    public TransparentWindow acquire()
+    {
+        if (transparentWindow == null)
+        {
+            transparentWindow = new TransparentWindow();
+            transparentWindow.setPersistent(persistent);
+            transparentWindow.getStage().initOwner(owner);
+        }
+
+        references++;
+        return transparentWindow;
+    }
+
+    /**
+     * Releases the shared transparent window, it is destroyed once it is no longer used.
+     *
+     * @param window The transparent window returned by {@link #acquire()}.
+     */
+    public void release(TransparentWindow window)
+    {
+        if (window == null || window != transparentWindow)
+        {
+            return;
+        }
+
+        if (--references == 0)
+        {
+            transparentWindow.destroy();
+            transparentWindow = null;
+        }
+    }
+
+    /**
+     * Determines whether the shared transparent window stays mapped while hidden.
+     *
+     * @return {@code boolean} - true if persistent otherwise false.
+     */
+    public boolean isPersistent()
+    {
+        return persistent;
+    }
+
+    /**
+     * Sets whether the shared transparent window stays mapped while hidden, see
+     * {@link TransparentWindow#setPersistent(boolean)}. Disabled by default.
+     *
+     * @param value true to keep the shared transparent window mapped.
+     */
+    public void setPersistent(boolean value)
+    {
+        persistent = value;
+
+        if (transparentWindow != null)
+        {
+            transparentWindow.setPersistent(value);
+        }
+    }
+
+    /**
+     * @return {@code int} - the number of scenes currently using the shared transparent window.
+     */
+    public int getReferences()
+    {
+        return references;
+    }
+}
@@ -0,0 +1,185 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javafx.geometry.Rectangle2D;
+
+class AsyncSnapResolverTest
+{
+    /**
+     * The hand-offs queued for the input thread, run by the test itself
+     */
+    private final LinkedBlockingQueue<Runnable> _handOffs = new LinkedBlockingQueue<>();
+    private final List<SnapDecision> _applied = new ArrayList<>();
+    /**
+     * Holds the worker inside the executor until counted down
+     */
+    private final CountDownLatch _release = new CountDownLatch(1);
+    private volatile boolean _blocking;
+    private AsyncSnapResolver _resolver;
+
+    @BeforeEach
+    void setUp()
+    {
+        // A single 1920x1080 screen
+        HeadlessWindowHost host = new HeadlessWindowHost(100, 100, 800, 600);
+        WindowStateMachine stateMachine = new WindowStateMachine(host, ScreenTopology.of(new Rectangle2D(0, 0, 1920, 1080)),
+            SnapZoneMap.DEFAULT_ALLOWANCE, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+        host.attach(stateMachine);
+
+        _resolver = new AsyncSnapResolver(runnable -> {
+            _handOffs.add(runnable);
+
+            if (_blocking)
+            {
+                awaitRelease();
+            }
+        });
+        _resolver.setConsumer(_applied::add);
+        _resolver.publish(stateMachine.captureSnapSnapshot());
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        _release.countDown();
+        _resolver.close();
+    }
+
+    @Test
+    void decisionsAreAppliedOnTheInputThread() throws InterruptedException
+    {
+        _resolver.submit(0, 500);
+        runNextHandOff();
+
+        assertEquals(1, _applied.size());
+        assertEquals(Direction.LEFT, _applied.get(0).getDirection());
+        assertEquals(0, _applied.get(0).getX());
+        assertEquals(960, _applied.get(0).getWidth());
+        assertEquals(1, _resolver.getApplied());
+    }
+
+    @Test
+    void decisionsOfACancelledDragAreDropped() throws InterruptedException
+    {
+        _resolver.submit(0, 500);
+        Runnable handOff = nextHandOff();
+
+        // Resolved before the cancellation but applied after it
+        _resolver.cancel();
+        handOff.run();
+
+        assertTrue(_applied.isEmpty());
+        assertEquals(1, _resolver.getResolved());
+        assertEquals(0, _resolver.getApplied());
+
+        // The next drag is applied again
+        _resolver.submit(1910, 500);
+        runNextHandOff();
+
+        assertEquals(1, _applied.size());
+        assertEquals(Direction.RIGHT, _applied.get(0).getDirection());
+    }
+
+    @Test
+    void aNewerSampleReplacesOneTheWorkerHasNotTaken() throws InterruptedException
+    {
+        _blocking = true;
+        _resolver.submit(0, 500);
+        Runnable handOff = nextHandOff();
+
+        // The worker is held in the executor, so only the last of these is resolved
+        _resolver.submit(960, 500);
+        _resolver.submit(960, 10);
+        _resolver.submit(1910, 500);
+        _release.countDown();
+
+        await(() -> _resolver.getResolved() == 2);
+        handOff.run();
+
+        assertEquals(2, _resolver.getResolved());
+        assertEquals(1, _applied.size());
+        assertEquals(Direction.RIGHT, _applied.get(0).getDirection());
+        assertEquals(960, _applied.get(0).getX());
+    }
+
+    @Test
+    void onlyOneHandOffIsPendingAndItAppliesTheLatestDecision() throws InterruptedException
+    {
+        _resolver.submit(0, 500);
+        Runnable handOff = nextHandOff();
+
+        _resolver.submit(960, 500);
+        await(() -> _resolver.getResolved() == 2);
+        _resolver.submit(960, 10);
+        await(() -> _resolver.getResolved() == 3);
+
+        assertTrue(_handOffs.isEmpty());
+
+        handOff.run();
+
+        assertEquals(1, _applied.size());
+        assertEquals(Direction.TOP, _applied.get(0).getDirection());
+
+        // Nothing left for another hand-off
+        _resolver.submit(960, 500);
+        runNextHandOff();
+
+        assertEquals(2, _applied.size());
+        assertNull(_applied.get(1).getDirection());
+    }
+
+    private Runnable nextHandOff() throws InterruptedException
+    {
+        Runnable handOff = _handOffs.poll(5, TimeUnit.SECONDS);
+        assertNotNull(handOff);
+        return handOff;
+    }
+
+    private void runNextHandOff() throws InterruptedException
+    {
+        nextHandOff().run();
+    }
+
+    private void awaitRelease()
+    {
+        try
+        {
+            _release.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,159 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoundsAnimatorTest
+{
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BoundsAnimator _animator = new BoundsAnimator();
+
+    @BeforeEach
+    void setUp()
+    {
+        _animator.setEnabled(true);
+        _animator.setDurationMillis(100);
+        _animator.setEasing(StandardEasing.LINEAR);
+    }
+
+    @Test
+    void theFinalFrameHitsTheTargetExactly()
+    {
+        _animator.setEasing(StandardEasing.EASE_OUT_CUBIC);
+
+        assertTrue(_animator.offer(100.3, 100.7, 800.1, 600.9, 0, 0, 960.7, 1080.3, true, 0));
+
+        long now = 0;
+
+        // Frames of a 60 Hz display, the last one lands past the end of the animation
+        while (_animator.isRunning())
+        {
+            now += 16_666_667;
+            assertTrue(_animator.tick(now));
+        }
+
+        assertEquals(0, _animator.getX());
+        assertEquals(0, _animator.getY());
+        assertEquals(960.7, _animator.getWidth());
+        assertEquals(1080.3, _animator.getHeight());
+        assertEquals(6, _animator.getFrames());
+        assertFalse(_animator.tick(now + 16_666_667));
+    }
+
+    @Test
+    void framesFollowTheEasing()
+    {
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0);
+        _animator.tick(25 * MILLIS);
+
+        assertEquals(250, _animator.getX(), 1e-9);
+        assertTrue(_animator.isRunning());
+
+        _animator.tick(100 * MILLIS);
+
+        assertEquals(1000, _animator.getX());
+        assertFalse(_animator.isRunning());
+    }
+
+    @Test
+    void aTransitionRetargetsFromTheCurrentBoundsWithTheFullDuration()
+    {
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0);
+        _animator.tick(50 * MILLIS);
+
+        assertTrue(_animator.offer(500, 0, 100, 100, 0, 500, 200, 100, true, 50 * MILLIS));
+        assertEquals(0, _animator.getTargetX());
+        assertEquals(500, _animator.getTargetY());
+
+        _animator.tick(100 * MILLIS);
+
+        // Halfway from where the window was displayed, not from the first start
+        assertEquals(250, _animator.getX(), 1e-9);
+        assertEquals(250, _animator.getY(), 1e-9);
+        assertEquals(150, _animator.getWidth(), 1e-9);
+        assertTrue(_animator.isRunning());
+
+        _animator.tick(150 * MILLIS);
+
+        assertEquals(0, _animator.getX());
+        assertEquals(500, _animator.getY());
+        assertEquals(200, _animator.getWidth());
+        assertFalse(_animator.isRunning());
+        assertEquals(1, _animator.getAnimations());
+        assertEquals(1, _animator.getRetargets());
+    }
+
+    @Test
+    void otherBoundsRetargetKeepingTheEndTime()
+    {
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0);
+        _animator.tick(50 * MILLIS);
+
+        // e.g. a drag sample while the window is still moving
+        assertTrue(_animator.offer(500, 0, 100, 100, 2000, 0, 100, 100, false, 50 * MILLIS));
+
+        _animator.tick(75 * MILLIS);
+
+        assertEquals(1250, _animator.getX(), 1e-9);
+
+        _animator.tick(100 * MILLIS);
+
+        assertEquals(2000, _animator.getX());
+        assertFalse(_animator.isRunning());
+    }
+
+    @Test
+    void retargetingAfterTheEndJumpsToTheNewTarget()
+    {
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, false, 0);
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0);
+
+        // Not ticked since the end, e.g. a stalled pulse
+        _animator.offer(1000, 0, 100, 100, 1500, 0, 100, 100, false, 120 * MILLIS);
+        _animator.tick(130 * MILLIS);
+
+        assertEquals(1500, _animator.getX());
+        assertFalse(_animator.isRunning());
+    }
+
+    @Test
+    void boundsAreAppliedRightAwayWithoutAnAnimation()
+    {
+        // Not the result of a transition
+        assertFalse(_animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, false, 0));
+        // Nothing to animate
+        assertFalse(_animator.offer(0, 0, 100, 100, 0, 0, 100, 100, true, 0));
+
+        _animator.setDurationMillis(0);
+
+        assertFalse(_animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0));
+
+        _animator.setDurationMillis(100);
+        _animator.setEnabled(false);
+
+        assertFalse(_animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0));
+        assertFalse(_animator.tick(0));
+        assertEquals(0, _animator.getAnimations());
+        assertThrows(IllegalArgumentException.class, () -> _animator.setDurationMillis(-1));
+    }
+
+    @Test
+    void disablingFinishesTheRunningAnimation()
+    {
+        _animator.offer(0, 0, 100, 100, 1000, 0, 100, 100, true, 0);
+        _animator.tick(10 * MILLIS);
+        _animator.setEnabled(false);
+
+        assertTrue(_animator.tick(20 * MILLIS));
+        assertEquals(1000, _animator.getX());
+        assertFalse(_animator.isRunning());
+    }
+}
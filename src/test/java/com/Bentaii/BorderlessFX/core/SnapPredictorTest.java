@@ -0,0 +1,166 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapPredictorTest
+{
+    private final SnapPredictor _predictor = new SnapPredictor();
+
+    @BeforeEach
+    void setUp()
+    {
+        _predictor.setLookaheadFrames(2);
+    }
+
+    @Test
+    void disabledByDefault()
+    {
+        SnapPredictor predictor = new SnapPredictor();
+
+        assertEquals(SnapPredictor.DEFAULT_LOOKAHEAD_FRAMES, predictor.getLookaheadFrames());
+        assertFalse(predictor.isEnabled());
+        assertThrows(IllegalArgumentException.class, () -> predictor.setLookaheadFrames(-1));
+    }
+
+    @Test
+    void predictsAlongTheVelocity()
+    {
+        _predictor.setLookaheadFrames(4);
+        _predictor.update(0, 500);
+
+        assertFalse(_predictor.canPredict());
+
+        _predictor.update(10, 500);
+        _predictor.update(20, 500);
+        _predictor.update(30, 500);
+
+        assertTrue(_predictor.canPredict());
+        assertEquals(70, _predictor.predictX(), 1e-9);
+        assertEquals(500, _predictor.predictY(), 1e-9);
+    }
+
+    @Test
+    void enteringThePredictedZoneIsAHit()
+    {
+        assertTrue(_predictor.predicted(Direction.LEFT));
+        // The same zone again is not a new prediction
+        assertFalse(_predictor.predicted(Direction.LEFT));
+        assertTrue(_predictor.hasPrediction());
+
+        _predictor.entered(Direction.LEFT);
+
+        assertFalse(_predictor.hasPrediction());
+        assertEquals(1, _predictor.getPredictions());
+        assertEquals(1, _predictor.getHits());
+        assertEquals(0, _predictor.getMisses());
+        assertEquals(0, _predictor.getUnpredicted());
+        assertEquals(1, _predictor.getHitRate());
+    }
+
+    @Test
+    void aPredictionNotEnteredWithinTwiceTheLookaheadIsAMiss()
+    {
+        _predictor.predicted(Direction.LEFT);
+
+        for (int i = 0; i < 4; i++)
+        {
+            _predictor.update(100, 500);
+        }
+
+        assertTrue(_predictor.hasPrediction());
+        assertEquals(0, _predictor.getMisses());
+
+        _predictor.update(100, 500);
+
+        assertFalse(_predictor.hasPrediction());
+        assertEquals(1, _predictor.getMisses());
+
+        // Entered too late, so not predicted
+        _predictor.entered(Direction.LEFT);
+
+        assertEquals(0, _predictor.getHits());
+        assertEquals(1, _predictor.getUnpredicted());
+        assertEquals(0, _predictor.getHitRate());
+    }
+
+    @Test
+    void aChangedPredictionIsAMiss()
+    {
+        _predictor.predicted(Direction.LEFT);
+        _predictor.predicted(Direction.TOP_LEFT);
+        _predictor.entered(Direction.TOP_LEFT);
+
+        assertEquals(2, _predictor.getPredictions());
+        assertEquals(1, _predictor.getHits());
+        assertEquals(1, _predictor.getMisses());
+        assertEquals(0.5, _predictor.getHitRate());
+    }
+
+    @Test
+    void enteringAnotherZoneIsAMissAndUnpredicted()
+    {
+        _predictor.predicted(Direction.LEFT);
+        _predictor.entered(Direction.BOTTOM_LEFT);
+
+        assertFalse(_predictor.hasPrediction());
+        assertEquals(0, _predictor.getHits());
+        assertEquals(1, _predictor.getMisses());
+        assertEquals(1, _predictor.getUnpredicted());
+    }
+
+    @Test
+    void enteringWithoutAPredictionIsOnlyUnpredicted()
+    {
+        _predictor.entered(Direction.RIGHT);
+
+        assertEquals(0, _predictor.getPredictions());
+        assertEquals(0, _predictor.getMisses());
+        assertEquals(1, _predictor.getUnpredicted());
+        assertTrue(Double.isNaN(_predictor.getHitRate()));
+    }
+
+    @Test
+    void endingTheDragMissesThePendingPrediction()
+    {
+        _predictor.update(0, 500);
+        _predictor.update(10, 500);
+        _predictor.predicted(Direction.LEFT);
+        _predictor.end();
+
+        assertFalse(_predictor.hasPrediction());
+        assertFalse(_predictor.canPredict());
+        assertEquals(1, _predictor.getMisses());
+
+        // Nothing pending anymore
+        _predictor.end();
+
+        assertEquals(1, _predictor.getMisses());
+    }
+
+    @Test
+    void resetCountersKeepsThePendingPrediction()
+    {
+        _predictor.predicted(Direction.LEFT);
+        _predictor.predicted(Direction.RIGHT);
+        _predictor.entered(Direction.RIGHT);
+        _predictor.predicted(Direction.TOP);
+        _predictor.resetCounters();
+
+        assertEquals(0, _predictor.getPredictions());
+        assertEquals(0, _predictor.getHits());
+        assertEquals(0, _predictor.getMisses());
+        assertTrue(_predictor.hasPrediction());
+
+        _predictor.entered(Direction.TOP);
+
+        assertEquals(1, _predictor.getHits());
+    }
+}
@@ -0,0 +1,150 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.input.KeyCode;
+
+class WindowCommandEngineTest
+{
+    private static final int META = WindowCommandEngine.META;
+
+    private HeadlessWindowHost _host;
+    private WindowCommandEngine _engine;
+
+    @BeforeEach
+    void setUp()
+    {
+        // Two 1920x1080 screens side by side
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        WindowStateMachine stateMachine = new WindowStateMachine(_host, ScreenTopology.of(new Rectangle2D(0, 0, 1920, 1080),
+            new Rectangle2D(1920, 0, 1920, 1080)), 25, 50);
+        _host.attach(stateMachine);
+        stateMachine.shown();
+        _engine = stateMachine.getCommandEngine();
+    }
+
+    @Test
+    void commandsRunOnThePulse()
+    {
+        assertTrue(_engine.handleKey(KeyCode.LEFT, META));
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+
+        _host.pulse();
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        assertFalse(_engine.hasPending());
+    }
+
+    @Test
+    void unboundStrokesAreIgnored()
+    {
+        assertFalse(_engine.handleKey(KeyCode.A, META));
+        assertFalse(_engine.handleKey(KeyCode.LEFT, 0));
+        assertFalse(_engine.hasPending());
+        assertEquals(0, _engine.getStrokes());
+    }
+
+    @Test
+    void autoRepeatIsCoalesced()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            _engine.handleKey(KeyCode.RIGHT, META | WindowCommandEngine.SHIFT);
+        }
+
+        assertEquals(1, _engine.getPendingCount());
+        assertEquals(4, _engine.getCoalesced());
+
+        _host.pulse();
+        _host.pulse();
+
+        assertEquals(1, _engine.getExecuted());
+        assertEquals(new Rect(2020, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void distinctCommandsRunInOrderOnePerPulse()
+    {
+        _engine.handleKey(KeyCode.LEFT, META);
+        _engine.handleKey(KeyCode.UP, META);
+
+        assertEquals(2, _engine.getPendingCount());
+        assertEquals(0, _engine.getCoalesced());
+
+        _host.pulse();
+
+        assertTrue(_host.isSnapped());
+        assertFalse(_host.isMaximized());
+
+        _host.pulse();
+
+        assertTrue(_host.isMaximized());
+        assertEquals(2, _engine.getExecuted());
+    }
+
+    @Test
+    void onlyConsecutiveRepeatsAreCoalesced()
+    {
+        _engine.handleKey(KeyCode.LEFT, META);
+        _engine.handleKey(KeyCode.RIGHT, META);
+        _engine.handleKey(KeyCode.LEFT, META);
+
+        assertEquals(3, _engine.getPendingCount());
+
+        for (int i = 0; i < 3; i++)
+        {
+            _host.pulse();
+        }
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+    }
+
+    @Test
+    void aFullQueueReplacesTheLastCommand()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            _engine.handleKey(i % 2 == 0 ? KeyCode.LEFT : KeyCode.RIGHT, META);
+        }
+
+        assertEquals(8, _engine.getPendingCount());
+        assertEquals(2, _engine.getCoalesced());
+    }
+
+    @Test
+    void cancelDropsTheQueuedCommands()
+    {
+        _engine.handleKey(KeyCode.LEFT, META);
+        _engine.handleKey(KeyCode.UP, META);
+        _engine.cancel();
+        _host.pulse();
+
+        assertFalse(_engine.hasPending());
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void customBindingsCycleTheSnapWidth()
+    {
+        _engine.bind(KeyCode.LEFT, META | WindowCommandEngine.ALT, StandardWindowCommand.CYCLE_LEFT);
+        _engine.handleKey(KeyCode.LEFT, META | WindowCommandEngine.ALT);
+        _host.pulse();
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+
+        _engine.handleKey(KeyCode.LEFT, META | WindowCommandEngine.ALT);
+        _host.pulse();
+
+        assertEquals(new Rect(0, 0, 640, 1080), _host.getBounds());
+    }
+}
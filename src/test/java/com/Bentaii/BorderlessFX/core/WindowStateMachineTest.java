@@ -0,0 +1,300 @@
+package com.Bentaii.BorderlessFX.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+import com.Bentaii.BorderlessFX.geometry.SnapZoneMap;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.state.WindowState;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javafx.geometry.Rectangle2D;
+
+class WindowStateMachineTest
+{
+    private HeadlessWindowHost _host;
+    private WindowStateMachine _stateMachine;
+
+    @BeforeEach
+    void setUp()
+    {
+        // Two 1920x1080 screens side by side
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setPreventMouseOverTaskbar(false);
+        _stateMachine = new WindowStateMachine(_host, ScreenTopology.of(new Rectangle2D(0, 0, 1920, 1080), new Rectangle2D(1920, 0, 1920, 1080)),
+            SnapZoneMap.DEFAULT_ALLOWANCE, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+        _host.attach(_stateMachine);
+        _stateMachine.shown();
+    }
+
+    @Test
+    void snapLeftSnapsToTheLeftHalf()
+    {
+        _stateMachine.snapLeft();
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        assertEquals(Direction.LEFT, _stateMachine.getSnapDirection());
+    }
+
+    @Test
+    void snapRightOnlyChecksTheRightDirection()
+    {
+        _host.getDisabledDirections().add(Direction.LEFT);
+        _stateMachine.snapRight();
+
+        assertEquals(new Rect(960, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+    }
+
+    @Test
+    void snapRightDoesNothingWhenTheRightDirectionIsDisabled()
+    {
+        _host.getDisabledDirections().add(Direction.RIGHT);
+        _stateMachine.snapRight();
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+        assertFalse(_host.isSnapped());
+    }
+
+    @Test
+    void releasingInASnapZoneSnaps()
+    {
+        _stateMachine.movePressed(320, 12, 420, 30);
+        _stateMachine.moveDragged(600, 500);
+
+        assertFalse(_host.isPreviewVisible());
+
+        _stateMachine.moveDragged(0, 500);
+
+        assertTrue(_host.isPreviewVisible());
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getPreviewBounds());
+
+        _stateMachine.moveReleased(0, 500, true);
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        assertFalse(_host.isPreviewVisible());
+    }
+
+    @Test
+    void releasingOutsideOfASnapZoneDoesNotSnap()
+    {
+        _stateMachine.movePressed(320, 12, 420, 30);
+        _stateMachine.moveDragged(600, 500);
+        _stateMachine.moveReleased(600, 500, true);
+
+        assertEquals(new Rect(280, 488, 800, 600), _host.getBounds());
+        assertFalse(_host.isSnapped());
+    }
+
+    @Test
+    void draggingASnappedWindowRevertsItsSize()
+    {
+        _stateMachine.snapLeft();
+        _stateMachine.movePressed(480, 12, 480, 30);
+        _stateMachine.moveDragged(600, 300);
+
+        assertFalse(_host.isSnapped());
+        assertEquals(800, _host.getWidth());
+        assertEquals(600, _host.getHeight());
+        // Keeps the pointer at the same relative position of the move control
+        assertEquals(200, _host.getX());
+    }
+
+    @Test
+    void resizingTheRightEdgeWidensTheWindow()
+    {
+        _stateMachine.resizeStarted();
+        _stateMachine.resizeDragged(HDirection.RIGHT, null, 1000, 300, 100, 200, 900, 200);
+
+        assertEquals(new Rect(100, 100, 900, 600), _host.getBounds());
+    }
+
+    @Test
+    void resizingTheLeftEdgeMovesTheWindow()
+    {
+        _stateMachine.resizeStarted();
+        _stateMachine.resizeDragged(HDirection.LEFT, null, 50, 300, -50, 200, -50, 200);
+
+        assertEquals(new Rect(50, 100, 850, 600), _host.getBounds());
+    }
+
+    @Test
+    void resizingBelowTheMinimumWidthIsIgnored()
+    {
+        _host.setSizeConstraints(700, Double.MAX_VALUE, 0, Double.MAX_VALUE);
+        _stateMachine.resizeStarted();
+        _stateMachine.resizeDragged(HDirection.RIGHT, null, 750, 300, -150, 200, 650, 200);
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void releasingATopResizeAtTheScreenEdgeSnapsVertically()
+    {
+        _stateMachine.resizeStarted();
+        _stateMachine.resizeDragged(null, VDirection.TOP, 300, 5, 200, -95, 200, -95);
+
+        assertTrue(_host.isPreviewVisible());
+
+        _stateMachine.resizeReleased(VDirection.TOP, 300, 5, true);
+
+        assertEquals(new Rect(100, 0, 800, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        assertFalse(_host.isPreviewVisible());
+    }
+
+    @Test
+    void doubleClickingAResizeEdgeTogglesTheVerticalSnap()
+    {
+        _stateMachine.resizeClicked(VDirection.BOTTOM, true, 2);
+
+        assertEquals(new Rect(100, 0, 800, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+
+        _stateMachine.resizeClicked(VDirection.BOTTOM, true, 2);
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+        assertFalse(_host.isSnapped());
+    }
+
+    @Test
+    void doubleClickingTheMoveControlTogglesMaximized()
+    {
+        _stateMachine.moveClicked(true, 2);
+
+        assertTrue(_host.isMaximized());
+
+        _stateMachine.moveClicked(true, 2);
+
+        assertFalse(_host.isMaximized());
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void restoreRevertsASnappedWindow()
+    {
+        _stateMachine.snapLeft();
+        _stateMachine.restore();
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+        assertFalse(_host.isSnapped());
+    }
+
+    @Test
+    void moveToScreenKeepsTheSnapTile()
+    {
+        _stateMachine.snapLeft();
+        _stateMachine.moveToScreen(1);
+
+        assertEquals(new Rect(1920, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+
+        // The size and position to restore moved along
+        _stateMachine.restore();
+
+        assertEquals(new Rect(2020, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void moveToScreenKeepsTheOffsetOfAFloatingWindow()
+    {
+        _stateMachine.moveToScreen(1);
+
+        assertEquals(new Rect(2020, 100, 800, 600), _host.getBounds());
+
+        // Wraps around
+        _stateMachine.moveToScreen(1);
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+    }
+
+    @Test
+    void cycleSnapCyclesTheWidth()
+    {
+        _stateMachine.cycleSnap(Direction.LEFT);
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+
+        _stateMachine.cycleSnap(Direction.LEFT);
+
+        assertEquals(new Rect(0, 0, 640, 1080), _host.getBounds());
+
+        _stateMachine.cycleSnap(Direction.LEFT);
+
+        assertEquals(new Rect(0, 0, 1280, 1080), _host.getBounds());
+
+        _stateMachine.cycleSnap(Direction.LEFT);
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+    }
+
+    @Test
+    void cycleSnapRightAlignsToTheRightEdge()
+    {
+        _stateMachine.snapRight();
+        _stateMachine.cycleSnap(Direction.RIGHT);
+
+        assertEquals(new Rect(1280, 0, 640, 1080), _host.getBounds());
+    }
+
+    @Test
+    void restoreStateRoundTrips()
+    {
+        _host.setBounds(2020, 100, 800, 600);
+        _stateMachine.snapRight();
+        WindowState state = _stateMachine.captureState();
+
+        _host.setBounds(100, 100, 800, 600);
+        _host.setSnapped(false);
+        _stateMachine.restoreState(state);
+
+        assertEquals(new Rect(2880, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        assertEquals(Direction.RIGHT, _stateMachine.getSnapDirection());
+        assertEquals(new Rect(2020, 100, 800, 600), _stateMachine.captureState().getRestoreBounds());
+    }
+
+    @Test
+    void restoreStateWithAMissingMonitorFallsBackToThePrimaryScreen()
+    {
+        Rect missingScreen = new Rect(3840, 0, 1920, 1080);
+        _stateMachine.restoreState(new WindowState(new Rect(3940, 100, 800, 600), new Rect(3940, 100, 800, 600), missingScreen, null, false, false));
+
+        assertEquals(new Rect(100, 100, 800, 600), _host.getBounds());
+        assertFalse(_host.isSnapped());
+    }
+
+    @Test
+    void restoreStateWithAMissingMonitorSnapsOnThePrimaryScreen()
+    {
+        Rect missingScreen = new Rect(3840, 0, 1920, 1080);
+        _stateMachine.restoreState(new WindowState(new Rect(3840, 0, 960, 1080), new Rect(5000, 200, 1000, 700), missingScreen, Direction.LEFT, true, false));
+
+        assertEquals(new Rect(0, 0, 960, 1080), _host.getBounds());
+        assertTrue(_host.isSnapped());
+        // The bounds to restore were moved to the primary screen as well
+        assertEquals(new Rect(920, 200, 1000, 700), _stateMachine.captureState().getRestoreBounds());
+    }
+
+    @Test
+    void restoreStateWithoutScreensKeepsTheBounds()
+    {
+        HeadlessWindowHost host = new HeadlessWindowHost(100, 100, 800, 600);
+        WindowStateMachine stateMachine = new WindowStateMachine(host, ScreenTopology.of(), SnapZoneMap.DEFAULT_ALLOWANCE, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+        host.attach(stateMachine);
+        stateMachine.restoreState(new WindowState(new Rect(300, 200, 800, 600), new Rect(300, 200, 800, 600), new Rect(0, 0, 1920, 1080), Direction.LEFT, true, false));
+
+        assertNull(stateMachine.getSnapDirection());
+        assertTrue(host.isSnapped());
+    }
+}
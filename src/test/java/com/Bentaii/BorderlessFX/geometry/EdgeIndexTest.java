@@ -0,0 +1,105 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EdgeIndexTest
+{
+    private final EdgeIndex _index = new EdgeIndex();
+
+    @BeforeEach
+    void setUp()
+    {
+        // A neighbor window spanning x 500-900, y 100-700
+        _index.add(500, 100, 400, 600);
+        _index.build();
+    }
+
+    @Test
+    void edgesWithinTheDistanceAttract()
+    {
+        assertEquals(-8, _index.nearestVertical(508, 200, 400, 10));
+        assertEquals(6, _index.nearestVertical(894, 200, 400, 10));
+        assertEquals(-3, _index.nearestHorizontal(703, 600, 700, 10));
+    }
+
+    @Test
+    void theDistanceIsInclusive()
+    {
+        assertEquals(-10, _index.nearestVertical(510, 200, 400, 10));
+        assertTrue(Double.isNaN(_index.nearestVertical(510.5, 200, 400, 10)));
+        assertTrue(Double.isNaN(_index.nearestVertical(489, 200, 400, 10)));
+    }
+
+    @Test
+    void edgesMustOverlapAcrossTheAxis()
+    {
+        // Within the distance of the span
+        assertEquals(-5, _index.nearestVertical(505, 705, 900, 10));
+        // Below the neighbor window
+        assertTrue(Double.isNaN(_index.nearestVertical(505, 711, 900, 10)));
+    }
+
+    @Test
+    void theNearestEdgeWins()
+    {
+        _index.clear();
+        _index.add(500, 100, 400, 600);
+        _index.add(504, 100, 400, 600);
+        _index.build();
+
+        assertEquals(-1, _index.nearestVertical(505, 200, 400, 10));
+    }
+
+    @Test
+    void tiesResolveToTheLaterEdge()
+    {
+        _index.clear();
+        _index.add(490, 100, 10, 600);
+        _index.add(510, 100, 10, 600);
+        _index.build();
+
+        // The right edge of the first window and the left edge of the second one are 5 away
+        assertEquals(5, _index.nearestVertical(505, 200, 400, 10));
+        assertEquals(5, EdgeIndex.closest(5, -5));
+        assertEquals(-5, EdgeIndex.closest(-5, 5));
+    }
+
+    @Test
+    void closestIgnoresMissingDeltas()
+    {
+        assertEquals(3, EdgeIndex.closest(Double.NaN, 3));
+        assertEquals(-2, EdgeIndex.closest(-2, Double.NaN));
+        assertTrue(Double.isNaN(EdgeIndex.closest(Double.NaN, Double.NaN)));
+    }
+
+    @Test
+    void manyWindowsAddedInAnyOrderAreSorted()
+    {
+        _index.clear();
+
+        for (int i = 40; i > 0; i--)
+        {
+            _index.add(i * 100, 0, 50, 50);
+        }
+
+        _index.build();
+
+        assertEquals(40, _index.size());
+        assertEquals(-2, _index.nearestVertical(2052, 10, 20, 10));
+        assertEquals(3, _index.nearestVertical(2097, 10, 20, 10));
+    }
+
+    @Test
+    void clearRemovesEveryEdge()
+    {
+        _index.clear();
+        _index.build();
+
+        assertTrue(_index.isEmpty());
+        assertTrue(Double.isNaN(_index.nearestVertical(500, 200, 400, 10)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.geometry.Rectangle2D;
+
+class SnapZoneMapTest
+{
+    private final SnapZoneMap _map = new SnapZoneMap(ScreenTopology.of(new Rectangle2D(0, 0, 1920, 1080)),
+        SnapZoneMap.DEFAULT_ALLOWANCE, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+
+    @Test
+    void defaultAllowancesAreTenAndFifty()
+    {
+        assertEquals(10, SnapZoneMap.DEFAULT_ALLOWANCE);
+        assertEquals(50, SnapZoneMap.DEFAULT_CORNER_ALLOWANCE);
+    }
+
+    @Test
+    void headlessHostUsesTheDefaultAllowance()
+    {
+        assertEquals(SnapZoneMap.DEFAULT_ALLOWANCE, new HeadlessWindowHost(100, 100, 800, 600).getAeroSnapAllowance());
+    }
+
+    @Test
+    void edgesSnapWithinTheAllowance()
+    {
+        assertEquals(Direction.LEFT, _map.classify(10, 500));
+        assertNull(_map.classify(11, 500));
+        assertEquals(Direction.RIGHT, _map.classify(1910, 500));
+        assertNull(_map.classify(1909, 500));
+        assertEquals(Direction.TOP, _map.classify(960, 10));
+    }
+
+    @Test
+    void cornersSnapWithinTheCornerAllowance()
+    {
+        assertEquals(Direction.TOP_LEFT, _map.classify(50, 5));
+        assertEquals(Direction.TOP, _map.classify(51, 5));
+        assertEquals(Direction.BOTTOM_RIGHT, _map.classify(1910, 1040));
+    }
+
+    @Test
+    void changedAllowancesRebuildTheZones()
+    {
+        _map.setAllowances(25, 50);
+
+        assertEquals(Direction.LEFT, _map.classify(25, 500));
+        assertNull(_map.classify(26, 500));
+    }
+}
@@ -0,0 +1,90 @@
+package com.Bentaii.BorderlessFX.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.geometry.Rectangle2D;
+
+class TileTableTest
+{
+    // A 1920x1080 screen and a 2560x1440 screen to its right
+    private final TileTable _table = new TileTable(ScreenTopology.of(new Rectangle2D(0, 0, 1920, 1080), new Rectangle2D(1920, 0, 2560, 1440)));
+    private final Rect _bounds = new Rect();
+
+    @Test
+    void halvesAndQuartersAreCompiledPerScreen()
+    {
+        _table.bounds(0, Direction.LEFT, 0, _bounds);
+        assertEquals(new Rect(0, 0, 960, 1080), _bounds);
+
+        _table.bounds(1, Direction.LEFT, 0, _bounds);
+        assertEquals(new Rect(1920, 0, 1280, 1440), _bounds);
+
+        _table.bounds(1, Direction.BOTTOM_RIGHT, 0, _bounds);
+        assertEquals(new Rect(3200, 720, 1280, 720), _bounds);
+    }
+
+    @Test
+    void topAndBottomMaximize()
+    {
+        assertTrue(_table.isMaximize(0, Direction.TOP));
+        assertTrue(_table.isMaximize(1, Direction.BOTTOM));
+        assertFalse(_table.isMaximize(0, Direction.LEFT));
+
+        _table.bounds(1, Direction.TOP, 0, _bounds);
+        assertEquals(new Rect(1920, 0, 2560, 1440), _bounds);
+    }
+
+    @Test
+    void settingALayoutRebuildsTheTable()
+    {
+        // Built with the default layout first
+        _table.bounds(0, Direction.RIGHT, 0, _bounds);
+        _table.setLayout(TileLayout.columns(2, 1).withTile(Direction.TOP, 1 / 3.0, 0, 1 / 3.0, 1));
+
+        _table.bounds(0, Direction.LEFT, 0, _bounds);
+        assertEquals(new Rect(0, 0, 1280, 1080), _bounds);
+
+        _table.bounds(1, Direction.RIGHT, 0, _bounds);
+        assertEquals(1920 + 2560 * 2 / 3.0, _bounds.getX(), 1e-9);
+        assertEquals(2560 / 3.0, _bounds.getWidth(), 1e-9);
+
+        _table.bounds(0, Direction.TOP, 0, _bounds);
+        assertEquals(new Rect(640, 0, 640, 1080), _bounds);
+        assertFalse(_table.isMaximize(0, Direction.TOP));
+    }
+
+    @Test
+    void narrowTilesGrowAwayFromTheRightEdge()
+    {
+        _table.bounds(0, Direction.LEFT, 1200, _bounds);
+        assertEquals(new Rect(0, 0, 1200, 1080), _bounds);
+
+        _table.bounds(0, Direction.RIGHT, 1200, _bounds);
+        assertEquals(new Rect(720, 0, 1200, 1080), _bounds);
+    }
+
+    @Test
+    void copiesKeepTheLayout()
+    {
+        _table.setLayout(TileLayout.grid(4, 2));
+        TileTable copy = _table.copyFor(ScreenTopology.of(new Rectangle2D(0, 0, 4000, 1000)));
+
+        copy.bounds(0, Direction.TOP_RIGHT, 0, _bounds);
+        assertEquals(new Rect(3000, 0, 1000, 500), _bounds);
+    }
+
+    @Test
+    void invalidLayoutsAreRejected()
+    {
+        assertThrows(IllegalArgumentException.class, () -> TileLayout.grid(new double[0], new double[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> TileLayout.columns(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> TileLayout.halvesAndQuarters().withTile(Direction.LEFT, 0.6, 0, 0.5, 1));
+    }
+}
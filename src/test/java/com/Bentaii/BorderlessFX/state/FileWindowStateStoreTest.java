@@ -0,0 +1,180 @@
+package com.Bentaii.BorderlessFX.state;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.Bentaii.BorderlessFX.geometry.Direction;
+import com.Bentaii.BorderlessFX.geometry.Rect;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileWindowStateStoreTest
+{
+    // Long enough for the debounced write to never run on its own
+    private static final long NEVER = 60 * 60 * 1000;
+
+    @TempDir
+    Path _directory;
+
+    @Test
+    void statesRoundTripThroughTheFile()
+    {
+        Path file = _directory.resolve("windows.bin");
+        FileWindowStateStore store = new FileWindowStateStore(file, NEVER);
+        store.save("main", new WindowState(new Rect(2880, 0, 960, 1080), new Rect(2020, 100, 800, 600), new Rect(1920, 0, 1920, 1080), Direction.RIGHT, true, false));
+        store.save("tools", new WindowState(new Rect(0, 0, 1920, 1080), new Rect(100.5, 100.25, 800, 600), new Rect(0, 0, 1920, 1080), null, false, true));
+        store.close();
+
+        FileWindowStateStore reopened = new FileWindowStateStore(file, NEVER);
+        WindowState main = reopened.load("main");
+        WindowState tools = reopened.load("tools");
+
+        assertNull(reopened.getLastError());
+        assertEquals(new Rect(2880, 0, 960, 1080), main.getBounds());
+        assertEquals(new Rect(2020, 100, 800, 600), main.getRestoreBounds());
+        assertEquals(new Rect(1920, 0, 1920, 1080), main.getScreenBounds());
+        assertEquals(Direction.RIGHT, main.getSnapDirection());
+        assertTrue(main.isSnapped());
+        assertFalse(main.isMaximized());
+
+        assertEquals(new Rect(100.5, 100.25, 800, 600), tools.getRestoreBounds());
+        assertNull(tools.getSnapDirection());
+        assertFalse(tools.isSnapped());
+        assertTrue(tools.isMaximized());
+        reopened.close();
+    }
+
+    @Test
+    void aMissingFileStartsEmpty()
+    {
+        FileWindowStateStore store = new FileWindowStateStore(_directory.resolve("missing").resolve("windows.bin"), NEVER);
+
+        assertNull(store.load("main"));
+        assertNull(store.getLastError());
+
+        // The parent directories are created by the first write
+        store.save("main", state(100, 100));
+        store.close();
+
+        assertTrue(Files.exists(_directory.resolve("missing").resolve("windows.bin")));
+    }
+
+    @Test
+    void aTruncatedFileStartsEmptyAndIsReplaced() throws IOException
+    {
+        Path file = _directory.resolve("windows.bin");
+        FileWindowStateStore store = new FileWindowStateStore(file, NEVER);
+        store.save("main", state(100, 100));
+        store.save("tools", state(300, 200));
+        store.close();
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        FileWindowStateStore truncated = new FileWindowStateStore(file, NEVER);
+
+        // No state of a partly read file is used
+        assertNull(truncated.load("main"));
+        assertNull(truncated.load("tools"));
+        assertNotNull(truncated.getLastError());
+
+        truncated.save("main", state(500, 400));
+        truncated.close();
+
+        assertNull(truncated.getLastError());
+        assertEquals(new Rect(500, 400, 800, 600), new FileWindowStateStore(file, NEVER).load("main").getBounds());
+    }
+
+    @Test
+    void aFileOfAnotherFormatStartsEmpty() throws IOException
+    {
+        Path file = _directory.resolve("windows.bin");
+        Files.write(file, new byte[]{'{', '"', 'm', 'a', 'i', 'n', '"', ':', ' ', '1', '}', '\n'});
+
+        FileWindowStateStore store = new FileWindowStateStore(file, NEVER);
+
+        assertNull(store.load("main"));
+        assertNull(store.getLastError());
+    }
+
+    @Test
+    void savesAreDebouncedIntoOneWrite() throws InterruptedException
+    {
+        FileWindowStateStore store = new FileWindowStateStore(_directory.resolve("windows.bin"), 200);
+
+        for (int i = 0; i < 20; i++)
+        {
+            store.save("main", state(i, i));
+        }
+
+        assertEquals(0, store.getWrites());
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (store.getWrites() == 0 && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, store.getWrites());
+        assertEquals(new Rect(19, 19, 800, 600), new FileWindowStateStore(_directory.resolve("windows.bin"), NEVER).load("main").getBounds());
+
+        // Nothing pending, so closing does not write again
+        store.close();
+
+        assertEquals(1, store.getWrites());
+    }
+
+    @Test
+    void flushWritesAPendingSaveOnlyOnce()
+    {
+        FileWindowStateStore store = new FileWindowStateStore(_directory.resolve("windows.bin"), NEVER);
+        store.flush();
+
+        assertEquals(0, store.getWrites());
+
+        store.save("main", state(100, 100));
+        store.flush();
+        store.flush();
+
+        assertEquals(1, store.getWrites());
+        store.close();
+        assertEquals(1, store.getWrites());
+    }
+
+    @Test
+    void closeWritesTheLastSaveAndIgnoresLaterOnes() throws IOException
+    {
+        Path file = _directory.resolve("windows.bin");
+        FileWindowStateStore store = new FileWindowStateStore(file, NEVER);
+        store.save("main", state(100, 100));
+        store.close();
+
+        byte[] written = Files.readAllBytes(file);
+
+        // Neither throws nor writes
+        store.save("main", state(500, 400));
+        store.flush();
+        store.close();
+
+        assertEquals(1, store.getWrites());
+        assertArrayEquals(written, Files.readAllBytes(file));
+        assertEquals(new Rect(100, 100, 800, 600), new FileWindowStateStore(file, NEVER).load("main").getBounds());
+    }
+
+    private static WindowState state(double x, double y)
+    {
+        Rect bounds = new Rect(x, y, 800, 600);
+        return new WindowState(bounds, bounds, new Rect(0, 0, 1920, 1080), null, false, false);
+    }
+}
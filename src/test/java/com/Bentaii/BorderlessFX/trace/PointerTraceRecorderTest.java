@@ -0,0 +1,198 @@
+package com.Bentaii.BorderlessFX.trace;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.Bentaii.BorderlessFX.core.HeadlessWindowHost;
+import com.Bentaii.BorderlessFX.geometry.HDirection;
+import com.Bentaii.BorderlessFX.geometry.VDirection;
+import com.Bentaii.BorderlessFX.utils.ScreenTopology;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javafx.geometry.Rectangle2D;
+
+class PointerTraceRecorderTest
+{
+    // Two 1920x1080 screens side by side
+    private static final Rectangle2D LEFT_SCREEN = new Rectangle2D(0, 0, 1920, 1080);
+    private static final Rectangle2D RIGHT_SCREEN = new Rectangle2D(1920, 0, 1920, 1080);
+
+    @TempDir
+    Path _directory;
+    private Path _file;
+    private HeadlessWindowHost _host;
+
+    @BeforeEach
+    void setUp()
+    {
+        _file = _directory.resolve("drag.trace");
+        _host = new HeadlessWindowHost(100, 100, 800, 600);
+        _host.setSizeConstraints(300, 1600, 200, 1000);
+        _host.setPreviewMinWidth(400);
+    }
+
+    @Test
+    void tracesRoundTripThroughTheFile() throws IOException
+    {
+        try (PointerTraceRecorder recorder = new PointerTraceRecorder(_file, 8))
+        {
+            recorder.begin(ScreenTopology.of(LEFT_SCREEN, RIGHT_SCREEN), _host, 10, 50);
+            recorder.record(TraceEventType.MOVE_PRESSED, 0, 320, 12, 420, 30, 0, 0, _host);
+
+            _host.setBounds(0, 0, 960, 1080);
+            _host.setState(false, true);
+            recorder.record(TraceEventType.RESIZE_DRAGGED, PointerTraceRecorder.flags(HDirection.LEFT, VDirection.BOTTOM, false, 0), 5, 900, 5, 300, 5, 300, _host);
+
+            _host.setState(true, false);
+            recorder.record(TraceEventType.MOVE_CLICKED, PointerTraceRecorder.flags(null, null, true, 2), 1, 2, 0, 0, 0, 0, _host);
+
+            assertEquals(3, recorder.getWritten());
+        }
+
+        RecordedTrace trace = RecordedTrace.read(_file);
+
+        assertArrayEquals(new Rectangle2D[]{LEFT_SCREEN, RIGHT_SCREEN}, trace.getScreens());
+        assertEquals(10, trace.getAllowance());
+        assertEquals(50, trace.getCornerAllowance());
+        assertEquals(400, trace.getPreviewMinWidth());
+        assertEquals(300, trace.getMinWidth());
+        assertEquals(1600, trace.getMaxWidth());
+        assertEquals(200, trace.getMinHeight());
+        assertEquals(1000, trace.getMaxHeight());
+
+        assertEquals(3, trace.size());
+        assertEquals(TraceEventType.MOVE_PRESSED, trace.getType(0));
+        assertEquals(420, trace.getArgument(0, 2));
+        assertEquals(100, trace.getBounds(0, 0));
+        assertEquals(600, trace.getBounds(0, 3));
+        assertFalse(trace.isSnapped(0));
+        assertFalse(trace.isMaximized(0));
+
+        // The bounds and state before the input
+        assertEquals(TraceEventType.RESIZE_DRAGGED, trace.getType(1));
+        assertEquals(300, trace.getArgument(1, 5));
+        assertEquals(960, trace.getBounds(1, 2));
+        assertTrue(trace.isSnapped(1));
+        assertFalse(trace.isPrimary(1));
+        assertEquals(HDirection.LEFT.ordinal() + 1, trace.getFlags(1) & PointerTraceRecorder.DIRECTION_MASK);
+        assertEquals(VDirection.BOTTOM.ordinal() + 1, trace.getFlags(1) >>> PointerTraceRecorder.V_DIRECTION_SHIFT & PointerTraceRecorder.DIRECTION_MASK);
+
+        assertEquals(TraceEventType.MOVE_CLICKED, trace.getType(2));
+        assertTrue(trace.isMaximized(2));
+        assertFalse(trace.isSnapped(2));
+        assertTrue(trace.isPrimary(2));
+        assertEquals(2, trace.getClickCount(2));
+        assertEquals(0, trace.getFlags(2) & PointerTraceRecorder.DIRECTION_MASK);
+
+        assertTrue(trace.getNanos(0) >= 0);
+        assertTrue(trace.getNanos(1) >= trace.getNanos(0));
+        assertTrue(trace.getNanos(2) >= trace.getNanos(1));
+    }
+
+    @Test
+    void theOldestRecordsAreOverwrittenOnceFull() throws IOException
+    {
+        try (PointerTraceRecorder recorder = new PointerTraceRecorder(_file, 4))
+        {
+            recorder.begin(ScreenTopology.of(LEFT_SCREEN), _host, 10, 50);
+
+            for (int i = 0; i < 10; i++)
+            {
+                recorder.record(TraceEventType.MOVE_DRAGGED, 0, i, 500, 0, 0, 0, 0, _host);
+            }
+
+            assertEquals(10, recorder.getWritten());
+        }
+
+        RecordedTrace trace = RecordedTrace.read(_file);
+
+        // Starts at the oldest kept record
+        assertEquals(4, trace.size());
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(6 + i, trace.getArgument(i, 0));
+        }
+    }
+
+    @Test
+    void aFullBufferIsReadInOrder() throws IOException
+    {
+        try (PointerTraceRecorder recorder = new PointerTraceRecorder(_file, 4))
+        {
+            recorder.begin(ScreenTopology.of(LEFT_SCREEN), _host, 10, 50);
+
+            for (int i = 0; i < 4; i++)
+            {
+                recorder.record(TraceEventType.MOVE_DRAGGED, 0, i, 500, 0, 0, 0, 0, _host);
+            }
+        }
+
+        RecordedTrace trace = RecordedTrace.read(_file);
+
+        assertEquals(4, trace.size());
+        assertEquals(0, trace.getArgument(0, 0));
+        assertEquals(3, trace.getArgument(3, 0));
+    }
+
+    @Test
+    void beginDropsThePreviousRecords() throws IOException
+    {
+        try (PointerTraceRecorder recorder = new PointerTraceRecorder(_file, 4))
+        {
+            recorder.begin(ScreenTopology.of(LEFT_SCREEN), _host, 10, 50);
+            recorder.record(TraceEventType.MOVE_DRAGGED, 0, 1, 500, 0, 0, 0, 0, _host);
+            recorder.record(TraceEventType.MOVE_DRAGGED, 0, 2, 500, 0, 0, 0, 0, _host);
+
+            recorder.begin(ScreenTopology.of(RIGHT_SCREEN), _host, 25, 50);
+            recorder.record(TraceEventType.MOVE_RELEASED, 0, 3, 500, 1, 0, 0, 0, _host);
+        }
+
+        RecordedTrace trace = RecordedTrace.read(_file);
+
+        assertEquals(1, trace.size());
+        assertEquals(TraceEventType.MOVE_RELEASED, trace.getType(0));
+        assertEquals(25, trace.getAllowance());
+        assertArrayEquals(new Rectangle2D[]{RIGHT_SCREEN}, trace.getScreens());
+    }
+
+    @Test
+    void thePrimaryScreenIsStoredFirst()
+    {
+        // The primary screen is the third one of four
+        assertEquals(2, PointerTraceRecorder.screenIndex(0, 2));
+        assertEquals(0, PointerTraceRecorder.screenIndex(1, 2));
+        assertEquals(1, PointerTraceRecorder.screenIndex(2, 2));
+        assertEquals(3, PointerTraceRecorder.screenIndex(3, 2));
+
+        // The primary screen is the last one
+        assertEquals(3, PointerTraceRecorder.screenIndex(0, 3));
+        assertEquals(2, PointerTraceRecorder.screenIndex(3, 3));
+
+        // Already first, the order is kept
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(i, PointerTraceRecorder.screenIndex(i, 0));
+        }
+    }
+
+    @Test
+    void invalidCapacitiesAndFilesAreRejected() throws IOException
+    {
+        assertThrows(IllegalArgumentException.class, () -> new PointerTraceRecorder(_file, 0));
+
+        Files.write(_file, new byte[PointerTraceRecorder.HEADER_SIZE]);
+
+        assertThrows(IOException.class, () -> RecordedTrace.read(_file));
+    }
+}